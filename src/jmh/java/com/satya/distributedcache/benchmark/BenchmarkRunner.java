@@ -0,0 +1,44 @@
+package com.satya.distributedcache.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Entry point for `mvn -Pjmh verify`: runs the selected benchmarks at 1, 2, 4 ... N threads
+// (N = available cores) with the GC profiler, writing ops/s and gc.alloc.rate per thread count
+// to target/jmh/results-<threads>t.json.
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String include = System.getProperty("jmh.include", ".*");
+        String extra = System.getProperty("jmh.args", "").trim();
+        Path resultDir = Path.of(System.getProperty("jmh.result.dir", "target/jmh"));
+        Files.createDirectories(resultDir);
+
+        CommandLineOptions cli = new CommandLineOptions(extra.isEmpty() ? new String[0] : extra.split("\\s+"));
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            Options options = new OptionsBuilder()
+                    .parent(cli)
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(resultDir.resolve("results-" + threads + "t.json").toString())
+                    .build();
+            new Runner(options).run();
+            if (threads >= cores) {
+                break;
+            }
+        }
+    }
+}
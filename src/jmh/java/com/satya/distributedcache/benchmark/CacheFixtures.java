@@ -0,0 +1,27 @@
+package com.satya.distributedcache.benchmark;
+
+import com.satya.distributedcache.cache.eviction.AsyncEvictionManager;
+import com.satya.distributedcache.cache.eviction.EvictionStrategy;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.eviction.TinyLfuEvictionStrategy;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+
+import java.util.concurrent.ExecutorService;
+
+// Builds the same store the Spring config wires up, minus the container
+final class CacheFixtures {
+
+    static final Object VALUE = "v".repeat(64);
+
+    private CacheFixtures() {
+    }
+
+    static MapCache<String, Object> mapCache(String strategy, int maxSize, ExecutorService evictor) {
+        EvictionStrategy<String, Object> evictionStrategy = switch (strategy) {
+            case "LRU" -> new LRUEvictionStrategy<>();
+            case "TINYLFU" -> new TinyLfuEvictionStrategy<>();
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        };
+        return new MapCache<>(maxSize, new AsyncEvictionManager<>(maxSize, evictionStrategy, evictor));
+    }
+}
@@ -0,0 +1,66 @@
+package com.satya.distributedcache.benchmark;
+
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-operation latency of a full LRU cache as maxSize grows; recency bookkeeping is O(1),
+// so get/put percentiles should stay flat from 10k to 2M keys.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EvictionScalingBenchmark {
+
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"10000", "100000", "1000000", "2000000"})
+    int maxSize;
+
+    private ExecutorService evictor;
+    private MapCache<String, Object> cache;
+    private String[] keys;
+    private int[] samples;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = ThreadLocalRandom.current().nextInt(SAMPLES);
+
+        int next() {
+            return index = (index + 1) & (SAMPLES - 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        evictor = Executors.newSingleThreadExecutor();
+        cache = CacheFixtures.mapCache("LRU", maxSize, evictor);
+        // Twice maxSize keys so half of the writes insert and force an eviction
+        keys = KeyDistribution.keys(maxSize * 2);
+        samples = KeyDistribution.samples("uniform", maxSize * 2, SAMPLES, 7);
+        for (int i = 0; i < maxSize; i++) {
+            cache.put(keys[i], CacheFixtures.VALUE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        evictor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object get(Cursor cursor) {
+        return cache.getIfPresent(keys[samples[cursor.next()]]);
+    }
+
+    @Benchmark
+    public void put(Cursor cursor) {
+        cache.put(keys[samples[cursor.next()]], CacheFixtures.VALUE);
+    }
+}
@@ -0,0 +1,89 @@
+package com.satya.distributedcache.benchmark;
+
+import com.satya.distributedcache.cache.expiry.TimerWheel;
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.scheduler.BackgroundScheduler;
+import com.satya.distributedcache.cache.storage.HeapValueStorage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// TTL-heavy workload through LocalCacheFacade: every write carries a TTL, so the timer wheel
+// is rescheduled constantly and (for short TTLs) the ticker expires keys throughout the run.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpiryBenchmark {
+
+    private static final int MAX_SIZE = 1_000_000;
+    private static final int KEY_SPACE = 200_000;
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"10", "1000", "60000"})
+    long ttlMillis;
+
+    @Param({"uniform", "zipfian"})
+    String distribution;
+
+    private ExecutorService evictor;
+    private BackgroundScheduler background;
+    private LocalCacheFacade facade;
+    private String[] keys;
+    private int[] samples;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = ThreadLocalRandom.current().nextInt(SAMPLES);
+
+        int next() {
+            return index = (index + 1) & (SAMPLES - 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        evictor = Executors.newSingleThreadExecutor();
+        background = new BackgroundScheduler("ExpiryBenchmark", 1, 50);
+        facade = new LocalCacheFacade(CacheFixtures.mapCache("LRU", MAX_SIZE, evictor),
+                new TimerWheel<>(), new HeapValueStorage(), background);
+        ReflectionTestUtils.setField(facade, "expiryTickMillis", 10L);
+        ReflectionTestUtils.setField(facade, "maxExpirationsPerTick", 10_000);
+        facade.startExpiryTicker();
+        keys = KeyDistribution.keys(KEY_SPACE);
+        samples = KeyDistribution.samples(distribution, KEY_SPACE, SAMPLES, 11);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        facade.stopExpiryTicker();
+        background.close();
+        evictor.shutdownNow();
+    }
+
+    @Benchmark
+    public void setWithTtl(Cursor cursor) {
+        String key = keys[samples[cursor.next()]];
+        facade.set(key, CacheFixtures.VALUE);
+        facade.expire(key, ttlMillis);
+    }
+
+    // 3 reads : 1 TTL write
+    @Benchmark
+    public Object mixed(Cursor cursor) {
+        int i = cursor.next();
+        String key = keys[samples[i]];
+        if ((i & 3) == 0) {
+            facade.set(key, CacheFixtures.VALUE);
+            facade.expire(key, ttlMillis);
+            return null;
+        }
+        return facade.get(key);
+    }
+}
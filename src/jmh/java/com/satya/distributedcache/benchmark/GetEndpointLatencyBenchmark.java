@@ -0,0 +1,80 @@
+package com.satya.distributedcache.benchmark;
+
+import com.satya.distributedcache.DistributedCacheApplication;
+import com.satya.distributedcache.service.CacheService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/v1/{key} latency against a full store as cache.max-size grows: the sample-time percentiles
+// (p0.99 in the JMH report) should stay flat from 10k to 2M keys, since neither the lookup nor the LRU
+// bookkeeping on a hit depends on the store size. Each JMH thread keeps one keep-alive connection.
+// mvn -Pjmh verify -Djmh.include=GetEndpointLatencyBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GetEndpointLatencyBenchmark {
+
+    @Param({"10000", "100000", "1000000", "2000000"})
+    int maxSize;
+
+    private ConfigurableApplicationContext context;
+    private String baseUri;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private HttpClient http;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(DistributedCacheApplication.class)
+                .properties(
+                        "server.port=0",
+                        "cache.max-size=" + maxSize,
+                        "cache.hotkeys.enabled=false")
+                .run();
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        baseUri = "http://127.0.0.1:" + port + "/cache/api/v1/bench";
+        CacheService cache = context.getBean(CacheService.class);
+        for (int i = 0; i < maxSize; i++) {
+            cache.put("bench" + i, CacheFixtures.VALUE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int get(Client client) throws IOException, InterruptedException {
+        int key = ThreadLocalRandom.current().nextInt(maxSize);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + key)).GET().build();
+        HttpResponse<Void> response = client.http.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET bench" + key + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,102 @@
+package com.satya.distributedcache.benchmark;
+
+import com.satya.distributedcache.DistributedCacheApplication;
+import com.satya.distributedcache.service.CacheService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end GET throughput of the REST API with `connections` requests in flight at once, on Tomcat's
+// platform-thread pool vs. virtual threads (spring.threads.virtual.enabled). Each invocation fires a
+// wave of `connections` requests (split across the JMH threads) and waits for every reply; the
+// "requests" secondary result is the request throughput.
+// Virtual threads only take effect on a Java 21+ runtime (build on one with -Pjava21);
+// on 17 both params run the platform pool. Needs `ulimit -n` above 2 * connections (client and server
+// share the process): mvn -Pjmh,java21 verify -Djmh.include=HttpConcurrencyBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HttpConcurrencyBenchmark {
+
+    private static final int KEY_SPACE = 1_000;
+
+    @Param({"10000"})
+    int connections;
+
+    @Param({"false", "true"})
+    boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpRequest[] requests;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Client {
+        public long requests;
+        private HttpClient http;
+        private int inFlight;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setup(HttpConcurrencyBenchmark benchmark, BenchmarkParams params) {
+            // One client per JMH thread so each keeps its own pool of open connections
+            http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            inFlight = Math.max(1, benchmark.connections / params.getThreads());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(DistributedCacheApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + (connections * 2),
+                        "server.tomcat.accept-count=" + connections,
+                        "server.tomcat.threads.max=200",
+                        "cache.hotkeys.enabled=false")
+                .run();
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        CacheService cache = context.getBean(CacheService.class);
+        requests = new HttpRequest[KEY_SPACE];
+        for (int i = 0; i < KEY_SPACE; i++) {
+            cache.put("bench" + i, CacheFixtures.VALUE);
+            requests[i] = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/cache/api/v1/bench" + i))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int wave(Client client) {
+        CompletableFuture<?>[] replies = new CompletableFuture<?>[client.inFlight];
+        for (int i = 0; i < replies.length; i++) {
+            HttpRequest request = requests[client.cursor++ % KEY_SPACE];
+            replies[i] = client.http.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(replies).join();
+        client.requests += replies.length;
+        return replies.length;
+    }
+}
@@ -0,0 +1,73 @@
+package com.satya.distributedcache.benchmark;
+
+import java.util.SplittableRandom;
+
+// Precomputed key index streams so the measured loop only reads an array.
+// Zipfian follows the YCSB generator (theta 0.99) with ranks scrambled across the key space,
+// so popular keys are not clustered in one hash region.
+final class KeyDistribution {
+
+    private static final double THETA = 0.99;
+
+    private KeyDistribution() {
+    }
+
+    static int[] samples(String distribution, int keySpace, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] samples = new int[count];
+        switch (distribution) {
+            case "uniform" -> {
+                for (int i = 0; i < count; i++) {
+                    samples[i] = random.nextInt(keySpace);
+                }
+            }
+            case "zipfian" -> {
+                double zetaN = zeta(keySpace);
+                double zeta2 = zeta(2);
+                double alpha = 1.0 / (1.0 - THETA);
+                double eta = (1 - Math.pow(2.0 / keySpace, 1 - THETA)) / (1 - zeta2 / zetaN);
+                for (int i = 0; i < count; i++) {
+                    double u = random.nextDouble();
+                    double uz = u * zetaN;
+                    long rank;
+                    if (uz < 1.0) {
+                        rank = 0;
+                    } else if (uz < 1.0 + Math.pow(0.5, THETA)) {
+                        rank = 1;
+                    } else {
+                        rank = (long) (keySpace * Math.pow(eta * u - eta + 1, alpha));
+                    }
+                    samples[i] = scramble(Math.min(rank, keySpace - 1), keySpace);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return samples;
+    }
+
+    static String[] keys(int keySpace) {
+        String[] keys = new String[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            keys[i] = "key:" + i;
+        }
+        return keys;
+    }
+
+    private static double zeta(long n) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, THETA);
+        }
+        return sum;
+    }
+
+    // FNV-1a over the rank's bytes
+    private static int scramble(long rank, int keySpace) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < 8; i++) {
+            hash ^= (rank >>> (i * 8)) & 0xff;
+            hash *= 0x100000001B3L;
+        }
+        return (int) Math.floorMod(hash, (long) keySpace);
+    }
+}
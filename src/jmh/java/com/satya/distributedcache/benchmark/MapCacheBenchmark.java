@@ -0,0 +1,93 @@
+package com.satya.distributedcache.benchmark;
+
+import com.satya.distributedcache.cache.hotkeys.HotKeyTracker;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// MapCache + AsyncEvictionManager + strategy throughput. A key space of 0.9x maxSize fits;
+// 2.0x keeps the evictor running on every write and half of all reads missing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapCacheBenchmark {
+
+    private static final int MAX_SIZE = 100_000;
+    private static final int SAMPLES = 1 << 20;
+
+    @Param({"LRU", "TINYLFU"})
+    String strategy;
+
+    @Param({"uniform", "zipfian"})
+    String distribution;
+
+    @Param({"0.9", "2.0"})
+    double keySpaceFactor;
+
+    // Cost of the sampled hot-key tracker on the read/write path
+    @Param({"false", "true"})
+    boolean hotKeys;
+
+    private ExecutorService evictor;
+    private MapCache<String, Object> cache;
+    private String[] keys;
+    private int[] samples;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = ThreadLocalRandom.current().nextInt(SAMPLES);
+
+        int next() {
+            return index = (index + 1) & (SAMPLES - 1);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int keySpace = (int) (MAX_SIZE * keySpaceFactor);
+        evictor = Executors.newSingleThreadExecutor();
+        cache = CacheFixtures.mapCache(strategy, MAX_SIZE, evictor);
+        if (hotKeys) {
+            cache.setHotKeyTracker(new HotKeyTracker<>(16, 128, 1000, 10_000, 60_000));
+        }
+        keys = KeyDistribution.keys(keySpace);
+        samples = KeyDistribution.samples(distribution, keySpace, SAMPLES, 42);
+        for (int i = 0; i < Math.min(keySpace, MAX_SIZE); i++) {
+            cache.put(keys[i], CacheFixtures.VALUE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        evictor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object get(Cursor cursor) {
+        return cache.getIfPresent(keys[samples[cursor.next()]]);
+    }
+
+    @Benchmark
+    public void put(Cursor cursor) {
+        cache.put(keys[samples[cursor.next()]], CacheFixtures.VALUE);
+    }
+
+    // 7 reads : 1 write
+    @Benchmark
+    public Object mixed(Cursor cursor) {
+        int i = cursor.next();
+        String key = keys[samples[i]];
+        if ((i & 7) == 0) {
+            cache.put(key, CacheFixtures.VALUE);
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+}
@@ -5,52 +5,135 @@ import com.satya.distributedcache.cache.eviction.EvictionManager;
 import com.satya.distributedcache.cache.eviction.EvictionStrategy;
 import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
 import com.satya.distributedcache.cache.eviction.NoopEvictionStrategy;
+import com.satya.distributedcache.cache.eviction.TinyLfuEvictionStrategy;
+import com.satya.distributedcache.cache.expiry.TimerWheel;
+import com.satya.distributedcache.cache.hotkeys.HotKeyTracker;
+import com.satya.distributedcache.cache.mapcache.Cache;
 import com.satya.distributedcache.cache.mapcache.MapCache;
+import com.satya.distributedcache.cache.mapcache.ShardedMapCache;
+import com.satya.distributedcache.cache.mapcache.Weigher;
+import com.satya.distributedcache.cache.scheduler.BackgroundScheduler;
+import com.satya.distributedcache.cache.storage.CompressedValueStorage;
+import com.satya.distributedcache.cache.storage.HeapValueStorage;
+import com.satya.distributedcache.cache.storage.JacksonValueCodec;
+import com.satya.distributedcache.cache.storage.ObjectSizeWeigher;
+import com.satya.distributedcache.cache.storage.OffHeapValueStorage;
+import com.satya.distributedcache.cache.storage.SlabAllocator;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.function.IntFunction;
 
 @Configuration
 public class CacheConfig {
 
-    // Data store eviction (LRU)
+    // Data store eviction (LRU or TinyLFU); prototype so every shard gets its own recency structure
     @Bean(name = "dataEvictionStrategy")
-    public EvictionStrategy<String, Object> dataEvictionStrategy() {
-        return new LRUEvictionStrategy<>();
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public EvictionStrategy<String, Object> dataEvictionStrategy(
+            @Value("${cache.eviction-strategy:LRU}") String strategyName) {
+        return switch (strategyName.trim().toUpperCase()) {
+            case "LRU" -> new LRUEvictionStrategy<>();
+            case "TINYLFU", "W-TINYLFU" -> new TinyLfuEvictionStrategy<>();
+            case "NOOP" -> new NoopEvictionStrategy<>();
+            default -> throw new IllegalArgumentException("Unknown cache.eviction-strategy: " + strategyName);
+        };
     }
 
-    @Bean(name = "dataEvictionManager")
-    public EvictionManager<String, Object> dataEvictionManager(
-            @Value("${cache.max-size:2000000}") int maxSize,
-            @Qualifier("dataEvictionStrategy") EvictionStrategy<String, Object> evictionStrategy) {
-        return new AsyncEvictionManager<>(maxSize, evictionStrategy);
+    // Shared workers for expiry ticks and async eviction; each run is a bounded, timed quantum
+    @Bean
+    public BackgroundScheduler backgroundScheduler(
+            @Value("${cache.background.threads:2}") int threads,
+            @Value("${cache.background.quantum-millis:50}") long quantumMillis) {
+        return new BackgroundScheduler("CacheBackground", threads, quantumMillis);
     }
 
+    // Estimated bytes per entry; bounds the store when cache.max-bytes is set and is always reported in stats
     @Bean
-    public MapCache<String, Object> mapCache(
-            @Value("${cache.max-size:2000000}") int maxSize,
-            @Qualifier("dataEvictionManager") EvictionManager<String, Object> evictionManager) {
-        return new MapCache<>(maxSize, evictionManager);
+    public Weigher<String, Object> valueWeigher() {
+        return new ObjectSizeWeigher();
     }
 
-    // TTL index should not be evicted
-    @Bean(name = "ttlEvictionStrategy")
-    public EvictionStrategy<String, Long> ttlEvictionStrategy() {
-        return new NoopEvictionStrategy<>();
+    // Sampled top-k of the most requested keys per sliding window, served at /api/v1/stats/hotkeys
+    @Bean
+    @ConditionalOnProperty(name = "cache.hotkeys.enabled", havingValue = "true", matchIfMissing = true)
+    public HotKeyTracker<String> hotKeyTracker(
+            @Value("${cache.hotkeys.sample-rate:16}") int sampleRate,
+            @Value("${cache.hotkeys.capacity:128}") int capacity,
+            @Value("${cache.hotkeys.bucket-millis:1000}") long bucketMillis,
+            @Value("${cache.hotkeys.windows-seconds:10,60}") List<Long> windowsSeconds) {
+        return new HotKeyTracker<>(sampleRate, capacity, bucketMillis,
+                windowsSeconds.stream().mapToLong(seconds -> seconds * 1000).toArray());
     }
 
-    @Bean(name = "ttlEvictionManager")
-    public EvictionManager<String, Long> ttlEvictionManager(
+    // Evicts in the background past max-size; past the hard watermark writers also evict a batch inline.
+    // One manager for a single store, or one per shard, each with its own strategy
+    @Bean
+    public Cache<String, Object> mapCache(
             @Value("${cache.max-size:2000000}") int maxSize,
-            @Qualifier("ttlEvictionStrategy") EvictionStrategy<String, Long> evictionStrategy) {
-        return new AsyncEvictionManager<>(maxSize, evictionStrategy);
+            @Value("${cache.max-bytes:0}") long maxBytes,
+            @Value("${cache.shards:1}") int shards,
+            @Value("${cache.eviction.max-per-run:4096}") int maxEvictionsPerRun,
+            @Value("${cache.eviction.hard-watermark-percent:10}") int hardWatermarkPercent,
+            @Value("${cache.eviction.max-per-assist:256}") int maxEvictionsPerAssist,
+            Weigher<String, Object> valueWeigher,
+            BackgroundScheduler backgroundScheduler,
+            @Qualifier("dataEvictionStrategy") ObjectProvider<EvictionStrategy<String, Object>> evictionStrategies,
+            ObjectProvider<HotKeyTracker<String>> hotKeyTracker) {
+        IntFunction<EvictionManager<String, Object>> evictionManagers = bound -> new AsyncEvictionManager<>(
+                bound, evictionStrategies.getObject(), backgroundScheduler.executor("eviction"),
+                maxEvictionsPerRun, hardWatermarkPercent, maxEvictionsPerAssist);
+        Cache<String, Object> cache;
+        if (shards <= 1) {
+            cache = new MapCache<>(maxSize, maxBytes, valueWeigher, evictionManagers.apply(maxSize));
+        } else {
+            // Shards evict independently; the background workers run whichever shards are over their bound
+            cache = new ShardedMapCache<>(maxSize, maxBytes, valueWeigher, shards, evictionManagers);
+        }
+        hotKeyTracker.ifAvailable(cache::setHotKeyTracker);
+        return cache;
     }
 
+    // TTL expiry engine driven by LocalCacheFacade's ticker
     @Bean
-    public MapCache<String, Long> ttlCache(
-            @Value("${cache.max-size:2000000}") int maxSize,
-            @Qualifier("ttlEvictionManager") EvictionManager<String, Long> evictionManager) {
-        return new MapCache<>(maxSize, evictionManager);
+    public TimerWheel<String> expiryWheel() {
+        return new TimerWheel<>();
+    }
+
+    // Serialized form of values wherever they leave the heap (off-heap tier, snapshots)
+    @Bean
+    public ValueCodec valueCodec(JsonMapper jsonMapper) {
+        return new JacksonValueCodec(jsonMapper);
+    }
+
+    // Values stay on the heap as objects unless the off-heap tier (its byte cap is enforced by evicting
+    // from the store) or compressed byte storage is enabled
+    @Bean
+    public ValueStorage valueStorage(
+            @Value("${cache.offheap.enabled:false}") boolean offHeapEnabled,
+            @Value("${cache.offheap.max-bytes:1073741824}") long maxBytes,
+            @Value("${cache.offheap.slab-bytes:1048576}") int slabBytes,
+            @Value("${cache.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${cache.compression.threshold-bytes:1024}") int compressionThresholdBytes,
+            Cache<String, Object> mapCache,
+            ValueCodec valueCodec) {
+        if (compressionEnabled && !offHeapEnabled) {
+            return new CompressedValueStorage(valueCodec, compressionThresholdBytes);
+        }
+        if (!offHeapEnabled) {
+            return new HeapValueStorage();
+        }
+        return new OffHeapValueStorage(new SlabAllocator(maxBytes, slabBytes),
+                valueCodec, mapCache::evictEntries);
     }
 }
@@ -0,0 +1,69 @@
+package com.satya.distributedcache.cache.eviction;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+// Intrusive doubly-linked list over CacheEntry links; not thread-safe, callers hold the strategy lock
+class AccessOrderDeque<K, V> {
+
+    private CacheEntry<K, V> head;
+    private CacheEntry<K, V> tail;
+    private int size;
+
+    boolean contains(CacheEntry<K, V> entry) {
+        return entry.getPrev() != null || entry.getNext() != null || head == entry;
+    }
+
+    void addLast(CacheEntry<K, V> entry) {
+        entry.setPrev(tail);
+        entry.setNext(null);
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.setNext(entry);
+        }
+        tail = entry;
+        size++;
+    }
+
+    void moveToBack(CacheEntry<K, V> entry) {
+        if (entry == tail) {
+            return;
+        }
+        remove(entry);
+        addLast(entry);
+    }
+
+    void remove(CacheEntry<K, V> entry) {
+        CacheEntry<K, V> prev = entry.getPrev();
+        CacheEntry<K, V> next = entry.getNext();
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.setNext(next);
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.setPrev(prev);
+        }
+        entry.setPrev(null);
+        entry.setNext(null);
+        size--;
+    }
+
+    CacheEntry<K, V> peekFirst() {
+        return head;
+    }
+
+    CacheEntry<K, V> pollFirst() {
+        CacheEntry<K, V> first = head;
+        if (first != null) {
+            remove(first);
+        }
+        return first;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -1,65 +1,233 @@
 package com.satya.distributedcache.cache.eviction;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.atomic.AtomicBoolean;
 
-public class AsyncEvictionManager<K, V> implements EvictionManager<K, V> {
+// Hybrid eviction with two watermarks: past maxSize (the soft watermark) the background evictor is
+// scheduled; past the hard watermark (maxSize plus hardWatermarkPercent, same for the weight bound)
+// each writer first evicts a bounded batch itself, so a write burst cannot outrun the evictor and
+// the store stays within the hard watermark (plus at most one entry per concurrent writer).
+public class AsyncEvictionManager<K, V> implements EvictionManager<K, V>, AutoCloseable {
+
+    private static final int DEFAULT_MAX_EVICTIONS_PER_RUN = 4096;
+    private static final int DEFAULT_HARD_WATERMARK_PERCENT = 10;
+    private static final int DEFAULT_MAX_EVICTIONS_PER_ASSIST = 256;
 
     private final int maxSize;
+    private final long hardMaxSize;
+    private final int hardWatermarkPercent;
     private final EvictionStrategy<K, V> evictionStrategy;
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ExecutorService executorService;
+    private final Executor executorService;
+    // Set only when the manager started its own evictor thread (and so must stop it)
+    private final ExecutorService ownedExecutor;
+    private final int maxEvictionsPerRun;
+    private final int maxEvictionsPerAssist;
     private final AtomicBoolean evictionScheduled = new AtomicBoolean(false);
+    private final LongAccumulator peakOvershoot = new LongAccumulator(Math::max, 0L);
+    // The owning store's counters once bound; also what getStats reports, so both views agree
+    private volatile CacheMetrics metrics = new CacheMetrics();
 
     public AsyncEvictionManager(int maxSize, EvictionStrategy<K, V> evictionStrategy) {
         this.maxSize = maxSize > 0 ? maxSize : 2000000;
+        this.hardWatermarkPercent = DEFAULT_HARD_WATERMARK_PERCENT;
+        this.hardMaxSize = hardWatermark(this.maxSize, hardWatermarkPercent);
         this.evictionStrategy = evictionStrategy;
-        this.executorService = Executors.newSingleThreadExecutor(r -> {
+        this.evictionStrategy.setMaximumSize(this.maxSize);
+        this.ownedExecutor = Executors.newSingleThreadExecutor(r -> {
             Thread t = new Thread(r, "AsyncEvictionManager-" + System.identityHashCode(this));
             t.setDaemon(true);
             return t;
         });
+        this.executorService = ownedExecutor;
+        this.maxEvictionsPerRun = DEFAULT_MAX_EVICTIONS_PER_RUN;
+        this.maxEvictionsPerAssist = DEFAULT_MAX_EVICTIONS_PER_ASSIST;
+    }
+
+    // Shares an executor across managers, e.g. one per shard of a ShardedMapCache
+    public AsyncEvictionManager(int maxSize, EvictionStrategy<K, V> evictionStrategy, Executor executorService) {
+        this(maxSize, evictionStrategy, executorService, DEFAULT_MAX_EVICTIONS_PER_RUN);
+    }
+
+    // Each run evicts at most maxEvictionsPerRun entries and resubmits itself if the store is still over its bound
+    public AsyncEvictionManager(int maxSize, EvictionStrategy<K, V> evictionStrategy, Executor executorService,
+                                int maxEvictionsPerRun) {
+        this(maxSize, evictionStrategy, executorService, maxEvictionsPerRun,
+                DEFAULT_HARD_WATERMARK_PERCENT, DEFAULT_MAX_EVICTIONS_PER_ASSIST);
+    }
+
+    public AsyncEvictionManager(int maxSize, EvictionStrategy<K, V> evictionStrategy, Executor executorService,
+                                int maxEvictionsPerRun, int hardWatermarkPercent, int maxEvictionsPerAssist) {
+        this.maxSize = maxSize > 0 ? maxSize : 2000000;
+        this.hardWatermarkPercent = Math.max(0, hardWatermarkPercent);
+        this.hardMaxSize = hardWatermark(this.maxSize, this.hardWatermarkPercent);
+        this.evictionStrategy = evictionStrategy;
+        this.evictionStrategy.setMaximumSize(this.maxSize);
+        this.executorService = executorService;
+        this.ownedExecutor = null;
+        this.maxEvictionsPerRun = Math.max(1, maxEvictionsPerRun);
+        this.maxEvictionsPerAssist = Math.max(1, maxEvictionsPerAssist);
+    }
+
+    private static long hardWatermark(long bound, int percent) {
+        return bound <= 0 ? 0L : bound + bound * percent / 100;
     }
 
     @Override
-    public void onPut(K key, Map<K, V> cache, ConcurrentLinkedDeque<K> accessTracker) {
-        evictionStrategy.onPut(key, accessTracker);
+    public void onPut(CacheEntry<K, V> entry, EvictionTarget<K, V> cache) {
+        evictionStrategy.onPut(entry);
+        afterWrite(cache);
+    }
 
-        if (cache.size() > maxSize && evictionScheduled.compareAndSet(false, true)) {
-            executorService.submit(() -> evictAsync(cache, accessTracker));
+    // One strategy lock acquisition and one capacity check for the whole batch
+    @Override
+    public void onPutAll(Collection<CacheEntry<K, V>> entries, EvictionTarget<K, V> cache) {
+        evictionStrategy.onPutAll(entries);
+        afterWrite(cache);
+    }
+
+    private void afterWrite(EvictionTarget<K, V> cache) {
+        if (!cache.isOverCapacity(maxSize)) {
+            return;
+        }
+        peakOvershoot.accumulate(cache.size() - maxSize);
+        if (cache.isOverCapacity(hardMaxSize, hardWatermark(cache.maxWeight(), hardWatermarkPercent))) {
+            assistEviction(cache);
+        }
+        if (evictionScheduled.compareAndSet(false, true)) {
+            scheduleEviction(cache);
         }
     }
 
+    // Back-pressure: the writer waits for a running eviction pass, then evicts up to one batch itself
+    private void assistEviction(EvictionTarget<K, V> cache) {
+        CacheMetrics metrics = this.metrics;
+        metrics.hardWatermarkHits.increment();
+        lock.writeLock().lock();
+        try {
+            if (cache.isOverCapacity(hardMaxSize, hardWatermark(cache.maxWeight(), hardWatermarkPercent))) {
+                int evicted = evictionStrategy.evict(new Budgeted<>(cache, maxEvictionsPerAssist), maxSize);
+                metrics.writerAssists.increment();
+                metrics.assistedEvictions.add(evicted);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onAccess(CacheEntry<K, V> entry) {
+        evictionStrategy.onAccess(entry);
+    }
+
     @Override
-    public void onAccess(K key, ConcurrentLinkedDeque<K> accessTracker) {
-        evictionStrategy.onAccess(key, accessTracker);
+    public void onRemove(CacheEntry<K, V> entry) {
+        evictionStrategy.onRemove(entry);
     }
 
     @Override
-    public void onRemove(K key, ConcurrentLinkedDeque<K> accessTracker) {
-        evictionStrategy.onRemove(key, accessTracker);
+    public int evictEntries(EvictionTarget<K, V> cache, int count) {
+        lock.writeLock().lock();
+        try {
+            return evictionStrategy.evict(cache, (int) Math.max(0, cache.size() - count));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindMetrics(CacheMetrics metrics) {
+        this.metrics = metrics;
     }
 
-    private void evictAsync(Map<K, V> cache, ConcurrentLinkedDeque<K> accessTracker) {
+    private void scheduleEviction(EvictionTarget<K, V> cache) {
+        long scheduledAt = System.nanoTime();
+        executorService.execute(() -> evictAsync(cache, scheduledAt));
+    }
+
+    private void evictAsync(EvictionTarget<K, V> cache, long scheduledAt) {
+        CacheMetrics metrics = this.metrics;
+        metrics.evictionLag.record(System.nanoTime() - scheduledAt);
+        metrics.evictionRuns.increment();
         lock.writeLock().lock();
         try {
-            if (cache.size() > maxSize) {
-                evictionStrategy.evict(cache, accessTracker, maxSize);
+            if (cache.isOverCapacity(maxSize)) {
+                // Bounded quantum: a large overshoot is worked off over several runs so the worker is shared
+                evictionStrategy.evict(new Budgeted<>(cache, maxEvictionsPerRun), maxSize);
             }
         } finally {
             lock.writeLock().unlock();
             evictionScheduled.set(false);
         }
+        if (cache.isOverCapacity(maxSize) && evictionScheduled.compareAndSet(false, true)) {
+            scheduleEviction(cache);
+        }
+    }
+
+    // Stops the evictor thread this manager started; a shared executor is left to its owner
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
     }
 
     @Override
     public String getStats() {
-        return evictionStrategy.getStats();
+        return evictionStrategy.getStats() + String.format(
+            " Watermarks: [soft=%d, hard=%d, peakOvershoot=%d, hardWatermarkHits=%d, writerAssists=%d, assistedEvictions=%d]",
+            maxSize, hardMaxSize, peakOvershoot.get(), metrics.hardWatermarkHits.sum(), metrics.writerAssists.sum(),
+            metrics.assistedEvictions.sum()
+        );
     }
-}
 
+    // View of the store that reads as within bounds once its eviction budget is spent, capping one
+    // strategy pass without the strategies needing to know about budgets
+    private static final class Budgeted<K, V> implements EvictionTarget<K, V> {
+        private final EvictionTarget<K, V> cache;
+        private int remaining;
+
+        private Budgeted(EvictionTarget<K, V> cache, int budget) {
+            this.cache = cache;
+            this.remaining = budget;
+        }
+
+        @Override
+        public long size() {
+            return cache.size();
+        }
+
+        @Override
+        public long weightedSize() {
+            return cache.weightedSize();
+        }
+
+        @Override
+        public long maxWeight() {
+            return cache.maxWeight();
+        }
+
+        @Override
+        public boolean evict(CacheEntry<K, V> entry) {
+            if (cache.evict(entry)) {
+                remaining--;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isOverCapacity(long maxSize, long maxWeight) {
+            return remaining > 0 && cache.isOverCapacity(maxSize, maxWeight);
+        }
+    }
+}
@@ -1,16 +1,30 @@
 package com.satya.distributedcache.cache.eviction;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+
+import java.util.Collection;
 
 public interface EvictionManager<K, V> {
 
-    void onPut(K key, Map<K, V> cache, ConcurrentLinkedDeque<K> accessTracker);
+    void onPut(CacheEntry<K, V> entry, EvictionTarget<K, V> cache);
+
+    default void onPutAll(Collection<CacheEntry<K, V>> entries, EvictionTarget<K, V> cache) {
+        for (CacheEntry<K, V> entry : entries) {
+            onPut(entry, cache);
+        }
+    }
+
+    void onAccess(CacheEntry<K, V> entry);
 
-    void onAccess(K key, ConcurrentLinkedDeque<K> accessTracker);
+    void onRemove(CacheEntry<K, V> entry);
 
-    void onRemove(K key, ConcurrentLinkedDeque<K> accessTracker);
+    // Synchronously evicts up to count entries regardless of the size bound
+    int evictEntries(EvictionTarget<K, V> cache, int count);
+
+    // Called once by the owning store so the manager records eviction runs, lag and writer assists in its counters
+    default void bindMetrics(CacheMetrics metrics) {
+    }
 
     String getStats();
 }
-
@@ -1,20 +1,31 @@
 package com.satya.distributedcache.cache.eviction;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+import java.util.Collection;
 
 public interface EvictionStrategy<K, V> {
 
-    void onAccess(K key, ConcurrentLinkedDeque<K> accessTracker);
+    // Called once by the owning manager so size-aware strategies can dimension their structures
+    default void setMaximumSize(int maxSize) {
+    }
+
+    void onAccess(CacheEntry<K, V> entry);
 
-    void onPut(K key, ConcurrentLinkedDeque<K> accessTracker);
+    void onPut(CacheEntry<K, V> entry);
 
-    int evict(Map<K, V> cache, ConcurrentLinkedDeque<K> accessTracker, int maxSize);
+    // Batch form of onPut; lock-based strategies override it to link the whole batch in one critical section
+    default void onPutAll(Collection<CacheEntry<K, V>> entries) {
+        for (CacheEntry<K, V> entry : entries) {
+            onPut(entry);
+        }
+    }
 
-    void onRemove(K key, ConcurrentLinkedDeque<K> accessTracker);
+    int evict(EvictionTarget<K, V> cache, int maxSize);
+
+    void onRemove(CacheEntry<K, V> entry);
 
     String getName();
 
     String getStats();
 }
-
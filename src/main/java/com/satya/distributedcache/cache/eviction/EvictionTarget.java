@@ -0,0 +1,25 @@
+package com.satya.distributedcache.cache.eviction;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+// The store a strategy evicts from; evict removes the entry only if it is still the live mapping
+public interface EvictionTarget<K, V> {
+
+    long size();
+
+    long weightedSize();
+
+    // <= 0 means the target is only bounded by entry count
+    long maxWeight();
+
+    boolean evict(CacheEntry<K, V> entry);
+
+    default boolean isOverCapacity(long maxSize) {
+        return isOverCapacity(maxSize, maxWeight());
+    }
+
+    // Same check against an explicit weight bound, e.g. a hard watermark above maxWeight()
+    default boolean isOverCapacity(long maxSize, long maxWeight) {
+        return size() > maxSize || (maxWeight > 0 && weightedSize() > maxWeight);
+    }
+}
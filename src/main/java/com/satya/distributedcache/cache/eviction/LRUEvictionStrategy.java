@@ -1,57 +1,121 @@
 package com.satya.distributedcache.cache.eviction;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.atomic.AtomicLong;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class LRUEvictionStrategy<K, V> implements EvictionStrategy<K, V> {
 
-    private final AtomicLong accessCount = new AtomicLong(0);
-    private final AtomicLong evictionCount = new AtomicLong(0);
-    private final AtomicLong hitCount = new AtomicLong(0);
+    private final LongAdder accessCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AccessOrderDeque<K, V> accessOrder = new AccessOrderDeque<>();
+    private final StripedReadBuffer<CacheEntry<K, V>> readBuffer = new StripedReadBuffer<>();
 
     @Override
-    public void onAccess(K key, ConcurrentLinkedDeque<K> accessTracker) {
-        if (key == null) {
+    public void onAccess(CacheEntry<K, V> entry) {
+        if (entry == null) {
             return;
         }
-        accessTracker.remove(key);
-        accessTracker.addLast(key);
-        accessCount.incrementAndGet();
-        hitCount.incrementAndGet();
+        accessCount.increment();
+        hitCount.increment();
+        // Reads only record into a buffer; reordering happens in batches when a stripe fills up
+        if (readBuffer.offer(entry) && lock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
     @Override
-    public void onPut(K key, ConcurrentLinkedDeque<K> accessTracker) {
-        if (key == null) {
+    public void onPut(CacheEntry<K, V> entry) {
+        if (entry == null) {
             return;
         }
-        accessTracker.remove(key);
-        accessTracker.addLast(key);
-        accessCount.incrementAndGet();
+        lock.lock();
+        try {
+            drainReadBuffer();
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+        accessCount.increment();
+    }
+
+    @Override
+    public void onPutAll(Collection<CacheEntry<K, V>> entries) {
+        lock.lock();
+        try {
+            drainReadBuffer();
+            for (CacheEntry<K, V> entry : entries) {
+                link(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        accessCount.add(entries.size());
+    }
+
+    private void link(CacheEntry<K, V> entry) {
+        if (!entry.isRetired()) {
+            if (accessOrder.contains(entry)) {
+                accessOrder.moveToBack(entry);
+            } else {
+                accessOrder.addLast(entry);
+            }
+        }
     }
 
     @Override
-    public int evict(Map<K, V> cache, ConcurrentLinkedDeque<K> accessTracker, int maxSize) {
+    public int evict(EvictionTarget<K, V> cache, int maxSize) {
         int evicted = 0;
-        while (cache.size() > maxSize) {
-            K lruKey = accessTracker.pollFirst();
-            if (lruKey == null) {
-                break;
+        lock.lock();
+        try {
+            drainReadBuffer();
+            while (cache.isOverCapacity(maxSize)) {
+                CacheEntry<K, V> lru = accessOrder.pollFirst();
+                if (lru == null) {
+                    break;
+                }
+                if (cache.evict(lru)) {
+                    evicted++;
+                    evictionCount.increment();
+                }
             }
-            cache.remove(lruKey);
-            evicted++;
-            evictionCount.incrementAndGet();
+        } finally {
+            lock.unlock();
         }
         return evicted;
     }
 
     @Override
-    public void onRemove(K key, ConcurrentLinkedDeque<K> accessTracker) {
-        if (key == null) {
+    public void onRemove(CacheEntry<K, V> entry) {
+        if (entry == null) {
             return;
         }
-        accessTracker.remove(key);
+        lock.lock();
+        try {
+            if (accessOrder.contains(entry)) {
+                accessOrder.remove(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(entry -> {
+            // The entry may have been removed, or not linked yet by its put, since it was buffered
+            if (!entry.isRetired() && accessOrder.contains(entry)) {
+                accessOrder.moveToBack(entry);
+            }
+        });
     }
 
     @Override
@@ -61,13 +125,12 @@ public class LRUEvictionStrategy<K, V> implements EvictionStrategy<K, V> {
 
     @Override
     public String getStats() {
-        long total = accessCount.get();
-        long hits = hitCount.get();
+        long total = accessCount.sum();
+        long hits = hitCount.sum();
         double hitRate = total > 0 ? (hits * 100.0 / total) : 0.0;
         return String.format(
             "LRU Strategy Stats: [accesses=%d, hits=%d, evictions=%d, hitRate=%.2f%%]",
-            total, hits, evictionCount.get(), hitRate
+            total, hits, evictionCount.sum(), hitRate
         );
     }
 }
-
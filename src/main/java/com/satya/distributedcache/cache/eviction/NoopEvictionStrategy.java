@@ -1,27 +1,27 @@
 package com.satya.distributedcache.cache.eviction;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
 
 public class NoopEvictionStrategy<K, V> implements EvictionStrategy<K, V> {
     @Override
-    public void onAccess(K key, ConcurrentLinkedDeque<K> accessTracker) {
+    public void onAccess(CacheEntry<K, V> entry) {
         // no-op
     }
 
     @Override
-    public void onPut(K key, ConcurrentLinkedDeque<K> accessTracker) {
+    public void onPut(CacheEntry<K, V> entry) {
         // no-op
     }
 
     @Override
-    public int evict(Map<K, V> cache, ConcurrentLinkedDeque<K> accessTracker, int maxSize) {
+    public int evict(EvictionTarget<K, V> cache, int maxSize) {
         // never evict for TTL index
         return 0;
     }
 
     @Override
-    public void onRemove(K key, ConcurrentLinkedDeque<K> accessTracker) {
+    public void onRemove(CacheEntry<K, V> entry) {
         // no-op
     }
 
@@ -35,4 +35,3 @@ public class NoopEvictionStrategy<K, V> implements EvictionStrategy<K, V> {
         return "NoopEvictionStrategy: [no evictions]";
     }
 }
-
@@ -0,0 +1,78 @@
+package com.satya.distributedcache.cache.eviction;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Lossy, striped ring buffers that record reads without taking the strategy lock.
+// Readers pick a stripe by thread; a full stripe signals the caller to drain under the lock.
+public class StripedReadBuffer<E> {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final RingBuffer<E>[] stripes;
+    private final int stripeMask;
+
+    @SuppressWarnings("unchecked")
+    public StripedReadBuffer() {
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripes = new RingBuffer[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new RingBuffer<>();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    // Returns true when the caller's stripe is full and should be drained
+    public boolean offer(E e) {
+        int h = System.identityHashCode(Thread.currentThread());
+        h ^= (h >>> 16);
+        return stripes[h & stripeMask].offer(e);
+    }
+
+    // Single consumer: must be called while holding the owner's lock
+    public void drainTo(Consumer<E> consumer) {
+        for (RingBuffer<E> stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    private static final class RingBuffer<E> {
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        boolean offer(E e) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            long size = tail - head;
+            if (size >= BUFFER_SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & BUFFER_MASK), e);
+                return size + 1 >= BUFFER_SIZE;
+            }
+            // Lost the race to another reader on this stripe; dropping the hint is fine for recency
+            return false;
+        }
+
+        void drainTo(Consumer<E> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            while (head < tail) {
+                int index = (int) (head & BUFFER_MASK);
+                E e = buffer.get(index);
+                if (e == null) {
+                    // Writer claimed the slot but has not published yet
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(e);
+                head++;
+            }
+            readCounter = head;
+        }
+    }
+}
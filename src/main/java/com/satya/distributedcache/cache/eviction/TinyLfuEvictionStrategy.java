@@ -0,0 +1,266 @@
+package com.satya.distributedcache.cache.eviction;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// W-TinyLFU: new entries land in a small LRU admission window; entries leaving the window
+// compete with the main region's victim and are only admitted if the frequency sketch says
+// they are more popular. The main region is a segmented LRU (probation + protected), so
+// one-off scans churn through the window and probation without flushing the hot set.
+public class TinyLfuEvictionStrategy<K, V> implements EvictionStrategy<K, V> {
+
+    private static final byte NONE = 0;
+    private static final byte WINDOW = 1;
+    private static final byte PROBATION = 2;
+    private static final byte PROTECTED = 3;
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 2000000;
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final LongAdder accessCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedRegion = new AccessOrderDeque<>();
+    private final StripedReadBuffer<CacheEntry<K, V>> readBuffer = new StripedReadBuffer<>();
+
+    private int maximumSize;
+    private int windowMaximum;
+    private int protectedMaximum;
+    private FrequencySketch sketch;
+
+    @Override
+    public void setMaximumSize(int maxSize) {
+        lock.lock();
+        try {
+            this.maximumSize = maxSize > 0 ? maxSize : DEFAULT_MAXIMUM_SIZE;
+            this.windowMaximum = Math.max(1, maximumSize * WINDOW_PERCENT / 100);
+            int mainMaximum = Math.max(1, maximumSize - windowMaximum);
+            this.protectedMaximum = Math.max(1, (int) ((long) mainMaximum * PROTECTED_PERCENT / 100));
+            this.sketch = new FrequencySketch(maximumSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureSized() {
+        if (sketch == null) {
+            setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+        }
+    }
+
+    @Override
+    public void onAccess(CacheEntry<K, V> entry) {
+        if (entry == null) {
+            return;
+        }
+        accessCount.increment();
+        hitCount.increment();
+        if (readBuffer.offer(entry) && lock.tryLock()) {
+            try {
+                ensureSized();
+                drainReadBuffer();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onPut(CacheEntry<K, V> entry) {
+        if (entry == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            ensureSized();
+            drainReadBuffer();
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+        accessCount.increment();
+    }
+
+    @Override
+    public void onPutAll(Collection<CacheEntry<K, V>> entries) {
+        lock.lock();
+        try {
+            ensureSized();
+            drainReadBuffer();
+            for (CacheEntry<K, V> entry : entries) {
+                link(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        accessCount.add(entries.size());
+    }
+
+    private void link(CacheEntry<K, V> entry) {
+        if (entry.isRetired()) {
+            return;
+        }
+        if (entry.getRegion() == NONE) {
+            sketch.increment(entry.getKey());
+            entry.setRegion(WINDOW);
+            window.addLast(entry);
+            // While there is room, window overflow flows straight into probation;
+            // once over capacity it stays in the window as admission candidates for evict()
+            while (window.size() > windowMaximum && linkedSize() <= maximumSize) {
+                moveToProbation(window.pollFirst());
+            }
+        } else {
+            onHit(entry);
+        }
+    }
+
+    @Override
+    public int evict(EvictionTarget<K, V> cache, int maxSize) {
+        int evicted = 0;
+        lock.lock();
+        try {
+            ensureSized();
+            drainReadBuffer();
+            while (window.size() > windowMaximum) {
+                CacheEntry<K, V> candidate = window.pollFirst();
+                candidate.setRegion(NONE);
+                if (!cache.isOverCapacity(maxSize)) {
+                    moveToProbation(candidate);
+                    continue;
+                }
+                CacheEntry<K, V> victim = mainVictim();
+                if (victim == null) {
+                    moveToProbation(candidate);
+                    continue;
+                }
+                // A namespace flush made stale entries garbage: they never win admission or keep their place
+                boolean admit = !candidate.isStale() && (victim.isStale()
+                        || sketch.frequency(candidate.getKey()) > sketch.frequency(victim.getKey()));
+                if (admit) {
+                    unlink(victim);
+                    evicted += remove(cache, victim);
+                    moveToProbation(candidate);
+                } else {
+                    rejectedCount.increment();
+                    evicted += remove(cache, candidate);
+                }
+            }
+            while (cache.isOverCapacity(maxSize)) {
+                CacheEntry<K, V> victim = mainVictim();
+                if (victim == null) {
+                    victim = window.peekFirst();
+                }
+                if (victim == null) {
+                    break;
+                }
+                unlink(victim);
+                evicted += remove(cache, victim);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void onRemove(CacheEntry<K, V> entry) {
+        if (entry == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            unlink(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(entry -> {
+            if (!entry.isRetired() && entry.getRegion() != NONE) {
+                onHit(entry);
+            }
+        });
+    }
+
+    private void onHit(CacheEntry<K, V> entry) {
+        sketch.increment(entry.getKey());
+        switch (entry.getRegion()) {
+            case WINDOW -> window.moveToBack(entry);
+            case PROBATION -> {
+                // A second hit while on probation promotes into the protected segment
+                probation.remove(entry);
+                entry.setRegion(PROTECTED);
+                protectedRegion.addLast(entry);
+                while (protectedRegion.size() > protectedMaximum) {
+                    CacheEntry<K, V> demoted = protectedRegion.pollFirst();
+                    demoted.setRegion(PROBATION);
+                    probation.addLast(demoted);
+                }
+            }
+            case PROTECTED -> protectedRegion.moveToBack(entry);
+            default -> {
+            }
+        }
+    }
+
+    private CacheEntry<K, V> mainVictim() {
+        CacheEntry<K, V> victim = probation.peekFirst();
+        return victim != null ? victim : protectedRegion.peekFirst();
+    }
+
+    private void moveToProbation(CacheEntry<K, V> entry) {
+        entry.setRegion(PROBATION);
+        probation.addLast(entry);
+    }
+
+    private void unlink(CacheEntry<K, V> entry) {
+        switch (entry.getRegion()) {
+            case WINDOW -> window.remove(entry);
+            case PROBATION -> probation.remove(entry);
+            case PROTECTED -> protectedRegion.remove(entry);
+            default -> {
+                return;
+            }
+        }
+        entry.setRegion(NONE);
+    }
+
+    private int remove(EvictionTarget<K, V> cache, CacheEntry<K, V> entry) {
+        if (cache.evict(entry)) {
+            evictionCount.increment();
+            return 1;
+        }
+        return 0;
+    }
+
+    private int linkedSize() {
+        return window.size() + probation.size() + protectedRegion.size();
+    }
+
+    @Override
+    public String getName() {
+        return "TinyLFU";
+    }
+
+    @Override
+    public String getStats() {
+        long total = accessCount.sum();
+        long hits = hitCount.sum();
+        double hitRate = total > 0 ? (hits * 100.0 / total) : 0.0;
+        return String.format(
+            "TinyLFU Strategy Stats: [accesses=%d, hits=%d, evictions=%d, rejected=%d, hitRate=%.2f%%, window=%d, probation=%d, protected=%d]",
+            total, hits, evictionCount.sum(), rejectedCount.sum(), hitRate,
+            window.size(), probation.size(), protectedRegion.size()
+        );
+    }
+}
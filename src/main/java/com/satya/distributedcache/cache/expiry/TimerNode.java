@@ -0,0 +1,48 @@
+package com.satya.distributedcache.cache.expiry;
+
+public class TimerNode<K> {
+
+    private final K key;
+    // Epoch millis; 0 means no deadline
+    private volatile long expireAt;
+
+    // Wheel links, guarded by the owning TimerWheel's lock
+    TimerNode<K> prevInTimer;
+    TimerNode<K> nextInTimer;
+    // True while parked on the wheel's ready list
+    boolean due;
+
+    public TimerNode(K key) {
+        this.key = key;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public long getExpireAt() {
+        return expireAt;
+    }
+
+    void setExpireAt(long expireAt) {
+        this.expireAt = expireAt;
+    }
+
+    // Drops the deadline; if the node is still on a wheel it becomes a no-op when swept
+    public void clearExpiry() {
+        this.expireAt = 0L;
+    }
+
+    public boolean hasExpiry() {
+        return expireAt != 0L;
+    }
+
+    public boolean isExpired(long now) {
+        long at = expireAt;
+        return at != 0L && at <= now;
+    }
+
+    boolean isScheduled() {
+        return prevInTimer != null;
+    }
+}
@@ -0,0 +1,202 @@
+package com.satya.distributedcache.cache.expiry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Hierarchical hashed timing wheel over intrusive TimerNodes (times are epoch millis).
+// Schedule, reschedule and cancel are O(1) pointer operations. advance() sweeps only the buckets
+// whose tick elapsed, cascading far-out timers down a level, and parks due timers on a ready
+// list that is handed out at most maxExpirations per call so a burst never stalls the ticker.
+public class TimerWheel<K> {
+
+    // Bucket widths per level: 16ms, ~1s, ~65s, ~70min, ~18.6h (the last level is a single overflow bucket)
+    private static final int[] BUCKETS = {64, 64, 64, 16, 1};
+    private static final long[] SPANS = {1L << 4, 1L << 10, 1L << 16, 1L << 22, 1L << 26, 1L << 26};
+    private static final int[] SHIFT = {4, 10, 16, 22, 26};
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimerNode<K>[][] wheel;
+    private final TimerNode<K> ready = sentinel();
+    private long currentTime;
+    private int size;
+    private int readySize;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long now) {
+        this.currentTime = now;
+        this.wheel = new TimerNode[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new TimerNode[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                wheel[i][j] = sentinel();
+            }
+        }
+    }
+
+    public TimerWheel() {
+        this(System.currentTimeMillis());
+    }
+
+    // Schedules or reschedules the node in place
+    public void schedule(TimerNode<K> node, long expireAt) {
+        lock.lock();
+        try {
+            node.setExpireAt(expireAt);
+            if (node.isScheduled()) {
+                unlink(node);
+            } else {
+                size++;
+            }
+            link(findBucket(expireAt), node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Unschedules the node and clears its deadline
+    public boolean cancel(TimerNode<K> node) {
+        lock.lock();
+        try {
+            node.setExpireAt(0L);
+            if (!node.isScheduled()) {
+                return false;
+            }
+            unlink(node);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Moves time forward and hands at most maxExpirations due nodes to the consumer (outside the lock)
+    public int advance(long now, int maxExpirations, Consumer<TimerNode<K>> onExpired) {
+        List<TimerNode<K>> expired;
+        lock.lock();
+        try {
+            if (now > currentTime) {
+                long previousTime = currentTime;
+                currentTime = now;
+                for (int i = 0; i < SHIFT.length; i++) {
+                    long previousTicks = previousTime >>> SHIFT[i];
+                    long currentTicks = now >>> SHIFT[i];
+                    long delta = currentTicks - previousTicks;
+                    if (delta <= 0L) {
+                        break;
+                    }
+                    expire(i, previousTicks, delta);
+                }
+            }
+            expired = new ArrayList<>(Math.min(Math.max(maxExpirations, 0), readySize));
+            while (expired.size() < maxExpirations && ready.nextInTimer != ready) {
+                TimerNode<K> node = ready.nextInTimer;
+                unlink(node);
+                size--;
+                expired.add(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (TimerNode<K> node : expired) {
+            onExpired.accept(node);
+        }
+        return expired.size();
+    }
+
+    private void expire(int level, long previousTicks, long delta) {
+        TimerNode<K>[] buckets = wheel[level];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(1 + delta, buckets.length);
+        int start = (int) (previousTicks & mask);
+        for (int i = start; i < start + steps; i++) {
+            TimerNode<K> sentinel = buckets[i & mask];
+            TimerNode<K> node = sentinel.nextInTimer;
+            sentinel.prevInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+            while (node != sentinel) {
+                TimerNode<K> next = node.nextInTimer;
+                node.prevInTimer = null;
+                node.nextInTimer = null;
+                if (node.getExpireAt() <= currentTime) {
+                    link(ready, node);
+                } else {
+                    // cascade into a finer bucket (or back into this level on a later rotation)
+                    link(findBucket(node.getExpireAt()), node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private TimerNode<K> findBucket(long expireAt) {
+        // Overdue timers go into the current tick so the next sweep picks them up
+        long time = Math.max(expireAt, currentTime);
+        long duration = time - currentTime;
+        int last = wheel.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                return wheel[i][(int) (ticks & (wheel[i].length - 1))];
+            }
+        }
+        return wheel[last][0];
+    }
+
+    private void link(TimerNode<K> sentinel, TimerNode<K> node) {
+        node.prevInTimer = sentinel.prevInTimer;
+        node.nextInTimer = sentinel;
+        sentinel.prevInTimer.nextInTimer = node;
+        sentinel.prevInTimer = node;
+        if (sentinel == ready) {
+            node.due = true;
+            readySize++;
+        }
+    }
+
+    private void unlink(TimerNode<K> node) {
+        if (node.due) {
+            node.due = false;
+            readySize--;
+        }
+        node.prevInTimer.nextInTimer = node.nextInTimer;
+        node.nextInTimer.prevInTimer = node.prevInTimer;
+        node.prevInTimer = null;
+        node.nextInTimer = null;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int backlog() {
+        lock.lock();
+        try {
+            return readySize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getStats() {
+        lock.lock();
+        try {
+            return String.format("TimerWheel Stats: [scheduled=%d, dueBacklog=%d]", size, readySize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <K> TimerNode<K> sentinel() {
+        TimerNode<K> sentinel = new TimerNode<>(null);
+        sentinel.prevInTimer = sentinel;
+        sentinel.nextInTimer = sentinel;
+        return sentinel;
+    }
+}
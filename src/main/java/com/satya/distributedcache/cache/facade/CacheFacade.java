@@ -1,12 +1,49 @@
 package com.satya.distributedcache.cache.facade;
 
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cache.types.DataCommand;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
 public interface CacheFacade<K, V> {
 
     V get(K key);
 
     void set(K key, V value);
 
-    void del(K key);
+    // Atomic conditional write (NX / XX / compare-and-set) that also applies the TTL, in one store lookup
+    SetResult<V> setIf(K key, V value, SetOptions options);
+
+    // Version of the key's current value, 0 when missing. Read it before the value when preparing a compare-and-set.
+    long version(K key);
+
+    // Runs a counter / hash / list / sorted-set command on the server-side structure under key and returns its reply
+    Object execute(K key, DataCommand command);
+
+    // Hands each key and its value (null when missing) to the sink as it is read, in key order
+    void mget(Collection<K> keys, BiConsumer<K, V> sink);
+
+    // ttlMillis < 0 keeps each key's current TTL, like set
+    void mset(Map<K, V> entries, long ttlMillis);
+
+    // Bulk load with absolute deadlines (warm restart); keys missing from expireAts get no TTL
+    void restore(Map<K, V> entries, Map<K, Long> expireAts);
+
+    // Whether a live key was removed
+    boolean del(K key);
+
+    // Compare-and-delete: removes the key only while it still carries version (see version())
+    boolean delIfVersion(K key, long version);
+
+    // Drops every key of the namespace (the key part before the first separator) in O(1); returns its new generation
+    long flushNamespace(String namespace);
+
+    // Incremental key walk: start with cursor 0 and pass back the returned cursor until it is 0 again. Keys
+    // present for the whole walk are returned at least once; count bounds the entries examined per call.
+    ScanResult<K> scan(long cursor, String match, int count);
 
     boolean exists(K key);
 
@@ -14,8 +51,21 @@ public interface CacheFacade<K, V> {
 
     long ttl(K key);
 
+    // Whether a TTL was removed (false for a missing key or one without a TTL)
     boolean persist(K key);
 
+    void addMutationListener(MutationListener<K, V> listener);
+
+    // Whether every write to the key passes this node's mutation listeners. False for keys another
+    // cluster node owns, so a near-cache subscribed here must not keep them.
+    default boolean observesWrites(K key) {
+        return true;
+    }
+
+    // Structured counterpart of getStats for the JSON and Prometheus exports
+    default void writeMetrics(MetricsWriter out) {
+    }
+
     String getStats();
 }
 
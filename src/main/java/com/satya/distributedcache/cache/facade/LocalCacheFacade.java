@@ -1,99 +1,391 @@
 package com.satya.distributedcache.cache.facade;
 
-import com.satya.distributedcache.cache.mapcache.MapCache;
+import com.satya.distributedcache.cache.expiry.TimerNode;
+import com.satya.distributedcache.cache.expiry.TimerWheel;
+import com.satya.distributedcache.cache.loader.CacheLoader;
+import com.satya.distributedcache.cache.loader.SingleFlightLoader;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.mapcache.RemovalCause;
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.namespace.Namespaces;
+import com.satya.distributedcache.cache.namespace.StaleEntrySweeper;
+import com.satya.distributedcache.cache.scan.KeyPattern;
+import com.satya.distributedcache.cache.scan.ScanCursors;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cache.scheduler.BackgroundScheduler;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import com.satya.distributedcache.cache.types.DataCommand;
+import com.satya.distributedcache.cache.types.DataCommands;
 import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiConsumer;
 
 @Component
 @RequiredArgsConstructor
 public class LocalCacheFacade implements CacheFacade<String, Object> {
 
-    private final MapCache<String, Object> store;
+    // Entries carry their own expire-at and are themselves the expiry wheel's timer nodes
+    private final Cache<String, Object> store;
 
-    private final MapCache<String, Long> cacheTTL;
+    private final TimerWheel<String> expiryWheel;
 
-    private final DelayQueue<CacheItem> delayQueue = new DelayQueue<>();
+    private final ValueStorage valueStorage;
 
-//    private final CachePurger cachePurger;
+    // Expiry ticks run on the shared housekeeping workers; each tick expires at most maxExpirationsPerTick keys
+    private final BackgroundScheduler backgroundScheduler;
 
-//    public LocalCacheFacade(MapCache<String, Object> store, MapCache<String, Long> cacheTTL) {
-//        this.store = store;
-//        this.cacheTTL = cacheTTL;
-//    }
+    @Value("${cache.expiry.tick-millis:10}")
+    private long expiryTickMillis;
+
+    @Value("${cache.expiry.max-expirations-per-tick:10000}")
+    private int maxExpirationsPerTick;
+
+    // Read-through settings, only used when a CacheLoader bean is present. ttl-millis < 0 caches loaded
+    // values without a TTL; refresh-ahead is the fraction of that TTL before expiry at which a read
+    // triggers a background reload (0 = off).
+    @Value("${cache.loader.ttl-millis:-1}")
+    private long loaderTtlMillis;
+
+    @Value("${cache.loader.refresh-ahead:0}")
+    private double refreshAheadFraction;
+
+    @Value("${cache.loader.refresh-threads:2}")
+    private int refreshThreads;
+
+    // SCAN cursors left unused this long are dropped; at most max-open-cursors walks are resumable at once
+    @Value("${cache.scan.idle-timeout-millis:60000}")
+    private long scanIdleTimeoutMillis;
+
+    @Value("${cache.scan.max-open-cursors:1024}")
+    private int maxOpenScanCursors;
+
+    private ScanCursors<Object> scanCursors;
+
+    // Keys are grouped into namespaces by their prefix up to the separator (empty = off); each namespace's
+    // entries are stamped with its generation so a flush is one bump, and the expiry ticker sweeps up after it
+    @Value("${cache.namespace.separator::}")
+    private String namespaceSeparator;
+
+    @Value("${cache.namespace.max-namespaces:10000}")
+    private int maxNamespaces;
+
+    private Namespaces namespaces;
+
+    private StaleEntrySweeper<Object> staleSweeper;
+
+    private SingleFlightLoader<String, Object> loader;
+
+    private long refreshAheadMillis;
+
+    private ScheduledFuture<?> expiryTicker;
+
+    private final List<MutationListener<String, Object>> mutationListeners = new CopyOnWriteArrayList<>();
 
     @PostConstruct
-    public void initiatePurer() {
-        Thread purger = new Thread(() -> {
-            while (true) {
-                try {
-                    CacheItem expiredKey = delayQueue.take();
-                    Long currentExpireAt = cacheTTL.getIfPresent(expiredKey.key);
-                    long now = System.currentTimeMillis();
-                    // Only delete if the queued expireAt matches current and is due
-                    if (currentExpireAt != null && currentExpireAt.equals(expiredKey.ttl) && currentExpireAt <= now) {
-                        this.del(expiredKey.key);
-                        System.out.println("Evicted: " + expiredKey.key);
-                    }
-                } catch (InterruptedException e) {
-                    break;
+    public void startExpiryTicker() {
+        // Entries leaving the cache for any reason (del, eviction) drop their timer in place;
+        // every departing value (including overwritten ones) gives its storage back
+        store.setRemovalListener((entry, value, cause) -> {
+            if (cause != RemovalCause.REPLACED && entry.hasExpiry()) {
+                expiryWheel.cancel(entry);
+            }
+            valueStorage.release(value);
+            if (cause == RemovalCause.EXPIRED) {
+                for (MutationListener<String, Object> listener : mutationListeners) {
+                    listener.onTtlElapsed(entry.getKey());
                 }
             }
         });
+        scanCursors = new ScanCursors<>(store, scanIdleTimeoutMillis, maxOpenScanCursors);
+        namespaces = new Namespaces(namespaceSeparator, maxNamespaces);
+        staleSweeper = new StaleEntrySweeper<>(store, namespaces);
+        store.setGenerations(namespaces::generationOf);
+        expiryTicker = backgroundScheduler.scheduleWithFixedDelay("expiry", this::expireDueKeys, expiryTickMillis);
+    }
+
+    @PreDestroy
+    public void stopExpiryTicker() {
+        if (expiryTicker != null) {
+            expiryTicker.cancel(false);
+        }
+        if (loader != null) {
+            loader.close();
+        }
+    }
+
+    // Misses go to the loader, coalesced per key; loaded values are cached with the loader TTL
+    @Autowired(required = false)
+    public void setCacheLoader(CacheLoader<String, Object> cacheLoader) {
+        this.loader = new SingleFlightLoader<>(cacheLoader, refreshThreads, store.metrics());
+        this.refreshAheadMillis = loaderTtlMillis > 0 ? (long) (loaderTtlMillis * refreshAheadFraction) : 0L;
+    }
+
+    private void expireDueKeys() {
+        int expired = expiryWheel.advance(System.currentTimeMillis(), maxExpirationsPerTick, this::onTimerExpired);
+        // Whatever budget the due timers left goes to reclaiming flushed entries
+        staleSweeper.sweep(Math.max(maxExpirationsPerTick - expired, 0));
+    }
 
-        purger.setDaemon(true);
-        purger.start();
+    @SuppressWarnings("unchecked")
+    private void onTimerExpired(TimerNode<String> timer) {
+        // Only delete if the entry still carries a TTL that is due (it may have been persisted or re-expired)
+        store.invalidateIfExpired((CacheEntry<String, Object>) timer, System.currentTimeMillis());
     }
 
     @Override
     public Object get(String key) {
-       if(checkExpiry(key))
-           return null;
-        return store.getIfPresent(key);
+        CacheMetrics metrics = store.metrics();
+        long start = System.nanoTime();
+        CacheEntry<String, Object> entry = store.getEntry(key);
+        Object value = entry == null || isExpired(entry) ? null : valueStorage.read(entry);
+        metrics.getLatency.record(System.nanoTime() - start);
+        (value == null ? metrics.misses : metrics.hits).increment();
+        return loadIfNeeded(key, entry, value);
     }
 
+    // With a loader, a miss is loaded (coalesced per key) and a hit close to expiry starts a refresh
+    private Object loadIfNeeded(String key, CacheEntry<String, Object> entry, Object value) {
+        if (loader != null) {
+            if (value == null) {
+                return loader.load(key, this::storeLoaded);
+            }
+            if (refreshAheadMillis > 0 && entry.hasExpiry()
+                    && entry.getExpireAt() - System.currentTimeMillis() <= refreshAheadMillis) {
+                long version = entry.getVersion();
+                loader.refresh(key, (k, loaded) -> storeRefreshed(k, loaded, version));
+            }
+        }
+        return value;
+    }
+
+    // A value a client wrote while the load was running wins over the loaded one
+    private Object storeLoaded(String key, Object loaded) {
+        SetResult<Object> result = setIf(key, loaded,
+                new SetOptions(SetCondition.IF_ABSENT, 0L, loaderTtlMillis, true, true));
+        return result.applied() || result.previous() == null ? loaded : result.previous();
+    }
+
+    // Only replaces the value the refresh was started for
+    private Object storeRefreshed(String key, Object loaded, long version) {
+        setIf(key, loaded, SetOptions.ifVersion(version, loaderTtlMillis));
+        return loaded;
+    }
+
+    // Listeners are told about each write under the key's bin lock, so the log and the replicas see the
+    // writes to one key in the order they were applied
     @Override
     public void set(String key, Object value) {
-        store.put(key, value);
+        long start = System.nanoTime();
+        store.putIf(key, valueStorage.encode(value), existing -> true, entry -> {
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                listener.onSet(key, value);
+            }
+        });
+        store.metrics().setLatency.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public SetResult<Object> setIf(String key, Object value, SetOptions options) {
+        long start = System.nanoTime();
+        Object encoded = valueStorage.encode(value);
+        long ttlMillis = options.ttlMillis();
+        long expireAt = ttlMillis >= 0 ? System.currentTimeMillis() + ttlMillis : 0L;
+        long[] version = new long[1];
+        Object[] previous = new Object[1];
+        // Both callbacks run under the key's bin lock: the check, the swap and the TTL land as one step
+        CacheEntry<String, Object> written = store.putIf(key, encoded, existing -> {
+            if (existing != null) {
+                version[0] = existing.getVersion();
+                if (options.returnPrevious()) {
+                    previous[0] = valueStorage.read(existing);
+                }
+            }
+            return options.condition().test(existing != null, version[0], options.expectedVersion());
+        }, entry -> {
+            version[0] = entry.getVersion();
+            if (ttlMillis >= 0) {
+                expiryWheel.schedule(entry, expireAt);
+            } else if (!options.keepTtl() && entry.hasExpiry()) {
+                expiryWheel.cancel(entry);
+            }
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                listener.onSet(key, value);
+                if (ttlMillis >= 0) {
+                    listener.onExpire(key, expireAt);
+                } else if (!options.keepTtl()) {
+                    listener.onPersist(key);
+                }
+            }
+        });
+        store.metrics().setLatency.record(System.nanoTime() - start);
+        if (written == null) {
+            valueStorage.release(encoded);
+            return new SetResult<>(false, version[0], previous[0]);
+        }
+        return new SetResult<>(true, version[0], previous[0]);
+    }
+
+    @Override
+    public long version(String key) {
+        CacheEntry<String, Object> entry = store.peekEntry(key);
+        return entry == null || isExpired(entry) ? 0L : entry.getVersion();
+    }
+
+    // Structures are logged and replicated as their full current value
+    @Override
+    public Object execute(String key, DataCommand command) {
+        return DataCommands.execute(store, key, command, valueStorage::decode, stored -> {
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                if (stored != null) {
+                    listener.onSet(key, stored);
+                } else {
+                    listener.onDelete(key);
+                }
+            }
+        });
+    }
+
+    // One lookup pass for the whole batch; values are decoded and handed out one at a time so the
+    // caller can stream them
+    @Override
+    public void mget(Collection<String> keys, BiConsumer<String, Object> sink) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        CacheMetrics metrics = store.metrics();
+        long start = System.nanoTime();
+        List<CacheEntry<String, Object>> entries = store.getEntries(keys);
+        long perKey = (System.nanoTime() - start) / keys.size();
+        long hits = 0;
+        int i = 0;
+        for (String key : keys) {
+            CacheEntry<String, Object> entry = entries.get(i++);
+            Object value = entry == null || isExpired(entry) ? null : valueStorage.read(entry);
+            metrics.getLatency.record(perKey);
+            hits += value == null ? 0 : 1;
+            sink.accept(key, loadIfNeeded(key, entry, value));
+        }
+        metrics.hits.add(hits);
+        metrics.misses.add(keys.size() - hits);
     }
 
     @Override
-    public void del(String key) {
-        store.invalidate(key);
-        cacheTTL.invalidate(key);
+    public void mset(Map<String, Object> entries, long ttlMillis) {
+        Map<String, Object> encoded = new LinkedHashMap<>(Math.max(16, entries.size() * 4 / 3 + 1));
+        for (Map.Entry<String, Object> e : entries.entrySet()) {
+            encoded.put(e.getKey(), valueStorage.encode(e.getValue()));
+        }
+        long expireAt = System.currentTimeMillis() + ttlMillis;
+        // Each deadline is set under its key's bin lock, so a concurrent SET cannot inherit the batch TTL;
+        // an entry evicted once the batch is in drops its timer through the removal listener
+        store.putAll(encoded, entry -> {
+            if (ttlMillis >= 0) {
+                expiryWheel.schedule(entry, expireAt);
+            }
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                listener.onSet(entry.getKey(), entries.get(entry.getKey()));
+                if (ttlMillis >= 0) {
+                    listener.onExpire(entry.getKey(), expireAt);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void restore(Map<String, Object> entries, Map<String, Long> expireAts) {
+        Map<String, Object> encoded = new LinkedHashMap<>(Math.max(16, entries.size() * 4 / 3 + 1));
+        for (Map.Entry<String, Object> e : entries.entrySet()) {
+            encoded.put(e.getKey(), valueStorage.encode(e.getValue()));
+        }
+        store.putAll(encoded, entry -> {
+            Long expireAt = expireAts.get(entry.getKey());
+            if (expireAt != null) {
+                expiryWheel.schedule(entry, expireAt);
+            } else if (entry.hasExpiry()) {
+                expiryWheel.cancel(entry);
+            }
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                listener.onSet(entry.getKey(), entries.get(entry.getKey()));
+                if (expireAt != null) {
+                    listener.onExpire(entry.getKey(), expireAt);
+                } else {
+                    listener.onPersist(entry.getKey());
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean del(String key) {
+        return store.invalidateIf(key, existing -> true, removed -> notifyDeleted(key));
+    }
+
+    @Override
+    public boolean delIfVersion(String key, long version) {
+        return store.invalidateIf(key, existing -> existing != null && existing.getVersion() == version,
+                removed -> notifyDeleted(key));
+    }
+
+    // Runs under the key's bin lock
+    private void notifyDeleted(String key) {
+        for (MutationListener<String, Object> listener : mutationListeners) {
+            listener.onDelete(key);
+        }
+    }
+
+    @Override
+    public long flushNamespace(String namespace) {
+        long generation = namespaces.flush(namespace);
+        for (MutationListener<String, Object> listener : mutationListeners) {
+            listener.onNamespaceFlush(namespace);
+        }
+        return generation;
+    }
+
+    @Override
+    public ScanResult<String> scan(long cursor, String match, int count) {
+        return scanCursors.scan(cursor, KeyPattern.compile(match), count);
     }
 
     @Override
     public boolean exists(String key) {
-        return get(key) != null;
+        CacheEntry<String, Object> entry = store.peekEntry(key);
+        return entry != null && !isExpired(entry);
     }
 
     @Override
     public boolean expire(String key, long ttlMillis) {
-        if (!store.containsKey(key)) {
-            return false;
-        }
         long expireAt = System.currentTimeMillis() + Math.max(0, ttlMillis);
-        cacheTTL.put(key, expireAt);
-        putTTL(key, expireAt);
-        return true;
+        // Under the bin lock, so a concurrent del or eviction cannot strand the timer and the record is in order
+        return store.computeIfLive(key, entry -> {
+            expiryWheel.schedule(entry, expireAt);
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                listener.onExpire(key, expireAt);
+            }
+        });
     }
 
     @Override
     public long ttl(String key) {
-        if(checkExpiry(key))
-            return -2L;
-        if (!store.containsKey(key)) {
+        CacheEntry<String, Object> entry = store.peekEntry(key);
+        if (entry == null || isExpired(entry)) {
             return -2L;
         }
-        Long expireAt = cacheTTL.getIfPresent(key);
-        if (expireAt == null) {
+        long expireAt = entry.getExpireAt();
+        if (expireAt == 0L) {
             return -1L;
         }
         return expireAt - System.currentTimeMillis();
@@ -101,51 +393,62 @@ public class LocalCacheFacade implements CacheFacade<String, Object> {
 
     @Override
     public boolean persist(String key){
-        // Enforce lazy expiration first; persist only if the key still exists
-        if(!exists(key)) {
-            return false;
-        }
-        // Remove TTL entry entirely to represent "no TTL"
-        cacheTTL.invalidate(key);
-        return true;
+        // Persist only a live key that has a TTL; cancelling clears the deadline to represent "no TTL"
+        boolean[] removed = new boolean[1];
+        store.computeIfLive(key, entry -> {
+            if (!entry.hasExpiry()) {
+                return;
+            }
+            expiryWheel.cancel(entry);
+            removed[0] = true;
+            for (MutationListener<String, Object> listener : mutationListeners) {
+                listener.onPersist(key);
+            }
+        });
+        return removed[0];
     }
 
     @Override
-    public String getStats() {
-        return store.getStats();
-    }
-
-    public void putTTL(String key, long ttlMillis) {
-        delayQueue.put(new CacheItem(key, ttlMillis));
+    public void addMutationListener(MutationListener<String, Object> listener) {
+        mutationListeners.add(listener);
     }
 
-    private boolean checkExpiry(String key) {
-        Long expireAt = cacheTTL.getIfPresent(key);
-        long now = System.currentTimeMillis();
-        if (expireAt != null && expireAt <= now) {
-            store.invalidate(key);
-            cacheTTL.invalidate(key);
-            return true;
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        store.writeMetrics(out);
+        valueStorage.writeMetrics(out);
+        out.gauge("expiry_timers_scheduled", "Keys with a pending TTL", expiryWheel.size());
+        out.gauge("expiry_due_backlog", "Due timers not yet processed by the expiry ticker", expiryWheel.backlog());
+        scanCursors.writeMetrics(out);
+        namespaces.writeMetrics(out);
+        staleSweeper.writeMetrics(out);
+        if (loader != null) {
+            loader.writeMetrics(out);
         }
-        return false;
     }
 
-    @Data
-    @AllArgsConstructor
-    private static class CacheItem implements Delayed {
-        private String key;
-        private long ttl;
+    @Override
+    public String getStats() {
+        String stats = store.getStats() + " " + expiryWheel.getStats() + " " + valueStorage.getStats() + " "
+                + scanCursors.getStats() + " " + namespaces.getStats() + " " + staleSweeper.getStats();
+        return loader == null ? stats : stats + " " + loader.getStats();
+    }
 
-        @Override
-        public long getDelay(TimeUnit unit) {
-            long diff = ttl - System.currentTimeMillis();
-            return unit.convert(diff, TimeUnit.MILLISECONDS);
+    // Lazy expiration: a due entry is removed on the spot and reported as missing
+    private boolean isExpired(CacheEntry<String, Object> entry) {
+        if (entry.isStale()) {
+            // Flushed with its namespace: a miss, left for the sweep or the evictor to reclaim
+            return true;
         }
-
-        @Override
-        public int compareTo(Delayed o) {
-            return Long.compare(this.ttl, ((CacheItem) o).ttl);
+        if (!entry.hasExpiry()) {
+            // The ticker clears the deadline while removing a due entry, so a reader holding it must check retirement
+            return entry.isRetired();
         }
+        long now = System.currentTimeMillis();
+        if (entry.isExpired(now)) {
+            store.invalidateIfExpired(entry, now);
+            return true;
+        }
+        return false;
     }
 }
-
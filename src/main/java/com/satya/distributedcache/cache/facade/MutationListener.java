@@ -0,0 +1,24 @@
+package com.satya.distributedcache.cache.facade;
+
+// Notified as each client-visible write is applied to the store (append-only log, replication).
+// Called on the request thread while the key's bin lock is held, so writes to one key arrive in the
+// order they were applied; implementations must only enqueue and never call back into the cache.
+public interface MutationListener<K, V> {
+
+    void onSet(K key, V value);
+
+    void onDelete(K key);
+
+    // expireAt is absolute epoch millis
+    void onExpire(K key, long expireAt);
+
+    void onPersist(K key);
+
+    // Every key of the namespace written before now is gone (a generation bump, not per-key deletes)
+    void onNamespaceFlush(String namespace);
+
+    // The key's TTL ran out and it was removed. Not a client write: logs and replicas already carry
+    // the deadline, so only listeners that mirror the data elsewhere (e.g. near-caches) need it.
+    default void onTtlElapsed(K key) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.satya.distributedcache.cache.facade;
+
+// Precondition of a conditional set, evaluated against the key's live entry (expired counts as missing)
+public enum SetCondition {
+    ALWAYS,
+    // NX
+    IF_ABSENT,
+    // XX
+    IF_PRESENT,
+    // compare-and-set: the key exists and still carries SetOptions.expectedVersion
+    IF_VERSION;
+
+    public boolean test(boolean present, long version, long expectedVersion) {
+        return switch (this) {
+            case ALWAYS -> true;
+            case IF_ABSENT -> !present;
+            case IF_PRESENT -> present;
+            case IF_VERSION -> present && version == expectedVersion;
+        };
+    }
+}
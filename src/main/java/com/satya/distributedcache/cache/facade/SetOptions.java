@@ -0,0 +1,19 @@
+package com.satya.distributedcache.cache.facade;
+
+// How CacheFacade.setIf writes: ttlMillis >= 0 sets a TTL; otherwise keepTtl keeps the key's current one
+// (like set) or the write clears it (like RESP SET). returnPrevious asks for the value that was replaced.
+public record SetOptions(SetCondition condition, long expectedVersion, long ttlMillis, boolean keepTtl,
+                         boolean returnPrevious) {
+
+    public static SetOptions of(SetCondition condition, long ttlMillis) {
+        return new SetOptions(condition, 0L, ttlMillis, true, false);
+    }
+
+    public static SetOptions ifVersion(long expectedVersion, long ttlMillis) {
+        return new SetOptions(SetCondition.IF_VERSION, expectedVersion, ttlMillis, true, false);
+    }
+
+    public SetOptions withPrevious() {
+        return new SetOptions(condition, expectedVersion, ttlMillis, keepTtl, true);
+    }
+}
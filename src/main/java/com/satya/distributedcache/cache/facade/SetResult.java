@@ -0,0 +1,6 @@
+package com.satya.distributedcache.cache.facade;
+
+// Outcome of CacheFacade.setIf. version is the key's version after the call (0 = missing), so a
+// rejected compare-and-set tells the caller what it raced with; previous is only filled on request.
+public record SetResult<V>(boolean applied, long version, V previous) {
+}
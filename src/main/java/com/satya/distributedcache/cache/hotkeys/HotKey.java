@@ -0,0 +1,9 @@
+package com.satya.distributedcache.cache.hotkeys;
+
+// Estimated request rates for one key over a window (sampled, so scaled by the sample rate)
+public record HotKey<K>(K key, double readsPerSecond, double writesPerSecond) {
+
+    public double requestsPerSecond() {
+        return readsPerSecond + writesPerSecond;
+    }
+}
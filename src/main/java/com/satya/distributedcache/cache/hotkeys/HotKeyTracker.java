@@ -0,0 +1,136 @@
+package com.satya.distributedcache.cache.hotkeys;
+
+import com.satya.distributedcache.cache.eviction.StripedReadBuffer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-node heavy-hitter tracker on the store's read and write paths. One request in sampleRate is
+// sampled into lossy striped buffers (no lock on the hot path); whoever fills a stripe drains it,
+// if the lock is free, into the current time bucket's Space-Saving summaries. Rates over a sliding
+// window are estimated by merging the buckets it covers.
+public class HotKeyTracker<K> {
+
+    private final int sampleRate;
+    private final int sampleMask;
+    private final long bucketMillis;
+    private final long[] windowsMillis;
+    private final Bucket<K>[] buckets;
+    private final StripedReadBuffer<Sample<K>> samples = new StripedReadBuffer<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long startedAt = System.currentTimeMillis();
+
+    // sampleRate is rounded up to a power of two; the longest window sets how many buckets are kept
+    @SuppressWarnings("unchecked")
+    public HotKeyTracker(int sampleRate, int capacity, long bucketMillis, long... windowsMillis) {
+        this.sampleRate = Integer.highestOneBit(Math.max(1, sampleRate) * 2 - 1);
+        this.sampleMask = this.sampleRate - 1;
+        this.bucketMillis = Math.max(1L, bucketMillis);
+        this.windowsMillis = windowsMillis.clone();
+        long longest = 0L;
+        for (long window : windowsMillis) {
+            longest = Math.max(longest, window);
+        }
+        int count = (int) Math.max(1L, (longest + this.bucketMillis - 1) / this.bucketMillis) + 1;
+        this.buckets = new Bucket[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new Bucket<>(capacity);
+        }
+    }
+
+    public void recordRead(K key) {
+        record(key, false);
+    }
+
+    public void recordWrite(K key) {
+        record(key, true);
+    }
+
+    private void record(K key, boolean write) {
+        if ((ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return;
+        }
+        if (samples.offer(new Sample<>(key, write)) && lock.tryLock()) {
+            try {
+                drain(System.currentTimeMillis());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void drain(long now) {
+        Bucket<K> bucket = bucketFor(now);
+        samples.drainTo(sample -> (sample.write() ? bucket.writes : bucket.reads).offer(sample.key()));
+    }
+
+    private Bucket<K> bucketFor(long now) {
+        long tick = now / bucketMillis;
+        Bucket<K> bucket = buckets[(int) (tick % buckets.length)];
+        if (bucket.tick != tick) {
+            bucket.reads.clear();
+            bucket.writes.clear();
+            bucket.tick = tick;
+        }
+        return bucket;
+    }
+
+    // Top keys by request rate for every configured window, keyed by window length in seconds
+    public Map<String, List<HotKey<K>>> topKeys(int limit) {
+        long now = System.currentTimeMillis();
+        Map<String, List<HotKey<K>>> result = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            drain(now);
+            for (long window : windowsMillis) {
+                result.put((window / 1000) + "s", topKeys(limit, window, now));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    private List<HotKey<K>> topKeys(int limit, long windowMillis, long now) {
+        long currentTick = now / bucketMillis;
+        long oldestTick = currentTick - Math.max(1L, windowMillis / bucketMillis) + 1;
+        Map<K, long[]> counts = new HashMap<>();
+        for (Bucket<K> bucket : buckets) {
+            if (bucket.tick >= oldestTick && bucket.tick <= currentTick) {
+                bucket.reads.forEach((key, count) -> counts.computeIfAbsent(key, k -> new long[2])[0] += count);
+                bucket.writes.forEach((key, count) -> counts.computeIfAbsent(key, k -> new long[2])[1] += count);
+            }
+        }
+        // The window only covers time since the oldest bucket it spans (or since startup)
+        long covered = Math.max(1L, now - Math.max(oldestTick * bucketMillis, startedAt));
+        double scale = sampleRate * 1000.0 / covered;
+        List<HotKey<K>> keys = new ArrayList<>(counts.size());
+        counts.forEach((key, c) -> keys.add(new HotKey<>(key, c[0] * scale, c[1] * scale)));
+        keys.sort(Comparator.comparingDouble(HotKey<K>::requestsPerSecond).reversed());
+        return keys.size() > limit ? new ArrayList<>(keys.subList(0, limit)) : keys;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    private record Sample<K>(K key, boolean write) {
+    }
+
+    private static final class Bucket<K> {
+        final SpaceSaving<K> reads;
+        final SpaceSaving<K> writes;
+        long tick = -1L;
+
+        Bucket(int capacity) {
+            this.reads = new SpaceSaving<>(capacity);
+            this.writes = new SpaceSaving<>(capacity);
+        }
+    }
+}
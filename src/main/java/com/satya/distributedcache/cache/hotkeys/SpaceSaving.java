@@ -0,0 +1,93 @@
+package com.satya.distributedcache.cache.hotkeys;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+// Space-Saving top-k summary: at most capacity counters kept in a min-heap. An unseen key takes
+// over the smallest counter (inheriting its count), so any key whose true count exceeds
+// total/capacity is guaranteed to be present. Not thread-safe; the tracker serializes access.
+final class SpaceSaving<K> {
+
+    private final Object[] keys;
+    private final int[] counts;
+    private final Map<K, Integer> index;
+    private int size;
+
+    SpaceSaving(int capacity) {
+        this.keys = new Object[capacity];
+        this.counts = new int[capacity];
+        this.index = new HashMap<>(capacity * 2);
+    }
+
+    void offer(K key) {
+        Integer i = index.get(key);
+        if (i != null) {
+            counts[i]++;
+            siftDown(i);
+        } else if (size < keys.length) {
+            keys[size] = key;
+            counts[size] = 1;
+            index.put(key, size);
+            siftUp(size++);
+        } else {
+            index.remove(keys[0]);
+            keys[0] = key;
+            counts[0]++;
+            index.put(key, 0);
+            siftDown(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(ObjIntConsumer<K> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((K) keys[i], counts[i]);
+        }
+    }
+
+    void clear() {
+        index.clear();
+        Arrays.fill(keys, 0, size, null);
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+            if (counts[i] <= counts[smallest]) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void swap(int a, int b) {
+        Object key = keys[a];
+        int count = counts[a];
+        keys[a] = keys[b];
+        counts[a] = counts[b];
+        keys[b] = key;
+        counts[b] = count;
+        index.put((K) keys[a], a);
+        index.put((K) keys[b], b);
+    }
+}
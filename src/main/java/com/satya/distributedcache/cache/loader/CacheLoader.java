@@ -0,0 +1,10 @@
+package com.satya.distributedcache.cache.loader;
+
+// Read-through source behind the cache (e.g. the system of record). Plugged in as a bean; the facade
+// calls it on a miss and, with refresh-ahead, shortly before a loaded key's TTL runs out.
+@FunctionalInterface
+public interface CacheLoader<K, V> {
+
+    // Returns null when the source has no value for the key
+    V load(K key) throws Exception;
+}
@@ -0,0 +1,8 @@
+package com.satya.distributedcache.cache.loader;
+
+public class CacheLoaderException extends RuntimeException {
+
+    public CacheLoaderException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,123 @@
+package com.satya.distributedcache.cache.loader;
+
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+import com.satya.distributedcache.cache.metrics.LatencyHistogram;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+// Coalesces loads per key: the first caller runs the loader, everyone arriving while it is in flight
+// waits on the same future instead of going to the source again. The loaded value is handed to a
+// store callback before the future completes, so a caller arriving after that finds it in the cache.
+// Refreshes run on a small dedicated pool since loaders may block on I/O.
+public class SingleFlightLoader<K, V> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightLoader.class);
+
+    private final CacheLoader<K, V> loader;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService refresher;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final CacheMetrics metrics;
+
+    // metrics is the store's; failed refreshes are counted there
+    public SingleFlightLoader(CacheLoader<K, V> loader, int refreshThreads, CacheMetrics metrics) {
+        this.loader = loader;
+        this.metrics = metrics;
+        AtomicInteger counter = new AtomicInteger();
+        this.refresher = Executors.newFixedThreadPool(Math.max(1, refreshThreads), r -> {
+            Thread t = new Thread(r, "CacheRefresh-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Loads on the calling thread, or joins the load already in flight for the key.
+    // store receives the loaded value (never null) and returns what callers should see.
+    public V load(K key, BiFunction<K, V, V> store) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof CacheLoaderException cause ? cause : e;
+            }
+        }
+        return run(key, mine, store);
+    }
+
+    // Starts a background reload unless one is already in flight for the key; failures leave the cached value alone
+    public void refresh(K key, BiFunction<K, V, V> store) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return;
+        }
+        refreshes.increment();
+        refresher.execute(() -> {
+            try {
+                run(key, mine, store);
+            } catch (CacheLoaderException e) {
+                metrics.refreshFailures.increment();
+                log.warn("Refresh of {} failed, keeping the cached value", key, e.getCause());
+            }
+        });
+    }
+
+    private V run(K key, CompletableFuture<V> mine, BiFunction<K, V, V> store) {
+        loads.increment();
+        long start = System.nanoTime();
+        try {
+            V loaded = loader.load(key);
+            V result = loaded == null ? null : store.apply(key, loaded);
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (Exception e) {
+            failures.increment();
+            CacheLoaderException failure = new CacheLoaderException("loading " + key + " failed", e);
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            loadLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    public void writeMetrics(MetricsWriter out) {
+        out.counter("loader_loads_total", "Calls into the cache loader", loads.sum());
+        out.counter("loader_coalesced_total", "Misses that joined a load already in flight", coalesced.sum());
+        out.counter("loader_failures_total", "Loads that threw", failures.sum());
+        out.counter("loader_refreshes_total", "Refresh-ahead reloads started", refreshes.sum());
+        out.gauge("loader_in_flight", "Loads currently running", inFlight.size());
+        out.latency("loader_load_seconds", "Duration of one load", loadLatency.snapshot());
+    }
+
+    public String getStats() {
+        return String.format("Loader Stats: [loads=%d, coalesced=%d, failures=%d, refreshes=%d, inFlight=%d]",
+                loads.sum(), coalesced.sum(), failures.sum(), refreshes.sum(), inFlight.size());
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -1,6 +1,18 @@
 package com.satya.distributedcache.cache.mapcache;
 
+import com.satya.distributedcache.cache.hotkeys.HotKeyTracker;
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.namespace.Generation;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public interface Cache<K, V> {
 
@@ -8,13 +20,77 @@ public interface Cache<K, V> {
 
     void invalidate(K key);
 
+    // Conditional remove in one bin-locked step: the condition sees the live entry (null when missing or
+    // expired) and onRemoved runs under the same lock with it, so a write log sees deletes in the order
+    // they were applied. Returns whether a live entry was removed.
+    boolean invalidateIf(K key, Predicate<CacheEntry<K, V>> condition, Consumer<CacheEntry<K, V>> onRemoved);
+
     void put(K key, V property);
 
-    void putAll(Map<K, V> cacheMap);
+    // Returns the written entries so callers can attach per-entry bookkeeping (e.g. TTLs) in one pass;
+    // onWritten sees each written entry under its bin lock
+    List<CacheEntry<K, V>> putAll(Map<K, V> cacheMap, Consumer<CacheEntry<K, V>> onWritten);
+
+    // Conditional upsert in one bin-locked step: the condition sees the live entry (null when missing or
+    // expired) before the swap and onWritten sees the written entry before any other writer can.
+    // Returns the written entry, or null when the condition rejected the write.
+    CacheEntry<K, V> putIf(K key, V property, Predicate<CacheEntry<K, V>> condition,
+                           Consumer<CacheEntry<K, V>> onWritten);
+
+    // In-place update of a mutable value (counters, hashes, lists, sorted sets) under the key's bin lock.
+    // prepare maps the live value (null when missing or expired) to the one to operate on, or to null to
+    // leave the key alone; update then runs on it. The entry is re-weighed and re-versioned afterwards, or
+    // removed when removeIf holds (e.g. a list that was popped empty). An exception leaves the mapping as it was.
+    // onChanged runs under the lock after a change with the value left under the key (null once removed).
+    <R> R update(K key, UnaryOperator<V> prepare, Function<V, R> update, Predicate<V> removeIf,
+                 Consumer<V> onChanged);
+
+    // Runs action on the live entry under its bin lock (e.g. to change its TTL in step with other writers);
+    // returns false without running it when the key is missing or expired
+    boolean computeIfLive(K key, Consumer<CacheEntry<K, V>> action);
 
     V getIfPresent(K key);
 
     boolean containsKey(K key);
 
     V getFromCache(K key);
+
+    // Single lookup returning the full record (value + expire-at); records an access
+    CacheEntry<K, V> getEntry(K key);
+
+    // getEntry for a batch: one entry (null when missing) per key, in key order
+    List<CacheEntry<K, V>> getEntries(Collection<K> keys);
+
+    // Same as getEntry without touching recency
+    CacheEntry<K, V> peekEntry(K key);
+
+    // Removes the entry only if it is still the live mapping for its key and its deadline has passed
+    boolean invalidateIfExpired(CacheEntry<K, V> entry, long now);
+
+    // Weakly consistent walk over the live entries (e.g. for snapshots); never blocks writers
+    void forEachEntry(Consumer<CacheEntry<K, V>> action);
+
+    // Resumable form of forEachEntry (e.g. for SCAN cursors): weakly consistent, so it visits every entry
+    // present for its whole lifetime exactly once, may or may not see later writes, and never blocks writers
+    Iterator<CacheEntry<K, V>> entryIterator();
+
+    // Forces the eviction strategy to drop up to count entries now, e.g. to reclaim storage
+    int evictEntries(int count);
+
+    // Notified for every value that leaves the cache (invalidate, overwrite, expiry or eviction)
+    void setRemovalListener(RemovalListener<K, V> removalListener);
+
+    // Namespace generation cell of a key (null when it has none); every written entry is stamped with it
+    void setGenerations(Function<K, Generation> generations);
+
+    // Samples reads (getEntry) and writes (put, putAll) into a heavy-hitter tracker
+    void setHotKeyTracker(HotKeyTracker<K> hotKeyTracker);
+
+    // Counters and latency histograms updated on the hot path; shared by every segment of a sharded store
+    CacheMetrics metrics();
+
+    // Writes the counters plus size/weight/eviction-backlog gauges for one scrape
+    void writeMetrics(MetricsWriter out);
+
+    String getStats();
 }
@@ -0,0 +1,112 @@
+package com.satya.distributedcache.cache.mapcache;
+
+import com.satya.distributedcache.cache.expiry.TimerNode;
+import com.satya.distributedcache.cache.namespace.Generation;
+
+// One object per key: the value, its expire-at (inherited, 0 = no TTL, also the timer wheel links)
+// and the eviction strategy's bookkeeping.
+public class CacheEntry<K, V> extends TimerNode<K> {
+
+    private volatile V value;
+    private volatile boolean retired;
+    // Bumped under the map's bin lock on every value write; never reused for a key while the store lives
+    private volatile long version;
+    // Set under the map's bin lock by the owning cache's Weigher
+    private int weight;
+    // The key's namespace cell (null outside namespaces), fixed before the entry is published, and the
+    // namespace generation the current value was written in
+    private Generation namespace;
+    private volatile long generation;
+
+    // Access-order links, guarded by the owning eviction strategy's lock
+    private CacheEntry<K, V> prev;
+    private CacheEntry<K, V> next;
+    // Strategy-specific segment marker (e.g. window/probation/protected), guarded by the same lock
+    private byte region;
+
+    public CacheEntry(K key, V value) {
+        super(key);
+        this.value = value;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public void setValue(V value) {
+        this.value = value;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    void setNamespace(Generation namespace) {
+        this.namespace = namespace;
+    }
+
+    // Under the bin lock, before the new value is published: a reader never sees the value under an older stamp
+    void stampGeneration() {
+        Generation ns = namespace;
+        if (ns != null) {
+            generation = ns.current();
+        }
+    }
+
+    // Written before its namespace was last flushed
+    public boolean isStale() {
+        Generation ns = namespace;
+        return ns != null && ns.current() != generation;
+    }
+
+    // A flushed value counts as expired everywhere liveness is checked; the wheel itself only looks at expire-at
+    @Override
+    public boolean isExpired(long now) {
+        return super.isExpired(now) || isStale();
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    // An entry is retired once it has been removed from its map; strategies must not relink it
+    public boolean isRetired() {
+        return retired;
+    }
+
+    public void retire() {
+        this.retired = true;
+    }
+
+    public CacheEntry<K, V> getPrev() {
+        return prev;
+    }
+
+    public void setPrev(CacheEntry<K, V> prev) {
+        this.prev = prev;
+    }
+
+    public CacheEntry<K, V> getNext() {
+        return next;
+    }
+
+    public void setNext(CacheEntry<K, V> next) {
+        this.next = next;
+    }
+
+    public byte getRegion() {
+        return region;
+    }
+
+    public void setRegion(byte region) {
+        this.region = region;
+    }
+}
@@ -1,24 +1,59 @@
 package com.satya.distributedcache.cache.mapcache;
 
 import com.satya.distributedcache.cache.eviction.EvictionManager;
+import com.satya.distributedcache.cache.eviction.EvictionTarget;
+import com.satya.distributedcache.cache.hotkeys.HotKeyTracker;
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.namespace.Generation;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
-public class MapCache<K, V> extends AbstractCache<K, V> {
-    private final Map<K, V> cache;
+public class MapCache<K, V> extends AbstractCache<K, V> implements EvictionTarget<K, V> {
+    private final Map<K, CacheEntry<K, V>> cache;
     private final int maxSize;
-    private final ConcurrentLinkedDeque<K> accessTracker;
+    private final long maxWeight;
+    private final Weigher<K, V> weigher;
+    private final AtomicLong totalWeight = new AtomicLong();
+    // Source of entry versions; a key always maps to the same segment, so its versions only grow
+    private final AtomicLong versions = new AtomicLong();
     private final EvictionManager<K, V> evictionManager;
+    private final CacheMetrics metrics;
+    private volatile RemovalListener<K, V> removalListener = (entry, value, cause) -> { };
+    private volatile HotKeyTracker<K> hotKeyTracker;
+    private volatile Function<K, Generation> generations = key -> null;
 
     public MapCache(@Value("${cache.max-size:2000000}") int maxSize,
                     EvictionManager<K, V> evictionManager) {
+        this(maxSize, 0L, Weigher.singleton(), evictionManager);
+    }
+
+    // maxWeight <= 0 leaves the cache bounded by entry count only; weights are still tracked for stats
+    public MapCache(int maxSize, long maxWeight, Weigher<K, V> weigher, EvictionManager<K, V> evictionManager) {
+        this(maxSize, maxWeight, weigher, evictionManager, new CacheMetrics());
+    }
+
+    // Segments of a ShardedMapCache share one set of counters
+    MapCache(int maxSize, long maxWeight, Weigher<K, V> weigher, EvictionManager<K, V> evictionManager,
+             CacheMetrics metrics) {
         this.maxSize = maxSize > 0 ? maxSize : 2000000;
+        this.maxWeight = Math.max(0L, maxWeight);
+        this.weigher = weigher;
         this.cache = new ConcurrentHashMap<>(Math.min(this.maxSize, 16384));
-        this.accessTracker = new ConcurrentLinkedDeque<>();
         this.evictionManager = evictionManager;
+        this.metrics = metrics;
+        evictionManager.bindMetrics(metrics);
     }
 
     @Override
@@ -26,24 +61,253 @@ public class MapCache<K, V> extends AbstractCache<K, V> {
         return cache.size();
     }
 
+    @Override
+    public long weightedSize() {
+        return totalWeight.get();
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public long maxWeight() {
+        return maxWeight;
+    }
+
     @Override
     public void invalidate(K key) {
-        cache.remove(key);
-        evictionManager.onRemove(key, accessTracker);
+        CacheEntry<K, V> removed = cache.remove(key);
+        if (removed != null) {
+            metrics.removals.increment();
+            onRemoved(removed, RemovalCause.EXPLICIT);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean invalidateIf(K key, Predicate<CacheEntry<K, V>> condition, Consumer<CacheEntry<K, V>> onRemoved) {
+        CacheEntry<K, V>[] removed = new CacheEntry[1];
+        boolean[] live = new boolean[1];
+        // compute (not remove) so the condition also runs, under the bin lock, for a missing key
+        cache.compute(key, (k, existing) -> {
+            live[0] = existing != null && !existing.isExpired(System.currentTimeMillis());
+            if (!condition.test(live[0] ? existing : null)) {
+                live[0] = false;
+                return existing;
+            }
+            onRemoved.accept(live[0] ? existing : null);
+            removed[0] = existing;
+            return null;
+        });
+        if (removed[0] != null) {
+            metrics.removals.increment();
+            onRemoved(removed[0], RemovalCause.EXPLICIT);
+        }
+        return live[0];
+    }
+
+    @Override
+    public boolean computeIfLive(K key, Consumer<CacheEntry<K, V>> action) {
+        boolean[] live = new boolean[1];
+        cache.computeIfPresent(key, (k, existing) -> {
+            if (!existing.isExpired(System.currentTimeMillis())) {
+                action.accept(existing);
+                live[0] = true;
+            }
+            return existing;
+        });
+        return live[0];
+    }
+
+    @Override
+    public boolean invalidateIfExpired(CacheEntry<K, V> entry, long now) {
+        // Re-checked under the map's bin lock so a concurrent put that refreshed the entry wins
+        boolean[] removed = new boolean[1];
+        cache.computeIfPresent(entry.getKey(), (k, existing) -> {
+            if (existing == entry && existing.isExpired(now)) {
+                removed[0] = true;
+                return null;
+            }
+            return existing;
+        });
+        if (removed[0]) {
+            metrics.expirations.increment();
+            onRemoved(entry, RemovalCause.EXPIRED);
+        }
+        return removed[0];
+    }
+
+    // Called by the eviction strategy; the strategy has already unlinked the entry
+    @Override
+    public boolean evict(CacheEntry<K, V> entry) {
+        if (cache.remove(entry.getKey(), entry)) {
+            entry.retire();
+            totalWeight.addAndGet(-entry.getWeight());
+            metrics.evictions.increment();
+            removalListener.onRemoval(entry, entry.getValue(), RemovalCause.EVICTED);
+            return true;
+        }
+        return false;
+    }
+
+    private void onRemoved(CacheEntry<K, V> entry, RemovalCause cause) {
+        entry.retire();
+        totalWeight.addAndGet(-entry.getWeight());
+        evictionManager.onRemove(entry);
+        removalListener.onRemoval(entry, entry.getValue(), cause);
+    }
+
+    @Override
+    public int evictEntries(int count) {
+        return evictionManager.evictEntries(this, count);
+    }
+
+    @Override
+    public void setRemovalListener(RemovalListener<K, V> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    @Override
+    public void setHotKeyTracker(HotKeyTracker<K> hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @Override
+    public void setGenerations(Function<K, Generation> generations) {
+        this.generations = generations;
     }
 
     @Override
     public void put(K key, V property) {
-        cache.put(key, property);
-        evictionManager.onPut(key, cache, accessTracker);
+        evictionManager.onPut(upsert(key, property, entry -> { }), this);
     }
 
+    // Eviction bookkeeping for the batch is handed to the manager once instead of per key
     @Override
-    public void putAll(Map<K, V> elems) {
-        cache.putAll(elems);
-        for (K key : elems.keySet()) {
-            evictionManager.onPut(key, cache, accessTracker);
+    public List<CacheEntry<K, V>> putAll(Map<K, V> elems, Consumer<CacheEntry<K, V>> onWritten) {
+        List<CacheEntry<K, V>> entries = new ArrayList<>(elems.size());
+        for (Map.Entry<K, V> elem : elems.entrySet()) {
+            entries.add(upsert(elem.getKey(), elem.getValue(), onWritten));
         }
+        evictionManager.onPutAll(entries, this);
+        return entries;
+    }
+
+    private CacheEntry<K, V> upsert(K key, V property, Consumer<CacheEntry<K, V>> onWritten) {
+        recordWrite(key);
+        int weight = weigher.weigh(key, property);
+        return cache.compute(key, (k, existing) -> {
+            CacheEntry<K, V> entry = write(k, existing, property, weight);
+            onWritten.accept(entry);
+            return entry;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CacheEntry<K, V> putIf(K key, V property, Predicate<CacheEntry<K, V>> condition,
+                                  Consumer<CacheEntry<K, V>> onWritten) {
+        int weight = weigher.weigh(key, property);
+        CacheEntry<K, V>[] written = new CacheEntry[1];
+        cache.compute(key, (k, existing) -> {
+            boolean live = existing != null && !existing.isExpired(System.currentTimeMillis());
+            if (!condition.test(live ? existing : null)) {
+                return existing;
+            }
+            CacheEntry<K, V> entry = write(k, existing, property, weight);
+            onWritten.accept(entry);
+            written[0] = entry;
+            return entry;
+        });
+        if (written[0] == null) {
+            return null;
+        }
+        recordWrite(key);
+        evictionManager.onPut(written[0], this);
+        return written[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R update(K key, UnaryOperator<V> prepare, Function<V, R> update, Predicate<V> removeIf,
+                        Consumer<V> onChanged) {
+        Object[] result = new Object[1];
+        CacheEntry<K, V>[] touched = new CacheEntry[2];
+        cache.compute(key, (k, existing) -> {
+            boolean live = existing != null && !existing.isExpired(System.currentTimeMillis());
+            V target = prepare.apply(live ? existing.getValue() : null);
+            result[0] = update.apply(target);
+            if (target == null) {
+                return existing;
+            }
+            if (removeIf.test(target)) {
+                // Never inserted, or dropped now; an expired mapping is left for the expiry ticker
+                touched[1] = live ? existing : null;
+                if (live) {
+                    onChanged.accept(null);
+                }
+                return live ? null : existing;
+            }
+            touched[0] = write(k, existing, target, weigher.weigh(k, target));
+            onChanged.accept(target);
+            return touched[0];
+        });
+        if (touched[0] != null) {
+            recordWrite(key);
+            evictionManager.onPut(touched[0], this);
+        } else if (touched[1] != null) {
+            metrics.removals.increment();
+            onRemoved(touched[1], RemovalCause.EXPLICIT);
+        }
+        return (R) result[0];
+    }
+
+    private void recordWrite(K key) {
+        HotKeyTracker<K> tracker = hotKeyTracker;
+        if (tracker != null) {
+            tracker.recordWrite(key);
+        }
+        metrics.puts.increment();
+    }
+
+    // Runs under the key's bin lock. Updates in place so the entry keeps its position bookkeeping and TTL;
+    // a fresh entry is linked by onPut. A deadline that already passed, or one left from before a namespace
+    // flush, is dropped so the new value does not inherit it.
+    private CacheEntry<K, V> write(K key, CacheEntry<K, V> existing, V property, int weight) {
+        if (existing == null) {
+            CacheEntry<K, V> created = new CacheEntry<>(key, property);
+            created.setNamespace(generations.apply(key));
+            created.stampGeneration();
+            created.setWeight(weight);
+            created.setVersion(versions.incrementAndGet());
+            totalWeight.addAndGet(weight);
+            return created;
+        }
+        if (existing.hasExpiry() && existing.isExpired(System.currentTimeMillis())) {
+            existing.clearExpiry();
+        }
+        existing.stampGeneration();
+        V previous = existing.getValue();
+        existing.setValue(property);
+        existing.setVersion(versions.incrementAndGet());
+        totalWeight.addAndGet(weight - existing.getWeight());
+        existing.setWeight(weight);
+        if (previous != property) {
+            // Runs after the swap, so listeners may release the old value
+            removalListener.onRemoval(existing, previous, RemovalCause.REPLACED);
+        }
+        return existing;
+    }
+
+    @Override
+    public void forEachEntry(Consumer<CacheEntry<K, V>> action) {
+        cache.values().forEach(action);
+    }
+
+    @Override
+    public Iterator<CacheEntry<K, V>> entryIterator() {
+        return cache.values().iterator();
     }
 
     @Override
@@ -53,17 +317,60 @@ public class MapCache<K, V> extends AbstractCache<K, V> {
 
     @Override
     public V getFromCache(K key) {
-        V value = cache.get(key);
-        if (value != null) {
-            evictionManager.onAccess(key, accessTracker);
+        CacheEntry<K, V> entry = getEntry(key);
+        return entry == null ? null : entry.getValue();
+    }
+
+    @Override
+    public CacheEntry<K, V> getEntry(K key) {
+        HotKeyTracker<K> tracker = hotKeyTracker;
+        if (tracker != null) {
+            tracker.recordRead(key);
+        }
+        CacheEntry<K, V> entry = cache.get(key);
+        if (entry != null) {
+            evictionManager.onAccess(entry);
+        }
+        return entry;
+    }
+
+    @Override
+    public List<CacheEntry<K, V>> getEntries(Collection<K> keys) {
+        List<CacheEntry<K, V>> entries = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            entries.add(getEntry(key));
         }
-        return value;
+        return entries;
     }
 
+    @Override
+    public CacheEntry<K, V> peekEntry(K key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public CacheMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        long size = cache.size();
+        long weight = totalWeight.get();
+        metrics.writeTo(out);
+        out.gauge("cache_size", "Live entries", size);
+        out.gauge("cache_max_size", "Entry bound", maxSize);
+        out.gauge("cache_weight_bytes", "Summed entry weight", weight);
+        out.gauge("cache_max_weight_bytes", "Weight bound (0 = unbounded)", maxWeight);
+        out.gauge("cache_eviction_backlog_entries", "Entries over the size bound still waiting for the evictor",
+                Math.max(0L, size - maxSize));
+    }
+
+    @Override
     public String getStats() {
         return String.format(
-            "MapCache Stats: [size=%d, maxSize=%d, %s]",
-            cache.size(), maxSize, evictionManager.getStats()
+            "MapCache Stats: [size=%d, maxSize=%d, weight=%d, maxWeight=%d, %s]",
+            cache.size(), maxSize, totalWeight.get(), maxWeight, evictionManager.getStats()
         );
     }
 }
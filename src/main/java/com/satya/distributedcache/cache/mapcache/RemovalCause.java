@@ -0,0 +1,12 @@
+package com.satya.distributedcache.cache.mapcache;
+
+public enum RemovalCause {
+    // del / invalidate
+    EXPLICIT,
+    // the value was overwritten in place by a put
+    REPLACED,
+    // removed because its TTL passed
+    EXPIRED,
+    // removed by the eviction strategy
+    EVICTED
+}
@@ -0,0 +1,8 @@
+package com.satya.distributedcache.cache.mapcache;
+
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+    // value is the departing value; for REPLACED the entry already holds the new one
+    void onRemoval(CacheEntry<K, V> entry, V value, RemovalCause cause);
+}
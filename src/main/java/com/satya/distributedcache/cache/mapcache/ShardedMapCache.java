@@ -0,0 +1,275 @@
+package com.satya.distributedcache.cache.mapcache;
+
+import com.satya.distributedcache.cache.eviction.EvictionManager;
+import com.satya.distributedcache.cache.hotkeys.HotKeyTracker;
+import com.satya.distributedcache.cache.metrics.CacheMetrics;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.namespace.Generation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+// Splits the keyspace into power-of-two segments, each a MapCache with its own recency
+// structure, size bound (maxSize / shards) and eviction manager, so shards never contend.
+public class ShardedMapCache<K, V> extends AbstractCache<K, V> {
+
+    private final MapCache<K, V>[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final int maxSize;
+    private final long maxWeight;
+    private final AtomicInteger evictionCursor = new AtomicInteger();
+    private final CacheMetrics metrics = new CacheMetrics();
+
+    public ShardedMapCache(int maxSize, int shards, IntFunction<EvictionManager<K, V>> evictionManagerFactory) {
+        this(maxSize, 0L, Weigher.singleton(), shards, evictionManagerFactory);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ShardedMapCache(int maxSize, long maxWeight, Weigher<K, V> weigher, int shards,
+                           IntFunction<EvictionManager<K, V>> evictionManagerFactory) {
+        this.maxSize = maxSize > 0 ? maxSize : 2000000;
+        this.maxWeight = Math.max(0L, maxWeight);
+        int count = Integer.highestOneBit(Math.max(1, shards) * 2 - 1);
+        int segmentMaxSize = Math.max(1, this.maxSize / count);
+        long segmentMaxWeight = this.maxWeight > 0 ? Math.max(1L, this.maxWeight / count) : 0L;
+        this.segments = new MapCache[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new MapCache<>(segmentMaxSize, segmentMaxWeight, weigher,
+                    evictionManagerFactory.apply(segmentMaxSize), metrics);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.segmentMask = count - 1;
+    }
+
+    // Segments are picked from the high bits so each segment's own map still spreads on the low bits
+    private MapCache<K, V> segmentFor(K key) {
+        return segments[segmentIndex(key)];
+    }
+
+    private int segmentIndex(K key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h >>> segmentShift) & segmentMask;
+    }
+
+    public int getShardCount() {
+        return segments.length;
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (MapCache<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long weightedSize() {
+        long weight = 0;
+        for (MapCache<K, V> segment : segments) {
+            weight += segment.weightedSize();
+        }
+        return weight;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        segmentFor(key).invalidate(key);
+    }
+
+    @Override
+    public boolean invalidateIf(K key, Predicate<CacheEntry<K, V>> condition, Consumer<CacheEntry<K, V>> onRemoved) {
+        return segmentFor(key).invalidateIf(key, condition, onRemoved);
+    }
+
+    @Override
+    public void setGenerations(Function<K, Generation> generations) {
+        for (MapCache<K, V> segment : segments) {
+            segment.setGenerations(generations);
+        }
+    }
+
+    @Override
+    public void put(K key, V property) {
+        segmentFor(key).put(key, property);
+    }
+
+    @Override
+    public CacheEntry<K, V> putIf(K key, V property, Predicate<CacheEntry<K, V>> condition,
+                                  Consumer<CacheEntry<K, V>> onWritten) {
+        return segmentFor(key).putIf(key, property, condition, onWritten);
+    }
+
+    @Override
+    public <R> R update(K key, UnaryOperator<V> prepare, Function<V, R> update, Predicate<V> removeIf,
+                        Consumer<V> onChanged) {
+        return segmentFor(key).update(key, prepare, update, removeIf, onChanged);
+    }
+
+    @Override
+    public boolean computeIfLive(K key, Consumer<CacheEntry<K, V>> action) {
+        return segmentFor(key).computeIfLive(key, action);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CacheEntry<K, V>> putAll(Map<K, V> elems, Consumer<CacheEntry<K, V>> onWritten) {
+        // Split the batch by segment so each segment amortizes its eviction bookkeeping
+        Map<K, V>[] batches = new Map[segments.length];
+        for (Map.Entry<K, V> elem : elems.entrySet()) {
+            int index = segmentIndex(elem.getKey());
+            if (batches[index] == null) {
+                batches[index] = new HashMap<>();
+            }
+            batches[index].put(elem.getKey(), elem.getValue());
+        }
+        List<CacheEntry<K, V>> entries = new ArrayList<>(elems.size());
+        for (int i = 0; i < segments.length; i++) {
+            if (batches[i] != null) {
+                entries.addAll(segments[i].putAll(batches[i], onWritten));
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void forEachEntry(Consumer<CacheEntry<K, V>> action) {
+        for (MapCache<K, V> segment : segments) {
+            segment.forEachEntry(action);
+        }
+    }
+
+    // Walks the segments one after another, opening each segment's iterator only when reaching it
+    @Override
+    public Iterator<CacheEntry<K, V>> entryIterator() {
+        return new Iterator<>() {
+            private int next;
+            private Iterator<CacheEntry<K, V>> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && next < segments.length) {
+                    current = segments[next++].entryIterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public CacheEntry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return segmentFor(key).containsKey(key);
+    }
+
+    @Override
+    public V getFromCache(K key) {
+        return segmentFor(key).getFromCache(key);
+    }
+
+    @Override
+    public CacheEntry<K, V> getEntry(K key) {
+        return segmentFor(key).getEntry(key);
+    }
+
+    @Override
+    public List<CacheEntry<K, V>> getEntries(Collection<K> keys) {
+        List<CacheEntry<K, V>> entries = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            entries.add(segmentFor(key).getEntry(key));
+        }
+        return entries;
+    }
+
+    @Override
+    public CacheEntry<K, V> peekEntry(K key) {
+        return segmentFor(key).peekEntry(key);
+    }
+
+    @Override
+    public boolean invalidateIfExpired(CacheEntry<K, V> entry, long now) {
+        return segmentFor(entry.getKey()).invalidateIfExpired(entry, now);
+    }
+
+    // Rotates across shards; callers only need some storage back, not a particular key
+    @Override
+    public int evictEntries(int count) {
+        int evicted = 0;
+        for (int i = 0; i < segments.length && evicted < count; i++) {
+            int shard = evictionCursor.getAndIncrement() & segmentMask;
+            evicted += segments[shard].evictEntries(count - evicted);
+        }
+        return evicted;
+    }
+
+    @Override
+    public void setRemovalListener(RemovalListener<K, V> removalListener) {
+        for (MapCache<K, V> segment : segments) {
+            segment.setRemovalListener(removalListener);
+        }
+    }
+
+    // One tracker for all segments so hot keys are ranked node-wide
+    @Override
+    public void setHotKeyTracker(HotKeyTracker<K> hotKeyTracker) {
+        for (MapCache<K, V> segment : segments) {
+            segment.setHotKeyTracker(hotKeyTracker);
+        }
+    }
+
+    @Override
+    public CacheMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        long size = 0;
+        long backlog = 0;
+        for (MapCache<K, V> segment : segments) {
+            long segmentSize = segment.size();
+            size += segmentSize;
+            backlog += Math.max(0L, segmentSize - segment.maxSize());
+        }
+        metrics.writeTo(out);
+        out.gauge("cache_size", "Live entries", size);
+        out.gauge("cache_max_size", "Entry bound", maxSize);
+        out.gauge("cache_weight_bytes", "Summed entry weight", weightedSize());
+        out.gauge("cache_max_weight_bytes", "Weight bound (0 = unbounded)", maxWeight);
+        out.gauge("cache_eviction_backlog_entries", "Entries over the size bound still waiting for the evictor", backlog);
+        out.gauge("cache_shards", "Segments", segments.length);
+    }
+
+    @Override
+    public String getStats() {
+        StringJoiner segmentStats = new StringJoiner("; ");
+        for (MapCache<K, V> segment : segments) {
+            segmentStats.add(segment.getStats());
+        }
+        return String.format(
+            "ShardedMapCache Stats: [size=%d, maxSize=%d, weight=%d, maxWeight=%d, shards=%d, segments=[%s]]",
+            size(), maxSize, weightedSize(), maxWeight, segments.length, segmentStats
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.satya.distributedcache.cache.mapcache;
+
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    // Approximate cost of keeping the mapping, in bytes for byte-bounded caches
+    int weigh(K key, V value);
+
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
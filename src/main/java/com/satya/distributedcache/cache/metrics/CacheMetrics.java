@@ -0,0 +1,45 @@
+package com.satya.distributedcache.cache.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Hot-path counters and latencies for one store (shared by all segments of a sharded store).
+// Updated inline by the store, its eviction manager and the facade; read only by exporters.
+public final class CacheMetrics {
+
+    public final LongAdder hits = new LongAdder();
+    public final LongAdder misses = new LongAdder();
+    public final LongAdder puts = new LongAdder();
+    public final LongAdder removals = new LongAdder();
+    public final LongAdder evictions = new LongAdder();
+    public final LongAdder expirations = new LongAdder();
+    public final LongAdder evictionRuns = new LongAdder();
+    // Writes that found the store above its hard watermark, and the eviction work writers then did themselves
+    public final LongAdder hardWatermarkHits = new LongAdder();
+    public final LongAdder writerAssists = new LongAdder();
+    public final LongAdder assistedEvictions = new LongAdder();
+    // Refresh-ahead reloads that threw; the stale value stays cached until its TTL runs out
+    public final LongAdder refreshFailures = new LongAdder();
+
+    public final LatencyHistogram getLatency = new LatencyHistogram();
+    public final LatencyHistogram setLatency = new LatencyHistogram();
+    // Time from a write pushing the store over its bound until the async evictor starts on it
+    public final LatencyHistogram evictionLag = new LatencyHistogram();
+
+    public void writeTo(MetricsWriter out) {
+        out.counter("cache_hits_total", "Reads that found a live value", hits.sum());
+        out.counter("cache_misses_total", "Reads that found nothing (absent or expired)", misses.sum());
+        out.counter("cache_puts_total", "Values written", puts.sum());
+        out.counter("cache_removals_total", "Keys removed explicitly", removals.sum());
+        out.counter("cache_evictions_total", "Entries evicted to stay within the size or weight bound", evictions.sum());
+        out.counter("cache_expirations_total", "Entries removed because their TTL passed", expirations.sum());
+        out.counter("cache_eviction_runs_total", "Async eviction passes", evictionRuns.sum());
+        out.counter("cache_hard_watermark_hits_total", "Writes that found the store above its hard watermark",
+                hardWatermarkHits.sum());
+        out.counter("cache_writer_assists_total", "Eviction batches run inline by writers", writerAssists.sum());
+        out.counter("cache_assisted_evictions_total", "Entries evicted inline by writers", assistedEvictions.sum());
+        out.counter("cache_refresh_failures_total", "Refresh-ahead reloads that failed", refreshFailures.sum());
+        out.latency("cache_get_latency_seconds", "Facade get latency", getLatency.snapshot());
+        out.latency("cache_set_latency_seconds", "Facade set latency", setLatency.snapshot());
+        out.latency("cache_eviction_lag_seconds", "Delay between exceeding the bound and the evictor running", evictionLag.snapshot());
+    }
+}
@@ -0,0 +1,37 @@
+package com.satya.distributedcache.cache.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Collects a scrape into a name -> value map for JSON; latencies become count/mean/percentiles in microseconds
+public final class JsonMetricsWriter implements MetricsWriter {
+
+    private final Map<String, Object> metrics = new LinkedHashMap<>();
+
+    @Override
+    public void counter(String name, String help, long value) {
+        metrics.put(name, value);
+    }
+
+    @Override
+    public void gauge(String name, String help, double value) {
+        metrics.put(name, value == Math.rint(value) ? (Object) (long) value : (Object) value);
+    }
+
+    @Override
+    public void latency(String name, String help, LatencyHistogram.Snapshot snapshot) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", snapshot.count());
+        latency.put("meanMicros", snapshot.meanNanos() / 1000.0);
+        latency.put("p50Micros", snapshot.quantileNanos(0.5) / 1000.0);
+        latency.put("p90Micros", snapshot.quantileNanos(0.9) / 1000.0);
+        latency.put("p99Micros", snapshot.quantileNanos(0.99) / 1000.0);
+        latency.put("p999Micros", snapshot.quantileNanos(0.999) / 1000.0);
+        latency.put("maxMicros", snapshot.maxNanos() / 1000.0);
+        metrics.put(name, latency);
+    }
+
+    public Map<String, Object> toMap() {
+        return metrics;
+    }
+}
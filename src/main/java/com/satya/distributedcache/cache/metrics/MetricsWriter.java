@@ -0,0 +1,11 @@
+package com.satya.distributedcache.cache.metrics;
+
+// Sink for one metrics scrape; components write their current values into it by name
+public interface MetricsWriter {
+
+    void counter(String name, String help, long value);
+
+    void gauge(String name, String help, double value);
+
+    void latency(String name, String help, LatencyHistogram.Snapshot snapshot);
+}
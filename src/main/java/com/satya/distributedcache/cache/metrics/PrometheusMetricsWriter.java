@@ -0,0 +1,49 @@
+package com.satya.distributedcache.cache.metrics;
+
+// Prometheus text exposition format (0.0.4); latencies are summaries in seconds
+public final class PrometheusMetricsWriter implements MetricsWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    @Override
+    public void counter(String name, String help, long value) {
+        header(name, help, "counter");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void gauge(String name, String help, double value) {
+        header(name, help, "gauge");
+        out.append(name).append(' ').append(format(value)).append('\n');
+    }
+
+    @Override
+    public void latency(String name, String help, LatencyHistogram.Snapshot snapshot) {
+        header(name, help, "summary");
+        for (double q : QUANTILES) {
+            out.append(name).append("{quantile=\"").append(q).append("\"} ")
+                    .append(format(snapshot.quantileNanos(q) / 1e9)).append('\n');
+        }
+        out.append(name).append("_sum ").append(format(snapshot.totalNanos() / 1e9)).append('\n');
+        out.append(name).append("_count ").append(snapshot.count()).append('\n');
+        gauge(name + "_max", help + " (max)", snapshot.maxNanos() / 1e9);
+    }
+
+    private void header(String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.satya.distributedcache.cache.namespace;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A namespace's generation cell. Entries written under the namespace keep a reference to it together
+// with the generation they were written in; a flush bumps the cell, which makes all of them stale at once.
+public final class Generation {
+
+    private final String namespace;
+    private final AtomicLong current = new AtomicLong();
+
+    Generation(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public String namespace() {
+        return namespace;
+    }
+
+    public long current() {
+        return current.get();
+    }
+
+    long bump() {
+        return current.incrementAndGet();
+    }
+
+    // True when this is the namespace of key, whose namespace part is key[0, length)
+    boolean names(String key, int length) {
+        return namespace.length() == length && key.startsWith(namespace);
+    }
+}
@@ -0,0 +1,147 @@
+package com.satya.distributedcache.cache.namespace;
+
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// The part of a key before the first separator names its namespace ("svcA:user:1" is in "svcA").
+// Each namespace seen on a write gets a Generation cell, found through a copy-on-write open-addressing
+// table probed with the key itself, so stamping a write allocates nothing once its namespace exists.
+// The table holds at most maxNamespaces cells; keys of namespaces beyond that are not stamped, and
+// flushing such a namespace is refused rather than silently missing its keys.
+public class Namespaces {
+
+    private final String separator;
+    private final int maxNamespaces;
+    private volatile Generation[] table = new Generation[16];
+    private int count;
+    private volatile boolean overflowed;
+    private final AtomicLong flushes = new AtomicLong();
+    private final LongAdder untrackedWrites = new LongAdder();
+
+    // An empty separator turns namespaces off
+    public Namespaces(String separator, int maxNamespaces) {
+        this.separator = separator == null ? "" : separator;
+        this.maxNamespaces = Math.max(1, maxNamespaces);
+    }
+
+    // Cell for the key's namespace, registering it on first sight; null for keys outside any namespace
+    public Generation generationOf(String key) {
+        int length = namespaceLength(key);
+        if (length <= 0) {
+            return null;
+        }
+        Generation generation = lookup(table, key, length);
+        if (generation != null) {
+            return generation;
+        }
+        if (overflowed) {
+            untrackedWrites.increment();
+            return null;
+        }
+        return register(key, length);
+    }
+
+    // Makes every entry written so far under the namespace stale; returns the namespace's new generation
+    public long flush(String namespace) {
+        Generation generation = lookup(table, namespace, namespace.length());
+        if (generation == null) {
+            if (overflowed) {
+                throw new IllegalStateException("namespace " + namespace + " is not tracked (more than "
+                        + maxNamespaces + " namespaces); delete its keys by pattern instead");
+            }
+            // Nothing was ever written under it; a write racing with this flush counts as after it
+            return 0L;
+        }
+        long next = generation.bump();
+        flushes.incrementAndGet();
+        return next;
+    }
+
+    public long generation(String namespace) {
+        Generation generation = lookup(table, namespace, namespace.length());
+        return generation == null ? 0L : generation.current();
+    }
+
+    // Bumped on every flush; lets a sweeper tell whether a flush happened since it last looked
+    public long flushCount() {
+        return flushes.get();
+    }
+
+    public String keyPrefix(String namespace) {
+        return namespace + separator;
+    }
+
+    private int namespaceLength(String key) {
+        return separator.isEmpty() ? -1 : key.indexOf(separator);
+    }
+
+    private static Generation lookup(Generation[] table, String key, int length) {
+        int mask = table.length - 1;
+        for (int i = hash(key, length) & mask; ; i = (i + 1) & mask) {
+            Generation generation = table[i];
+            if (generation == null || generation.names(key, length)) {
+                return generation;
+            }
+        }
+    }
+
+    private synchronized Generation register(String key, int length) {
+        Generation generation = lookup(table, key, length);
+        if (generation != null) {
+            return generation;
+        }
+        if (count >= maxNamespaces) {
+            overflowed = true;
+            untrackedWrites.increment();
+            return null;
+        }
+        // Kept at most half full so probes stay short and always end on an empty slot
+        Generation[] next = new Generation[count + 1 > table.length / 2 ? table.length * 2 : table.length];
+        for (Generation existing : table) {
+            if (existing != null) {
+                insert(next, existing);
+            }
+        }
+        generation = new Generation(key.substring(0, length));
+        insert(next, generation);
+        count++;
+        table = next;
+        return generation;
+    }
+
+    private static void insert(Generation[] table, Generation generation) {
+        String name = generation.namespace();
+        int mask = table.length - 1;
+        int i = hash(name, name.length()) & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = generation;
+    }
+
+    private static int hash(String key, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + key.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    public void writeMetrics(MetricsWriter out) {
+        out.gauge("namespaces_tracked", "Namespaces with a generation cell", namespaceCount());
+        out.counter("namespace_flushes_total", "Namespace flushes (generation bumps)", flushes.get());
+        out.counter("namespace_untracked_writes_total", "Writes to namespaces beyond the tracked limit",
+                untrackedWrites.sum());
+    }
+
+    private synchronized int namespaceCount() {
+        return count;
+    }
+
+    public String getStats() {
+        return String.format("Namespace Stats: [tracked=%d, flushes=%d, untrackedWrites=%d]",
+                namespaceCount(), flushes.get(), untrackedWrites.sum());
+    }
+}
@@ -0,0 +1,65 @@
+package com.satya.distributedcache.cache.namespace;
+
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Reclaims entries left stale by namespace flushes. Idle until a flush happens; then each sweep() call
+// (one per expiry tick) examines at most budget entries of one walk over the store and removes the stale
+// ones. A flush arriving mid-walk is picked up by a further walk once this one ends.
+public class StaleEntrySweeper<V> {
+
+    private final Cache<String, V> store;
+    private final Namespaces namespaces;
+    private final LongAdder reclaimed = new LongAdder();
+    private final LongAdder walks = new LongAdder();
+
+    // Confined to the caller (the expiry ticker, whose runs never overlap)
+    private Iterator<CacheEntry<String, V>> walk;
+    private long walkCovers;
+    private long sweptFlushes;
+
+    public StaleEntrySweeper(Cache<String, V> store, Namespaces namespaces) {
+        this.store = store;
+        this.namespaces = namespaces;
+    }
+
+    public int sweep(int budget) {
+        if (walk == null) {
+            long flushes = namespaces.flushCount();
+            if (flushes == sweptFlushes) {
+                return 0;
+            }
+            walk = store.entryIterator();
+            walkCovers = flushes;
+            walks.increment();
+        }
+        int removed = 0;
+        long now = System.currentTimeMillis();
+        while (budget-- > 0 && walk.hasNext()) {
+            CacheEntry<String, V> entry = walk.next();
+            // Stale entries read as expired, so the expiry path removes them (and skips any rewritten since)
+            if (entry.isStale() && store.invalidateIfExpired(entry, now)) {
+                removed++;
+            }
+        }
+        if (!walk.hasNext()) {
+            walk = null;
+            sweptFlushes = walkCovers;
+        }
+        reclaimed.add(removed);
+        return removed;
+    }
+
+    public void writeMetrics(MetricsWriter out) {
+        out.counter("namespace_stale_reclaimed_total", "Flushed-namespace entries removed by the sweep", reclaimed.sum());
+        out.counter("namespace_sweeps_total", "Walks over the store started after a flush", walks.sum());
+    }
+
+    public String getStats() {
+        return String.format("Sweep Stats: [reclaimed=%d, walks=%d]", reclaimed.sum(), walks.sum());
+    }
+}
@@ -0,0 +1,101 @@
+package com.satya.distributedcache.cache.persistence;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Durability between snapshots: replays the append-only log at startup (after any snapshot restore),
+// then logs every facade mutation until shutdown.
+@Component
+@ConditionalOnProperty(name = "cache.aof.enabled", havingValue = "true")
+public class AofManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AofManager.class);
+
+    private final LocalCacheFacade cache;
+    private final Cache<String, Object> store;
+    private final ValueStorage valueStorage;
+    private final ValueCodec valueCodec;
+    private final ObjectProvider<SnapshotManager> snapshotManager;
+
+    @Value("${cache.aof.path:data/cache.aof}")
+    private Path path;
+
+    @Value("${cache.aof.fsync:everysec}")
+    private String fsync;
+
+    @Value("${cache.aof.rewrite-min-bytes:67108864}")
+    private long rewriteMinBytes;
+
+    @Value("${cache.aof.rewrite-percentage:100}")
+    private int rewritePercentage;
+
+    @Value("${cache.aof.queue-capacity:65536}")
+    private int queueCapacity;
+
+    private AppendOnlyLog appendLog;
+
+    public AofManager(LocalCacheFacade cache, Cache<String, Object> store, ValueStorage valueStorage,
+                      ValueCodec valueCodec, ObjectProvider<SnapshotManager> snapshotManager) {
+        this.cache = cache;
+        this.store = store;
+        this.valueStorage = valueStorage;
+        this.valueCodec = valueCodec;
+        this.snapshotManager = snapshotManager;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        // Resolving the snapshot manager first guarantees its restore ran before the log is replayed on top
+        snapshotManager.getIfAvailable();
+        long start = System.nanoTime();
+        long replayed = AppendOnlyLog.replay(path, cache, valueCodec, true);
+        if (replayed > 0) {
+            log.info("AOF replayed: {} records from {} in {} ms",
+                    replayed, path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        appendLog = new AppendOnlyLog(path, FsyncPolicy.parse(fsync), valueCodec, store, valueStorage,
+                rewriteMinBytes, rewritePercentage, queueCapacity);
+        appendLog.start();
+        cache.addMutationListener(appendLog);
+    }
+
+    @PreDestroy
+    public void stop() {
+        appendLog.close();
+    }
+
+    // Waits until every mutation logged so far is on disk
+    public void sync() {
+        appendLog.sync();
+    }
+
+    // Compacts the log to the live data set; completes once the new file is in place
+    public CompletableFuture<Void> rewrite() {
+        return appendLog.requestRewrite();
+    }
+
+    public long size() throws IOException {
+        return appendLog.size();
+    }
+
+    // Replays the current log into another facade (e.g. a scratch cache for verification)
+    public long replayInto(CacheFacade<String, Object> target) throws IOException {
+        return AppendOnlyLog.replay(path, target, valueCodec, false);
+    }
+}
@@ -0,0 +1,55 @@
+package com.satya.distributedcache.cache.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// One logged mutation. On disk: body length, CRC32C of the body, body; the body is the type byte,
+// varint key length, UTF-8 key, then the value bytes (SET) or the absolute expire-at (EXPIRE).
+record AofRecord(byte type, String key, Object value, long expireAt) {
+
+    static final byte SET = 1;
+    static final byte DELETE = 2;
+    static final byte EXPIRE = 3;
+    static final byte PERSIST = 4;
+    // Key is the namespace
+    static final byte FLUSH = 5;
+
+    static final int FRAME_HEADER_BYTES = 8;
+
+    // Body without the frame header; value is already codec-encoded for SET
+    static void writeBody(DataOutputStream out, byte type, String key, byte[] value, long expireAt) throws IOException {
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(type);
+        SnapshotFormat.writeVarInt(out, k.length);
+        out.write(k);
+        switch (type) {
+            case SET -> {
+                SnapshotFormat.writeVarInt(out, value.length);
+                out.write(value);
+            }
+            case EXPIRE -> out.writeLong(expireAt);
+            default -> {
+            }
+        }
+    }
+
+    // Parses a body; SET values are returned still encoded as byte[]
+    static AofRecord readBody(ByteBuffer in) {
+        byte type = in.get();
+        byte[] k = new byte[SnapshotFormat.readVarInt(in)];
+        in.get(k);
+        String key = new String(k, StandardCharsets.UTF_8);
+        return switch (type) {
+            case SET -> {
+                byte[] value = new byte[SnapshotFormat.readVarInt(in)];
+                in.get(value);
+                yield new AofRecord(type, key, value, 0L);
+            }
+            case EXPIRE -> new AofRecord(type, key, null, in.getLong());
+            case DELETE, PERSIST, FLUSH -> new AofRecord(type, key, null, 0L);
+            default -> throw new IllegalStateException("unknown AOF record type " + type);
+        };
+    }
+}
@@ -0,0 +1,478 @@
+package com.satya.distributedcache.cache.persistence;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.MutationListener;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+// Write-ahead log of facade mutations. Request threads only enqueue; a single writer thread drains
+// whatever has queued up (group commit), encodes it into one buffer, issues one write and then
+// fsyncs per the FsyncPolicy.
+// Rewrite: once the file has grown past rewriteMinBytes and by rewritePercentage since the last
+// rewrite, a background walk dumps the live store into a new base file while the writer keeps
+// appending to the old one and also buffers those batches; the buffer is appended to the new base,
+// which then atomically replaces the old log. A failed rewrite holds off the next growth-triggered one
+// with an exponential backoff, so a full disk is not walked every poll.
+// A write or fsync error fails the log for good: the writer stops, later records are dropped and sync()
+// rethrows the error, since the file no longer holds every acknowledged write.
+class AppendOnlyLog implements MutationListener<String, Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(AppendOnlyLog.class);
+
+    private static final int MAX_BATCH = 4096;
+    private static final long POLL_MILLIS = 100;
+    private static final long MIN_REWRITE_BACKOFF_MILLIS = 1000;
+    private static final long MAX_REWRITE_BACKOFF_MILLIS = 60_000;
+
+    private final Path path;
+    private final FsyncPolicy fsyncPolicy;
+    private final ValueCodec codec;
+    private final Cache<String, Object> store;
+    private final ValueStorage valueStorage;
+    private final long rewriteMinBytes;
+    private final int rewritePercentage;
+    private final BlockingQueue<AofRecord> queue;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Thread writer;
+    private final RecordBuffer batchBuffer = new RecordBuffer();
+    private final RecordBuffer bodyBuffer = new RecordBuffer();
+    private final CRC32C crc = new CRC32C();
+
+    // Records handed to the OS / known to be durable, in enqueue order
+    private volatile long written;
+    private volatile long synced;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+    private volatile CompletableFuture<Void> rewriteRequest;
+
+    // Writer thread only
+    private FileChannel channel;
+    private long baseSize;
+    private long rewriteBackoffMillis;
+    private long nextRewriteAt;
+    private Rewrite rewrite;
+
+    AppendOnlyLog(Path path, FsyncPolicy fsyncPolicy, ValueCodec codec, Cache<String, Object> store,
+                  ValueStorage valueStorage, long rewriteMinBytes, int rewritePercentage, int queueCapacity) {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        this.codec = codec;
+        this.store = store;
+        this.valueStorage = valueStorage;
+        this.rewriteMinBytes = rewriteMinBytes;
+        this.rewritePercentage = rewritePercentage;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::run, "AofWriter");
+        this.writer.setDaemon(true);
+    }
+
+    void start() throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        baseSize = channel.size();
+        writer.start();
+    }
+
+    // Drains the queue, forces the file and stops the writer
+    void close() {
+        // No interrupt: an interrupted FileChannel closes itself; the writer notices within one poll
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Blocks until everything enqueued before the call is on disk; throws once the log has failed
+    void sync() {
+        long target = enqueued.get();
+        while (synced < target && failure == null && writer.isAlive()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        IOException failed = failure;
+        if (failed != null && synced < target) {
+            throw new UncheckedIOException("AOF failed", failed);
+        }
+    }
+
+    CompletableFuture<Void> requestRewrite() {
+        synchronized (this) {
+            if (rewriteRequest == null) {
+                rewriteRequest = new CompletableFuture<>();
+            }
+            return rewriteRequest;
+        }
+    }
+
+    long size() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public void onSet(String key, Object value) {
+        enqueue(new AofRecord(AofRecord.SET, key, value, 0L));
+    }
+
+    @Override
+    public void onDelete(String key) {
+        enqueue(new AofRecord(AofRecord.DELETE, key, null, 0L));
+    }
+
+    @Override
+    public void onExpire(String key, long expireAt) {
+        enqueue(new AofRecord(AofRecord.EXPIRE, key, null, expireAt));
+    }
+
+    @Override
+    public void onPersist(String key) {
+        enqueue(new AofRecord(AofRecord.PERSIST, key, null, 0L));
+    }
+
+    @Override
+    public void onNamespaceFlush(String namespace) {
+        enqueue(new AofRecord(AofRecord.FLUSH, namespace, null, 0L));
+    }
+
+    private void enqueue(AofRecord record) {
+        if (failure != null) {
+            // Nothing drains the queue any more; blocking here would stall every writer
+            return;
+        }
+        try {
+            // Blocks only when the writer has fallen queueCapacity records behind
+            queue.put(record);
+            enqueued.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<AofRecord> batch = new ArrayList<>(MAX_BATCH);
+        long lastFsync = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            try {
+                AofRecord first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    appendBatch(batch);
+                    batch.clear();
+                }
+                if (synced < written) {
+                    long now = System.nanoTime();
+                    if (fsyncPolicy == FsyncPolicy.ALWAYS
+                            || (fsyncPolicy == FsyncPolicy.EVERYSEC && now - lastFsync >= TimeUnit.SECONDS.toNanos(1))) {
+                        long target = written;
+                        channel.force(false);
+                        synced = target;
+                        lastFsync = now;
+                    } else if (fsyncPolicy == FsyncPolicy.NO) {
+                        synced = written;
+                    }
+                }
+                maybeRewrite();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException e) {
+                fail(e, batch.size());
+            } catch (RuntimeException e) {
+                fail(new IOException(e), batch.size());
+            }
+            if (failure != null) {
+                queue.clear();
+                closeQuietly();
+                synchronized (this) {
+                    if (rewriteRequest != null) {
+                        rewriteRequest.completeExceptionally(failure);
+                    }
+                }
+                return;
+            }
+        }
+        try {
+            channel.force(false);
+            synced = written;
+            channel.close();
+        } catch (IOException e) {
+            log.error("AOF close failed", e);
+        }
+    }
+
+    private void fail(IOException e, int batchSize) {
+        log.error("AOF write failed, disabling the log ({} records in flight, {} queued are lost)",
+                batchSize, queue.size(), e);
+        failure = e;
+    }
+
+    private void closeQuietly() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("AOF close after failure failed", e);
+        }
+    }
+
+    private void appendBatch(List<AofRecord> batch) throws IOException {
+        batchBuffer.reset();
+        DataOutputStream out = new DataOutputStream(batchBuffer);
+        for (AofRecord record : batch) {
+            byte[] value = null;
+            if (record.type() == AofRecord.SET) {
+                try {
+                    value = codec.encode(record.value());
+                } catch (RuntimeException e) {
+                    // One value the codec cannot handle must not cost the rest of the batch
+                    log.warn("AOF skipped SET {}: value could not be encoded", record.key(), e);
+                    continue;
+                }
+            }
+            frame(out, record.type(), record.key(), value, record.expireAt());
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(batchBuffer.array(), 0, batchBuffer.size());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        if (rewrite != null) {
+            rewrite.pending.write(batchBuffer.array(), 0, batchBuffer.size());
+        }
+        written += batch.size();
+    }
+
+    private void frame(DataOutputStream out, byte type, String key, byte[] value, long expireAt) throws IOException {
+        bodyBuffer.reset();
+        AofRecord.writeBody(new DataOutputStream(bodyBuffer), type, key, value, expireAt);
+        crc.reset();
+        crc.update(bodyBuffer.array(), 0, bodyBuffer.size());
+        out.writeInt(bodyBuffer.size());
+        out.writeInt((int) crc.getValue());
+        out.write(bodyBuffer.array(), 0, bodyBuffer.size());
+    }
+
+    private void maybeRewrite() throws IOException {
+        if (rewrite != null) {
+            if (rewrite.base.isDone()) {
+                finishRewrite();
+            }
+            return;
+        }
+        long size = channel.size();
+        boolean grown = rewriteMinBytes > 0 && size >= rewriteMinBytes
+                && size >= baseSize + baseSize * rewritePercentage / 100
+                && System.currentTimeMillis() >= nextRewriteAt;
+        if (grown || rewriteRequest != null) {
+            // From here on every batch is also buffered, so nothing applied after the walk starts is lost
+            Rewrite started = new Rewrite(path.resolveSibling(path.getFileName() + ".rewrite"));
+            rewrite = started;
+            Thread walker = new Thread(() -> writeBase(started), "AofRewrite");
+            walker.setDaemon(true);
+            walker.start();
+        }
+    }
+
+    // Runs on the rewrite thread: one SET (and EXPIRE) per live entry
+    private void writeBase(Rewrite target) {
+        long now = System.currentTimeMillis();
+        try (FileChannel base = FileChannel.open(target.file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(base), 1 << 16))) {
+            RecordBuffer body = new RecordBuffer();
+            CRC32C checksum = new CRC32C();
+            store.forEachEntry(entry -> {
+                long expireAt = entry.getExpireAt();
+                if (entry.isExpired(now)) {
+                    return;
+                }
+                Object value = valueStorage.read(entry);
+                if (value == null || entry.isRetired()) {
+                    return;
+                }
+                try {
+                    writeFramed(out, body, checksum, AofRecord.SET, entry.getKey(), codec.encode(value), 0L);
+                    if (expireAt != 0L) {
+                        writeFramed(out, body, checksum, AofRecord.EXPIRE, entry.getKey(), null, expireAt);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            base.force(true);
+            target.base.complete(null);
+        } catch (IOException | RuntimeException e) {
+            target.base.completeExceptionally(e);
+        }
+    }
+
+    private static void writeFramed(DataOutputStream out, RecordBuffer body, CRC32C checksum,
+                                    byte type, String key, byte[] value, long expireAt) throws IOException {
+        body.reset();
+        AofRecord.writeBody(new DataOutputStream(body), type, key, value, expireAt);
+        checksum.reset();
+        checksum.update(body.array(), 0, body.size());
+        out.writeInt(body.size());
+        out.writeInt((int) checksum.getValue());
+        out.write(body.array(), 0, body.size());
+    }
+
+    private void finishRewrite() throws IOException {
+        Rewrite done = rewrite;
+        rewrite = null;
+        CompletableFuture<Void> request;
+        synchronized (this) {
+            request = rewriteRequest;
+            rewriteRequest = null;
+        }
+        try {
+            done.base.join();
+            try (FileChannel base = FileChannel.open(done.file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer pending = ByteBuffer.wrap(done.pending.array(), 0, done.pending.size());
+                while (pending.hasRemaining()) {
+                    base.write(pending);
+                }
+                base.force(true);
+            }
+            channel.force(false);
+            Files.move(done.file, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel.close();
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            baseSize = channel.size();
+            rewriteBackoffMillis = 0;
+            if (request != null) {
+                request.complete(null);
+            }
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(done.file);
+            rewriteBackoffMillis = Math.min(MAX_REWRITE_BACKOFF_MILLIS,
+                    Math.max(MIN_REWRITE_BACKOFF_MILLIS, rewriteBackoffMillis * 2));
+            nextRewriteAt = System.currentTimeMillis() + rewriteBackoffMillis;
+            log.warn("AOF rewrite failed, next automatic attempt in {} ms", rewriteBackoffMillis, e);
+            if (request != null) {
+                request.completeExceptionally(e);
+            }
+        }
+    }
+
+    // Applies every intact record to target. With truncateTornTail, a partial or corrupt tail left
+    // by a crash is cut off so new appends start on a record boundary.
+    static long replay(Path path, CacheFacade<String, Object> target, ValueCodec codec, boolean truncateTornTail) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long applied = 0;
+        long goodOffset = 0;
+        boolean torn = false;
+        CRC32C checksum = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] body;
+                int crc;
+                try {
+                    crc = in.readInt();
+                    if (length <= 0) {
+                        torn = true;
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    torn = true;
+                    break;
+                }
+                checksum.reset();
+                checksum.update(body);
+                if ((int) checksum.getValue() != crc) {
+                    torn = true;
+                    break;
+                }
+                apply(AofRecord.readBody(ByteBuffer.wrap(body)), target, codec);
+                applied++;
+                goodOffset += AofRecord.FRAME_HEADER_BYTES + length;
+            }
+        }
+        if (torn && truncateTornTail) {
+            log.warn("AOF has a torn tail, truncating to {} bytes", goodOffset);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(goodOffset);
+            }
+        }
+        return applied;
+    }
+
+    private static void apply(AofRecord record, CacheFacade<String, Object> target, ValueCodec codec) {
+        switch (record.type()) {
+            case AofRecord.SET -> target.set(record.key(), codec.decode((byte[]) record.value()));
+            case AofRecord.DELETE -> target.del(record.key());
+            case AofRecord.EXPIRE -> {
+                long remaining = record.expireAt() - System.currentTimeMillis();
+                if (remaining > 0) {
+                    target.expire(record.key(), remaining);
+                } else {
+                    target.del(record.key());
+                }
+            }
+            case AofRecord.PERSIST -> target.persist(record.key());
+            case AofRecord.FLUSH -> target.flushNamespace(record.key());
+            default -> {
+            }
+        }
+    }
+
+    private static final class Rewrite {
+        final Path file;
+        final RecordBuffer pending = new RecordBuffer();
+        final CompletableFuture<Void> base = new CompletableFuture<>();
+
+        Rewrite(Path file) {
+            this.file = file;
+        }
+    }
+
+    // Reused encode buffer that exposes its backing array
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(1 << 16);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.satya.distributedcache.cache.persistence;
+
+// When the append-only log forces written batches to disk
+public enum FsyncPolicy {
+    // after every group-committed batch
+    ALWAYS,
+    // at most once per second (bounded loss window of ~1s)
+    EVERYSEC,
+    // left to the OS
+    NO;
+
+    public static FsyncPolicy parse(String value) {
+        return switch (value.trim().toUpperCase().replace("-", "")) {
+            case "ALWAYS" -> ALWAYS;
+            case "EVERYSEC", "EVERYSECOND" -> EVERYSEC;
+            case "NO", "NEVER" -> NO;
+            default -> throw new IllegalArgumentException("Unknown cache.aof.fsync: " + value);
+        };
+    }
+}
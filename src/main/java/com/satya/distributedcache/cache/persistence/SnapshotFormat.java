@@ -0,0 +1,46 @@
+package com.satya.distributedcache.cache.persistence;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Snapshot file layout (big-endian):
+//   header  : magic "BLZS", version, created-at millis
+//   chunk*  : uncompressed length, compressed length, CRC32C of the uncompressed bytes, entry count,
+//             deflated records
+//   trailer : -1, total entry count
+// A record is varint key length, UTF-8 key, expire-at millis (0 = no TTL), varint value length,
+// codec-encoded value. Chunks are independent, so they can be inflated and loaded in parallel.
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x424C5A53;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int CHUNK_HEADER_BYTES = 16;
+    static final int END_OF_CHUNKS = -1;
+    // Target uncompressed chunk size
+    static final int CHUNK_BYTES = 1 << 20;
+
+    private SnapshotFormat() {
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("malformed varint");
+    }
+}
@@ -0,0 +1,125 @@
+package com.satya.distributedcache.cache.persistence;
+
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Warm restart: restores the last snapshot before the context finishes starting (so no traffic
+// sees a cold cache), re-snapshots every cache.snapshot.interval-seconds in the background,
+// and writes a final snapshot on shutdown.
+@Component
+@ConditionalOnProperty(name = "cache.snapshot.enabled", havingValue = "true")
+public class SnapshotManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotManager.class);
+
+    private final SnapshotWriter writer;
+    private final SnapshotReader reader;
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    @Value("${cache.snapshot.path:data/cache.snapshot}")
+    private Path path;
+
+    @Value("${cache.snapshot.interval-seconds:300}")
+    private long intervalSeconds;
+
+    @Value("${cache.snapshot.on-shutdown:true}")
+    private boolean saveOnShutdown;
+
+    @Value("${cache.snapshot.load-threads:0}")
+    private int loadThreads;
+
+    private ScheduledExecutorService scheduler;
+
+    public SnapshotManager(Cache<String, Object> store, ValueStorage valueStorage, ValueCodec valueCodec,
+                           LocalCacheFacade cache) {
+        this.writer = new SnapshotWriter(store, valueStorage, valueCodec);
+        this.reader = new SnapshotReader(cache, valueCodec);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (Files.exists(path)) {
+            try {
+                load();
+            } catch (IOException e) {
+                // A bad snapshot must not keep the node from starting; it just starts cold
+                log.warn("Snapshot restore from {} failed, starting empty", path, e);
+            }
+        }
+        if (intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "SnapshotWriter");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::saveQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (saveOnShutdown) {
+            saveQuietly();
+        }
+    }
+
+    public long save() throws IOException {
+        saveLock.lock();
+        try {
+            long start = System.nanoTime();
+            long count = writer.write(path);
+            log.info("Snapshot saved: {} keys to {} in {} ms",
+                    count, path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return count;
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    public long load() throws IOException {
+        int threads = loadThreads > 0 ? loadThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService loaders = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "SnapshotLoader");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            long start = System.nanoTime();
+            long count = reader.read(path, loaders);
+            log.info("Snapshot restored: {} keys from {} in {} ms",
+                    count, path, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return count;
+        } finally {
+            loaders.shutdownNow();
+        }
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot save to {} failed", path, e);
+        }
+    }
+}
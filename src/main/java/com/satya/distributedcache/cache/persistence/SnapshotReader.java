@@ -0,0 +1,143 @@
+package com.satya.distributedcache.cache.persistence;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Loads a snapshot by scanning the chunk headers, then inflating and inserting each memory-mapped
+// chunk on the loader pool. Expired records are dropped and the rest keep their absolute deadlines.
+// A chunk whose checksum does not match is skipped rather than failing the whole restore.
+public class SnapshotReader {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotReader.class);
+
+    private final CacheFacade<String, Object> cache;
+    private final ValueCodec codec;
+
+    public SnapshotReader(CacheFacade<String, Object> cache, ValueCodec codec) {
+        this.cache = cache;
+        this.codec = codec;
+    }
+
+    public long read(Path path, ExecutorService loaders) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt() != SnapshotFormat.MAGIC || header.getInt() != SnapshotFormat.VERSION) {
+                throw new IOException("not a version " + SnapshotFormat.VERSION + " snapshot: " + path);
+            }
+            long now = System.currentTimeMillis();
+            List<Future<Long>> chunks = new ArrayList<>();
+            long position = SnapshotFormat.HEADER_BYTES;
+            ByteBuffer chunkHeader = ByteBuffer.allocate(SnapshotFormat.CHUNK_HEADER_BYTES);
+            while (true) {
+                chunkHeader.clear().limit(4);
+                readFully(channel, chunkHeader, position);
+                int uncompressed = chunkHeader.getInt(0);
+                if (uncompressed == SnapshotFormat.END_OF_CHUNKS) {
+                    break;
+                }
+                chunkHeader.clear();
+                readFully(channel, chunkHeader, position);
+                chunkHeader.position(4);
+                int compressed = chunkHeader.getInt();
+                int crc = chunkHeader.getInt();
+                int entries = chunkHeader.getInt();
+                if (position + SnapshotFormat.CHUNK_HEADER_BYTES + compressed > channel.size()) {
+                    throw new IOException("snapshot truncated in chunk at " + position);
+                }
+                MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position + SnapshotFormat.CHUNK_HEADER_BYTES, compressed);
+                chunks.add(loaders.submit(() -> loadChunk(data, uncompressed, crc, entries, now)));
+                position += SnapshotFormat.CHUNK_HEADER_BYTES + compressed;
+            }
+            long loaded = 0;
+            for (Future<Long> chunk : chunks) {
+                loaded += chunk.get();
+            }
+            return loaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("snapshot load interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("snapshot load failed", e.getCause());
+        }
+    }
+
+    private long loadChunk(ByteBuffer data, int uncompressedLength, int crc, int entries, long now) throws DataFormatException {
+        byte[] records = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            int n = 0;
+            while (n < uncompressedLength && !inflater.finished()) {
+                int read = inflater.inflate(records, n, uncompressedLength - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != uncompressedLength) {
+                log.warn("Snapshot chunk truncated, skipping {} entries", entries);
+                return 0;
+            }
+        } finally {
+            inflater.end();
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(records);
+        if ((int) checksum.getValue() != crc) {
+            log.warn("Snapshot chunk checksum mismatch, skipping {} entries", entries);
+            return 0;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(records);
+        Map<String, Object> values = new HashMap<>(Math.max(16, entries * 4 / 3 + 1));
+        Map<String, Long> expireAts = new HashMap<>();
+        while (in.hasRemaining()) {
+            byte[] key = new byte[SnapshotFormat.readVarInt(in)];
+            in.get(key);
+            long expireAt = in.getLong();
+            byte[] value = new byte[SnapshotFormat.readVarInt(in)];
+            in.get(value);
+            if (expireAt != 0L && expireAt <= now) {
+                continue;
+            }
+            String k = new String(key, StandardCharsets.UTF_8);
+            values.put(k, codec.decode(value));
+            if (expireAt != 0L) {
+                expireAts.put(k, expireAt);
+            }
+        }
+        cache.restore(values, expireAts);
+        return values.size();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("snapshot truncated at " + (position + buffer.position()));
+            }
+        }
+        buffer.flip();
+    }
+}
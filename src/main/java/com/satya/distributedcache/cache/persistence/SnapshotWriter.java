@@ -0,0 +1,142 @@
+package com.satya.distributedcache.cache.persistence;
+
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Streams the live entries into a temp file chunk by chunk and atomically renames it into place.
+// The walk is weakly consistent: writers keep running and the file reflects each key at some
+// point during the pass. Already-expired entries are skipped.
+public class SnapshotWriter {
+
+    private final Cache<String, Object> store;
+    private final ValueStorage valueStorage;
+    private final ValueCodec codec;
+
+    public SnapshotWriter(Cache<String, Object> store, ValueStorage valueStorage, ValueCodec codec) {
+        this.store = store;
+        this.valueStorage = valueStorage;
+        this.codec = codec;
+    }
+
+    public long write(Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            long count;
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream file = new DataOutputStream(new BufferedOutputStream(
+                         Channels.newOutputStream(channel), 1 << 16))) {
+                file.writeInt(SnapshotFormat.MAGIC);
+                file.writeInt(SnapshotFormat.VERSION);
+                file.writeLong(System.currentTimeMillis());
+                count = writeChunks(file);
+                file.writeInt(SnapshotFormat.END_OF_CHUNKS);
+                file.writeLong(count);
+                file.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private long writeChunks(DataOutputStream file) throws IOException {
+        ChunkBuffer chunk = new ChunkBuffer();
+        DataOutputStream records = new DataOutputStream(chunk);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        long[] total = {0};
+        int[] inChunk = {0};
+        long now = System.currentTimeMillis();
+        try {
+            store.forEachEntry(entry -> {
+                try {
+                    if (writeRecord(records, entry, now)) {
+                        inChunk[0]++;
+                        total[0]++;
+                    }
+                    if (chunk.size() >= SnapshotFormat.CHUNK_BYTES) {
+                        flushChunk(file, chunk, inChunk[0], deflater);
+                        inChunk[0] = 0;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (inChunk[0] > 0) {
+                flushChunk(file, chunk, inChunk[0], deflater);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            deflater.end();
+        }
+        return total[0];
+    }
+
+    private boolean writeRecord(DataOutputStream out, CacheEntry<String, Object> entry, long now) throws IOException {
+        long expireAt = entry.getExpireAt();
+        if (entry.isExpired(now)) {
+            return false;
+        }
+        Object value = valueStorage.read(entry);
+        if (value == null || entry.isRetired()) {
+            return false;
+        }
+        byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = codec.encode(value);
+        SnapshotFormat.writeVarInt(out, key.length);
+        out.write(key);
+        out.writeLong(expireAt);
+        SnapshotFormat.writeVarInt(out, encoded.length);
+        out.write(encoded);
+        return true;
+    }
+
+    private static void flushChunk(DataOutputStream file, ChunkBuffer chunk, int entries, Deflater deflater) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(chunk.array(), 0, chunk.size());
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(chunk.size() / 2);
+        deflater.reset();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater, 1 << 16)) {
+            out.write(chunk.array(), 0, chunk.size());
+        }
+        file.writeInt(chunk.size());
+        file.writeInt(compressed.size());
+        file.writeInt((int) crc.getValue());
+        file.writeInt(entries);
+        compressed.writeTo(file);
+        chunk.reset();
+    }
+
+    // Reused record buffer that exposes its backing array to avoid a copy per chunk
+    private static final class ChunkBuffer extends ByteArrayOutputStream {
+        ChunkBuffer() {
+            super(SnapshotFormat.CHUNK_BYTES + (SnapshotFormat.CHUNK_BYTES >> 2));
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
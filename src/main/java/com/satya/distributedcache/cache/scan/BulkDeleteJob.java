@@ -0,0 +1,93 @@
+package com.satya.distributedcache.cache.scan;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.scheduler.BackgroundScheduler;
+
+// Deletes every key matching a pattern off the request thread. Each run is one SCAN step over at most
+// batchSize entries whose matches are deleted through the facade, so the AOF, replicas and near-caches
+// see every delete; the next run is scheduled pauseMillis later, which caps the purge at roughly
+// batchSize keys per pause and leaves the shared background workers to everyone else in between.
+public class BulkDeleteJob {
+
+    public enum State { RUNNING, DONE, CANCELLED, FAILED }
+
+    public record Status(long id, String match, State state, long deleted, long steps, long startedAt,
+                         long finishedAt, String error) {
+    }
+
+    private static final String TASK = "bulk-delete";
+
+    private final long id;
+    private final String match;
+    private final CacheFacade<String, ?> cache;
+    private final BackgroundScheduler scheduler;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long startedAt = System.currentTimeMillis();
+
+    // Written by one run at a time; runs are ordered by their hand-off through the scheduler
+    private long cursor;
+    private volatile long deleted;
+    private volatile long steps;
+    private volatile State state = State.RUNNING;
+    private volatile long finishedAt;
+    private volatile String error;
+
+    public BulkDeleteJob(long id, String match, CacheFacade<String, ?> cache, BackgroundScheduler scheduler,
+                         int batchSize, long pauseMillis) {
+        this.id = id;
+        this.match = match;
+        this.cache = cache;
+        this.scheduler = scheduler;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = Math.max(0L, pauseMillis);
+    }
+
+    public void start() {
+        scheduler.execute(TASK, this::step);
+    }
+
+    // Takes effect before the next step; keys already deleted stay deleted
+    public void cancel() {
+        finish(State.CANCELLED, null);
+    }
+
+    public boolean isFinished() {
+        return state != State.RUNNING;
+    }
+
+    public Status status() {
+        return new Status(id, match, state, deleted, steps, startedAt, finishedAt, error);
+    }
+
+    private void step() {
+        if (state != State.RUNNING) {
+            return;
+        }
+        try {
+            ScanResult<String> result = cache.scan(cursor, match, batchSize);
+            for (String key : result.keys()) {
+                if (cache.del(key)) {
+                    deleted++;
+                }
+            }
+            steps++;
+            cursor = result.cursor();
+            if (cursor == 0L) {
+                finish(State.DONE, null);
+            } else {
+                scheduler.schedule(TASK, this::step, pauseMillis);
+            }
+        } catch (RuntimeException e) {
+            finish(State.FAILED, e.toString());
+        }
+    }
+
+    private synchronized void finish(State outcome, String failure) {
+        if (state == State.RUNNING) {
+            error = failure;
+            finishedAt = System.currentTimeMillis();
+            state = outcome;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.satya.distributedcache.cache.scan;
+
+// Redis-style glob for SCAN MATCH: '*' any run, '?' any one char, "[abc]", "[a-z]" and "[^a]" classes,
+// '\' escapes the next char. Matching is linear backtracking on the last '*' (no regex, no allocation).
+public final class KeyPattern {
+
+    private static final KeyPattern ANY = new KeyPattern("*");
+
+    private final String pattern;
+
+    private KeyPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    // null or blank matches every key
+    public static KeyPattern compile(String pattern) {
+        if (pattern == null || pattern.isEmpty() || pattern.equals("*")) {
+            return ANY;
+        }
+        return new KeyPattern(pattern);
+    }
+
+    public boolean matches(String key) {
+        if (this == ANY) {
+            return true;
+        }
+        int p = 0;
+        int k = 0;
+        int starP = -1;
+        int starK = 0;
+        while (k < key.length()) {
+            if (p < pattern.length()) {
+                char c = pattern.charAt(p);
+                if (c == '*') {
+                    starP = p++;
+                    starK = k;
+                    continue;
+                }
+                int next = matchOne(p, key.charAt(k));
+                if (next >= 0) {
+                    p = next;
+                    k++;
+                    continue;
+                }
+            }
+            if (starP < 0) {
+                return false;
+            }
+            // Let the last '*' swallow one more char and retry from just after it
+            p = starP + 1;
+            k = ++starK;
+        }
+        while (p < pattern.length() && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == pattern.length();
+    }
+
+    // Pattern index after the element at p if it matches ch, else -1
+    private int matchOne(int p, char ch) {
+        char c = pattern.charAt(p);
+        if (c == '?') {
+            return p + 1;
+        }
+        if (c == '\\' && p + 1 < pattern.length()) {
+            return pattern.charAt(p + 1) == ch ? p + 2 : -1;
+        }
+        if (c != '[') {
+            return c == ch ? p + 1 : -1;
+        }
+        int i = p + 1;
+        boolean negate = i < pattern.length() && pattern.charAt(i) == '^';
+        if (negate) {
+            i++;
+        }
+        boolean matched = false;
+        while (i < pattern.length() && pattern.charAt(i) != ']') {
+            char from = pattern.charAt(i);
+            if (from == '\\' && i + 1 < pattern.length()) {
+                from = pattern.charAt(++i);
+            }
+            if (i + 2 < pattern.length() && pattern.charAt(i + 1) == '-' && pattern.charAt(i + 2) != ']') {
+                char to = pattern.charAt(i + 2);
+                if (from > to) {
+                    char t = from;
+                    from = to;
+                    to = t;
+                }
+                matched |= ch >= from && ch <= to;
+                i += 3;
+            } else {
+                matched |= ch == from;
+                i++;
+            }
+        }
+        // An unterminated class runs to the end of the pattern, as in Redis
+        return matched != negate ? Math.min(i + 1, pattern.length()) : -1;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,130 @@
+package com.satya.distributedcache.cache.scan;
+
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Server-side SCAN cursors. Cursor 0 opens a walk over the store's weakly consistent entry iterator,
+// which returns every key present for the whole walk exactly once without copying the keyset or
+// blocking writers; each call advances it by at most count entries and hands back an id to resume
+// from. A call takes the cursor out of the table while it runs, so one walk is never advanced twice
+// at once. Cursors idle past the timeout are dropped, and the stalest goes when the table is full.
+public class ScanCursors<V> {
+
+    // Ids stay below 2^48 so a clustered facade can put the node index in the high bits
+    public static final int CURSOR_BITS = 48;
+    private static final long CURSOR_MASK = (1L << CURSOR_BITS) - 1;
+
+    public static final int MAX_COUNT = 10000;
+
+    private final Cache<String, V> store;
+    private final long idleTimeoutMillis;
+    private final int maxOpenCursors;
+    private final Map<Long, OpenScan<V>> open = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+
+    public ScanCursors(Cache<String, V> store, long idleTimeoutMillis, int maxOpenCursors) {
+        this.store = store;
+        this.idleTimeoutMillis = Math.max(1L, idleTimeoutMillis);
+        this.maxOpenCursors = Math.max(1, maxOpenCursors);
+    }
+
+    // match applies to this step only; count bounds the entries examined, not the keys returned
+    public ScanResult<String> scan(long cursor, KeyPattern match, int count) {
+        long now = System.currentTimeMillis();
+        OpenScan<V> scan;
+        if (cursor == 0L) {
+            makeRoom(now);
+            scan = new OpenScan<>(nextId(), store.entryIterator());
+            started.increment();
+        } else {
+            scan = open.remove(cursor);
+            if (scan == null) {
+                throw new IllegalArgumentException("unknown or expired scan cursor " + cursor);
+            }
+        }
+        int budget = Math.max(1, Math.min(count, MAX_COUNT));
+        List<String> found = new ArrayList<>();
+        Iterator<CacheEntry<String, V>> entries = scan.entries;
+        while (budget-- > 0 && entries.hasNext()) {
+            CacheEntry<String, V> entry = entries.next();
+            if (entry.isRetired() || entry.isExpired(now)) {
+                continue;
+            }
+            if (match.matches(entry.getKey())) {
+                found.add(entry.getKey());
+            }
+        }
+        if (!entries.hasNext()) {
+            completed.increment();
+            return new ScanResult<>(0L, found);
+        }
+        scan.lastUsed = now;
+        open.put(scan.id, scan);
+        return new ScanResult<>(scan.id, found);
+    }
+
+    private long nextId() {
+        long id;
+        do {
+            id = ids.incrementAndGet() & CURSOR_MASK;
+        } while (id == 0L || open.containsKey(id));
+        return id;
+    }
+
+    private void makeRoom(long now) {
+        open.values().removeIf(scan -> {
+            boolean idle = now - scan.lastUsed > idleTimeoutMillis;
+            if (idle) {
+                abandoned.increment();
+            }
+            return idle;
+        });
+        while (open.size() >= maxOpenCursors) {
+            OpenScan<V> stalest = null;
+            for (OpenScan<V> scan : open.values()) {
+                if (stalest == null || scan.lastUsed < stalest.lastUsed) {
+                    stalest = scan;
+                }
+            }
+            if (stalest != null && open.remove(stalest.id, stalest)) {
+                abandoned.increment();
+            }
+        }
+    }
+
+    public void writeMetrics(MetricsWriter out) {
+        out.counter("scan_cursors_started_total", "SCAN walks opened", started.sum());
+        out.counter("scan_cursors_completed_total", "SCAN walks run to the end", completed.sum());
+        out.counter("scan_cursors_abandoned_total", "SCAN cursors dropped after going idle or to make room",
+                abandoned.sum());
+        out.gauge("scan_cursors_open", "SCAN cursors waiting to be resumed", open.size());
+    }
+
+    public String getStats() {
+        return String.format("Scan Stats: [open=%d, started=%d, completed=%d, abandoned=%d]",
+                open.size(), started.sum(), completed.sum(), abandoned.sum());
+    }
+
+    private static final class OpenScan<V> {
+        private final long id;
+        private final Iterator<CacheEntry<String, V>> entries;
+        private long lastUsed;
+
+        private OpenScan(long id, Iterator<CacheEntry<String, V>> entries) {
+            this.id = id;
+            this.entries = entries;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.satya.distributedcache.cache.scan;
+
+import java.util.List;
+
+// One SCAN step: the cursor to pass next (0 = the walk is complete) and the matching keys found in this step.
+// A step may return fewer keys than asked for, or none, while the cursor is still open.
+public record ScanResult<K>(long cursor, List<K> keys) {
+}
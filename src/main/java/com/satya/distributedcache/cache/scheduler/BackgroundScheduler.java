@@ -0,0 +1,120 @@
+package com.satya.distributedcache.cache.scheduler;
+
+import com.satya.distributedcache.cache.metrics.LatencyHistogram;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// One small pool for the cache's housekeeping (expiry ticks, async eviction) instead of a thread per
+// component. Every task is expected to do a bounded quantum of work per run and resubmit itself if
+// more is left; each run is timed per task name, and runs longer than the quantum budget are counted
+// as overruns so a task hogging the shared workers shows up in the stats.
+public class BackgroundScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundScheduler.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final long quantumNanos;
+    private final Map<String, TaskStats> tasks = new ConcurrentHashMap<>();
+
+    public BackgroundScheduler(String name, int threads, long quantumMillis) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.quantumNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, quantumMillis));
+    }
+
+    public ScheduledFuture<?> scheduleWithFixedDelay(String task, Runnable work, long delayMillis) {
+        Runnable measured = measured(task, work);
+        return executor.scheduleWithFixedDelay(measured, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // One-shot delayed run, e.g. a throttled task resubmitting its next quantum after a pause
+    public ScheduledFuture<?> schedule(String task, Runnable work, long delayMillis) {
+        return executor.schedule(measured(task, work), Math.max(0L, delayMillis), TimeUnit.MILLISECONDS);
+    }
+
+    public void execute(String task, Runnable work) {
+        executor.execute(measured(task, work));
+    }
+
+    // Executor view for components that only know how to hand off work, e.g. AsyncEvictionManager
+    public Executor executor(String task) {
+        return work -> execute(task, work);
+    }
+
+    private Runnable measured(String task, Runnable work) {
+        TaskStats stats = tasks.computeIfAbsent(task, TaskStats::new);
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                // Never let one bad run cancel a periodic task or kill a shared worker
+                stats.failures.increment();
+                log.warn("Background task {} failed", task, e);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats.runs.increment();
+                stats.runTime.record(elapsed);
+                if (elapsed > quantumNanos) {
+                    stats.overruns.increment();
+                }
+            }
+        };
+    }
+
+    public void writeMetrics(MetricsWriter out) {
+        out.gauge("background_queued_tasks", "Tasks waiting for a background worker", executor.getQueue().size());
+        for (TaskStats stats : tasks.values()) {
+            String prefix = "background_" + stats.name;
+            out.counter(prefix + "_runs_total", "Runs of the " + stats.name + " task", stats.runs.sum());
+            out.counter(prefix + "_overruns_total", "Runs of the " + stats.name + " task longer than the quantum budget",
+                    stats.overruns.sum());
+            out.counter(prefix + "_failures_total", "Runs of the " + stats.name + " task that threw", stats.failures.sum());
+            out.latency(prefix + "_run_seconds", "Duration of one " + stats.name + " run", stats.runTime.snapshot());
+        }
+    }
+
+    public String getStats() {
+        StringJoiner perTask = new StringJoiner(", ");
+        for (TaskStats stats : tasks.values()) {
+            LatencyHistogram.Snapshot runTime = stats.runTime.snapshot();
+            perTask.add(String.format("%s={runs=%d, overruns=%d, p99Micros=%d}", stats.name, stats.runs.sum(),
+                    stats.overruns.sum(), runTime.quantileNanos(0.99) / 1000));
+        }
+        return String.format("Background Stats: [threads=%d, queued=%d, %s]",
+                executor.getCorePoolSize(), executor.getQueue().size(), perTask);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static final class TaskStats {
+        private final String name;
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder overruns = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram runTime = new LatencyHistogram();
+
+        private TaskStats(String name) {
+            this.name = name;
+        }
+    }
+}
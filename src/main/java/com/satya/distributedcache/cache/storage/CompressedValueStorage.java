@@ -0,0 +1,133 @@
+package com.satya.distributedcache.cache.storage;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps every value as serialized bytes on the heap: JSON documents in their wire form (RawJson),
+// strings as UTF-8, anything else through the codec. Values of at least thresholdBytes are
+// LZ4-compressed when that makes them smaller. Reads decompress and hand JSON back as RawJson, so
+// a GET writes the stored document out without ever building an object graph.
+public class CompressedValueStorage implements ValueStorage {
+
+    private final ValueCodec codec;
+    private final int thresholdBytes;
+
+    // Totals over the values currently in the cache (added on encode, removed on release)
+    private final LongAdder values = new LongAdder();
+    private final LongAdder compressedValues = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+    private final LongAdder incompressible = new LongAdder();
+
+    public CompressedValueStorage(ValueCodec codec, int thresholdBytes) {
+        this.codec = codec;
+        this.thresholdBytes = Math.max(0, thresholdBytes);
+    }
+
+    @Override
+    public Object encode(Object value) {
+        if (value instanceof RawJson json) {
+            return pack(json.bytes(), PackedValue.JSON);
+        }
+        if (value instanceof String s) {
+            return pack(s.getBytes(StandardCharsets.UTF_8), PackedValue.TEXT);
+        }
+        if (value instanceof byte[] bytes) {
+            return pack(bytes, PackedValue.BYTES);
+        }
+        return pack(codec.encode(value), PackedValue.JSON);
+    }
+
+    private PackedValue pack(byte[] raw, byte kind) {
+        PackedValue packed = null;
+        if (raw.length >= thresholdBytes) {
+            byte[] block = new byte[Lz4.maxCompressedLength(raw.length)];
+            int length = Lz4.compress(raw, block);
+            if (length < raw.length) {
+                byte[] data = new byte[length];
+                System.arraycopy(block, 0, data, 0, length);
+                packed = new PackedValue(data, raw.length, kind, true);
+                compressedValues.increment();
+            } else {
+                incompressible.increment();
+            }
+        }
+        if (packed == null) {
+            packed = new PackedValue(raw, raw.length, kind, false);
+        }
+        values.increment();
+        rawBytes.add(raw.length);
+        storedBytes.add(packed.getStoredLength());
+        return packed;
+    }
+
+    // Entries hold immutable byte arrays, so there is no torn read to guard against
+    @Override
+    public Object read(CacheEntry<String, Object> entry) {
+        Object stored = entry.getValue();
+        return stored instanceof PackedValue packed ? unpack(packed, false) : stored;
+    }
+
+    // Same as read, except that JSON is parsed instead of handed back as RawJson
+    @Override
+    public Object decode(Object stored) {
+        return stored instanceof PackedValue packed ? unpack(packed, true) : stored;
+    }
+
+    private Object unpack(PackedValue packed, boolean parseJson) {
+        byte[] raw = packed.getData();
+        if (packed.isCompressed()) {
+            raw = new byte[packed.getRawLength()];
+            Lz4.decompress(packed.getData(), raw);
+        }
+        return switch (packed.getKind()) {
+            case PackedValue.TEXT -> new String(raw, StandardCharsets.UTF_8);
+            case PackedValue.BYTES -> raw;
+            default -> parseJson ? codec.decode(raw) : new RawJson(raw);
+        };
+    }
+
+    @Override
+    public void release(Object stored) {
+        if (stored instanceof PackedValue packed) {
+            values.decrement();
+            if (packed.isCompressed()) {
+                compressedValues.decrement();
+            }
+            rawBytes.add(-packed.getRawLength());
+            storedBytes.add(-packed.getStoredLength());
+        }
+    }
+
+    @Override
+    public boolean acceptsRawJson() {
+        return true;
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        long raw = rawBytes.sum();
+        long stored = storedBytes.sum();
+        out.gauge("storage_values", "Values held as bytes", values.sum());
+        out.gauge("storage_compressed_values", "Values held LZ4-compressed", compressedValues.sum());
+        out.gauge("storage_raw_bytes", "Uncompressed size of the held values", raw);
+        out.gauge("storage_stored_bytes", "Bytes actually held", stored);
+        out.gauge("storage_saved_bytes", "raw minus stored bytes", raw - stored);
+        out.gauge("storage_compression_ratio", "raw / stored bytes", stored == 0 ? 1.0 : (double) raw / stored);
+        out.counter("storage_incompressible_total", "Values over the threshold that did not shrink", incompressible.sum());
+    }
+
+    @Override
+    public String getStats() {
+        long raw = rawBytes.sum();
+        long stored = storedBytes.sum();
+        return String.format(
+            "CompressedValueStorage: [values=%d, compressed=%d, rawBytes=%d, storedBytes=%d, savedBytes=%d, ratio=%.2f, incompressible=%d, thresholdBytes=%d]",
+            values.sum(), compressedValues.sum(), raw, stored, raw - stored,
+            stored == 0 ? 1.0 : (double) raw / stored, incompressible.sum(), thresholdBytes
+        );
+    }
+}
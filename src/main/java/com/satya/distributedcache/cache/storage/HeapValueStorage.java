@@ -0,0 +1,26 @@
+package com.satya.distributedcache.cache.storage;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+public class HeapValueStorage implements ValueStorage {
+
+    @Override
+    public Object encode(Object value) {
+        return value;
+    }
+
+    @Override
+    public Object read(CacheEntry<String, Object> entry) {
+        return entry.getValue();
+    }
+
+    @Override
+    public void release(Object stored) {
+        // garbage collected
+    }
+
+    @Override
+    public String getStats() {
+        return "HeapValueStorage: [on-heap]";
+    }
+}
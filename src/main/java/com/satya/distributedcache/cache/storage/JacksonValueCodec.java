@@ -0,0 +1,37 @@
+package com.satya.distributedcache.cache.storage;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Arrays;
+
+// Values reach the cache as Jackson-deserialized JSON (maps, lists, strings, numbers), so JSON round-trips them.
+// Raw byte values (RESP writes) are kept as-is behind a NUL marker, which no JSON document starts with.
+public class JacksonValueCodec implements ValueCodec {
+
+    private static final byte BYTES = 0;
+
+    private final JsonMapper jsonMapper;
+
+    public JacksonValueCodec(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value instanceof byte[] bytes) {
+            byte[] tagged = new byte[bytes.length + 1];
+            tagged[0] = BYTES;
+            System.arraycopy(bytes, 0, tagged, 1, bytes.length);
+            return tagged;
+        }
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes.length > 0 && bytes[0] == BYTES) {
+            return Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return jsonMapper.readValue(bytes, Object.class);
+    }
+}
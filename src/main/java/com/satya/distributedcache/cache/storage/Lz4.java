@@ -0,0 +1,151 @@
+package com.satya.distributedcache.cache.storage;
+
+// LZ4 block format (no frame header): greedy single-probe hash matching on the way in, a plain
+// bounds-checked copy loop on the way out. Output is readable by any LZ4 block decoder given the
+// original length, which the caller stores alongside the block.
+final class Lz4 {
+
+    private static final int MIN_MATCH = 4;
+    // The last match must start at least 12 bytes before the end and the last 5 bytes are always literals
+    private static final int MF_LIMIT = 12;
+    private static final int LAST_LITERALS = 5;
+    private static final int MAX_OFFSET = 65535;
+    private static final int HASH_LOG = 12;
+    private static final int SKIP_TRIGGER = 6;
+
+    private Lz4() {
+    }
+
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    // Returns the block length written to dst, which must hold maxCompressedLength(src.length) bytes
+    static int compress(byte[] src, byte[] dst) {
+        int length = src.length;
+        int anchor = 0;
+        int op = 0;
+        if (length > MF_LIMIT) {
+            // Positions are stored +1 so the zeroed table means "no candidate"
+            int[] table = new int[1 << HASH_LOG];
+            int limit = length - MF_LIMIT;
+            int matchLimit = length - LAST_LITERALS;
+            int ip = 0;
+            int searches = 1 << SKIP_TRIGGER;
+            while (ip < limit) {
+                int sequence = readInt(src, ip);
+                int h = hash(sequence);
+                int ref = table[h] - 1;
+                table[h] = ip + 1;
+                if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+                    // Incompressible stretches are skipped progressively faster
+                    ip += searches++ >>> SKIP_TRIGGER;
+                    continue;
+                }
+                searches = 1 << SKIP_TRIGGER;
+                while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+                    ip--;
+                    ref--;
+                }
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < matchLimit && src[ref + matchLength] == src[ip + matchLength]) {
+                    matchLength++;
+                }
+                op = writeSequence(src, anchor, ip - anchor, dst, op, ip - ref, matchLength);
+                ip += matchLength;
+                anchor = ip;
+            }
+        }
+        return writeSequence(src, anchor, length - anchor, dst, op, 0, 0);
+    }
+
+    // Inflates a block into dst, which must be exactly the original length
+    static void decompress(byte[] src, byte[] dst) {
+        int ip = 0;
+        int op = 0;
+        int end = src.length;
+        while (true) {
+            int token = src[ip++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    b = src[ip++] & 0xFF;
+                    literals += b;
+                } while (b == 255);
+            }
+            System.arraycopy(src, ip, dst, op, literals);
+            ip += literals;
+            op += literals;
+            if (ip >= end) {
+                break;
+            }
+            int offset = (src[ip++] & 0xFF) | (src[ip++] & 0xFF) << 8;
+            int matchLength = token & 0x0F;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    b = src[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            int ref = op - offset;
+            if (offset == 0 || ref < 0 || op + matchLength > dst.length) {
+                throw new IllegalStateException("corrupt LZ4 block at offset " + ip);
+            }
+            if (offset >= matchLength) {
+                System.arraycopy(dst, ref, dst, op, matchLength);
+                op += matchLength;
+            } else {
+                // Overlapping copy repeats the last `offset` bytes
+                for (int i = 0; i < matchLength; i++) {
+                    dst[op++] = dst[ref++];
+                }
+            }
+        }
+        if (op != dst.length) {
+            throw new IllegalStateException("LZ4 block inflated to " + op + " bytes, expected " + dst.length);
+        }
+    }
+
+    // Token, literal run, and (unless this is the final literals-only sequence) offset + match length
+    private static int writeSequence(byte[] src, int literalStart, int literals, byte[] dst, int op,
+                                     int offset, int matchLength) {
+        int tokenAt = op++;
+        int token = Math.min(literals, 15) << 4;
+        if (literals >= 15) {
+            op = writeLength(dst, op, literals - 15);
+        }
+        System.arraycopy(src, literalStart, dst, op, literals);
+        op += literals;
+        if (matchLength > 0) {
+            dst[op++] = (byte) offset;
+            dst[op++] = (byte) (offset >>> 8);
+            int extra = matchLength - MIN_MATCH;
+            token |= Math.min(extra, 15);
+            if (extra >= 15) {
+                op = writeLength(dst, op, extra - 15);
+            }
+        }
+        dst[tokenAt] = (byte) token;
+        return op;
+    }
+
+    private static int writeLength(byte[] dst, int op, int remaining) {
+        while (remaining >= 255) {
+            dst[op++] = (byte) 255;
+            remaining -= 255;
+        }
+        dst[op++] = (byte) remaining;
+        return op;
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) | (b[i + 1] & 0xFF) << 8 | (b[i + 2] & 0xFF) << 16 | (b[i + 3] & 0xFF) << 24;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+}
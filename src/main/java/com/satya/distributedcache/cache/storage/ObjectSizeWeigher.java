@@ -0,0 +1,87 @@
+package com.satya.distributedcache.cache.storage;
+
+import com.satya.distributedcache.cache.mapcache.Weigher;
+import com.satya.distributedcache.cache.types.StructuredValue;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+// Cheap estimate of an entry's heap footprint for the JSON-shaped values the cache holds
+// (strings, numbers, booleans, maps, lists) plus fixed per-entry overhead. Large collections
+// are sampled and extrapolated and deep nesting is cut off, so weighing stays O(sample).
+public class ObjectSizeWeigher implements Weigher<String, Object> {
+
+    // CacheEntry + ConcurrentHashMap node + table slot
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int SAMPLE = 32;
+    private static final int MAX_DEPTH = 6;
+
+    @Override
+    public int weigh(String key, Object value) {
+        long weight = ENTRY_OVERHEAD + estimate(key, 0) + estimate(value, 0);
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+
+    private static long estimate(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return align(40 + s.length());
+        }
+        if (value instanceof OffHeapValue ref) {
+            // handle record on the heap plus the serialized bytes in the slab
+            return 24 + ref.getLength();
+        }
+        if (value instanceof PackedValue packed) {
+            return 24 + align(16 + packed.getStoredLength());
+        }
+        if (value instanceof RawJson json) {
+            return 16 + align(16 + json.bytes().length);
+        }
+        if (value instanceof StructuredValue structure) {
+            // maintained incrementally, so re-weighing after every mutation stays O(1)
+            return structure.estimatedBytes();
+        }
+        if (value instanceof byte[] bytes) {
+            return align(16 + bytes.length);
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 24;
+        }
+        if (depth >= MAX_DEPTH) {
+            return 64;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long sampled = 0;
+            int seen = 0;
+            Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+            while (it.hasNext() && seen < SAMPLE) {
+                Map.Entry<?, ?> e = it.next();
+                sampled += 40 + estimate(e.getKey(), depth + 1) + estimate(e.getValue(), depth + 1);
+                seen++;
+            }
+            return 64 + extrapolate(sampled, seen, map.size());
+        }
+        if (value instanceof Collection<?> collection) {
+            long sampled = 0;
+            int seen = 0;
+            Iterator<?> it = collection.iterator();
+            while (it.hasNext() && seen < SAMPLE) {
+                sampled += 4 + estimate(it.next(), depth + 1);
+                seen++;
+            }
+            return 40 + extrapolate(sampled, seen, collection.size());
+        }
+        return 64;
+    }
+
+    private static long extrapolate(long sampled, int seen, int total) {
+        return seen == 0 ? 0 : sampled * total / seen;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
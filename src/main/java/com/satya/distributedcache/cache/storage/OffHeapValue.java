@@ -0,0 +1,21 @@
+package com.satya.distributedcache.cache.storage;
+
+// Compact on-heap index record for a value living in a SlabAllocator chunk
+public final class OffHeapValue {
+
+    private final long handle;
+    private final int length;
+
+    OffHeapValue(long handle, int length) {
+        this.handle = handle;
+        this.length = length;
+    }
+
+    long getHandle() {
+        return handle;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,100 @@
+package com.satya.distributedcache.cache.storage;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+// Serializes values into SlabAllocator chunks and keeps only an OffHeapValue handle in the entry.
+// When the memory cap is reached, the store's eviction strategy is asked to drop entries until a
+// chunk frees up; values that still do not fit stay on the heap.
+public class OffHeapValueStorage implements ValueStorage {
+
+    private static final int EVICTION_BATCH = 32;
+    private static final int MAX_EVICTION_ROUNDS = 64;
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    private final SlabAllocator allocator;
+    private final ValueCodec codec;
+    private final IntUnaryOperator evictor;
+
+    private final AtomicLong heapFallbacks = new AtomicLong();
+    private final AtomicLong evictedForSpace = new AtomicLong();
+
+    public OffHeapValueStorage(SlabAllocator allocator, ValueCodec codec, IntUnaryOperator evictor) {
+        this.allocator = allocator;
+        this.codec = codec;
+        this.evictor = evictor;
+    }
+
+    @Override
+    public Object encode(Object value) {
+        byte[] bytes = codec.encode(value);
+        if (bytes.length > allocator.getMaxChunkSize()) {
+            heapFallbacks.incrementAndGet();
+            return value;
+        }
+        long handle = allocator.allocate(bytes.length);
+        for (int round = 0; handle < 0 && round < MAX_EVICTION_ROUNDS; round++) {
+            int evicted = evictor.applyAsInt(EVICTION_BATCH);
+            if (evicted == 0) {
+                break;
+            }
+            evictedForSpace.addAndGet(evicted);
+            handle = allocator.allocate(bytes.length);
+        }
+        if (handle < 0) {
+            heapFallbacks.incrementAndGet();
+            return value;
+        }
+        allocator.write(handle, bytes);
+        return new OffHeapValue(handle, bytes.length);
+    }
+
+    // Optimistic read: copy the chunk, then confirm the entry still points at the same handle.
+    // Chunks are only freed after the entry is retired or its value swapped, so a changed entry
+    // means the copy may be torn and is retried or treated as a miss.
+    @Override
+    public Object read(CacheEntry<String, Object> entry) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            Object stored = entry.getValue();
+            if (!(stored instanceof OffHeapValue ref)) {
+                return stored;
+            }
+            byte[] bytes = allocator.read(ref.getHandle(), ref.getLength());
+            VarHandle.acquireFence();
+            if (entry.isRetired()) {
+                return null;
+            }
+            if (entry.getValue() == ref) {
+                return codec.decode(bytes);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object decode(Object stored) {
+        if (stored instanceof OffHeapValue ref) {
+            return codec.decode(allocator.read(ref.getHandle(), ref.getLength()));
+        }
+        return stored;
+    }
+
+    @Override
+    public void release(Object stored) {
+        if (stored instanceof OffHeapValue ref) {
+            allocator.free(ref.getHandle());
+        }
+    }
+
+    @Override
+    public String getStats() {
+        return String.format(
+            "OffHeapValueStorage: [usedBytes=%d, reservedBytes=%d, maxBytes=%d, allocationFailures=%d, evictedForSpace=%d, heapFallbacks=%d]",
+            allocator.getUsedBytes(), allocator.getReservedBytes(), allocator.getMaxBytes(),
+            allocator.getAllocationFailures(), evictedForSpace.get(), heapFallbacks.get()
+        );
+    }
+}
@@ -0,0 +1,41 @@
+package com.satya.distributedcache.cache.storage;
+
+// What CompressedValueStorage keeps in an entry: the value's bytes, LZ4-compressed when that paid off
+final class PackedValue {
+
+    static final byte TEXT = 0;
+    static final byte JSON = 1;
+    static final byte BYTES = 2;
+
+    private final byte[] data;
+    private final int rawLength;
+    private final byte kind;
+    private final boolean compressed;
+
+    PackedValue(byte[] data, int rawLength, byte kind, boolean compressed) {
+        this.data = data;
+        this.rawLength = rawLength;
+        this.kind = kind;
+        this.compressed = compressed;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    int getRawLength() {
+        return rawLength;
+    }
+
+    byte getKind() {
+        return kind;
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    int getStoredLength() {
+        return data.length;
+    }
+}
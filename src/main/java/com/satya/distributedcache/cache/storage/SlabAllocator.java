@@ -0,0 +1,184 @@
+package com.satya.distributedcache.cache.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Size-class allocator over direct ByteBuffer slabs. Chunk sizes are powers of two from 64 bytes up to the
+// slab size; a slab is carved for one size class when that class first needs space. Freed chunks go on a
+// per-class free list and are reused first; a slab whose chunks are all free is handed back so another
+// size class can take it. Total slab memory never exceeds maxBytes.
+// Handles encode (slab index << 32 | offset).
+public class SlabAllocator {
+
+    private static final int MIN_CHUNK_SHIFT = 6;
+
+    private final int slabSize;
+    private final long maxBytes;
+    private final ByteBuffer[] slabs;
+    private final byte[] slabClass;
+    private final int[] slabLiveChunks;
+    private final int[] releasedSlabs;
+    private int releasedCount;
+    private final SizeClass[] classes;
+    private int slabCount;
+
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong allocationFailures = new AtomicLong();
+
+    public SlabAllocator(long maxBytes, int slabSize) {
+        int clamped = Math.max(4096, Math.min(slabSize, 1 << 30));
+        this.slabSize = Integer.highestOneBit(clamped * 2 - 1);
+        int maxSlabs = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / this.slabSize));
+        this.maxBytes = (long) maxSlabs * this.slabSize;
+        this.slabs = new ByteBuffer[maxSlabs];
+        this.slabClass = new byte[maxSlabs];
+        this.slabLiveChunks = new int[maxSlabs];
+        this.releasedSlabs = new int[maxSlabs];
+        this.classes = new SizeClass[Integer.numberOfTrailingZeros(this.slabSize) - MIN_CHUNK_SHIFT + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new SizeClass(1 << (MIN_CHUNK_SHIFT + i));
+        }
+    }
+
+    public int getMaxChunkSize() {
+        return slabSize;
+    }
+
+    // Returns a handle, or -1 when the size class has no free chunk and the memory cap is reached
+    public long allocate(int length) {
+        if (length > slabSize) {
+            return -1L;
+        }
+        int sizeClass = sizeClassFor(length);
+        SizeClass sc = classes[sizeClass];
+        long handle;
+        synchronized (sc) {
+            if (sc.freeCount > 0) {
+                handle = sc.freeList[--sc.freeCount];
+            } else {
+                if (sc.carveSlab < 0 || sc.carveOffset + sc.chunkSize > slabSize) {
+                    int slab = reserveSlab(sizeClass);
+                    if (slab < 0) {
+                        allocationFailures.incrementAndGet();
+                        return -1L;
+                    }
+                    sc.carveSlab = slab;
+                    sc.carveOffset = 0;
+                }
+                handle = ((long) sc.carveSlab << 32) | sc.carveOffset;
+                sc.carveOffset += sc.chunkSize;
+            }
+            slabLiveChunks[slabOf(handle)]++;
+        }
+        usedBytes.addAndGet(sc.chunkSize);
+        return handle;
+    }
+
+    public void free(long handle) {
+        int slab = slabOf(handle);
+        SizeClass sc = classes[slabClass[slab]];
+        synchronized (sc) {
+            if (sc.freeCount == sc.freeList.length) {
+                sc.freeList = Arrays.copyOf(sc.freeList, sc.freeList.length * 2);
+            }
+            sc.freeList[sc.freeCount++] = handle;
+            if (--slabLiveChunks[slab] == 0) {
+                releaseSlab(sc, slab);
+            }
+        }
+        usedBytes.addAndGet(-sc.chunkSize);
+    }
+
+    // Drops the empty slab's chunks from the class free list (rare, linear in the list) and returns it to the pool
+    private void releaseSlab(SizeClass sc, int slab) {
+        int kept = 0;
+        for (int i = 0; i < sc.freeCount; i++) {
+            if (slabOf(sc.freeList[i]) != slab) {
+                sc.freeList[kept++] = sc.freeList[i];
+            }
+        }
+        sc.freeCount = kept;
+        if (sc.carveSlab == slab) {
+            sc.carveSlab = -1;
+        }
+        synchronized (slabs) {
+            releasedSlabs[releasedCount++] = slab;
+        }
+    }
+
+    public void write(long handle, byte[] bytes) {
+        slabs[slabOf(handle)].put(offsetOf(handle), bytes);
+    }
+
+    public byte[] read(long handle, int length) {
+        byte[] bytes = new byte[length];
+        slabs[slabOf(handle)].get(offsetOf(handle), bytes);
+        return bytes;
+    }
+
+    public int chunkSize(long handle) {
+        return classes[slabClass[slabOf(handle)]].chunkSize;
+    }
+
+    private int reserveSlab(int sizeClass) {
+        synchronized (slabs) {
+            if (releasedCount > 0) {
+                int slab = releasedSlabs[--releasedCount];
+                slabClass[slab] = (byte) sizeClass;
+                return slab;
+            }
+            if (slabCount == slabs.length) {
+                return -1;
+            }
+            int slab = slabCount;
+            slabs[slab] = ByteBuffer.allocateDirect(slabSize);
+            slabClass[slab] = (byte) sizeClass;
+            slabCount++;
+            return slab;
+        }
+    }
+
+    private static int sizeClassFor(int length) {
+        int shift = 32 - Integer.numberOfLeadingZeros(Math.max(1, length) - 1);
+        return Math.max(0, shift - MIN_CHUNK_SHIFT);
+    }
+
+    private static int slabOf(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int offsetOf(long handle) {
+        return (int) handle;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    public long getReservedBytes() {
+        synchronized (slabs) {
+            return (long) slabCount * slabSize;
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getAllocationFailures() {
+        return allocationFailures.get();
+    }
+
+    private static final class SizeClass {
+        private final int chunkSize;
+        private long[] freeList = new long[64];
+        private int freeCount;
+        private int carveSlab = -1;
+        private int carveOffset;
+
+        private SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+}
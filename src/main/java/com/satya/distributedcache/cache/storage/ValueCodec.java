@@ -0,0 +1,8 @@
+package com.satya.distributedcache.cache.storage;
+
+public interface ValueCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,33 @@
+package com.satya.distributedcache.cache.storage;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+
+// How LocalCacheFacade keeps values in the store: as-is on the heap, or encoded elsewhere
+public interface ValueStorage {
+
+    // Converts a client value into what is put in the cache
+    Object encode(Object value);
+
+    // Reads the client value back out of an entry; null if the entry vanished mid-read
+    Object read(CacheEntry<String, Object> entry);
+
+    // Plain client form (JSON documents parsed) of a value encode returned, for typed commands adopting it.
+    // Only safe under the key's bin lock, where the stored value cannot be released mid-read.
+    default Object decode(Object stored) {
+        return stored;
+    }
+
+    // Called once a stored value has left the cache
+    void release(Object stored);
+
+    // True when JSON bodies should arrive as RawJson instead of being deserialized first
+    default boolean acceptsRawJson() {
+        return false;
+    }
+
+    default void writeMetrics(MetricsWriter out) {
+    }
+
+    String getStats();
+}
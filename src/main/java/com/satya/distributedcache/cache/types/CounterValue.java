@@ -0,0 +1,61 @@
+package com.satya.distributedcache.cache.types;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 64-bit counter, incremented under the key's bin lock like every other structure. The value is atomic so
+// that GET, snapshots and replication can read it without that lock.
+public final class CounterValue extends StructuredValue {
+
+    private final AtomicLong value;
+
+    public CounterValue(long initial) {
+        this.value = new AtomicLong(initial);
+    }
+
+    // Adopts a plain integer (or its string form), e.g. a counter restored from a snapshot
+    public static CounterValue from(Object current) {
+        if (current == null) {
+            return new CounterValue(0L);
+        }
+        if (current instanceof CounterValue counter) {
+            return counter;
+        }
+        if (current instanceof StructuredValue) {
+            throw new WrongTypeException("counter");
+        }
+        try {
+            return new CounterValue(toLong(current));
+        } catch (IllegalArgumentException e) {
+            throw new WrongTypeException("counter");
+        }
+    }
+
+    public long add(long delta) {
+        long next = value.addAndGet(delta);
+        long previous = next - delta;
+        if (((previous ^ next) & (delta ^ next)) < 0) {
+            value.addAndGet(-delta);
+            throw new IllegalArgumentException("increment would overflow");
+        }
+        return next;
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return 40;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return false;
+    }
+
+    @Override
+    public Object snapshot() {
+        return value.get();
+    }
+}
@@ -0,0 +1,13 @@
+package com.satya.distributedcache.cache.types;
+
+import java.util.Arrays;
+import java.util.List;
+
+// One operation on a server-side structure, Redis style: the op name and its arguments. Plain
+// JSON-shaped data, so a clustered facade can forward it to the key's owner as-is.
+public record DataCommand(String op, List<Object> args) {
+
+    public static DataCommand of(String op, Object... args) {
+        return new DataCommand(op, Arrays.asList(args));
+    }
+}
@@ -0,0 +1,190 @@
+package com.satya.distributedcache.cache.types;
+
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+// Executes DataCommands against the store. Every write, INCRBY included, goes through Cache.update, so the
+// type check, the change, the re-weigh, the version bump and the onChanged callback happen under the key's
+// bin lock; reads take the structure's own monitor only. Operations on a missing (or expired) key see an
+// empty structure, and a structure that becomes empty is removed, as in Redis. A plain value is still in
+// its ValueStorage form (off-heap, compressed); decode turns it back into client objects under the bin
+// lock before a structure adopts it, and the store releases the encoded form once the structure replaces it.
+public final class DataCommands {
+
+    private static final Set<String> WRITES = Set.of("INCRBY", "HSET", "HINCRBY", "HDEL", "LPUSH", "RPUSH",
+            "LPOP", "RPOP", "ZADD", "ZINCRBY", "ZREM");
+
+    private DataCommands() {
+    }
+
+    // Whether op may change the key (reads never do), e.g. to refuse it on a read-only replica
+    public static boolean isWrite(String op) {
+        return WRITES.contains(op);
+    }
+
+    // onChanged sees the structure left under the key after each write (null once removed); reads skip it
+    public static Object execute(Cache<String, Object> store, String key, DataCommand command,
+                                 UnaryOperator<Object> decode, Consumer<Object> onChanged) {
+        List<Object> args = command.args();
+        Writes writes = new Writes(store, key, decode, onChanged);
+        Reads reads = new Reads(store, key, decode);
+        return switch (command.op()) {
+            case "INCRBY" -> {
+                long delta = StructuredValue.toLong(arg(args, 0));
+                yield writes.update(true, CounterValue::from, null, counter -> counter.add(delta));
+            }
+
+            case "HSET" -> {
+                if (args.isEmpty() || args.size() % 2 != 0) {
+                    throw new IllegalArgumentException("HSET takes field/value pairs");
+                }
+                yield writes.update(true, HashValue::from, null, hash -> {
+                    long added = 0;
+                    for (int i = 0; i < args.size(); i += 2) {
+                        added += hash.put(String.valueOf(args.get(i)), args.get(i + 1)) ? 1 : 0;
+                    }
+                    return added;
+                });
+            }
+            case "HINCRBY" -> {
+                String field = string(args, 0);
+                long delta = StructuredValue.toLong(arg(args, 1));
+                yield writes.update(true, HashValue::from, null, hash -> hash.incrBy(field, delta));
+            }
+            case "HDEL" -> writes.update(false, HashValue::from, 0L, hash -> {
+                long removed = 0;
+                for (Object field : args) {
+                    removed += hash.remove(String.valueOf(field)) ? 1 : 0;
+                }
+                return removed;
+            });
+            case "HGET" -> reads.read(HashValue::from, null, hash -> hash.get(string(args, 0)));
+            case "HGETALL" -> reads.read(HashValue::from, null, HashValue::snapshot);
+            case "HLEN" -> reads.read(HashValue::from, 0L, hash -> (long) hash.size());
+
+            case "LPUSH", "RPUSH" -> {
+                if (args.isEmpty()) {
+                    throw new IllegalArgumentException(command.op() + " takes at least one value");
+                }
+                boolean left = command.op().equals("LPUSH");
+                yield writes.update(true, ListValue::from, null, list -> (long) list.push(left, args));
+            }
+            case "LPOP", "RPOP" -> {
+                boolean left = command.op().equals("LPOP");
+                int count = args.isEmpty() ? 1 : (int) StructuredValue.toLong(args.get(0));
+                yield writes.update(false, ListValue::from, List.of(), list -> list.pop(left, count));
+            }
+            case "LRANGE" -> {
+                long start = StructuredValue.toLong(arg(args, 0));
+                long stop = StructuredValue.toLong(arg(args, 1));
+                yield reads.read(ListValue::from, List.of(), list -> list.range(start, stop));
+            }
+            case "LLEN" -> reads.read(ListValue::from, 0L, list -> (long) list.size());
+
+            case "ZADD" -> {
+                if (args.isEmpty() || args.size() % 2 != 0) {
+                    throw new IllegalArgumentException("ZADD takes score/member pairs");
+                }
+                List<Double> scores = new ArrayList<>(args.size() / 2);
+                for (int i = 0; i < args.size(); i += 2) {
+                    scores.add(StructuredValue.toDouble(args.get(i)));
+                }
+                yield writes.update(true, SortedSetValue::from, null, zset -> {
+                    long added = 0;
+                    for (int i = 0; i < args.size(); i += 2) {
+                        added += zset.add(String.valueOf(args.get(i + 1)), scores.get(i / 2)) ? 1 : 0;
+                    }
+                    return added;
+                });
+            }
+            case "ZINCRBY" -> {
+                double delta = StructuredValue.toDouble(arg(args, 0));
+                String member = string(args, 1);
+                yield writes.update(true, SortedSetValue::from, null, zset -> zset.incrBy(member, delta));
+            }
+            case "ZREM" -> writes.update(false, SortedSetValue::from, 0L, zset -> {
+                long removed = 0;
+                for (Object member : args) {
+                    removed += zset.remove(String.valueOf(member)) ? 1 : 0;
+                }
+                return removed;
+            });
+            case "ZSCORE" -> reads.read(SortedSetValue::from, null, zset -> zset.score(string(args, 0)));
+            case "ZRANK", "ZREVRANK" -> {
+                boolean reverse = command.op().equals("ZREVRANK");
+                yield reads.read(SortedSetValue::from, null, zset -> zset.rank(string(args, 0), reverse));
+            }
+            case "ZRANGE", "ZREVRANGE" -> {
+                long start = StructuredValue.toLong(arg(args, 0));
+                long stop = StructuredValue.toLong(arg(args, 1));
+                boolean reverse = command.op().equals("ZREVRANGE");
+                yield reads.read(SortedSetValue::from, List.of(), zset -> zset.range(start, stop, reverse));
+            }
+            case "ZRANGEBYSCORE" -> {
+                double min = StructuredValue.toDouble(arg(args, 0));
+                double max = StructuredValue.toDouble(arg(args, 1));
+                int offset = args.size() > 2 ? (int) StructuredValue.toLong(args.get(2)) : 0;
+                int count = args.size() > 3 ? (int) StructuredValue.toLong(args.get(3)) : -1;
+                yield reads.read(SortedSetValue::from, List.of(), zset -> zset.rangeByScore(min, max, offset, count));
+            }
+            case "ZCARD" -> reads.read(SortedSetValue::from, 0L, zset -> (long) zset.size());
+
+            default -> throw new IllegalArgumentException("unknown command " + command.op());
+        };
+    }
+
+    private record Writes(Cache<String, Object> store, String key, UnaryOperator<Object> decode,
+                          Consumer<Object> onChanged) {
+
+        <T extends StructuredValue> Object update(boolean create, Function<Object, T> adopt, Object missing,
+                                                  Function<T, Object> op) {
+            return store.update(key,
+                    current -> current == null && !create ? null : adopt.apply(plain(current, decode)),
+                    value -> {
+                        @SuppressWarnings("unchecked")
+                        T structure = (T) value;
+                        return structure == null ? missing : op.apply(structure);
+                    },
+                    value -> ((StructuredValue) value).isEmpty(),
+                    onChanged);
+        }
+    }
+
+    // Plain values are adopted into a throwaway copy for reading; the next write stores the typed form
+    private record Reads(Cache<String, Object> store, String key, UnaryOperator<Object> decode) {
+
+        <T extends StructuredValue> Object read(Function<Object, T> adopt, Object missing, Function<T, Object> op) {
+            CacheEntry<String, Object> entry = store.getEntry(key);
+            Object value = entry == null || entry.isExpired(System.currentTimeMillis()) ? null : entry.getValue();
+            if (value != null && !(value instanceof StructuredValue)) {
+                // Decoded under the bin lock so the encoded form cannot be released mid-read
+                Object[] decoded = new Object[1];
+                store.computeIfLive(key, live -> decoded[0] = plain(live.getValue(), decode));
+                value = decoded[0];
+            }
+            return value == null ? missing : op.apply(adopt.apply(value));
+        }
+    }
+
+    private static Object plain(Object stored, UnaryOperator<Object> decode) {
+        return stored == null || stored instanceof StructuredValue ? stored : decode.apply(stored);
+    }
+
+    private static Object arg(List<Object> args, int index) {
+        if (index >= args.size()) {
+            throw new IllegalArgumentException("missing argument " + (index + 1));
+        }
+        return args.get(index);
+    }
+
+    private static String string(List<Object> args, int index) {
+        return String.valueOf(arg(args, index));
+    }
+}
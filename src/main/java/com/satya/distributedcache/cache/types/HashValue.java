@@ -0,0 +1,161 @@
+package com.satya.distributedcache.cache.types;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Field -> value map. Small hashes (the common case for per-user or per-session records) live in one
+// flat field/value array that is scanned linearly, which beats a HashMap on both footprint and speed at
+// that size; past COMPACT_FIELDS fields the hash switches to a HashMap for good.
+public final class HashValue extends StructuredValue {
+
+    private static final int COMPACT_FIELDS = 16;
+
+    private Object[] pairs = new Object[8];
+    private int size;
+    private Map<String, Object> map;
+    private long bytes = 64;
+
+    public static HashValue from(Object current) {
+        if (current == null) {
+            return new HashValue();
+        }
+        if (current instanceof HashValue hash) {
+            return hash;
+        }
+        if (current instanceof Map<?, ?> plain) {
+            HashValue hash = new HashValue();
+            plain.forEach((field, value) -> hash.put(String.valueOf(field), value));
+            return hash;
+        }
+        throw new WrongTypeException("hash");
+    }
+
+    public synchronized Object get(String field) {
+        if (map != null) {
+            return map.get(field);
+        }
+        int i = indexOf(field);
+        return i < 0 ? null : pairs[i + 1];
+    }
+
+    // Returns true when the field is new
+    public synchronized boolean put(String field, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("hash values must not be null");
+        }
+        Object previous;
+        if (map != null) {
+            previous = map.put(field, value);
+            if (previous == null) {
+                size++;
+            }
+        } else {
+            int i = indexOf(field);
+            if (i >= 0) {
+                previous = pairs[i + 1];
+                pairs[i + 1] = value;
+            } else {
+                previous = null;
+                append(field, value);
+            }
+        }
+        if (previous == null) {
+            bytes += 40 + sizeOf(field) + sizeOf(value);
+            return true;
+        }
+        bytes += sizeOf(value) - sizeOf(previous);
+        return false;
+    }
+
+    public synchronized boolean remove(String field) {
+        Object previous;
+        if (map != null) {
+            previous = map.remove(field);
+        } else {
+            int i = indexOf(field);
+            if (i < 0) {
+                return false;
+            }
+            previous = pairs[i + 1];
+            int last = 2 * (size - 1);
+            pairs[i] = pairs[last];
+            pairs[i + 1] = pairs[last + 1];
+            pairs[last] = null;
+            pairs[last + 1] = null;
+        }
+        if (previous == null) {
+            return false;
+        }
+        size--;
+        bytes -= 40 + sizeOf(field) + sizeOf(previous);
+        return true;
+    }
+
+    // The field must be absent (counts from 0) or hold an integer
+    public synchronized long incrBy(String field, long delta) {
+        Object current = get(field);
+        long base = current == null ? 0L : toLong(current);
+        long next = base + delta;
+        if (((base ^ next) & (delta ^ next)) < 0) {
+            throw new IllegalArgumentException("increment would overflow");
+        }
+        put(field, next);
+        return next;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int indexOf(String field) {
+        for (int i = 0; i < 2 * size; i += 2) {
+            if (pairs[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void append(String field, Object value) {
+        if (size == COMPACT_FIELDS) {
+            map = new HashMap<>(COMPACT_FIELDS * 4);
+            for (int i = 0; i < 2 * size; i += 2) {
+                map.put((String) pairs[i], pairs[i + 1]);
+            }
+            map.put(field, value);
+            pairs = null;
+            size++;
+            return;
+        }
+        if (2 * size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairs.length * 2);
+        }
+        pairs[2 * size] = field;
+        pairs[2 * size + 1] = value;
+        size++;
+    }
+
+    @Override
+    public synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public synchronized Map<String, Object> snapshot() {
+        if (map != null) {
+            return new LinkedHashMap<>(map);
+        }
+        Map<String, Object> copy = new LinkedHashMap<>(Math.max(16, size * 2));
+        for (int i = 0; i < 2 * size; i += 2) {
+            copy.put((String) pairs[i], pairs[i + 1]);
+        }
+        return copy;
+    }
+}
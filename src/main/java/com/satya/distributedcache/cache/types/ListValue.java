@@ -0,0 +1,107 @@
+package com.satya.distributedcache.cache.types;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+// Double-ended list: O(1) push and pop at both ends, ranges with Redis-style inclusive (and negative) indices
+public final class ListValue extends StructuredValue {
+
+    private final ArrayDeque<Object> items = new ArrayDeque<>();
+    private long bytes = 48;
+
+    public static ListValue from(Object current) {
+        if (current == null) {
+            return new ListValue();
+        }
+        if (current instanceof ListValue list) {
+            return list;
+        }
+        if (current instanceof Collection<?> plain && !(current instanceof StructuredValue)) {
+            ListValue list = new ListValue();
+            list.push(false, plain);
+            return list;
+        }
+        throw new WrongTypeException("list");
+    }
+
+    // Values are pushed one by one, so a left push of [a, b] leaves b at the head (as LPUSH does). Returns the new length.
+    public synchronized int push(boolean left, Collection<?> values) {
+        for (Object value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("list values must not be null");
+            }
+        }
+        for (Object value : values) {
+            if (left) {
+                items.addFirst(value);
+            } else {
+                items.addLast(value);
+            }
+            bytes += 8 + sizeOf(value);
+        }
+        return items.size();
+    }
+
+    public synchronized List<Object> pop(boolean left, int count) {
+        List<Object> popped = new ArrayList<>(Math.min(Math.max(count, 0), items.size()));
+        while (popped.size() < count && !items.isEmpty()) {
+            Object value = left ? items.pollFirst() : items.pollLast();
+            bytes -= 8 + sizeOf(value);
+            popped.add(value);
+        }
+        return popped;
+    }
+
+    public synchronized List<Object> range(long start, long stop) {
+        int size = items.size();
+        long from = start < 0 ? Math.max(0, size + start) : start;
+        long to = stop < 0 ? size + stop : Math.min(stop, size - 1L);
+        if (from > to || from >= size) {
+            return new ArrayList<>();
+        }
+        List<Object> range = new ArrayList<>((int) (to - from + 1));
+        // Walk from whichever end is closer
+        if (from <= size - 1 - to) {
+            Iterator<Object> it = items.iterator();
+            for (long i = 0; i <= to; i++) {
+                Object value = it.next();
+                if (i >= from) {
+                    range.add(value);
+                }
+            }
+        } else {
+            Iterator<Object> it = items.descendingIterator();
+            for (long i = size - 1; i >= from; i--) {
+                Object value = it.next();
+                if (i <= to) {
+                    range.add(value);
+                }
+            }
+            Collections.reverse(range);
+        }
+        return range;
+    }
+
+    public synchronized int size() {
+        return items.size();
+    }
+
+    @Override
+    public synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public synchronized List<Object> snapshot() {
+        return new ArrayList<>(items);
+    }
+}
@@ -0,0 +1,4 @@
+package com.satya.distributedcache.cache.types;
+
+public record ScoredMember(String member, double score) {
+}
@@ -0,0 +1,274 @@
+package com.satya.distributedcache.cache.types;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Members ordered by (score, member), as in Redis: a skip list whose forward links carry spans (how many
+// nodes each link jumps), so rank lookups and rank ranges are O(log n) just like inserts and score ranges,
+// plus a member -> score map for O(1) score lookups and updates.
+public final class SortedSetValue extends StructuredValue {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Node head = new Node(null, 0.0, MAX_LEVEL);
+    private final Map<String, Double> scores = new HashMap<>();
+    private int level = 1;
+    private int length;
+    private long bytes = 96;
+
+    // Adopts the snapshot form: a list of {member, score} objects
+    public static SortedSetValue from(Object current) {
+        if (current == null) {
+            return new SortedSetValue();
+        }
+        if (current instanceof SortedSetValue zset) {
+            return zset;
+        }
+        if (current instanceof Collection<?> plain && !(current instanceof StructuredValue)) {
+            SortedSetValue zset = new SortedSetValue();
+            for (Object item : plain) {
+                if (!(item instanceof Map<?, ?> scored) || scored.get("member") == null || scored.get("score") == null) {
+                    throw new WrongTypeException("sorted set");
+                }
+                zset.add(String.valueOf(scored.get("member")), toDouble(scored.get("score")));
+            }
+            return zset;
+        }
+        throw new WrongTypeException("sorted set");
+    }
+
+    // Adds the member or moves it to the new score; returns true when it is new
+    public synchronized boolean add(String member, double score) {
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("NaN is not a valid score");
+        }
+        Double previous = scores.put(member, score);
+        if (previous != null) {
+            if (previous != score) {
+                delete(member, previous);
+                insert(member, score);
+            }
+            return false;
+        }
+        insert(member, score);
+        bytes += 112 + sizeOf(member);
+        return true;
+    }
+
+    public synchronized double incrBy(String member, double delta) {
+        Double current = scores.get(member);
+        double next = (current == null ? 0.0 : current) + delta;
+        add(member, next);
+        return next;
+    }
+
+    public synchronized Double score(String member) {
+        return scores.get(member);
+    }
+
+    public synchronized boolean remove(String member) {
+        Double score = scores.remove(member);
+        if (score == null) {
+            return false;
+        }
+        delete(member, score);
+        bytes -= 112 + sizeOf(member);
+        return true;
+    }
+
+    // 0-based rank by ascending score (descending when reverse), null when not a member
+    public synchronized Long rank(String member, boolean reverse) {
+        Double score = scores.get(member);
+        if (score == null) {
+            return null;
+        }
+        long rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && !after(x.next[i], score, member)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return reverse ? length - rank : rank - 1;
+    }
+
+    // Inclusive rank range with Redis-style negative indices
+    public synchronized List<ScoredMember> range(long start, long stop, boolean reverse) {
+        long from = start < 0 ? Math.max(0, length + start) : start;
+        long to = stop < 0 ? length + stop : Math.min(stop, length - 1L);
+        List<ScoredMember> range = new ArrayList<>();
+        if (from > to || from >= length) {
+            return range;
+        }
+        // Walk ascending from the first rank needed, then flip for a reverse range
+        long first = reverse ? length - 1 - to : from;
+        long count = to - from + 1;
+        Node x = byRank(first + 1);
+        for (long i = 0; i < count && x != null; i++, x = x.next[0]) {
+            range.add(new ScoredMember(x.member, x.score));
+        }
+        if (reverse) {
+            Collections.reverse(range);
+        }
+        return range;
+    }
+
+    // Members with min <= score <= max in ascending order, skipping offset and returning at most count (< 0 = all)
+    public synchronized List<ScoredMember> rangeByScore(double min, double max, int offset, int count) {
+        List<ScoredMember> range = new ArrayList<>();
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].score < min) {
+                x = x.next[i];
+            }
+        }
+        x = x.next[0];
+        for (int skipped = 0; x != null && skipped < offset && x.score <= max; skipped++) {
+            x = x.next[0];
+        }
+        while (x != null && x.score <= max && (count < 0 || range.size() < count)) {
+            range.add(new ScoredMember(x.member, x.score));
+            x = x.next[0];
+        }
+        return range;
+    }
+
+    public synchronized int size() {
+        return length;
+    }
+
+    // True when node sorts after (score, member)
+    private static boolean after(Node node, double score, String member) {
+        return node.score > score || (node.score == score && node.member.compareTo(member) > 0);
+    }
+
+    private static boolean before(Node node, double score, String member) {
+        return node.score < score || (node.score == score && node.member.compareTo(member) < 0);
+    }
+
+    private void insert(String member, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        long[] rank = new long[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], score, member)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = length;
+            }
+            level = nodeLevel;
+        }
+        x = new Node(member, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            x.next[i] = update[i].next[i];
+            update[i].next[i] = x;
+            x.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        length++;
+    }
+
+    private void delete(String member, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], score, member)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        x = x.next[0];
+        if (x == null || x.score != score || !x.member.equals(member)) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == x) {
+                update[i].span[i] += x.span[i] - 1;
+                update[i].next[i] = x.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        length--;
+    }
+
+    // 1-based
+    private Node byRank(long rank) {
+        long traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) {
+                return x;
+            }
+        }
+        return null;
+    }
+
+    // Geometric with p = 1/4
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && (random.nextInt() & 3) == 0) {
+            level++;
+        }
+        return level;
+    }
+
+    @Override
+    public synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public synchronized List<ScoredMember> snapshot() {
+        List<ScoredMember> all = new ArrayList<>(length);
+        for (Node x = head.next[0]; x != null; x = x.next[0]) {
+            all.add(new ScoredMember(x.member, x.score));
+        }
+        return all;
+    }
+
+    private static final class Node {
+        private final String member;
+        private final double score;
+        private final Node[] next;
+        private final long[] span;
+
+        private Node(String member, double score, int level) {
+            this.member = member;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new long[level];
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.satya.distributedcache.cache.types;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.JacksonSerializable;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.jsontype.TypeSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+// A server-side data structure kept in a cache entry as-is (never encoded by the ValueStorage) and changed
+// in place through Cache.update. Each one guards itself with its own monitor, so readers and serializers
+// (GET, snapshots, the AOF, cluster hand-off) always see a consistent copy. It serializes as plain JSON,
+// which is also the form it comes back in after a restart or on a replica; the types' from() methods
+// adopt that form again on the next typed operation.
+public abstract class StructuredValue extends JacksonSerializable.Base {
+
+    // Rough heap footprint, kept up to date by every mutation so weighing stays O(1)
+    public abstract long estimatedBytes();
+
+    public abstract boolean isEmpty();
+
+    // Plain JSON-shaped copy (numbers, maps, lists)
+    public abstract Object snapshot();
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializationContext context) {
+        generator.writePOJO(snapshot());
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializationContext context, TypeSerializer typeSerializer) {
+        serialize(generator, context);
+    }
+
+    static long sizeOf(Object value) {
+        if (value instanceof String s) {
+            return (40L + s.length() + 7) & ~7L;
+        }
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return 24;
+        }
+        return 64;
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof String || value instanceof byte[]) {
+            try {
+                return Long.parseLong(text(value).trim());
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new IllegalArgumentException("value is not an integer: " + value);
+    }
+
+    static double toDouble(Object value) {
+        double d;
+        if (value instanceof Number n) {
+            d = n.doubleValue();
+        } else if (value instanceof String || value instanceof byte[]) {
+            try {
+                d = Double.parseDouble(text(value).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("value is not a number: " + value);
+            }
+        } else {
+            throw new IllegalArgumentException("value is not a number: " + value);
+        }
+        if (Double.isNaN(d)) {
+            throw new IllegalArgumentException("NaN is not a valid score");
+        }
+        return d;
+    }
+
+    // Strings and raw byte values (RESP writes) both hold numbers as their text
+    private static String text(Object value) {
+        return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) value;
+    }
+}
@@ -0,0 +1,8 @@
+package com.satya.distributedcache.cache.types;
+
+public class WrongTypeException extends RuntimeException {
+
+    public WrongTypeException(String expected) {
+        super("WRONGTYPE key does not hold a " + expected);
+    }
+}
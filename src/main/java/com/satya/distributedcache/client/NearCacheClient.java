@@ -0,0 +1,287 @@
+package com.satya.distributedcache.client;
+
+import com.satya.distributedcache.cache.eviction.AsyncEvictionManager;
+import com.satya.distributedcache.cache.eviction.EvictionStrategy;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import com.satya.distributedcache.cache.mapcache.Weigher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Read-through HTTP client with a bounded in-process near-cache built on the server's own MapCache
+// and eviction strategies. Hot keys never leave the client JVM; the server's invalidation stream
+// (GET /api/v1/_invalidations) drops a key as soon as it is written, deleted or expires. While that
+// stream is down nothing is cached locally, and whatever was cached is dropped. Values the server marks
+// Cache-Control: no-store (in a cluster, keys owned by a node other than the one subscribed to, whose
+// writes this stream never carries) are passed through without being cached.
+public class NearCacheClient implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NearCacheClient.class);
+
+    private static final TypeReference<List<String>> KEYS = new TypeReference<>() { };
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final JsonMapper mapper;
+    private final Duration requestTimeout;
+    private final long reconnectMillis;
+    private final MapCache<String, Object> near;
+    private final AsyncEvictionManager<String, Object> evictionManager;
+    // Key -> token of the read currently allowed to populate the near-cache; invalidations revoke it
+    private final Map<String, Object> fetching = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final Object subscription = new Object();
+
+    private volatile boolean subscribed;
+    private volatile boolean closed;
+    private volatile Stream<String> events;
+
+    // baseUrl includes the server's context path, e.g. http://cache-host:8009/cache
+    public NearCacheClient(String baseUrl, int maxEntries) {
+        this(baseUrl, maxEntries, new LRUEvictionStrategy<>(), JsonMapper.builder().build(),
+                Duration.ofSeconds(2), 1000);
+    }
+
+    public NearCacheClient(String baseUrl, int maxEntries, EvictionStrategy<String, Object> evictionStrategy,
+                           JsonMapper mapper, Duration requestTimeout, long reconnectMillis) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.mapper = mapper;
+        this.requestTimeout = requestTimeout;
+        this.reconnectMillis = reconnectMillis;
+        this.http = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+        this.evictionManager = new AsyncEvictionManager<>(maxEntries, evictionStrategy);
+        this.near = new MapCache<>(maxEntries, 0L, Weigher.singleton(), evictionManager);
+        Thread listener = new Thread(this::listen, "NearCacheInvalidations");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    // Blocks until the invalidation stream is up (near-cache reads are enabled from then on)
+    public boolean awaitSubscribed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (subscription) {
+            while (!subscribed) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                subscription.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    public Object get(String key) {
+        if (subscribed) {
+            Object value = near.getIfPresent(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+        }
+        misses.incrementAndGet();
+        Object token = new Object();
+        boolean cacheable = subscribed;
+        if (cacheable) {
+            fetching.put(key, token);
+        }
+        try {
+            HttpResponse<byte[]> response = send(request(key).GET(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 404) {
+                return null;
+            }
+            expectSuccess(response, "GET " + key);
+            Object value = decode(response);
+            // Only cache if no invalidation for this key arrived while the read was in flight
+            if (cacheable && fetching.remove(key, token) && subscribed && storable(response)) {
+                near.put(key, value);
+            }
+            return value;
+        } finally {
+            fetching.remove(key, token);
+        }
+    }
+
+    public void set(String key, Object value) {
+        byte[] body = mapper.writeValueAsBytes(value);
+        HttpResponse<byte[]> response = send(request(key)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)), HttpResponse.BodyHandlers.ofByteArray());
+        expectSuccess(response, "SET " + key);
+        // Our own write comes back as an invalidation too; dropping it now keeps read-your-writes
+        invalidate(key);
+    }
+
+    public void delete(String key) {
+        HttpResponse<byte[]> response = send(request(key).DELETE(), HttpResponse.BodyHandlers.ofByteArray());
+        expectSuccess(response, "DEL " + key);
+        invalidate(key);
+    }
+
+    public boolean isSubscribed() {
+        return subscribed;
+    }
+
+    public long nearSize() {
+        return near.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        Stream<String> current = events;
+        if (current != null) {
+            current.close();
+        }
+        setSubscribed(false);
+        evictionManager.close();
+    }
+
+    private HttpRequest.Builder request(String key) {
+        String path = URLEncoder.encode(key, StandardCharsets.UTF_8).replace("+", "%20");
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/" + path)).timeout(requestTimeout);
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler) {
+        try {
+            return http.send(request.build(), handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+    }
+
+    private static void expectSuccess(HttpResponse<?> response, String operation) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(operation + " failed with status " + response.statusCode());
+        }
+    }
+
+    private Object decode(HttpResponse<byte[]> response) {
+        boolean json = response.headers().firstValue("Content-Type").map(t -> t.contains("json")).orElse(false);
+        return json ? mapper.readValue(response.body(), Object.class) : new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean storable(HttpResponse<?> response) {
+        return response.headers().allValues("Cache-Control").stream().noneMatch(v -> v.contains("no-store"));
+    }
+
+    private void invalidate(String key) {
+        fetching.remove(key);
+        near.invalidate(key);
+    }
+
+    private void setSubscribed(boolean value) {
+        synchronized (subscription) {
+            subscribed = value;
+            if (!value) {
+                // Invalidations may have been missed while the stream was down
+                fetching.clear();
+                near.forEachEntry(entry -> near.invalidate(entry.getKey()));
+            }
+            subscription.notifyAll();
+        }
+    }
+
+    // Minimal SSE reader: "subscribed" enables the near-cache, "invalidate" carries a JSON key array and
+    // "flush" a JSON array of key prefixes (flushed namespaces)
+    private void listen() {
+        while (!closed) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/_invalidations"))
+                    .header("Accept", "text/event-stream").GET().build();
+            try {
+                HttpResponse<Stream<String>> response = http.send(request, HttpResponse.BodyHandlers.ofLines());
+                expectSuccess(response, "subscribe");
+                try (Stream<String> lines = response.body()) {
+                    events = lines;
+                    String event = "message";
+                    StringBuilder data = new StringBuilder();
+                    Iterator<String> it = lines.iterator();
+                    while (!closed && it.hasNext()) {
+                        String line = it.next();
+                        if (line.isEmpty()) {
+                            dispatch(event, data.toString());
+                            event = "message";
+                            data.setLength(0);
+                        } else if (line.startsWith("event:")) {
+                            event = line.substring(6).trim();
+                        } else if (line.startsWith("data:")) {
+                            data.append(line.substring(5).trim());
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    log.warn("Near-cache invalidation stream lost: {}", e.toString());
+                }
+            } finally {
+                setSubscribed(false);
+            }
+            if (closed) {
+                return;
+            }
+            reconnects.incrementAndGet();
+            try {
+                Thread.sleep(reconnectMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(String event, String data) {
+        switch (event) {
+            case "subscribed" -> setSubscribed(true);
+            case "invalidate" -> {
+                for (String key : mapper.readValue(data, KEYS)) {
+                    invalidate(key);
+                    invalidations.incrementAndGet();
+                }
+            }
+            case "flush" -> {
+                for (String prefix : mapper.readValue(data, KEYS)) {
+                    fetching.keySet().removeIf(key -> key.startsWith(prefix));
+                    near.forEachEntry(entry -> {
+                        if (entry.getKey().startsWith(prefix)) {
+                            near.invalidate(entry.getKey());
+                            invalidations.incrementAndGet();
+                        }
+                    });
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    public String getStats() {
+        return String.format("NearCache Stats: [subscribed=%b, hits=%d, misses=%d, invalidations=%d, reconnects=%d] %s",
+                subscribed, hits.get(), misses.get(), invalidations.get(), reconnects.get(), near.getStats());
+    }
+}
@@ -0,0 +1,71 @@
+package com.satya.distributedcache.cluster;
+
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cluster mode: every node runs the same configuration (its own node-id aside) listing all members
+// as id@host:port. The clustered facade becomes the primary CacheFacade, so REST and RESP requests
+// can land on any node; snapshots and the append-only log keep working on the local facade.
+// The node-to-node port serves writes, deletes and membership changes, so it listens on loopback unless
+// bind-host names an interface, and every peer must prove it knows cache.cluster.secret.
+@Configuration
+@ConditionalOnProperty(name = "cache.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ClusteredCacheFacade clusteredCacheFacade(
+            LocalCacheFacade localCacheFacade,
+            Cache<String, Object> mapCache,
+            ValueStorage valueStorage,
+            ValueCodec valueCodec,
+            @Value("${cache.cluster.node-id:node-1}") String nodeId,
+            @Value("${cache.cluster.host:127.0.0.1}") String host,
+            @Value("${cache.cluster.port:7000}") int port,
+            @Value("${cache.cluster.nodes:}") List<String> nodes,
+            @Value("${cache.cluster.virtual-nodes:160}") int virtualNodes,
+            @Value("${cache.cluster.pool-size:2}") int poolSize,
+            @Value("${cache.cluster.rpc-timeout-millis:1000}") long rpcTimeoutMillis,
+            @Value("${cache.cluster.handoff-millis:30000}") long handoffMillis,
+            @Value("${cache.cluster.secret:}") String secret) {
+        List<ClusterNode> members = new ArrayList<>();
+        for (String spec : nodes) {
+            if (!spec.isBlank()) {
+                members.add(ClusterNode.parse(spec));
+            }
+        }
+        return new ClusteredCacheFacade(localCacheFacade, mapCache, valueStorage, valueCodec,
+                new ClusterNode(nodeId, host, port), members, virtualNodes, poolSize, rpcTimeoutMillis, handoffMillis,
+                secretBytes(secret));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ClusterRpcServer clusterRpcServer(
+            LocalCacheFacade localCacheFacade,
+            ValueCodec valueCodec,
+            ClusteredCacheFacade clusteredCacheFacade,
+            @Value("${cache.cluster.bind-host:127.0.0.1}") String bindHost,
+            @Value("${cache.cluster.port:7000}") int port,
+            @Value("${cache.cluster.secret:}") String secret) {
+        return new ClusterRpcServer(bindHost, port, secretBytes(secret),
+                new ClusterRequestHandler(localCacheFacade, valueCodec, clusteredCacheFacade));
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("cache.cluster.secret must be set when cache.cluster.enabled=true");
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
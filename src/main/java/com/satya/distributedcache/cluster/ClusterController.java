@@ -0,0 +1,49 @@
+package com.satya.distributedcache.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/_cluster")
+@ConditionalOnProperty(name = "cache.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final ClusteredCacheFacade cluster;
+
+    public ClusterController(ClusteredCacheFacade cluster) {
+        this.cluster = cluster;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> membership() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("self", cluster.self().toString());
+        view.put("epoch", cluster.epoch());
+        view.put("nodes", cluster.members().stream().map(ClusterNode::toString).toList());
+        return ResponseEntity.ok(view);
+    }
+
+    // Body is the complete new member list (id@host:port); keys are rebalanced in the background
+    @PutMapping("/nodes")
+    public ResponseEntity<?> changeMembership(@RequestBody List<String> nodes) {
+        List<ClusterNode> members = new ArrayList<>(nodes.size());
+        for (String spec : nodes) {
+            members.add(ClusterNode.parse(spec));
+        }
+        if (members.isEmpty()) {
+            return ResponseEntity.badRequest().body("membership must not be empty");
+        }
+        cluster.changeMembership(members);
+        return membership();
+    }
+}
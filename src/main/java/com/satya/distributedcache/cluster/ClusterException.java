@@ -0,0 +1,13 @@
+package com.satya.distributedcache.cluster;
+
+// A request to another node failed or timed out
+public class ClusterException extends RuntimeException {
+
+    public ClusterException(String message) {
+        super(message);
+    }
+
+    public ClusterException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,20 @@
+package com.satya.distributedcache.cluster;
+
+// A cluster member, written as id@host:port in configuration
+public record ClusterNode(String id, String host, int port) {
+
+    public static ClusterNode parse(String spec) {
+        String s = spec.trim();
+        int at = s.indexOf('@');
+        int colon = s.lastIndexOf(':');
+        if (at <= 0 || colon <= at + 1 || colon == s.length() - 1) {
+            throw new IllegalArgumentException("Expected id@host:port but got: " + spec);
+        }
+        return new ClusterNode(s.substring(0, at), s.substring(at + 1, colon), Integer.parseInt(s.substring(colon + 1)));
+    }
+
+    @Override
+    public String toString() {
+        return id + "@" + host + ":" + port;
+    }
+}
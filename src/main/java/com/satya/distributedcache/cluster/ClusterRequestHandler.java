@@ -0,0 +1,134 @@
+package com.satya.distributedcache.cluster;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.SetCondition;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.cache.facade.SetResult;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.types.DataCommand;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Serves peer requests against this node's local facade; membership views go to the clustered facade
+final class ClusterRequestHandler implements RpcHandler {
+
+    private final CacheFacade<String, Object> local;
+    private final ValueCodec codec;
+    private final ClusteredCacheFacade cluster;
+
+    ClusterRequestHandler(CacheFacade<String, Object> local, ValueCodec codec, ClusteredCacheFacade cluster) {
+        this.local = local;
+        this.codec = codec;
+        this.cluster = cluster;
+    }
+
+    @Override
+    public void handle(byte op, ByteBuffer in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case RpcProtocol.GET -> writeValue(out, cluster.getOwned(RpcProtocol.readString(in)));
+            case RpcProtocol.HANDOFF_GET -> writeValue(out, local.get(RpcProtocol.readString(in)));
+            case RpcProtocol.SET -> {
+                String key = RpcProtocol.readString(in);
+                Object value = codec.decode(RpcProtocol.readBytes(in));
+                // Value and TTL land in one write, so no reader sees the key without its deadline
+                local.setIf(key, value, SetOptions.of(SetCondition.ALWAYS, in.getLong()));
+            }
+            case RpcProtocol.SET_IF -> {
+                String key = RpcProtocol.readString(in);
+                Object value = codec.decode(RpcProtocol.readBytes(in));
+                SetResult<Object> result = local.setIf(key, value, RpcProtocol.readSetOptions(in));
+                out.writeBoolean(result.applied());
+                out.writeLong(result.version());
+                out.writeBoolean(result.previous() != null);
+                if (result.previous() != null) {
+                    RpcProtocol.writeBytes(out, codec.encode(result.previous()));
+                }
+            }
+            case RpcProtocol.VERSION -> out.writeLong(local.version(RpcProtocol.readString(in)));
+            case RpcProtocol.EXECUTE -> {
+                String key = RpcProtocol.readString(in);
+                String name = RpcProtocol.readString(in);
+                @SuppressWarnings("unchecked")
+                List<Object> args = (List<Object>) codec.decode(RpcProtocol.readBytes(in));
+                RpcProtocol.writeBytes(out, codec.encode(local.execute(key, new DataCommand(name, args))));
+            }
+            case RpcProtocol.SCAN -> {
+                long cursor = in.getLong();
+                String match = RpcProtocol.readString(in);
+                ScanResult<String> result = local.scan(cursor, match, in.getInt());
+                out.writeLong(result.cursor());
+                out.writeInt(result.keys().size());
+                for (String key : result.keys()) {
+                    RpcProtocol.writeString(out, key);
+                }
+            }
+            case RpcProtocol.FLUSH_NAMESPACE -> out.writeLong(local.flushNamespace(RpcProtocol.readString(in)));
+            case RpcProtocol.DELETE -> out.writeBoolean(local.del(RpcProtocol.readString(in)));
+            case RpcProtocol.DELETE_IF_VERSION -> {
+                String key = RpcProtocol.readString(in);
+                out.writeBoolean(local.delIfVersion(key, in.getLong()));
+            }
+            case RpcProtocol.EXISTS -> out.writeBoolean(local.exists(RpcProtocol.readString(in)));
+            case RpcProtocol.EXPIRE -> {
+                String key = RpcProtocol.readString(in);
+                out.writeBoolean(local.expire(key, in.getLong()));
+            }
+            case RpcProtocol.TTL -> out.writeLong(local.ttl(RpcProtocol.readString(in)));
+            case RpcProtocol.PERSIST -> out.writeBoolean(local.persist(RpcProtocol.readString(in)));
+            case RpcProtocol.TRANSFER -> out.writeInt(acceptTransfer(in));
+            case RpcProtocol.MEMBERSHIP -> {
+                long epoch = in.getLong();
+                int count = in.getInt();
+                List<ClusterNode> nodes = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    nodes.add(ClusterNode.parse(RpcProtocol.readString(in)));
+                }
+                cluster.applyMembership(epoch, nodes);
+            }
+            case RpcProtocol.PING -> {
+            }
+            default -> throw new IllegalArgumentException("unknown op " + op);
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            RpcProtocol.writeBytes(out, codec.encode(value));
+        }
+    }
+
+    // Entries handed over by a previous owner never overwrite a value written here since the ring changed,
+    // nor bring back one deleted here since then
+    private int acceptTransfer(ByteBuffer in) {
+        int count = in.getInt();
+        int accepted = 0;
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            String key = RpcProtocol.readString(in);
+            byte[] value = RpcProtocol.readBytes(in);
+            long expireAt = in.getLong();
+            if ((expireAt != 0L && expireAt <= now) || cluster.deletedDuringHandoff(key)) {
+                continue;
+            }
+            // The absence check, the write and the TTL are one step, so a client write cannot land in between
+            SetOptions options = SetOptions.of(SetCondition.IF_ABSENT, expireAt != 0L ? expireAt - now : -1L);
+            SetResult<Object> result = local.setIf(key, codec.decode(value), options);
+            if (!result.applied()) {
+                continue;
+            }
+            if (cluster.deletedDuringHandoff(key)) {
+                // A delete of the still-missing key slipped in after the check: undo, unless rewritten since
+                local.delIfVersion(key, result.version());
+                continue;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,171 @@
+package com.satya.distributedcache.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Node-to-node listener. Peers hold a small pool of long-lived connections, so one blocking thread
+// per connection is enough; replies are buffered and flushed once the pipelined requests already
+// received on that connection have all been answered. A connection serves nothing until the peer has
+// passed the shared-secret handshake (see RpcProtocol).
+public class ClusterRpcServer {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRpcServer.class);
+
+    private final String host;
+    private final int port;
+    private final byte[] secret;
+    private final RpcHandler handler;
+    private final SecureRandom random = new SecureRandom();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    ClusterRpcServer(String host, int port, byte[] secret, RpcHandler handler) {
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.handler = handler;
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(host, port), 256);
+        running = true;
+        daemon(this::acceptLoop, "ClusterRpcAcceptor-" + serverSocket.getLocalPort()).start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                daemon(() -> serve(socket), "ClusterRpcConnection-" + socket.getPort()).start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Cluster RPC accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16))) {
+            if (!authenticate(in, out)) {
+                log.warn("Cluster RPC connection from {} failed authentication", socket.getRemoteSocketAddress());
+                return;
+            }
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+            DataOutputStream payloadOut = new DataOutputStream(payload);
+            while (running) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length < 9 || length > RpcProtocol.MAX_FRAME) {
+                    throw new IOException("bad frame length " + length);
+                }
+                long id = in.readLong();
+                byte op = in.readByte();
+                byte[] body = new byte[length - 9];
+                in.readFully(body);
+
+                payload.reset();
+                byte status = RpcProtocol.STATUS_OK;
+                try {
+                    handler.handle(op, ByteBuffer.wrap(body), payloadOut);
+                } catch (IOException | RuntimeException e) {
+                    payload.reset();
+                    status = RpcProtocol.STATUS_ERROR;
+                    payloadOut.write(String.valueOf(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+                }
+                out.writeInt(9 + payload.size());
+                out.writeLong(id);
+                out.writeByte(status);
+                payload.writeTo(out);
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                log.debug("Cluster RPC connection closed", e);
+            }
+        } finally {
+            connections.remove(socket);
+        }
+    }
+
+    // Sends the nonce and checks that the first frame is AUTH with the matching tag
+    private boolean authenticate(DataInputStream in, DataOutputStream out) throws IOException {
+        byte[] nonce = new byte[RpcProtocol.NONCE_BYTES];
+        random.nextBytes(nonce);
+        out.write(nonce);
+        out.flush();
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        if (length < 9 || length > 9 + 64) {
+            return false;
+        }
+        long id = in.readLong();
+        byte op = in.readByte();
+        byte[] tag = new byte[length - 9];
+        in.readFully(tag);
+        boolean accepted = op == RpcProtocol.AUTH && MessageDigest.isEqual(tag, RpcProtocol.authTag(secret, nonce));
+        out.writeInt(9);
+        out.writeLong(id);
+        out.writeByte(accepted ? RpcProtocol.STATUS_OK : RpcProtocol.STATUS_ERROR);
+        out.flush();
+        return accepted;
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,594 @@
+package com.satya.distributedcache.cluster;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.MutationListener;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.cache.facade.SetResult;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.scan.ScanCursors;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import com.satya.distributedcache.cache.types.DataCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// Routes every key to its owner on a consistent-hash ring: keys owned here go to the local facade,
+// the rest are forwarded over the pooled, pipelined node-to-node RPC. On a membership change each
+// node streams the keys it no longer owns to their new owners; until that hand-off window closes,
+// the new owner answers a miss from the previous owner, unless the key was deleted (or expired) at the
+// new owner in the meantime: those keys are remembered for the window and never read back or accepted.
+public class ClusteredCacheFacade implements CacheFacade<String, Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusteredCacheFacade.class);
+
+    private static final int TRANSFER_BATCH = 512;
+
+    private final CacheFacade<String, Object> local;
+    private final Cache<String, Object> store;
+    private final ValueStorage valueStorage;
+    private final ValueCodec codec;
+    private final ClusterNode self;
+    private final int virtualNodes;
+    private final int poolSize;
+    private final long rpcTimeoutMillis;
+    private final long handoffMillis;
+    private final byte[] secret;
+    private final Map<String, RpcClient> clients = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService rebalancer;
+    private final LongAdder forwarded = new LongAdder();
+    private final LongAdder transferred = new LongAdder();
+    // Keys deleted or expired here while previousRing is set; cleared when the hand-off window closes
+    private final Set<String> handoffDeletes = ConcurrentHashMap.newKeySet();
+
+    private volatile HashRing ring;
+    // Ring before the last membership change; consulted on misses until the hand-off window closes
+    private volatile HashRing previousRing;
+    private volatile boolean rebalancing;
+    private long epoch;
+
+    public ClusteredCacheFacade(CacheFacade<String, Object> local, Cache<String, Object> store,
+                                ValueStorage valueStorage, ValueCodec codec, ClusterNode self,
+                                Collection<ClusterNode> nodes, int virtualNodes, int poolSize,
+                                long rpcTimeoutMillis, long handoffMillis, byte[] secret) {
+        this.local = local;
+        this.store = store;
+        this.valueStorage = valueStorage;
+        this.codec = codec;
+        this.self = self;
+        this.virtualNodes = virtualNodes;
+        this.poolSize = poolSize;
+        this.rpcTimeoutMillis = rpcTimeoutMillis;
+        this.handoffMillis = handoffMillis;
+        this.secret = secret;
+        Set<ClusterNode> members = new LinkedHashSet<>(nodes);
+        members.add(self);
+        this.ring = new HashRing(members, virtualNodes);
+        this.rebalancer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ClusterRebalancer-" + self.id());
+            t.setDaemon(true);
+            return t;
+        });
+        local.addMutationListener(new HandoffTracker());
+    }
+
+    public void close() {
+        rebalancer.shutdownNow();
+        clients.values().forEach(RpcClient::close);
+        clients.clear();
+    }
+
+    public ClusterNode self() {
+        return self;
+    }
+
+    public List<ClusterNode> members() {
+        return ring.nodes();
+    }
+
+    public ClusterNode ownerOf(String key) {
+        return ring.ownerOf(key);
+    }
+
+    @Override
+    public Object get(String key) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return getOwned(key);
+        }
+        return decodeGet(forward(owner).call(RpcProtocol.GET, out -> RpcProtocol.writeString(out, key)));
+    }
+
+    // Read at the owner. The hand-off fallback is decided here because only the owner knows whether the
+    // key was deleted since the ring changed.
+    Object getOwned(String key) {
+        Object value = local.get(key);
+        HashRing previous = previousRing;
+        if (value != null || previous == null || handoffDeletes.contains(key)) {
+            return value;
+        }
+        ClusterNode previousOwner = previous.ownerOf(key);
+        if (previousOwner.equals(self)) {
+            return null;
+        }
+        value = decodeGet(client(previousOwner).call(RpcProtocol.HANDOFF_GET, out -> RpcProtocol.writeString(out, key)));
+        // A delete that landed while the fallback was in flight wins
+        return value != null && handoffDeletes.contains(key) ? null : value;
+    }
+
+    // Whether a key handed over by its previous owner must be refused (or dropped again once written)
+    boolean deletedDuringHandoff(String key) {
+        return handoffDeletes.contains(key);
+    }
+
+    private Object decodeGet(ByteBuffer reply) {
+        return reply.get() != 0 ? codec.decode(RpcProtocol.readBytes(reply)) : null;
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            local.set(key, value);
+        } else {
+            forward(owner).call(RpcProtocol.SET, setPayload(key, value, -1L));
+        }
+    }
+
+    // The owner evaluates the condition, so versions are always the owner's
+    @Override
+    public SetResult<Object> setIf(String key, Object value, SetOptions options) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.setIf(key, value, options);
+        }
+        byte[] encoded = codec.encode(value);
+        ByteBuffer reply = forward(owner).call(RpcProtocol.SET_IF, out -> {
+            RpcProtocol.writeString(out, key);
+            RpcProtocol.writeBytes(out, encoded);
+            RpcProtocol.writeSetOptions(out, options);
+        });
+        boolean applied = reply.get() != 0;
+        long version = reply.getLong();
+        return new SetResult<>(applied, version, decodeGet(reply));
+    }
+
+    @Override
+    public long version(String key) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.version(key);
+        }
+        return forward(owner).call(RpcProtocol.VERSION, out -> RpcProtocol.writeString(out, key)).getLong();
+    }
+
+    @Override
+    public Object execute(String key, DataCommand command) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.execute(key, command);
+        }
+        byte[] args = codec.encode(command.args());
+        ByteBuffer reply = forward(owner).call(RpcProtocol.EXECUTE, out -> {
+            RpcProtocol.writeString(out, key);
+            RpcProtocol.writeString(out, command.op());
+            RpcProtocol.writeBytes(out, args);
+        });
+        return codec.decode(RpcProtocol.readBytes(reply));
+    }
+
+    private RpcClient.Payload setPayload(String key, Object value, long ttlMillis) {
+        byte[] encoded = codec.encode(value);
+        return out -> {
+            RpcProtocol.writeString(out, key);
+            RpcProtocol.writeBytes(out, encoded);
+            out.writeLong(ttlMillis);
+        };
+    }
+
+    // Remote keys are requested all at once (pipelined), then answered in key order
+    @Override
+    public void mget(Collection<String> keys, BiConsumer<String, Object> sink) {
+        HashRing current = ring;
+        List<CompletableFuture<ByteBuffer>> replies = new ArrayList<>(keys.size());
+        List<RpcClient> owners = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            ClusterNode owner = current.ownerOf(key);
+            RpcClient client = owner.equals(self) ? null : forward(owner);
+            owners.add(client);
+            replies.add(client == null ? null
+                    : client.callAsync(RpcProtocol.GET, out -> RpcProtocol.writeString(out, key)));
+        }
+        int i = 0;
+        for (String key : keys) {
+            RpcClient owner = owners.get(i);
+            CompletableFuture<ByteBuffer> reply = replies.get(i++);
+            sink.accept(key, owner == null ? getOwned(key) : decodeGet(owner.await(reply)));
+        }
+    }
+
+    @Override
+    public void mset(Map<String, Object> entries, long ttlMillis) {
+        HashRing current = ring;
+        Map<String, Object> mine = new HashMap<>();
+        List<CompletableFuture<ByteBuffer>> replies = new ArrayList<>();
+        List<RpcClient> owners = new ArrayList<>();
+        for (Map.Entry<String, Object> e : entries.entrySet()) {
+            ClusterNode owner = current.ownerOf(e.getKey());
+            if (owner.equals(self)) {
+                mine.put(e.getKey(), e.getValue());
+            } else {
+                RpcClient client = forward(owner);
+                owners.add(client);
+                replies.add(client.callAsync(RpcProtocol.SET, setPayload(e.getKey(), e.getValue(), ttlMillis)));
+            }
+        }
+        if (!mine.isEmpty()) {
+            local.mset(mine, ttlMillis);
+        }
+        for (int i = 0; i < replies.size(); i++) {
+            owners.get(i).await(replies.get(i));
+        }
+    }
+
+    // Snapshot / log replay is this node's own data
+    @Override
+    public void restore(Map<String, Object> entries, Map<String, Long> expireAts) {
+        local.restore(entries, expireAts);
+    }
+
+    @Override
+    public boolean del(String key) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.del(key);
+        }
+        return forward(owner).call(RpcProtocol.DELETE, out -> RpcProtocol.writeString(out, key)).get() != 0;
+    }
+
+    @Override
+    public boolean delIfVersion(String key, long version) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.delIfVersion(key, version);
+        }
+        return forward(owner).call(RpcProtocol.DELETE_IF_VERSION, out -> {
+            RpcProtocol.writeString(out, key);
+            out.writeLong(version);
+        }).get() != 0;
+    }
+
+    // A namespace spans every member: each bumps its own generation (all at once, pipelined).
+    // Returns this node's new generation.
+    @Override
+    public long flushNamespace(String namespace) {
+        List<RpcClient> peers = new ArrayList<>();
+        List<CompletableFuture<ByteBuffer>> replies = new ArrayList<>();
+        for (ClusterNode node : ring.nodes()) {
+            if (!node.equals(self)) {
+                RpcClient client = forward(node);
+                peers.add(client);
+                replies.add(client.callAsync(RpcProtocol.FLUSH_NAMESPACE, out -> RpcProtocol.writeString(out, namespace)));
+            }
+        }
+        long generation = local.flushNamespace(namespace);
+        for (int i = 0; i < replies.size(); i++) {
+            peers.get(i).await(replies.get(i));
+        }
+        return generation;
+    }
+
+    // Walks the members one after another in id order. The cursor carries the member's index above the
+    // member's own cursor bits; a membership change mid-walk may skip or repeat a member's keys, and
+    // keys still being handed off may show up on both their old and new owner.
+    @Override
+    public ScanResult<String> scan(long cursor, String match, int count) {
+        List<ClusterNode> nodes = ring.nodes();
+        int index = (int) (cursor >>> ScanCursors.CURSOR_BITS);
+        if (index >= nodes.size()) {
+            throw new IllegalArgumentException("unknown or expired scan cursor " + cursor);
+        }
+        long nodeCursor = cursor & ((1L << ScanCursors.CURSOR_BITS) - 1);
+        ClusterNode node = nodes.get(index);
+        ScanResult<String> step = node.equals(self) ? local.scan(nodeCursor, match, count)
+                : scanRemote(node, nodeCursor, match, count);
+        if (step.cursor() != 0L) {
+            return new ScanResult<>(((long) index << ScanCursors.CURSOR_BITS) | step.cursor(), step.keys());
+        }
+        // This member is done; the next call starts on the following one
+        long next = index + 1 < nodes.size() ? (long) (index + 1) << ScanCursors.CURSOR_BITS : 0L;
+        return new ScanResult<>(next, step.keys());
+    }
+
+    private ScanResult<String> scanRemote(ClusterNode node, long cursor, String match, int count) {
+        ByteBuffer reply = forward(node).call(RpcProtocol.SCAN, out -> {
+            out.writeLong(cursor);
+            RpcProtocol.writeString(out, match == null ? "" : match);
+            out.writeInt(count);
+        });
+        long next = reply.getLong();
+        int size = reply.getInt();
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(RpcProtocol.readString(reply));
+        }
+        return new ScanResult<>(next, keys);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.exists(key);
+        }
+        return forward(owner).call(RpcProtocol.EXISTS, out -> RpcProtocol.writeString(out, key)).get() != 0;
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMillis) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.expire(key, ttlMillis);
+        }
+        return forward(owner).call(RpcProtocol.EXPIRE, out -> {
+            RpcProtocol.writeString(out, key);
+            out.writeLong(ttlMillis);
+        }).get() != 0;
+    }
+
+    @Override
+    public long ttl(String key) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.ttl(key);
+        }
+        return forward(owner).call(RpcProtocol.TTL, out -> RpcProtocol.writeString(out, key)).getLong();
+    }
+
+    @Override
+    public boolean persist(String key) {
+        ClusterNode owner = ring.ownerOf(key);
+        if (owner.equals(self)) {
+            return local.persist(key);
+        }
+        return forward(owner).call(RpcProtocol.PERSIST, out -> RpcProtocol.writeString(out, key)).get() != 0;
+    }
+
+    // Local writes only; every node logs and replicates what it owns
+    @Override
+    public void addMutationListener(MutationListener<String, Object> listener) {
+        local.addMutationListener(listener);
+    }
+
+    // Only owned keys are written here, and not during a hand-off window, when a read may be answered
+    // by the previous owner whose later changes this node never hears about
+    @Override
+    public boolean observesWrites(String key) {
+        return previousRing == null && ring.ownerOf(key).equals(self);
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        local.writeMetrics(out);
+        out.gauge("cluster_epoch", "Membership epoch", epoch());
+        out.gauge("cluster_nodes", "Members in the current view", ring.nodes().size());
+        out.counter("cluster_forwarded_total", "Operations forwarded to the owning node", forwarded.sum());
+        out.counter("cluster_transferred_total", "Keys handed to new owners during rebalances", transferred.sum());
+    }
+
+    @Override
+    public String getStats() {
+        return local.getStats() + " " + String.format(
+            "Cluster Stats: [self=%s, epoch=%d, nodes=%d, forwarded=%d, transferred=%d, rebalancing=%b]",
+            self.id(), epoch(), ring.nodes().size(), forwarded.sum(), transferred.sum(), rebalancing);
+    }
+
+    public synchronized long epoch() {
+        return epoch;
+    }
+
+    // Admin entry point: pushes the new view to every old and new member, then applies it here
+    public void changeMembership(Collection<ClusterNode> nodes) {
+        long next;
+        Set<ClusterNode> notify = new LinkedHashSet<>();
+        synchronized (this) {
+            next = epoch + 1;
+            notify.addAll(ring.nodes());
+            notify.addAll(nodes);
+        }
+        List<ClusterNode> view = List.copyOf(nodes);
+        List<CompletableFuture<ByteBuffer>> replies = new ArrayList<>();
+        List<RpcClient> targets = new ArrayList<>();
+        for (ClusterNode node : notify) {
+            if (node.equals(self)) {
+                continue;
+            }
+            RpcClient client = client(node);
+            targets.add(client);
+            replies.add(client.callAsync(RpcProtocol.MEMBERSHIP, out -> writeMembership(out, next, view)));
+        }
+        for (int i = 0; i < replies.size(); i++) {
+            try {
+                targets.get(i).await(replies.get(i));
+            } catch (ClusterException e) {
+                log.warn("Membership update not delivered: {}", e.getMessage());
+            }
+        }
+        // Applied here last: the local rebalance closes clients of departed members
+        applyMembership(next, nodes);
+    }
+
+    private static void writeMembership(DataOutputStream out, long epoch, List<ClusterNode> nodes) throws IOException {
+        out.writeLong(epoch);
+        out.writeInt(nodes.size());
+        for (ClusterNode node : nodes) {
+            RpcProtocol.writeString(out, node.toString());
+        }
+    }
+
+    // Installs a membership view (ignoring stale epochs) and hands off the keys this node no longer owns
+    void applyMembership(long newEpoch, Collection<ClusterNode> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("membership must not be empty");
+        }
+        HashRing next;
+        synchronized (this) {
+            if (newEpoch <= epoch) {
+                return;
+            }
+            epoch = newEpoch;
+            next = new HashRing(nodes, virtualNodes);
+            previousRing = ring;
+            ring = next;
+            rebalancing = true;
+        }
+        rebalancer.execute(() -> rebalance(next));
+    }
+
+    private void rebalance(HashRing target) {
+        Map<ClusterNode, List<Moved>> batches = new HashMap<>();
+        long now = System.currentTimeMillis();
+        try {
+            store.forEachEntry(entry -> {
+                if (ring != target) {
+                    // superseded by a newer view; that pass will move what is left
+                    return;
+                }
+                ClusterNode owner = target.ownerOf(entry.getKey());
+                long expireAt = entry.getExpireAt();
+                if (owner.equals(self) || entry.isExpired(now)) {
+                    return;
+                }
+                // Version first: a write racing the read then shows up as a newer version and the key stays
+                long version = entry.getVersion();
+                Object value = valueStorage.read(entry);
+                if (value == null) {
+                    return;
+                }
+                List<Moved> batch = batches.computeIfAbsent(owner, n -> new ArrayList<>());
+                batch.add(new Moved(entry.getKey(), codec.encode(value), expireAt, version));
+                if (batch.size() >= TRANSFER_BATCH) {
+                    transfer(owner, batch);
+                    batch.clear();
+                }
+            });
+            batches.forEach((owner, batch) -> {
+                if (!batch.isEmpty()) {
+                    transfer(owner, batch);
+                }
+            });
+        } finally {
+            closeDepartedClients(target);
+            if (ring == target) {
+                rebalancing = false;
+                rebalancer.schedule(() -> {
+                    if (ring == target) {
+                        previousRing = null;
+                        handoffDeletes.clear();
+                    }
+                }, handoffMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Keys are dropped here only after the new owner acknowledged them, and only if they still hold the
+    // shipped version: a value written here meanwhile (e.g. by a client on the old view) is kept
+    private void transfer(ClusterNode owner, List<Moved> batch) {
+        try {
+            client(owner).call(RpcProtocol.TRANSFER, out -> {
+                out.writeInt(batch.size());
+                for (Moved moved : batch) {
+                    RpcProtocol.writeString(out, moved.key());
+                    RpcProtocol.writeBytes(out, moved.value());
+                    out.writeLong(moved.expireAt());
+                }
+            });
+            for (Moved moved : batch) {
+                local.delIfVersion(moved.key(), moved.version());
+            }
+            transferred.add(batch.size());
+        } catch (ClusterException e) {
+            log.warn("Rebalance transfer to {} failed, keeping {} keys: {}", owner, batch.size(), e.getMessage());
+        }
+    }
+
+    private void closeDepartedClients(HashRing current) {
+        Set<String> members = new HashSet<>();
+        for (ClusterNode node : current.nodes()) {
+            members.add(node.id());
+        }
+        clients.entrySet().removeIf(e -> {
+            if (members.contains(e.getKey())) {
+                return false;
+            }
+            e.getValue().close();
+            return true;
+        });
+    }
+
+    // Client for a request made on behalf of a cache client; counted as forwarded
+    private RpcClient forward(ClusterNode node) {
+        forwarded.increment();
+        return client(node);
+    }
+
+    // Rebalance, membership and hand-off traffic goes here directly and is not counted
+    private RpcClient client(ClusterNode node) {
+        return clients.computeIfAbsent(node.id(), id -> new RpcClient(node, poolSize, rpcTimeoutMillis, secret));
+    }
+
+    // Runs under the key's bin lock, so a delete is recorded before a reader can miss the key
+    private final class HandoffTracker implements MutationListener<String, Object> {
+
+        @Override
+        public void onSet(String key, Object value) {
+        }
+
+        @Override
+        public void onDelete(String key) {
+            if (previousRing != null) {
+                handoffDeletes.add(key);
+            }
+        }
+
+        @Override
+        public void onExpire(String key, long expireAt) {
+        }
+
+        @Override
+        public void onPersist(String key) {
+        }
+
+        @Override
+        public void onNamespaceFlush(String namespace) {
+        }
+
+        @Override
+        public void onTtlElapsed(String key) {
+            onDelete(key);
+        }
+    }
+
+    private record Moved(String key, byte[] value, long expireAt, long version) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.satya.distributedcache.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable consistent-hash ring. Each node is placed at virtualNodes points so keys spread evenly
+// and a membership change moves only ~1/N of the keys. Lookups binary-search sorted primitive arrays.
+public final class HashRing {
+
+    private final List<ClusterNode> nodes;
+    private final long[] points;
+    private final ClusterNode[] owners;
+
+    public HashRing(Collection<ClusterNode> members, int virtualNodes) {
+        List<ClusterNode> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparing(ClusterNode::id));
+        this.nodes = List.copyOf(sorted);
+        int count = nodes.size() * virtualNodes;
+        long[][] placed = new long[count][2];
+        int i = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                placed[i][0] = hash(nodes.get(n).id() + "#" + v);
+                placed[i][1] = n;
+                i++;
+            }
+        }
+        Arrays.sort(placed, (a, b) -> Long.compareUnsigned(a[0], b[0]));
+        this.points = new long[count];
+        this.owners = new ClusterNode[count];
+        for (int j = 0; j < count; j++) {
+            points[j] = placed[j][0];
+            owners[j] = nodes.get((int) placed[j][1]);
+        }
+    }
+
+    public ClusterNode ownerOf(String key) {
+        if (points.length == 0) {
+            throw new IllegalStateException("cluster has no members");
+        }
+        long h = hash(key);
+        int lo = 0;
+        int hi = points.length;
+        // first point clockwise from h, wrapping to the start of the ring
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(points[mid], h) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return owners[lo == points.length ? 0 : lo];
+    }
+
+    public List<ClusterNode> nodes() {
+        return nodes;
+    }
+
+    // FNV-1a over the chars with a murmur3 finalizer for avalanche
+    static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,233 @@
+package com.satya.distributedcache.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pooled, pipelined client for one peer. Calls are spread round-robin over poolSize connections;
+// each connection may carry any number of requests in flight, matched to replies by id on a
+// per-connection reader thread. Broken connections are replaced lazily on the next call. Each new
+// connection first answers the server's handshake challenge with the shared secret.
+final class RpcClient implements AutoCloseable {
+
+    @FunctionalInterface
+    interface Payload {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private final ClusterNode node;
+    private final Connection[] pool;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long timeoutMillis;
+    private final byte[] secret;
+    private volatile boolean closed;
+
+    RpcClient(ClusterNode node, int poolSize, long timeoutMillis, byte[] secret) {
+        this.node = node;
+        this.pool = new Connection[Math.max(1, poolSize)];
+        this.timeoutMillis = timeoutMillis;
+        this.secret = secret;
+    }
+
+    CompletableFuture<ByteBuffer> callAsync(byte op, Payload payload) {
+        byte[] frame;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeLong(0L);
+            out.writeByte(op);
+            payload.write(out);
+            frame = bytes.toByteArray();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        ByteBuffer.wrap(frame).putInt(0, frame.length - 4);
+        try {
+            return connection().send(frame);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new ClusterException("cannot reach " + node, e));
+        }
+    }
+
+    ByteBuffer call(byte op, Payload payload) {
+        return await(callAsync(op, payload));
+    }
+
+    ByteBuffer await(CompletableFuture<ByteBuffer> reply) {
+        try {
+            return reply.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Completing it unregisters it from its connection; a late reply is then ignored
+            ClusterException timeout = new ClusterException("timed out waiting for " + node);
+            reply.completeExceptionally(timeout);
+            throw timeout;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof ClusterException ce ? ce : new ClusterException("request to " + node + " failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterException("interrupted waiting for " + node);
+        }
+    }
+
+    private Connection connection() throws IOException {
+        if (closed) {
+            throw new IOException("client closed");
+        }
+        int index = Math.floorMod(next.getAndIncrement(), pool.length);
+        Connection connection = pool[index];
+        if (connection != null && connection.isOpen()) {
+            return connection;
+        }
+        synchronized (pool) {
+            connection = pool[index];
+            if (connection == null || !connection.isOpen()) {
+                connection = new Connection(node, secret);
+                pool[index] = connection;
+            }
+            return connection;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (pool) {
+            for (Connection connection : pool) {
+                if (connection != null) {
+                    connection.close(new ClusterException("client closed"));
+                }
+            }
+        }
+    }
+
+    private static final class Connection {
+        private static final int HANDSHAKE_MILLIS = 2000;
+
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final AtomicLong ids = new AtomicLong();
+        private final Map<Long, CompletableFuture<ByteBuffer>> inFlight = new ConcurrentHashMap<>();
+        private volatile boolean open = true;
+
+        Connection(ClusterNode node, byte[] secret) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(node.host(), node.port()), HANDSHAKE_MILLIS);
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            try {
+                handshake(secret);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+            Thread reader = new Thread(this::readReplies, "ClusterRpcClient-" + node.id());
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        // Runs before the reader thread starts, so the reply can be read inline
+        private void handshake(byte[] secret) throws IOException {
+            socket.setSoTimeout(HANDSHAKE_MILLIS);
+            byte[] nonce = new byte[RpcProtocol.NONCE_BYTES];
+            in.readFully(nonce);
+            byte[] tag = RpcProtocol.authTag(secret, nonce);
+            out.writeInt(9 + tag.length);
+            out.writeLong(0L);
+            out.writeByte(RpcProtocol.AUTH);
+            out.write(tag);
+            out.flush();
+            int length = in.readInt();
+            in.readLong();
+            byte status = in.readByte();
+            in.skipNBytes(length - 9);
+            if (status != RpcProtocol.STATUS_OK) {
+                throw new IOException("peer rejected the cluster secret");
+            }
+            socket.setSoTimeout(0);
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        CompletableFuture<ByteBuffer> send(byte[] frame) throws IOException {
+            if (!open) {
+                throw new IOException("connection closed");
+            }
+            long id = ids.incrementAndGet();
+            ByteBuffer.wrap(frame).putLong(4, id);
+            CompletableFuture<ByteBuffer> reply = new CompletableFuture<>();
+            inFlight.put(id, reply);
+            // However it completes (reply, connection loss or a caller's timeout), it leaves the table
+            reply.whenComplete((value, error) -> inFlight.remove(id, reply));
+            writeLock.lock();
+            try {
+                out.write(frame);
+                out.flush();
+            } catch (IOException e) {
+                inFlight.remove(id);
+                close(e);
+                throw e;
+            } finally {
+                writeLock.unlock();
+            }
+            return reply;
+        }
+
+        private void readReplies() {
+            try {
+                while (open) {
+                    int length = in.readInt();
+                    long id = in.readLong();
+                    byte status = in.readByte();
+                    byte[] body = new byte[length - 9];
+                    in.readFully(body);
+                    CompletableFuture<ByteBuffer> reply = inFlight.remove(id);
+                    if (reply == null) {
+                        continue;
+                    }
+                    if (status == RpcProtocol.STATUS_OK) {
+                        reply.complete(ByteBuffer.wrap(body));
+                    } else {
+                        reply.completeExceptionally(new ClusterException(new String(body, StandardCharsets.UTF_8)));
+                    }
+                }
+            } catch (IOException e) {
+                close(e);
+            }
+        }
+
+        void close(Exception cause) {
+            open = false;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            for (CompletableFuture<ByteBuffer> reply : inFlight.values()) {
+                reply.completeExceptionally(cause instanceof ClusterException ? cause : new ClusterException("connection lost", cause));
+            }
+            inFlight.clear();
+        }
+    }
+}
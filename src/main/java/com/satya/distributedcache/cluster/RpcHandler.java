@@ -0,0 +1,11 @@
+package com.satya.distributedcache.cluster;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Serves one request; writes the success payload to out or throws to send an error status
+interface RpcHandler {
+
+    void handle(byte op, ByteBuffer request, DataOutputStream out) throws IOException;
+}
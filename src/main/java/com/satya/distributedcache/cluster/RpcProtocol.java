@@ -0,0 +1,102 @@
+package com.satya.distributedcache.cluster;
+
+import com.satya.distributedcache.cache.facade.SetCondition;
+import com.satya.distributedcache.cache.facade.SetOptions;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+// Node-to-node frames (big-endian):
+//   request  : length, request id, op, payload
+//   response : length, request id, status, payload
+// length counts everything after itself. Ids let a connection carry many requests in flight;
+// the server answers each connection in order.
+// Handshake: on accept the server sends NONCE_BYTES random bytes; the client's first request must be
+// AUTH carrying HMAC-SHA256(shared secret, nonce), else the server drops the connection. The secret
+// itself never crosses the wire.
+final class RpcProtocol {
+
+    static final byte GET = 1;
+    static final byte SET = 2;
+    static final byte DELETE = 3;
+    static final byte EXISTS = 4;
+    static final byte EXPIRE = 5;
+    static final byte TTL = 6;
+    static final byte PERSIST = 7;
+    // Bulk hand-off of entries during rebalancing: count, then key, value, expire-at per entry
+    static final byte TRANSFER = 8;
+    // New membership view: epoch, count, then id@host:port per node
+    static final byte MEMBERSHIP = 9;
+    static final byte PING = 10;
+    // Conditional set: key, value, options; answered with applied, version and the optional previous value
+    static final byte SET_IF = 11;
+    static final byte VERSION = 12;
+    // Data-structure command: key, op name, codec-encoded argument list; answered with the encoded reply
+    static final byte EXECUTE = 13;
+    // One step of a node-local key walk: cursor, match, count; answered with the next cursor, count, then keys
+    static final byte SCAN = 14;
+    // Namespace flush on one member: namespace; answered with that member's new generation
+    static final byte FLUSH_NAMESPACE = 15;
+    // Compare-and-delete: key, version; answered with whether the key was removed
+    static final byte DELETE_IF_VERSION = 16;
+    // Read of this node's own copy only, for a new owner's hand-off fallback: key; answered like GET
+    static final byte HANDOFF_GET = 17;
+    // First request on every connection: the handshake tag (see above)
+    static final byte AUTH = 18;
+
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+
+    static final int MAX_FRAME = 256 * 1024 * 1024;
+
+    static final int NONCE_BYTES = 16;
+
+    private RpcProtocol() {
+    }
+
+    static void writeString(DataOutput out, String s) throws IOException {
+        writeBytes(out, s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static void writeSetOptions(DataOutput out, SetOptions options) throws IOException {
+        out.writeByte(options.condition().ordinal());
+        out.writeLong(options.expectedVersion());
+        out.writeLong(options.ttlMillis());
+        out.writeBoolean(options.keepTtl());
+        out.writeBoolean(options.returnPrevious());
+    }
+
+    static SetOptions readSetOptions(ByteBuffer in) {
+        return new SetOptions(SetCondition.values()[in.get()], in.getLong(), in.getLong(), in.get() != 0, in.get() != 0);
+    }
+
+    static byte[] authTag(byte[] secret, byte[] nonce) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            return mac.doFinal(nonce);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    static String readString(ByteBuffer in) {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    static byte[] readBytes(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return bytes;
+    }
+}
@@ -1,9 +1,31 @@
 package com.satya.distributedcache.controller;
 
+import com.satya.distributedcache.cache.facade.SetCondition;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.cache.loader.CacheLoaderException;
+import com.satya.distributedcache.cache.metrics.PrometheusMetricsWriter;
+import com.satya.distributedcache.cache.storage.RawJson;
+import com.satya.distributedcache.cache.types.WrongTypeException;
+import com.satya.distributedcache.replication.ReadOnlyReplicaException;
 import com.satya.distributedcache.service.CacheService;
+import com.satya.distributedcache.service.InvalidationPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -11,8 +33,14 @@ public class CacheController {
 
     private final CacheService cacheService;
 
-    public CacheController(CacheService cacheService) {
+    private final JsonMapper jsonMapper;
+
+    private final InvalidationPublisher invalidationPublisher;
+
+    public CacheController(CacheService cacheService, JsonMapper jsonMapper, InvalidationPublisher invalidationPublisher) {
         this.cacheService = cacheService;
+        this.jsonMapper = jsonMapper;
+        this.invalidationPublisher = invalidationPublisher;
     }
 
     @GetMapping("health")
@@ -20,19 +48,128 @@ public class CacheController {
         return ResponseEntity.ok().build();
     }
 
+    // Body is a JSON array of keys; the response object (key -> value, null when missing)
+    // is written field by field as values are read instead of being buffered. A key listed
+    // twice is looked up and written once, so the object never repeats a field.
+    @PostMapping(path = "/_mget", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> multiGet(@RequestBody List<String> keys) {
+        Set<String> distinct = new LinkedHashSet<>(keys);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = jsonMapper.createGenerator(out)) {
+                generator.writeStartObject();
+                cacheService.multiGet(distinct, (key, value) -> {
+                    generator.writeName(key);
+                    generator.writePOJO(value);
+                });
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Body is a JSON object of key -> value; optional ttl (millis) applies to every key in the batch
+    @PostMapping(path = "/_mset", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> multiSet(@RequestBody Map<String, Object> entries,
+                                      @RequestParam(required = false) Long ttl) {
+        cacheService.multiPut(entries, ttl);
+        return ResponseEntity.ok().build();
+    }
+
+    // Server-sent events for near-caches: "invalidate" events carry a JSON array of changed keys
+    @GetMapping(path = "/_invalidations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter invalidations() throws IOException {
+        return invalidationPublisher.subscribe();
+    }
+
+    // Drops every key of the namespace (keys starting "<namespace>:") at once; reads miss from this point on
+    @PostMapping("/_namespaces/{namespace}/flush")
+    public ResponseEntity<?> flushNamespace(@PathVariable String namespace) {
+        try {
+            return ResponseEntity.ok(Map.of("namespace", namespace, "generation", cacheService.flushNamespace(namespace)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    // Incremental key listing: start at cursor 0 and pass the returned cursor back until it is 0 again.
+    // count bounds the keys examined per call, so a sparse match may return few or no keys mid-walk.
+    @GetMapping("/_scan")
+    public ResponseEntity<?> scan(@RequestParam(defaultValue = "0") long cursor,
+                                  @RequestParam(required = false) String match,
+                                  @RequestParam(defaultValue = "100") int count) {
+        return ResponseEntity.ok(cacheService.scan(cursor, match, count));
+    }
+
+    // Deletes the keys matching the pattern in throttled background steps; poll the returned job id for progress
+    @PostMapping("/_scan/delete")
+    public ResponseEntity<?> deleteMatching(@RequestParam String match) {
+        return ResponseEntity.accepted().body(cacheService.deleteMatching(match));
+    }
+
+    @GetMapping("/_scan/delete/{id}")
+    public ResponseEntity<?> deleteJob(@PathVariable long id) {
+        Object status = cacheService.deleteJob(id);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    @DeleteMapping("/_scan/delete/{id}")
+    public ResponseEntity<?> cancelDeleteJob(@PathVariable long id) {
+        Object status = cacheService.cancelDeleteJob(id);
+        return status == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(status);
+    }
+
+    // The read-through source failed; the cache itself is fine
+    @ExceptionHandler(CacheLoaderException.class)
+    public ResponseEntity<?> loaderFailed(CacheLoaderException e) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(e.getMessage());
+    }
+
+    // A structure command against a key holding a different kind of value
+    @ExceptionHandler(WrongTypeException.class)
+    public ResponseEntity<?> wrongType(WrongTypeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    // A write sent to a replica
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<?> readOnly(ReadOnlyReplicaException e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+    }
+
+    // Malformed structure command arguments (non-numeric increment, NaN score, ...)
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> badArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    // A value this node will not send invalidations for (a key owned by another cluster node) is marked
+    // no-store, so near-caches subscribed here do not keep it
     @GetMapping("/{key}")
     public ResponseEntity<?> getValue(@PathVariable String key) {
+        boolean observed = cacheService.observesWrites(key);
         Object value = cacheService.get(key);
         if (value == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(value);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (!observed || !cacheService.observesWrites(key)) {
+            ok.cacheControl(CacheControl.noStore());
+        }
+        if (value instanceof RawJson json) {
+            // Stored in wire form: written out as-is, no serialization round trip
+            return ok.contentType(MediaType.APPLICATION_JSON).body(json.bytes());
+        }
+        return ok.body(value);
     }
 
     // Accept JSON payloads
     @PostMapping(path = "/{key}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> setValueJson(@PathVariable String key, @RequestBody Object value) {
-        cacheService.put(key, value);
+    public ResponseEntity<?> setValueJson(@PathVariable String key, @RequestBody byte[] body) {
+        try {
+            cacheService.putJson(key, body);
+        } catch (JacksonException e) {
+            return ResponseEntity.badRequest().body("malformed JSON: " + e.getOriginalMessage());
+        }
         return ResponseEntity.ok().build();
     }
 
@@ -69,6 +206,144 @@ public class CacheController {
         return ResponseEntity.ok(cacheService.conditionalPut(key, value, ttl, xx));
     }
 
+    // One atomic write: mode is always, nx or xx; a version turns it into a compare-and-set against that version.
+    // The reply carries whether it applied, the key's version afterwards and, with get=true, the replaced value.
+    @PostMapping("/setIf/{key}")
+    public ResponseEntity<?> setIf(@PathVariable String key, @RequestBody Object value,
+                                   @RequestParam(defaultValue = "always") String mode,
+                                   @RequestParam(required = false) Long version,
+                                   @RequestParam(required = false) Long ttl,
+                                   @RequestParam(defaultValue = "false") boolean get) {
+        SetCondition condition = switch (mode.toLowerCase(Locale.ROOT)) {
+            case "always" -> version == null ? SetCondition.ALWAYS : SetCondition.IF_VERSION;
+            case "nx" -> SetCondition.IF_ABSENT;
+            case "xx" -> SetCondition.IF_PRESENT;
+            default -> null;
+        };
+        if (condition == null || (version != null && condition != SetCondition.IF_VERSION)) {
+            return ResponseEntity.badRequest().body("mode must be always, nx or xx, and version only goes with always");
+        }
+        SetOptions options = new SetOptions(condition, version == null ? 0L : version,
+                ttl == null ? -1L : ttl, true, get);
+        return ResponseEntity.ok(cacheService.setIf(key, value, options));
+    }
+
+    @GetMapping("/version/{key}")
+    public ResponseEntity<?> version(@PathVariable String key) {
+        return ResponseEntity.ok(cacheService.version(key));
+    }
+
+    // Counters: returns the value after the increment (a missing key counts from 0)
+    @PostMapping("/incr/{key}")
+    public ResponseEntity<?> increment(@PathVariable String key, @RequestParam(defaultValue = "1") long by) {
+        return ResponseEntity.ok(cacheService.increment(key, by));
+    }
+
+    // Hashes: the body is a JSON object of field -> value; returns how many fields were new
+    @PostMapping(path = "/hash/{key}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> hashSet(@PathVariable String key, @RequestBody Map<String, Object> fields) {
+        return ResponseEntity.ok(cacheService.hashSet(key, fields));
+    }
+
+    @GetMapping("/hash/{key}")
+    public ResponseEntity<?> hashGetAll(@PathVariable String key) {
+        Object fields = cacheService.hashGetAll(key);
+        return fields == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(fields);
+    }
+
+    @GetMapping("/hash/{key}/{field}")
+    public ResponseEntity<?> hashGet(@PathVariable String key, @PathVariable String field) {
+        Object value = cacheService.hashGet(key, field);
+        return value == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(value);
+    }
+
+    @DeleteMapping("/hash/{key}/{field}")
+    public ResponseEntity<?> hashDelete(@PathVariable String key, @PathVariable String field) {
+        return ResponseEntity.ok(cacheService.hashDelete(key, field));
+    }
+
+    @PostMapping("/hash/{key}/{field}/incr")
+    public ResponseEntity<?> hashIncrement(@PathVariable String key, @PathVariable String field,
+                                           @RequestParam(defaultValue = "1") long by) {
+        return ResponseEntity.ok(cacheService.hashIncrement(key, field, by));
+    }
+
+    // Lists: the body is a JSON array pushed value by value at the given end; returns the new length
+    @PostMapping(path = "/list/{key}/push", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> listPush(@PathVariable String key, @RequestBody List<Object> values,
+                                      @RequestParam(defaultValue = "right") String side) {
+        return ResponseEntity.ok(cacheService.listPush(key, isLeft(side), values));
+    }
+
+    @PostMapping("/list/{key}/pop")
+    public ResponseEntity<?> listPop(@PathVariable String key, @RequestParam(defaultValue = "left") String side,
+                                     @RequestParam(defaultValue = "1") int count) {
+        return ResponseEntity.ok(cacheService.listPop(key, isLeft(side), count));
+    }
+
+    // Inclusive indices; negative ones count from the tail
+    @GetMapping("/list/{key}")
+    public ResponseEntity<?> listRange(@PathVariable String key, @RequestParam(defaultValue = "0") long start,
+                                       @RequestParam(defaultValue = "-1") long stop) {
+        return ResponseEntity.ok(cacheService.listRange(key, start, stop));
+    }
+
+    private static boolean isLeft(String side) {
+        return switch (side.toLowerCase(Locale.ROOT)) {
+            case "left" -> true;
+            case "right" -> false;
+            default -> throw new IllegalArgumentException("side must be left or right");
+        };
+    }
+
+    // Sorted sets: the body is a JSON object of member -> score; returns how many members were new
+    @PostMapping(path = "/zset/{key}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> sortedSetAdd(@PathVariable String key, @RequestBody Map<String, Double> scores) {
+        return ResponseEntity.ok(cacheService.sortedSetAdd(key, scores));
+    }
+
+    @PostMapping("/zset/{key}/{member}/incr")
+    public ResponseEntity<?> sortedSetIncrement(@PathVariable String key, @PathVariable String member,
+                                                @RequestParam(defaultValue = "1") double by) {
+        return ResponseEntity.ok(cacheService.sortedSetIncrement(key, member, by));
+    }
+
+    @DeleteMapping("/zset/{key}/{member}")
+    public ResponseEntity<?> sortedSetRemove(@PathVariable String key, @PathVariable String member) {
+        return ResponseEntity.ok(cacheService.sortedSetRemove(key, member));
+    }
+
+    @GetMapping("/zset/{key}/score/{member}")
+    public ResponseEntity<?> sortedSetScore(@PathVariable String key, @PathVariable String member) {
+        Object score = cacheService.sortedSetScore(key, member);
+        return score == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(score);
+    }
+
+    // 0-based; reverse=true ranks from the highest score (leaderboards)
+    @GetMapping("/zset/{key}/rank/{member}")
+    public ResponseEntity<?> sortedSetRank(@PathVariable String key, @PathVariable String member,
+                                           @RequestParam(defaultValue = "false") boolean reverse) {
+        Object rank = cacheService.sortedSetRank(key, member, reverse);
+        return rank == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(rank);
+    }
+
+    // By rank: [{member, score}, ...]
+    @GetMapping("/zset/{key}")
+    public ResponseEntity<?> sortedSetRange(@PathVariable String key, @RequestParam(defaultValue = "0") long start,
+                                            @RequestParam(defaultValue = "-1") long stop,
+                                            @RequestParam(defaultValue = "false") boolean reverse) {
+        return ResponseEntity.ok(cacheService.sortedSetRange(key, start, stop, reverse));
+    }
+
+    @GetMapping("/zset/{key}/byScore")
+    public ResponseEntity<?> sortedSetRangeByScore(@PathVariable String key,
+                                                   @RequestParam(defaultValue = "-Infinity") double min,
+                                                   @RequestParam(defaultValue = "Infinity") double max,
+                                                   @RequestParam(defaultValue = "0") int offset,
+                                                   @RequestParam(defaultValue = "-1") int count) {
+        return ResponseEntity.ok(cacheService.sortedSetRangeByScore(key, min, max, offset, count));
+    }
+
     @PostMapping("/expireAt/{key}/{ttl}")
     public ResponseEntity<?> expireAt(@PathVariable String key, @PathVariable long ttl) {
         return ResponseEntity.ok(cacheService.expireAt(key, ttl));
@@ -84,4 +359,26 @@ public class CacheController {
         return ResponseEntity.ok(cacheService.getStats());
     }
 
+    @GetMapping(value = "/stats", params = "format=json")
+    public ResponseEntity<?> statsJson() {
+        return ResponseEntity.ok(cacheService.metricsJson());
+    }
+
+    @GetMapping(value = "/stats", params = "format=prometheus")
+    public ResponseEntity<String> statsPrometheus() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(PrometheusMetricsWriter.CONTENT_TYPE))
+                .body(cacheService.metricsPrometheus());
+    }
+
+    // Estimated reads/writes per second of this node's hottest keys, per sliding window
+    @GetMapping("/stats/hotkeys")
+    public ResponseEntity<?> hotKeys(@RequestParam(defaultValue = "10") int limit) {
+        Object hotKeys = cacheService.hotKeys(limit);
+        if (hotKeys == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(hotKeys);
+    }
+
 }
@@ -0,0 +1,131 @@
+package com.satya.distributedcache.replication;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.facade.MutationListener;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.cache.facade.SetResult;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cache.types.DataCommand;
+import com.satya.distributedcache.cache.types.DataCommands;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// The facade clients (REST, RESP) see on a replica: reads go to the local copy, writes are refused so
+// the copy cannot drift from the primary. The replication stream, snapshots and the append-only log
+// keep writing through the local facade directly.
+@Component
+@Primary
+@ConditionalOnProperty(name = "cache.replication.role", havingValue = "replica")
+public class ReadOnlyCacheFacade implements CacheFacade<String, Object> {
+
+    private final LocalCacheFacade local;
+
+    public ReadOnlyCacheFacade(LocalCacheFacade local) {
+        this.local = local;
+    }
+
+    @Override
+    public Object get(String key) {
+        return local.get(key);
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public SetResult<Object> setIf(String key, Object value, SetOptions options) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public long version(String key) {
+        return local.version(key);
+    }
+
+    @Override
+    public Object execute(String key, DataCommand command) {
+        if (DataCommands.isWrite(command.op())) {
+            throw new ReadOnlyReplicaException();
+        }
+        return local.execute(key, command);
+    }
+
+    @Override
+    public void mget(Collection<String> keys, BiConsumer<String, Object> sink) {
+        local.mget(keys, sink);
+    }
+
+    @Override
+    public void mset(Map<String, Object> entries, long ttlMillis) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public void restore(Map<String, Object> entries, Map<String, Long> expireAts) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public boolean del(String key) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public boolean delIfVersion(String key, long version) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public long flushNamespace(String namespace) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public ScanResult<String> scan(long cursor, String match, int count) {
+        return local.scan(cursor, match, count);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return local.exists(key);
+    }
+
+    @Override
+    public boolean expire(String key, long ttlMillis) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public long ttl(String key) {
+        return local.ttl(key);
+    }
+
+    @Override
+    public boolean persist(String key) {
+        throw new ReadOnlyReplicaException();
+    }
+
+    @Override
+    public void addMutationListener(MutationListener<String, Object> listener) {
+        local.addMutationListener(listener);
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        local.writeMetrics(out);
+    }
+
+    @Override
+    public String getStats() {
+        return local.getStats();
+    }
+}
@@ -0,0 +1,9 @@
+package com.satya.distributedcache.replication;
+
+// A client write sent to a replica; replicas only change through their primary's stream
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    public ReadOnlyReplicaException() {
+        super("READONLY You can't write against a read only replica.");
+    }
+}
@@ -0,0 +1,88 @@
+package com.satya.distributedcache.replication;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fixed-size ring over the tail of the replication stream, addressed by absolute stream offset.
+// A replica that reconnects within the retained window resumes from its offset (partial resync);
+// anything older has been overwritten and needs a full resync.
+final class ReplicationBacklog {
+
+    private final byte[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    // Offset one past the last byte ever appended
+    private long offset;
+
+    ReplicationBacklog(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    void append(byte[] src, int off, int len) {
+        lock.lock();
+        try {
+            // Only the last buffer.length bytes can be retained
+            int skip = Math.max(0, len - buffer.length);
+            long start = offset + skip;
+            int remaining = len - skip;
+            int pos = (int) (start % buffer.length);
+            int first = Math.min(remaining, buffer.length - pos);
+            System.arraycopy(src, off + skip, buffer, pos, first);
+            System.arraycopy(src, off + skip + first, buffer, 0, remaining - first);
+            offset += len;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Copies bytes from the given offset into dst, waiting up to waitMillis for new data.
+    // Returns the count copied (0 on timeout) or -1 if the offset is no longer retained.
+    int read(long from, byte[] dst, long waitMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            while (from == offset && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (from < firstOffset() || from > offset) {
+                return -1;
+            }
+            int n = (int) Math.min(dst.length, offset - from);
+            int pos = (int) (from % buffer.length);
+            int first = Math.min(n, buffer.length - pos);
+            System.arraycopy(buffer, pos, dst, 0, first);
+            System.arraycopy(buffer, 0, dst, first, n - first);
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean contains(long from) {
+        lock.lock();
+        try {
+            return from >= firstOffset() && from <= offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long offset() {
+        lock.lock();
+        try {
+            return offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    private long firstOffset() {
+        return Math.max(0L, offset - buffer.length);
+    }
+}
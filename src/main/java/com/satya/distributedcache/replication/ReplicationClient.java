@@ -0,0 +1,254 @@
+package com.satya.distributedcache.replication;
+
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.persistence.SnapshotReader;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Replica side: keeps one connection to the primary, applies its mutation stream to the local
+// facade in order and acknowledges the applied offset. Reads (REST, RESP) are served from the
+// local copy; after a reconnect it resumes from its offset when the primary still has it.
+@Component
+@ConditionalOnProperty(name = "cache.replication.role", havingValue = "replica")
+public class ReplicationClient implements ReplicationStatus {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationClient.class);
+
+    private final LocalCacheFacade cache;
+    private final Cache<String, Object> store;
+    private final ValueCodec valueCodec;
+    private final AtomicLong fullResyncs = new AtomicLong();
+    private final AtomicLong partialResyncs = new AtomicLong();
+
+    @Value("${cache.replication.primary-host:127.0.0.1}")
+    private String primaryHost;
+
+    @Value("${cache.replication.primary-port:7100}")
+    private int primaryPort;
+
+    @Value("${cache.replication.reconnect-millis:1000}")
+    private long reconnectMillis;
+
+    private volatile boolean running;
+    private volatile Socket socket;
+    private volatile String state = "connecting";
+    private volatile String replicationId = "";
+    // Offset of the last fully applied record
+    private volatile long offset = -1L;
+    private volatile long primaryOffset;
+    private volatile long lastContactMillis;
+
+    public ReplicationClient(LocalCacheFacade cache, Cache<String, Object> store, ValueCodec valueCodec) {
+        this.cache = cache;
+        this.store = store;
+        this.valueCodec = valueCodec;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread t = new Thread(this::run, "ReplicationClient");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeSocket();
+    }
+
+    public long offset() {
+        return offset;
+    }
+
+    // Drops the current link; the next connection resumes from the applied offset
+    public void reconnect() {
+        closeSocket();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                sync();
+            } catch (IOException | RuntimeException e) {
+                if (running && !"connecting".equals(state)) {
+                    log.warn("Replication link to {}:{} lost: {}", primaryHost, primaryPort, e.toString());
+                }
+            } finally {
+                closeSocket();
+                state = "connecting";
+            }
+            try {
+                Thread.sleep(reconnectMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void sync() throws IOException {
+        Socket s = new Socket();
+        socket = s;
+        s.setTcpNoDelay(true);
+        s.connect(new InetSocketAddress(primaryHost, primaryPort), 2000);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 1 << 16));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+        out.writeUTF(replicationId);
+        out.writeLong(offset);
+        out.flush();
+        state = "sync";
+        byte reply = in.readByte();
+        if (reply == ReplicationProtocol.FULLRESYNC) {
+            loadSnapshot(in);
+            fullResyncs.incrementAndGet();
+        } else if (reply == ReplicationProtocol.CONTINUE) {
+            partialResyncs.incrementAndGet();
+        } else {
+            throw new IOException("unexpected handshake reply " + reply);
+        }
+        lastContactMillis = System.currentTimeMillis();
+        state = "online";
+        stream(in, out);
+    }
+
+    // Replaces the local data set with the primary's snapshot
+    private void loadSnapshot(DataInputStream in) throws IOException {
+        String id = in.readUTF();
+        long start = in.readLong();
+        long length = in.readLong();
+        Path snapshot = Files.createTempFile("replica", ".snapshot");
+        try {
+            try (OutputStream file = Files.newOutputStream(snapshot)) {
+                byte[] chunk = new byte[1 << 16];
+                long remaining = length;
+                while (remaining > 0) {
+                    int n = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                    if (n < 0) {
+                        throw new IOException("snapshot transfer truncated");
+                    }
+                    file.write(chunk, 0, n);
+                    remaining -= n;
+                }
+            }
+            // The old data set is dropped from the store directly: these are not client deletes, so listeners
+            // (near-cache invalidations, the replica's own stream) must not see one per key
+            store.forEachEntry(entry -> store.invalidate(entry.getKey()));
+            ExecutorService loaders = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+            try {
+                long loaded = new SnapshotReader(cache, valueCodec).read(snapshot, loaders);
+                log.info("Replica full resync: {} keys at offset {}", loaded, start);
+            } finally {
+                loaders.shutdownNow();
+            }
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+        replicationId = id;
+        offset = start;
+    }
+
+    // Records may straddle DATA frames; the unparsed tail is carried over to the next frame
+    private void stream(DataInputStream in, DataOutputStream out) throws IOException {
+        ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+        while (running) {
+            byte kind = in.readByte();
+            primaryOffset = in.readLong();
+            lastContactMillis = System.currentTimeMillis();
+            if (kind == ReplicationProtocol.DATA) {
+                int n = in.readInt();
+                if (pending.remaining() < n) {
+                    ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + n));
+                    pending.flip();
+                    grown.put(pending);
+                    pending = grown;
+                }
+                in.readFully(pending.array(), pending.position(), n);
+                pending.position(pending.position() + n);
+                pending.flip();
+                applyRecords(pending);
+                pending.compact();
+            } else if (kind != ReplicationProtocol.PING) {
+                throw new IOException("unexpected stream frame " + kind);
+            }
+            // One acknowledgement per burst of frames
+            if (in.available() == 0) {
+                out.writeLong(offset);
+                out.flush();
+            }
+        }
+    }
+
+    private void applyRecords(ByteBuffer pending) {
+        long applied = offset;
+        while (pending.remaining() >= 4) {
+            int length = pending.getInt(pending.position());
+            if (pending.remaining() < 4 + length) {
+                break;
+            }
+            pending.position(pending.position() + 4);
+            ByteBuffer body = pending.slice(pending.position(), length);
+            pending.position(pending.position() + length);
+            ReplicationProtocol.apply(body, cache, valueCodec);
+            applied += 4 + length;
+        }
+        offset = applied;
+    }
+
+    private void closeSocket() {
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        long applied = Math.max(0L, offset);
+        out.gauge("replication_offset", "Replication stream offset applied here", applied);
+        out.gauge("replication_primary_offset", "Primary stream offset last reported by the primary", primaryOffset);
+        out.gauge("replication_lag_bytes", "Stream bytes the primary has written that are not applied here yet",
+                Math.max(0L, primaryOffset - applied));
+        out.gauge("replication_last_contact_age_millis", "Time since the last frame from the primary (-1 = never)",
+                lastContactMillis == 0L ? -1L : System.currentTimeMillis() - lastContactMillis);
+        out.gauge("replication_link_up", "1 while the link to the primary is streaming", "online".equals(state) ? 1 : 0);
+        out.counter("replication_full_resyncs_total", "Full resyncs (snapshot transfers) from the primary", fullResyncs.get());
+        out.counter("replication_partial_resyncs_total", "Reconnects resumed from the primary's backlog", partialResyncs.get());
+    }
+
+    @Override
+    public String getStats() {
+        long applied = Math.max(0L, offset);
+        long sinceContact = lastContactMillis == 0L ? -1L : System.currentTimeMillis() - lastContactMillis;
+        return String.format(
+            "Replication Stats: [role=replica, state=%s, primary=%s:%d, replid=%s, offset=%d, primaryOffset=%d, lagBytes=%d, lastContactMillis=%d, fullResyncs=%d, partialResyncs=%d]",
+            state, primaryHost, primaryPort, replicationId, applied, primaryOffset,
+            Math.max(0L, primaryOffset - applied), sinceContact, fullResyncs.get(), partialResyncs.get());
+    }
+}
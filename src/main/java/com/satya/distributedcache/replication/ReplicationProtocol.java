@@ -0,0 +1,80 @@
+package com.satya.distributedcache.replication;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Wire format shared by primary and replica.
+// Handshake: the replica sends its replication id (empty if none) and offset; the primary answers
+// CONTINUE, or FULLRESYNC with its id, the stream offset the snapshot starts at, and the snapshot bytes.
+// Stream: DATA (primary offset, length, raw backlog bytes) or PING (primary offset); the replica
+// answers with the offset it has applied. Backlog bytes are whole records: body length, then the
+// type byte, key and either the codec-encoded value (SET) or the absolute expire-at (EXPIRE).
+final class ReplicationProtocol {
+
+    static final byte CONTINUE = 1;
+    static final byte FULLRESYNC = 2;
+
+    static final byte DATA = 1;
+    static final byte PING = 2;
+
+    static final byte SET = 1;
+    static final byte DELETE = 2;
+    static final byte EXPIRE = 3;
+    static final byte PERSIST = 4;
+    // Key is the namespace
+    static final byte FLUSH = 5;
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeRecord(DataOutputStream out, byte type, String key, byte[] value, long expireAt) throws IOException {
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + k.length + switch (type) {
+            case SET -> 4 + value.length;
+            case EXPIRE -> 8;
+            default -> 0;
+        };
+        out.writeInt(length);
+        out.writeByte(type);
+        out.writeInt(k.length);
+        out.write(k);
+        if (type == SET) {
+            out.writeInt(value.length);
+            out.write(value);
+        } else if (type == EXPIRE) {
+            out.writeLong(expireAt);
+        }
+    }
+
+    // Applies one record body (without its length prefix) to the replica's local facade
+    static void apply(ByteBuffer in, CacheFacade<String, Object> target, ValueCodec codec) {
+        byte type = in.get();
+        byte[] k = new byte[in.getInt()];
+        in.get(k);
+        String key = new String(k, StandardCharsets.UTF_8);
+        switch (type) {
+            case SET -> {
+                byte[] value = new byte[in.getInt()];
+                in.get(value);
+                target.set(key, codec.decode(value));
+            }
+            case DELETE -> target.del(key);
+            case EXPIRE -> {
+                long remaining = in.getLong() - System.currentTimeMillis();
+                if (remaining > 0) {
+                    target.expire(key, remaining);
+                } else {
+                    target.del(key);
+                }
+            }
+            case PERSIST -> target.persist(key);
+            case FLUSH -> target.flushNamespace(key);
+            default -> throw new IllegalStateException("unknown replication record type " + type);
+        }
+    }
+}
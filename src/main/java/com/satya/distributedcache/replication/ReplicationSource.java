@@ -0,0 +1,363 @@
+package com.satya.distributedcache.replication;
+
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.facade.MutationListener;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.persistence.SnapshotWriter;
+import com.satya.distributedcache.cache.storage.ValueCodec;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Primary side of asynchronous replication. Mutations are queued on the request thread; a feeder
+// thread encodes them in batches into the backlog, the ordered byte stream that every replica link
+// tails at its own offset without waiting for acknowledgements. Replicas report the offset they have
+// applied, which is what the lag in the stats is measured against.
+@Component
+@ConditionalOnProperty(name = "cache.replication.role", havingValue = "primary")
+public class ReplicationSource implements MutationListener<String, Object>, ReplicationStatus {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationSource.class);
+
+    private static final int MAX_BATCH = 4096;
+    private static final int SEND_CHUNK_BYTES = 1 << 16;
+    private static final long PING_MILLIS = 1000;
+
+    private final LocalCacheFacade cache;
+    private final Cache<String, Object> store;
+    private final ValueStorage valueStorage;
+    private final ValueCodec valueCodec;
+    // A new id per process: offsets from an earlier primary run are never trusted
+    private final String replicationId = UUID.randomUUID().toString().replace("-", "");
+    private final Set<ReplicaLink> replicas = ConcurrentHashMap.newKeySet();
+
+    // The stream carries every write; listen on loopback unless an interface for replicas is configured
+    @Value("${cache.replication.host:127.0.0.1}")
+    private String host;
+
+    @Value("${cache.replication.port:7100}")
+    private int port;
+
+    @Value("${cache.replication.backlog-bytes:16777216}")
+    private int backlogBytes;
+
+    @Value("${cache.replication.queue-capacity:65536}")
+    private int queueCapacity;
+
+    private ReplicationBacklog backlog;
+    private BlockingQueue<Mutation> queue;
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ReplicationSource(LocalCacheFacade cache, Cache<String, Object> store, ValueStorage valueStorage,
+                             ValueCodec valueCodec) {
+        this.cache = cache;
+        this.store = store;
+        this.valueStorage = valueStorage;
+        this.valueCodec = valueCodec;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        backlog = new ReplicationBacklog(backlogBytes);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(host, port), 64);
+        running = true;
+        daemon(this::feed, "ReplicationFeeder").start();
+        daemon(this::acceptLoop, "ReplicationAcceptor").start();
+        cache.addMutationListener(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        replicas.forEach(ReplicaLink::close);
+    }
+
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long offset() {
+        return backlog.offset();
+    }
+
+    @Override
+    public void onSet(String key, Object value) {
+        enqueue(new Mutation(ReplicationProtocol.SET, key, value, 0L));
+    }
+
+    @Override
+    public void onDelete(String key) {
+        enqueue(new Mutation(ReplicationProtocol.DELETE, key, null, 0L));
+    }
+
+    @Override
+    public void onExpire(String key, long expireAt) {
+        enqueue(new Mutation(ReplicationProtocol.EXPIRE, key, null, expireAt));
+    }
+
+    @Override
+    public void onPersist(String key) {
+        enqueue(new Mutation(ReplicationProtocol.PERSIST, key, null, 0L));
+    }
+
+    @Override
+    public void onNamespaceFlush(String namespace) {
+        enqueue(new Mutation(ReplicationProtocol.FLUSH, namespace, null, 0L));
+    }
+
+    private void enqueue(Mutation mutation) {
+        try {
+            // Blocks only when the feeder has fallen queueCapacity mutations behind
+            queue.put(mutation);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Encodes queued mutations into the backlog, one append (and one wake-up of the links) per batch
+    private void feed() {
+        List<Mutation> batch = new ArrayList<>(MAX_BATCH);
+        StreamBuffer bytes = new StreamBuffer();
+        DataOutputStream out = new DataOutputStream(bytes);
+        while (running) {
+            try {
+                Mutation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                bytes.reset();
+                for (Mutation m : batch) {
+                    writeRecord(out, m);
+                }
+                backlog.append(bytes.array(), 0, bytes.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                // Writes into an in-memory buffer; not expected
+                throw new UncheckedIOException(e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // A value the codec cannot handle is sent as a delete of its key: the replica then misses the key
+    // instead of keeping the value it replaced, and the rest of the batch goes out as usual
+    private void writeRecord(DataOutputStream out, Mutation m) throws IOException {
+        if (m.type() != ReplicationProtocol.SET) {
+            ReplicationProtocol.writeRecord(out, m.type(), m.key(), null, m.expireAt());
+            return;
+        }
+        byte[] value;
+        try {
+            value = valueCodec.encode(m.value());
+        } catch (RuntimeException e) {
+            log.warn("Replicating {} as a delete: value could not be encoded", m.key(), e);
+            ReplicationProtocol.writeRecord(out, ReplicationProtocol.DELETE, m.key(), null, 0L);
+            return;
+        }
+        ReplicationProtocol.writeRecord(out, m.type(), m.key(), value, m.expireAt());
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                ReplicaLink link = new ReplicaLink(socket);
+                replicas.add(link);
+                daemon(link::run, "ReplicaLink-" + link.address).start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Replication accept failed", e);
+                }
+            }
+        }
+    }
+
+    // Lag is reported for the slowest replica
+    @Override
+    public void writeMetrics(MetricsWriter out) {
+        long offset = backlog.offset();
+        long now = System.currentTimeMillis();
+        long lag = 0;
+        long ackAge = 0;
+        for (ReplicaLink replica : replicas) {
+            lag = Math.max(lag, offset - replica.ackedOffset);
+            ackAge = Math.max(ackAge, now - replica.lastAckMillis);
+        }
+        out.gauge("replication_offset", "Replication stream offset written by this primary", offset);
+        out.gauge("replication_replicas", "Connected replicas", replicas.size());
+        out.gauge("replication_lag_bytes", "Stream bytes the slowest replica has not acknowledged", lag);
+        out.gauge("replication_ack_age_millis", "Time since the slowest replica last acknowledged", ackAge);
+    }
+
+    @Override
+    public String getStats() {
+        long offset = backlog.offset();
+        long now = System.currentTimeMillis();
+        String links = replicas.stream()
+                .map(r -> String.format("%s lagBytes=%d ackAgeMillis=%d", r.address,
+                        Math.max(0L, offset - r.ackedOffset), now - r.lastAckMillis))
+                .collect(Collectors.joining(", "));
+        return String.format(
+            "Replication Stats: [role=primary, replid=%s, offset=%d, backlogBytes=%d, replicas=%d, links=[%s]]",
+            replicationId, offset, backlog.capacity(), replicas.size(), links);
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private record Mutation(byte type, String key, Object value, long expireAt) {
+    }
+
+    private static final class StreamBuffer extends ByteArrayOutputStream {
+        StreamBuffer() {
+            super(1 << 16);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    // One connected replica: resync, then stream the backlog from its offset
+    private final class ReplicaLink {
+        private final Socket socket;
+        private final String address;
+        private volatile long ackedOffset;
+        private volatile long lastAckMillis = System.currentTimeMillis();
+
+        ReplicaLink(Socket socket) {
+            this.socket = socket;
+            this.address = socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+        }
+
+        void run() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), SEND_CHUNK_BYTES))) {
+                String requestedId = in.readUTF();
+                long requestedOffset = in.readLong();
+                long position;
+                if (requestedId.equals(replicationId) && backlog.contains(requestedOffset)) {
+                    out.writeByte(ReplicationProtocol.CONTINUE);
+                    out.flush();
+                    position = requestedOffset;
+                } else {
+                    position = fullResync(out);
+                }
+                ackedOffset = position;
+                daemon(() -> readAcks(in), "ReplicaAcks-" + address).start();
+                stream(out, position);
+            } catch (IOException | InterruptedException e) {
+                if (running) {
+                    log.info("Replica {} disconnected: {}", address, e.getMessage());
+                }
+            } finally {
+                close();
+            }
+        }
+
+        // The snapshot walk starts after the offset is taken, so replaying the stream from that
+        // offset on top of it converges to the primary's state
+        private long fullResync(DataOutputStream out) throws IOException {
+            long start = backlog.offset();
+            Path snapshot = Files.createTempFile("replication", ".snapshot");
+            try {
+                new SnapshotWriter(store, valueStorage, valueCodec).write(snapshot);
+                out.writeByte(ReplicationProtocol.FULLRESYNC);
+                out.writeUTF(replicationId);
+                out.writeLong(start);
+                out.writeLong(Files.size(snapshot));
+                Files.copy(snapshot, out);
+                out.flush();
+            } finally {
+                Files.deleteIfExists(snapshot);
+            }
+            return start;
+        }
+
+        private void stream(DataOutputStream out, long position) throws IOException, InterruptedException {
+            byte[] chunk = new byte[SEND_CHUNK_BYTES];
+            while (running) {
+                int n = backlog.read(position, chunk, PING_MILLIS);
+                if (n < 0) {
+                    // Fell out of the backlog; the replica reconnects and gets a full resync
+                    throw new IOException("replica fell behind the backlog at offset " + position);
+                }
+                if (n == 0) {
+                    out.writeByte(ReplicationProtocol.PING);
+                    out.writeLong(position);
+                } else {
+                    position += n;
+                    out.writeByte(ReplicationProtocol.DATA);
+                    out.writeLong(backlog.offset());
+                    out.writeInt(n);
+                    out.write(chunk, 0, n);
+                }
+                out.flush();
+            }
+        }
+
+        private void readAcks(DataInputStream in) {
+            try {
+                while (running) {
+                    ackedOffset = in.readLong();
+                    lastAckMillis = System.currentTimeMillis();
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            replicas.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.satya.distributedcache.replication;
+
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+
+// Role-specific replication state (offsets, lag) appended to the cache stats and metrics exports
+public interface ReplicationStatus {
+
+    void writeMetrics(MetricsWriter out);
+
+    String getStats();
+}
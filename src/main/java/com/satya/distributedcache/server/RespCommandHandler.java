@@ -0,0 +1,252 @@
+package com.satya.distributedcache.server;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.SetCondition;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.cache.facade.SetResult;
+import com.satya.distributedcache.cache.storage.RawJson;
+import com.satya.distributedcache.replication.ReadOnlyReplicaException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Executes the supported RESP subset directly against the cache facade. Values written over RESP
+// are stored as the raw bytes the client sent, so any payload round-trips unchanged; non-string values
+// set through REST are returned as their JSON encoding.
+final class RespCommandHandler {
+
+    private final CacheFacade<String, Object> cache;
+    private final JsonMapper jsonMapper;
+
+    RespCommandHandler(CacheFacade<String, Object> cache, JsonMapper jsonMapper) {
+        this.cache = cache;
+        this.jsonMapper = jsonMapper;
+    }
+
+    // Returns false when the connection should be closed after the reply is flushed
+    boolean execute(List<byte[]> args, RespWriter w) {
+        String name = new String(args.get(0), StandardCharsets.US_ASCII).toUpperCase(Locale.ROOT);
+        try {
+            switch (name) {
+                case "PING" -> {
+                    if (args.size() > 1) {
+                        w.bulk(args.get(1));
+                    } else {
+                        w.simple("PONG");
+                    }
+                }
+                case "ECHO" -> {
+                    if (arity(args, 2, name, w)) {
+                        w.bulk(args.get(1));
+                    }
+                }
+                case "GET" -> {
+                    if (arity(args, 2, name, w)) {
+                        w.bulk(toBytes(cache.get(key(args, 1))));
+                    }
+                }
+                case "SET" -> set(args, w);
+                case "MGET" -> {
+                    if (minArity(args, 2, name, w)) {
+                        List<String> keys = new ArrayList<>(args.size() - 1);
+                        for (int i = 1; i < args.size(); i++) {
+                            keys.add(key(args, i));
+                        }
+                        // Nothing is written until every value is in hand, so a failure mid-batch
+                        // still leaves the client with one well-formed error reply
+                        List<byte[]> values = new ArrayList<>(keys.size());
+                        cache.mget(keys, (key, value) -> values.add(toBytes(value)));
+                        w.arrayHeader(values.size());
+                        for (byte[] value : values) {
+                            w.bulk(value);
+                        }
+                    }
+                }
+                case "MSET" -> {
+                    if (args.size() < 3 || args.size() % 2 == 0) {
+                        wrongArity(name, w);
+                    } else {
+                        Map<String, Object> entries = new LinkedHashMap<>();
+                        for (int i = 1; i < args.size(); i += 2) {
+                            entries.put(key(args, i), args.get(i + 1));
+                        }
+                        cache.mset(entries, -1L);
+                        w.simple("OK");
+                    }
+                }
+                case "DEL" -> {
+                    if (minArity(args, 2, name, w)) {
+                        long removed = 0;
+                        for (int i = 1; i < args.size(); i++) {
+                            if (cache.del(key(args, i))) {
+                                removed++;
+                            }
+                        }
+                        w.integer(removed);
+                    }
+                }
+                case "EXISTS" -> {
+                    if (minArity(args, 2, name, w)) {
+                        long found = 0;
+                        for (int i = 1; i < args.size(); i++) {
+                            if (cache.exists(key(args, i))) {
+                                found++;
+                            }
+                        }
+                        w.integer(found);
+                    }
+                }
+                case "EXPIRE", "PEXPIRE" -> {
+                    if (arity(args, 3, name, w)) {
+                        long ttl = number(args, 2);
+                        long ttlMillis = name.equals("EXPIRE") ? ttl * 1000 : ttl;
+                        w.integer(cache.expire(key(args, 1), ttlMillis) ? 1 : 0);
+                    }
+                }
+                case "EXPIREAT", "PEXPIREAT" -> {
+                    if (arity(args, 3, name, w)) {
+                        long at = number(args, 2);
+                        long epochMillis = name.equals("EXPIREAT") ? at * 1000 : at;
+                        w.integer(cache.expire(key(args, 1), epochMillis - System.currentTimeMillis()) ? 1 : 0);
+                    }
+                }
+                case "TTL", "PTTL" -> {
+                    if (arity(args, 2, name, w)) {
+                        long ttl = cache.ttl(key(args, 1));
+                        if (ttl < 0 || name.equals("PTTL")) {
+                            w.integer(ttl);
+                        } else {
+                            w.integer((ttl + 500) / 1000);
+                        }
+                    }
+                }
+                case "PERSIST" -> {
+                    if (arity(args, 2, name, w)) {
+                        w.integer(cache.persist(key(args, 1)) ? 1 : 0);
+                    }
+                }
+                // Handshake commands sent by redis-cli / redis-benchmark and common client libraries
+                case "COMMAND", "CONFIG" -> w.arrayHeader(0);
+                case "SELECT", "CLIENT" -> w.simple("OK");
+                case "QUIT" -> {
+                    w.simple("OK");
+                    return false;
+                }
+                default -> w.error("ERR unknown command '" + name.toLowerCase(Locale.ROOT) + "'");
+            }
+        } catch (NumberFormatException e) {
+            w.error("ERR value is not an integer or out of range");
+        } catch (ReadOnlyReplicaException e) {
+            w.error(e.getMessage());
+        } catch (RuntimeException e) {
+            w.error("ERR " + e.getMessage());
+        }
+        return true;
+    }
+
+    // SET key value [EX seconds | PX milliseconds | KEEPTTL] [NX | XX] [GET], applied in one atomic step
+    private void set(List<byte[]> args, RespWriter w) {
+        if (args.size() < 3) {
+            wrongArity("SET", w);
+            return;
+        }
+        String key = key(args, 1);
+        long ttlMillis = -1L;
+        boolean keepTtl = false;
+        boolean nx = false;
+        boolean xx = false;
+        boolean get = false;
+        for (int i = 3; i < args.size(); i++) {
+            String option = key(args, i).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "EX", "PX" -> {
+                    if (i + 1 >= args.size()) {
+                        w.error("ERR syntax error");
+                        return;
+                    }
+                    long ttl = number(args, ++i);
+                    if (ttl <= 0) {
+                        w.error("ERR invalid expire time in 'set' command");
+                        return;
+                    }
+                    ttlMillis = option.equals("EX") ? ttl * 1000 : ttl;
+                }
+                case "KEEPTTL" -> keepTtl = true;
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "GET" -> get = true;
+                default -> {
+                    w.error("ERR syntax error");
+                    return;
+                }
+            }
+        }
+        if ((nx && xx) || (keepTtl && ttlMillis >= 0)) {
+            w.error("ERR syntax error");
+            return;
+        }
+        SetCondition condition = nx ? SetCondition.IF_ABSENT : xx ? SetCondition.IF_PRESENT : SetCondition.ALWAYS;
+        // Plain SET discards any previous TTL
+        SetResult<Object> result = cache.setIf(key, args.get(2),
+                new SetOptions(condition, 0L, ttlMillis, keepTtl, get));
+        if (get) {
+            w.bulk(toBytes(result.previous()));
+        } else if (result.applied()) {
+            w.simple("OK");
+        } else {
+            w.nullBulk();
+        }
+    }
+
+    private byte[] toBytes(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (value instanceof RawJson json) {
+            return json.bytes();
+        }
+        if (value instanceof String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    private static String key(List<byte[]> args, int index) {
+        return new String(args.get(index), StandardCharsets.UTF_8);
+    }
+
+    private static long number(List<byte[]> args, int index) {
+        return Long.parseLong(new String(args.get(index), StandardCharsets.US_ASCII));
+    }
+
+    private static boolean arity(List<byte[]> args, int expected, String name, RespWriter w) {
+        if (args.size() != expected) {
+            wrongArity(name, w);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean minArity(List<byte[]> args, int minimum, String name, RespWriter w) {
+        if (args.size() < minimum) {
+            wrongArity(name, w);
+            return false;
+        }
+        return true;
+    }
+
+    private static void wrongArity(String name, RespWriter w) {
+        w.error("ERR wrong number of arguments for '" + name.toLowerCase(Locale.ROOT) + "' command");
+    }
+}
@@ -0,0 +1,121 @@
+package com.satya.distributedcache.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.List;
+
+// Per-client state, only touched by its event loop. Every complete command in a read is executed
+// before replies are flushed with one gathering write, so pipelined requests cost one syscall
+// each way. While replies are backed up the connection stops reading.
+final class RespConnection {
+
+    private static final int MAX_REQUEST_BYTES = 64 * 1024 * 1024;
+
+    private final SocketChannel channel;
+    private final BufferPool pool;
+    private final RespCommandHandler handler;
+    private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+    private final RespWriter writer;
+    private SelectionKey key;
+    // Held only while a partial request is buffered; idle connections keep no buffer
+    private ByteBuffer readBuffer;
+    private boolean closeAfterFlush;
+
+    RespConnection(SocketChannel channel, BufferPool pool, RespCommandHandler handler) {
+        this.channel = channel;
+        this.pool = pool;
+        this.handler = handler;
+        this.writer = new RespWriter(pool, out);
+    }
+
+    void attach(SelectionKey key) {
+        this.key = key;
+    }
+
+    void onReadable() throws IOException {
+        if (readBuffer == null) {
+            readBuffer = pool.acquire();
+        }
+        if (channel.read(readBuffer) < 0) {
+            close();
+            return;
+        }
+        readBuffer.flip();
+        try {
+            List<byte[]> command;
+            while (!closeAfterFlush && (command = RespParser.parse(readBuffer)) != null) {
+                if (!command.isEmpty() && !handler.execute(command, writer)) {
+                    closeAfterFlush = true;
+                }
+            }
+        } catch (RespProtocolException e) {
+            writer.error("ERR Protocol error: " + e.getMessage());
+            closeAfterFlush = true;
+        }
+        readBuffer.compact();
+        if (readBuffer.position() == 0) {
+            pool.release(readBuffer);
+            readBuffer = null;
+        } else if (!readBuffer.hasRemaining()) {
+            grow();
+        }
+        writer.finish();
+        flush();
+    }
+
+    void onWritable() throws IOException {
+        flush();
+    }
+
+    private void grow() throws IOException {
+        int capacity = readBuffer.capacity() * 2;
+        if (capacity > MAX_REQUEST_BYTES) {
+            throw new IOException("request exceeds " + MAX_REQUEST_BYTES + " bytes");
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        readBuffer.flip();
+        grown.put(readBuffer);
+        pool.release(readBuffer);
+        readBuffer = grown;
+    }
+
+    private void flush() throws IOException {
+        while (!out.isEmpty()) {
+            long written = channel.write(out.toArray(new ByteBuffer[0]));
+            while (!out.isEmpty() && !out.peekFirst().hasRemaining()) {
+                pool.release(out.pollFirst());
+            }
+            if (written == 0) {
+                break;
+            }
+        }
+        if (!out.isEmpty()) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (closeAfterFlush) {
+            close();
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    void close() {
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+        if (readBuffer != null) {
+            pool.release(readBuffer);
+            readBuffer = null;
+        }
+        writer.discard();
+        while (!out.isEmpty()) {
+            pool.release(out.pollFirst());
+        }
+    }
+}
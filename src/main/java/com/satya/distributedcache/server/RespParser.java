@@ -0,0 +1,138 @@
+package com.satya.distributedcache.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Incremental RESP request parser. Reads one command (a multibulk array, or an inline command as
+// sent by telnet) from a buffer in read mode. An incomplete frame leaves the position untouched and
+// returns null so the caller can wait for more bytes; pipelined commands are simply parsed in a loop.
+final class RespParser {
+
+    private static final long INCOMPLETE = Long.MIN_VALUE;
+    private static final int MAX_ARGS = 1024 * 1024;
+    private static final int MAX_BULK = 512 * 1024 * 1024;
+    private static final int MAX_LINE = 64;
+    private static final int MAX_INLINE = 64 * 1024;
+
+    private RespParser() {
+    }
+
+    static List<byte[]> parse(ByteBuffer buf) {
+        int start = buf.position();
+        if (!buf.hasRemaining()) {
+            return null;
+        }
+        if (buf.get(start) != '*') {
+            return parseInline(buf);
+        }
+        buf.position(start + 1);
+        long count = readLong(buf);
+        if (count == INCOMPLETE) {
+            buf.position(start);
+            return null;
+        }
+        if (count > MAX_ARGS) {
+            throw new RespProtocolException("invalid multibulk length");
+        }
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        List<byte[]> args = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            if (!buf.hasRemaining()) {
+                buf.position(start);
+                return null;
+            }
+            if (buf.get() != '$') {
+                throw new RespProtocolException("expected '$'");
+            }
+            long length = readLong(buf);
+            if (length == INCOMPLETE) {
+                buf.position(start);
+                return null;
+            }
+            if (length < 0 || length > MAX_BULK) {
+                throw new RespProtocolException("invalid bulk length");
+            }
+            if (buf.remaining() < length + 2) {
+                buf.position(start);
+                return null;
+            }
+            byte[] arg = new byte[(int) length];
+            buf.get(arg);
+            if (buf.get() != '\r' || buf.get() != '\n') {
+                throw new RespProtocolException("expected CRLF after bulk string");
+            }
+            args.add(arg);
+        }
+        return args;
+    }
+
+    // Reads an integer terminated by CRLF, or returns INCOMPLETE without a full line
+    private static long readLong(ByteBuffer buf) {
+        int start = buf.position();
+        int limit = buf.limit();
+        int end = -1;
+        for (int i = start; i < limit - 1 && i - start <= MAX_LINE; i++) {
+            if (buf.get(i) == '\r' && buf.get(i + 1) == '\n') {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            if (limit - start > MAX_LINE) {
+                throw new RespProtocolException("line too long");
+            }
+            return INCOMPLETE;
+        }
+        int i = start;
+        boolean negative = buf.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end) {
+            throw new RespProtocolException("invalid number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            byte b = buf.get(i);
+            if (b < '0' || b > '9') {
+                throw new RespProtocolException("invalid number");
+            }
+            value = value * 10 + (b - '0');
+        }
+        buf.position(end + 2);
+        return negative ? -value : value;
+    }
+
+    private static List<byte[]> parseInline(ByteBuffer buf) {
+        int start = buf.position();
+        int limit = buf.limit();
+        int end = -1;
+        for (int i = start; i < limit; i++) {
+            if (buf.get(i) == '\n') {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            if (limit - start > MAX_INLINE) {
+                throw new RespProtocolException("inline request too long");
+            }
+            return null;
+        }
+        byte[] line = new byte[end - start];
+        buf.get(line);
+        buf.get();
+        List<byte[]> args = new ArrayList<>();
+        for (String token : new String(line, StandardCharsets.UTF_8).trim().split("\\s+")) {
+            if (!token.isEmpty()) {
+                args.add(token.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return args;
+    }
+}
@@ -0,0 +1,9 @@
+package com.satya.distributedcache.server;
+
+// Malformed request framing; the connection answers with an error and is closed
+class RespProtocolException extends RuntimeException {
+
+    RespProtocolException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.satya.distributedcache.server;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+// Optional RESP (Redis protocol) listener next to the REST API, e.g. `redis-cli -p 6379 get foo`.
+// An acceptor thread hands connections round-robin to cache.resp.io-threads selector loops.
+@Component
+@ConditionalOnProperty(name = "cache.resp.enabled", havingValue = "true")
+public class RespServer {
+
+    private static final Logger log = LoggerFactory.getLogger(RespServer.class);
+
+    private final RespCommandHandler handler;
+
+    // RESP has no authentication; listen on loopback unless an interface for clients is configured
+    @Value("${cache.resp.host:127.0.0.1}")
+    private String host;
+
+    @Value("${cache.resp.port:6379}")
+    private int port;
+
+    @Value("${cache.resp.io-threads:2}")
+    private int ioThreads;
+
+    private ServerSocketChannel serverChannel;
+    private RespEventLoop[] loops;
+    private volatile boolean running;
+
+    public RespServer(CacheFacade<String, Object> cache, JsonMapper jsonMapper) {
+        this.handler = new RespCommandHandler(cache, jsonMapper);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(host, port), 1024);
+        loops = new RespEventLoop[Math.max(1, ioThreads)];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new RespEventLoop(handler);
+            daemon(loops[i], "RespEventLoop-" + i).start();
+        }
+        running = true;
+        daemon(this::acceptLoop, "RespAcceptor").start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException ignored) {
+        }
+        for (RespEventLoop loop : loops) {
+            loop.shutdown();
+        }
+    }
+
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("RESP accept failed", e);
+                }
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
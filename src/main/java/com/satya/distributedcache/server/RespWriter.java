@@ -0,0 +1,113 @@
+package com.satya.distributedcache.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+// Encodes RESP replies into pooled buffers queued on the connection. Large bulk values are not
+// copied: the value's own array is queued as-is between its header and trailer and goes out
+// in the same gathering write.
+final class RespWriter {
+
+    private static final int ZERO_COPY_THRESHOLD = 1024;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final BufferPool pool;
+    private final ArrayDeque<ByteBuffer> out;
+    private ByteBuffer current;
+
+    RespWriter(BufferPool pool, ArrayDeque<ByteBuffer> out) {
+        this.pool = pool;
+        this.out = out;
+    }
+
+    void simple(String value) {
+        put((byte) '+');
+        put(value.getBytes(StandardCharsets.UTF_8));
+        put(CRLF);
+    }
+
+    void error(String message) {
+        put((byte) '-');
+        put(message.getBytes(StandardCharsets.UTF_8));
+        put(CRLF);
+    }
+
+    void integer(long value) {
+        put((byte) ':');
+        put(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        put(CRLF);
+    }
+
+    void arrayHeader(int length) {
+        put((byte) '*');
+        put(Integer.toString(length).getBytes(StandardCharsets.US_ASCII));
+        put(CRLF);
+    }
+
+    void nullBulk() {
+        put(new byte[]{'$', '-', '1', '\r', '\n'});
+    }
+
+    void bulk(byte[] value) {
+        if (value == null) {
+            nullBulk();
+            return;
+        }
+        put((byte) '$');
+        put(Integer.toString(value.length).getBytes(StandardCharsets.US_ASCII));
+        put(CRLF);
+        if (value.length >= ZERO_COPY_THRESHOLD) {
+            finish();
+            out.addLast(ByteBuffer.wrap(value));
+        } else {
+            put(value);
+        }
+        put(CRLF);
+    }
+
+    // Queues whatever is buffered so the connection can flush it
+    void finish() {
+        if (current == null) {
+            return;
+        }
+        if (current.position() == 0) {
+            pool.release(current);
+        } else {
+            current.flip();
+            out.addLast(current);
+        }
+        current = null;
+    }
+
+    // Returns an unfinished buffer to the pool when the connection closes
+    void discard() {
+        if (current != null) {
+            pool.release(current);
+            current = null;
+        }
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        current.put(b);
+    }
+
+    private void put(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int n = Math.min(current.remaining(), bytes.length - offset);
+            current.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (current != null && current.remaining() >= bytes) {
+            return;
+        }
+        finish();
+        current = pool.acquire();
+    }
+}
@@ -1,30 +1,149 @@
 package com.satya.distributedcache.service;
 
 import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.SetCondition;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.cache.facade.SetResult;
+import com.satya.distributedcache.cache.hotkeys.HotKey;
+import com.satya.distributedcache.cache.hotkeys.HotKeyTracker;
+import com.satya.distributedcache.cache.metrics.JsonMetricsWriter;
+import com.satya.distributedcache.cache.metrics.MetricsWriter;
+import com.satya.distributedcache.cache.metrics.PrometheusMetricsWriter;
+import com.satya.distributedcache.cache.scan.BulkDeleteJob;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cache.scheduler.BackgroundScheduler;
+import com.satya.distributedcache.cache.storage.RawJson;
+import com.satya.distributedcache.cache.storage.ValueStorage;
+import com.satya.distributedcache.cache.types.DataCommand;
+import com.satya.distributedcache.replication.ReplicationStatus;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 @Service
 public class CacheService {
 
+    private static final int MAX_RETAINED_DELETE_JOBS = 64;
+
     private final CacheFacade<String, Object> cache;
 
-    public CacheService(CacheFacade<String, Object> cache) {
+    // Present only when this node is a replication primary or replica
+    private final ObjectProvider<ReplicationStatus> replication;
+
+    private final InvalidationPublisher invalidationPublisher;
+
+    private final ObjectProvider<HotKeyTracker<String>> hotKeyTracker;
+
+    private final BackgroundScheduler backgroundScheduler;
+
+    private final ValueStorage valueStorage;
+
+    private final JsonMapper jsonMapper;
+
+    // Bulk delete throttle: keys examined per background step, and the pause before the next step
+    @Value("${cache.scan.delete-batch-size:500}")
+    private int deleteBatchSize;
+
+    @Value("${cache.scan.delete-pause-millis:10}")
+    private long deletePauseMillis;
+
+    // Recent bulk delete jobs by id, kept for status queries
+    private final Map<Long, BulkDeleteJob> deleteJobs = new ConcurrentHashMap<>();
+
+    private final AtomicLong deleteJobIds = new AtomicLong();
+
+    public CacheService(CacheFacade<String, Object> cache, ObjectProvider<ReplicationStatus> replication,
+                        InvalidationPublisher invalidationPublisher, ObjectProvider<HotKeyTracker<String>> hotKeyTracker,
+                        BackgroundScheduler backgroundScheduler, ValueStorage valueStorage, JsonMapper jsonMapper) {
         this.cache = cache;
+        this.replication = replication;
+        this.invalidationPublisher = invalidationPublisher;
+        this.hotKeyTracker = hotKeyTracker;
+        this.backgroundScheduler = backgroundScheduler;
+        this.valueStorage = valueStorage;
+        this.jsonMapper = jsonMapper;
     }
 
     public Object get(String key) {
         return cache.get(key);
     }
 
+    // Whether invalidations for the key are published from this node (see InvalidationPublisher)
+    public boolean observesWrites(String key) {
+        return cache.observesWrites(key);
+    }
+
     public void put(String key, Object value) {
         cache.set(key, value);
     }
 
+    // A JSON request body; byte-oriented storage keeps it as sent, otherwise it is deserialized as before.
+    // Malformed JSON surfaces as a JacksonException either way.
+    public void putJson(String key, byte[] json) {
+        put(key, valueStorage.acceptsRawJson() ? RawJson.parse(jsonMapper, json) : jsonMapper.readValue(json, Object.class));
+    }
+
+    public void multiGet(Collection<String> keys, BiConsumer<String, Object> sink) {
+        cache.mget(keys, sink);
+    }
+
+    public void multiPut(Map<String, Object> entries, Long ttlMillis) {
+        cache.mset(entries, ttlMillis == null ? -1L : ttlMillis);
+    }
+
     public void remove(String key) {
         cache.del(key);
     }
 
+    public long flushNamespace(String namespace) {
+        return cache.flushNamespace(namespace);
+    }
+
+    public ScanResult<String> scan(long cursor, String match, int count) {
+        return cache.scan(cursor, match, count);
+    }
+
+    // Starts a background purge of the keys matching the pattern and returns its initial status
+    public BulkDeleteJob.Status deleteMatching(String match) {
+        pruneDeleteJobs();
+        BulkDeleteJob job = new BulkDeleteJob(deleteJobIds.incrementAndGet(), match, cache, backgroundScheduler,
+                deleteBatchSize, deletePauseMillis);
+        deleteJobs.put(job.status().id(), job);
+        job.start();
+        return job.status();
+    }
+
+    // null when the job is unknown or has been pruned
+    public BulkDeleteJob.@Nullable Status deleteJob(long id) {
+        BulkDeleteJob job = deleteJobs.get(id);
+        return job == null ? null : job.status();
+    }
+
+    public BulkDeleteJob.@Nullable Status cancelDeleteJob(long id) {
+        BulkDeleteJob job = deleteJobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        job.cancel();
+        return job.status();
+    }
+
+    private void pruneDeleteJobs() {
+        if (deleteJobs.size() >= MAX_RETAINED_DELETE_JOBS) {
+            deleteJobs.values().removeIf(BulkDeleteJob::isFinished);
+        }
+    }
+
     public boolean exists(String key) {
         return cache.exists(key);
     }
@@ -39,15 +158,94 @@ public class CacheService {
 
     //xx -> set if exist
     public boolean conditionalPut(String key, Object value, Long ttlMillis, boolean xx) {
-        if(ttlMillis == null){
-            ttlMillis = -1L;
-        }
-        if((xx && !cache.exists(key) || (!xx && cache.exists(key)))) {
-            return false;
-        }
-        put(key, value);
-        expire(key, ttlMillis);
-        return true;
+        SetCondition condition = xx ? SetCondition.IF_PRESENT : SetCondition.IF_ABSENT;
+        return cache.setIf(key, value, SetOptions.of(condition, ttlMillis == null ? -1L : ttlMillis)).applied();
+    }
+
+    public SetResult<Object> setIf(String key, Object value, SetOptions options) {
+        return cache.setIf(key, value, options);
+    }
+
+    public long version(String key) {
+        return cache.version(key);
+    }
+
+    // Server-side structures: one call per change instead of GET, modify on the client, POST back
+
+    public long increment(String key, long delta) {
+        return ((Number) cache.execute(key, DataCommand.of("INCRBY", delta))).longValue();
+    }
+
+    public long hashSet(String key, Map<String, Object> fields) {
+        List<Object> args = new ArrayList<>(fields.size() * 2);
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        return ((Number) cache.execute(key, new DataCommand("HSET", args))).longValue();
+    }
+
+    public Object hashGet(String key, String field) {
+        return cache.execute(key, DataCommand.of("HGET", field));
+    }
+
+    // null when the key is missing
+    public Object hashGetAll(String key) {
+        return cache.execute(key, DataCommand.of("HGETALL"));
+    }
+
+    public long hashDelete(String key, String field) {
+        return ((Number) cache.execute(key, DataCommand.of("HDEL", field))).longValue();
+    }
+
+    public long hashIncrement(String key, String field, long delta) {
+        return ((Number) cache.execute(key, DataCommand.of("HINCRBY", field, delta))).longValue();
+    }
+
+    public long listPush(String key, boolean left, List<Object> values) {
+        return ((Number) cache.execute(key, new DataCommand(left ? "LPUSH" : "RPUSH", values))).longValue();
+    }
+
+    public Object listPop(String key, boolean left, int count) {
+        return cache.execute(key, DataCommand.of(left ? "LPOP" : "RPOP", count));
+    }
+
+    public Object listRange(String key, long start, long stop) {
+        return cache.execute(key, DataCommand.of("LRANGE", start, stop));
+    }
+
+    public long sortedSetAdd(String key, Map<String, Double> scores) {
+        List<Object> args = new ArrayList<>(scores.size() * 2);
+        scores.forEach((member, score) -> {
+            args.add(score);
+            args.add(member);
+        });
+        return ((Number) cache.execute(key, new DataCommand("ZADD", args))).longValue();
+    }
+
+    public double sortedSetIncrement(String key, String member, double delta) {
+        return ((Number) cache.execute(key, DataCommand.of("ZINCRBY", delta, member))).doubleValue();
+    }
+
+    public long sortedSetRemove(String key, String member) {
+        return ((Number) cache.execute(key, DataCommand.of("ZREM", member))).longValue();
+    }
+
+    // null when the member (or the key) is missing
+    public Object sortedSetScore(String key, String member) {
+        return cache.execute(key, DataCommand.of("ZSCORE", member));
+    }
+
+    public Object sortedSetRank(String key, String member, boolean reverse) {
+        return cache.execute(key, DataCommand.of(reverse ? "ZREVRANK" : "ZRANK", member));
+    }
+
+    public Object sortedSetRange(String key, long start, long stop, boolean reverse) {
+        return cache.execute(key, DataCommand.of(reverse ? "ZREVRANGE" : "ZRANGE", start, stop));
+    }
+
+    public Object sortedSetRangeByScore(String key, double min, double max, int offset, int count) {
+        return cache.execute(key, DataCommand.of("ZRANGEBYSCORE", min, max, offset, count));
     }
 
     public boolean expireAt(String key, long epochMillis) {
@@ -68,6 +266,37 @@ public class CacheService {
     }
 
     public Object getStats() {
-        return cache.getStats();
+        String stats = cache.getStats() + " " + backgroundScheduler.getStats() + " " + invalidationPublisher.getStats();
+        ReplicationStatus status = replication.getIfAvailable();
+        return status == null ? stats : stats + " " + status.getStats();
+    }
+
+    // Metric name -> value (latencies as a count/mean/percentile object)
+    public Map<String, Object> metricsJson() {
+        JsonMetricsWriter out = new JsonMetricsWriter();
+        writeMetrics(out);
+        return out.toMap();
+    }
+
+    // Prometheus text exposition format
+    public String metricsPrometheus() {
+        PrometheusMetricsWriter out = new PrometheusMetricsWriter();
+        writeMetrics(out);
+        return out.toString();
+    }
+
+    private void writeMetrics(MetricsWriter out) {
+        cache.writeMetrics(out);
+        backgroundScheduler.writeMetrics(out);
+        ReplicationStatus status = replication.getIfAvailable();
+        if (status != null) {
+            status.writeMetrics(out);
+        }
+    }
+
+    // Window ("10s", "60s", ...) -> hottest keys; null when tracking is disabled
+    public @Nullable Map<String, List<HotKey<String>>> hotKeys(int limit) {
+        HotKeyTracker<String> tracker = hotKeyTracker.getIfAvailable();
+        return tracker == null ? null : tracker.topKeys(limit);
     }
 }
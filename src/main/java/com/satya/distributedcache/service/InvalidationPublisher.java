@@ -0,0 +1,245 @@
+package com.satya.distributedcache.service;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.cache.facade.MutationListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pushes the keys whose value changed (set, del, TTL change or expiry) to every subscribed
+// near-cache as server-sent events. Keys are queued per subscriber on the writing thread and sent by
+// that subscriber's own sender thread, several keys per event when writes come in bursts, so a slow
+// client never holds up the others. A namespace flush goes out as a "flush" event carrying key
+// prefixes, since the flushed keys are never enumerated.
+//
+// A subscriber whose queue overflows, or whose send stalls past the send timeout, is disconnected
+// rather than left to miss invalidations: its near-cache drops everything when the stream ends.
+//
+// In a cluster only this node's own writes are published, i.e. keys it owns. Reads of other keys are
+// served with Cache-Control: no-store (CacheFacade.observesWrites), so near-caches never hold a key
+// whose invalidations go to another node's subscribers.
+@Service
+public class InvalidationPublisher implements MutationListener<String, Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationPublisher.class);
+
+    private static final int MAX_KEYS_PER_EVENT = 1024;
+
+    private final CacheFacade<String, Object> cache;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+    private final AtomicLong subscriberIds = new AtomicLong();
+
+    @Value("${cache.invalidation.heartbeat-millis:15000}")
+    private long heartbeatMillis;
+
+    // Invalidations buffered per subscriber before it counts as fallen behind
+    @Value("${cache.invalidation.subscriber-queue:10000}")
+    private int subscriberQueue;
+
+    @Value("${cache.invalidation.send-timeout-millis:5000}")
+    private long sendTimeoutMillis;
+
+    @Value("${cache.namespace.separator::}")
+    private String namespaceSeparator;
+
+    private volatile boolean running;
+
+    public InvalidationPublisher(CacheFacade<String, Object> cache) {
+        this.cache = cache;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread watchdog = new Thread(this::watchSends, "InvalidationWatchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        cache.addMutationListener(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // The "subscribed" event tells the client that invalidations from here on will reach it
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, subscriberQueue);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        emitter.send(SseEmitter.event().name("subscribed").data(""));
+        Thread sender = new Thread(subscriber::run, "InvalidationSender-" + subscriberIds.incrementAndGet());
+        sender.setDaemon(true);
+        sender.start();
+        return emitter;
+    }
+
+    @Override
+    public void onSet(String key, Object value) {
+        enqueue(new Invalidation(key, false));
+    }
+
+    @Override
+    public void onDelete(String key) {
+        enqueue(new Invalidation(key, false));
+    }
+
+    @Override
+    public void onExpire(String key, long expireAt) {
+        enqueue(new Invalidation(key, false));
+    }
+
+    @Override
+    public void onPersist(String key) {
+        // The value is unchanged; near-caches hold values, not TTLs
+    }
+
+    @Override
+    public void onTtlElapsed(String key) {
+        enqueue(new Invalidation(key, false));
+    }
+
+    @Override
+    public void onNamespaceFlush(String namespace) {
+        enqueue(new Invalidation(namespace + namespaceSeparator, true));
+    }
+
+    // Runs under the key's bin lock: never blocks, a full queue only marks its subscriber for disconnect
+    private void enqueue(Invalidation invalidation) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(invalidation)) {
+                drop(subscriber, "fell more than " + subscriberQueue + " invalidations behind");
+            }
+        }
+    }
+
+    // Stops fanning out to the subscriber at once; its sender ends the stream
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.dropped = true;
+            disconnected.incrementAndGet();
+            log.warn("Disconnecting near-cache subscriber: {}", reason);
+        }
+    }
+
+    // A send blocked on a client that stopped reading would never notice its queue overflowing
+    private void watchSends() {
+        while (running) {
+            try {
+                Thread.sleep(Math.max(10L, Math.min(sendTimeoutMillis / 2, 1000L)));
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            for (Subscriber subscriber : subscribers) {
+                long since = subscriber.sendingSince;
+                if (since != 0L && now - since > sendTimeoutMillis) {
+                    drop(subscriber, "send blocked for more than " + sendTimeoutMillis + " ms");
+                    subscriber.emitter.completeWithError(new IOException("invalidation send timed out"));
+                }
+            }
+        }
+    }
+
+    public String getStats() {
+        long pending = 0;
+        for (Subscriber subscriber : subscribers) {
+            pending += subscriber.queue.size();
+        }
+        return String.format("Invalidation Stats: [subscribers=%d, published=%d, pending=%d, disconnected=%d]",
+                subscribers.size(), published.get(), pending, disconnected.get());
+    }
+
+    private record Invalidation(String key, boolean prefix) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Invalidation> queue;
+        private volatile boolean dropped;
+        // Start of the send in progress, 0 while idle
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void run() {
+            Set<String> keys = new LinkedHashSet<>();
+            Set<String> prefixes = new LinkedHashSet<>();
+            List<Invalidation> drained = new ArrayList<>(MAX_KEYS_PER_EVENT);
+            try {
+                while (running && !dropped) {
+                    Invalidation first = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (dropped) {
+                        break;
+                    }
+                    if (first == null) {
+                        send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    drained.add(first);
+                    queue.drainTo(drained, MAX_KEYS_PER_EVENT - 1);
+                    // Near-caches only drop entries, so keys and prefixes of one batch need no relative order
+                    for (Invalidation invalidation : drained) {
+                        (invalidation.prefix() ? prefixes : keys).add(invalidation.key());
+                    }
+                    if (!keys.isEmpty()) {
+                        send(SseEmitter.event().name("invalidate").data(List.copyOf(keys), MediaType.APPLICATION_JSON));
+                        published.addAndGet(keys.size());
+                    }
+                    if (!prefixes.isEmpty()) {
+                        send(SseEmitter.event().name("flush").data(List.copyOf(prefixes), MediaType.APPLICATION_JSON));
+                    }
+                    keys.clear();
+                    prefixes.clear();
+                    drained.clear();
+                }
+                if (dropped) {
+                    // Ending the stream makes the client clear its near-cache before it resubscribes
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                subscribers.remove(this);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                queue.clear();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendingSince = 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.eviction.AsyncEvictionManager;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.expiry.TimerWheel;
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import com.satya.distributedcache.cache.persistence.AofManager;
+import com.satya.distributedcache.cache.scheduler.BackgroundScheduler;
+import com.satya.distributedcache.cache.storage.HeapValueStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "cache.aof.enabled=true",
+        "cache.aof.path=target/aof-it/cache.aof",
+        "cache.aof.fsync=always"
+})
+class AofIntegrationTest extends MockMvcTestSupport {
+
+    @Autowired
+    AofManager aofManager;
+
+    // Owned by the scratch facade of the current test
+    BackgroundScheduler scratchScheduler;
+    AsyncEvictionManager<String, Object> scratchEviction;
+
+    @BeforeAll
+    static void removeOldLog() throws Exception {
+        Files.deleteIfExists(Path.of("target/aof-it/cache.aof"));
+    }
+
+    @AfterEach
+    void closeScratch() {
+        if (scratchScheduler != null) {
+            scratchScheduler.close();
+            scratchEviction.close();
+        }
+    }
+
+    // A standalone facade (no ticker) to replay the log into
+    private LocalCacheFacade scratchCache() {
+        scratchScheduler = new BackgroundScheduler("AofScratch", 1, 50);
+        scratchEviction = new AsyncEvictionManager<>(10_000, new LRUEvictionStrategy<>());
+        return new LocalCacheFacade(new MapCache<>(10_000, scratchEviction),
+                new TimerWheel<>(), new HeapValueStorage(), scratchScheduler);
+    }
+
+    @Test
+    void log_replays_sets_deletes_and_ttls() throws Exception {
+        mvc.perform(post(path("/aof1")).contentType(MediaType.APPLICATION_JSON).content("{\"v\":1}"))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/aof2")).contentType(MediaType.TEXT_PLAIN).content("two"))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/aof3")).contentType(MediaType.TEXT_PLAIN).content("three"))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/expire/aof1/60000"))).andExpect(status().isOk());
+        mvc.perform(post(path("/expire/aof2/60000"))).andExpect(status().isOk());
+        mvc.perform(post(path("/persist/aof2"))).andExpect(status().isOk());
+        mvc.perform(delete(path("/aof3"))).andExpect(status().isNoContent());
+        aofManager.sync();
+
+        LocalCacheFacade replayed = scratchCache();
+        aofManager.replayInto(replayed);
+
+        assertThat(replayed.get("aof1")).isEqualTo(Map.of("v", 1));
+        assertThat(replayed.ttl("aof1")).isBetween(1L, 60000L);
+        assertThat(replayed.get("aof2")).isEqualTo("two");
+        assertThat(replayed.ttl("aof2")).isEqualTo(-1L);
+        assertThat(replayed.exists("aof3")).isFalse();
+    }
+
+    @Test
+    void rewrite_compacts_overwrites_without_losing_state() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            mvc.perform(post(path("/aofHot")).contentType(MediaType.TEXT_PLAIN).content("value-" + i))
+                    .andExpect(status().isOk());
+        }
+        aofManager.sync();
+        long before = aofManager.size();
+
+        aofManager.rewrite().get(10, TimeUnit.SECONDS);
+        mvc.perform(post(path("/aofAfter")).contentType(MediaType.TEXT_PLAIN).content("after"))
+                .andExpect(status().isOk());
+        aofManager.sync();
+
+        assertThat(aofManager.size()).isLessThan(before);
+        LocalCacheFacade replayed = scratchCache();
+        aofManager.replayInto(replayed);
+        assertThat(replayed.get("aofHot")).isEqualTo("value-499");
+        assertThat(replayed.get("aofAfter")).isEqualTo("after");
+    }
+}
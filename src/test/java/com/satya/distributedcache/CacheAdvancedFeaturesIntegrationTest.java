@@ -1,35 +1,33 @@
 package com.satya.distributedcache;
 
-import org.junit.jupiter.api.BeforeEach;
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.facade.SetCondition;
+import com.satya.distributedcache.cache.facade.SetOptions;
+import com.satya.distributedcache.service.CacheService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
-class CacheAdvancedFeaturesIntegrationTest {
+class CacheAdvancedFeaturesIntegrationTest extends MockMvcTestSupport {
 
     @Autowired
-    WebApplicationContext wac;
-
-    MockMvc mvc;
-
-    @BeforeEach
-    void setup() {
-        this.mvc = MockMvcBuilders.webAppContextSetup(wac).build();
-    }
+    CacheService cacheService;
 
-    private String path(String p) {
-        return "/api/v1" + p;
-    }
+    @Autowired
+    LocalCacheFacade cacheFacade;
 
     private int parseSize(String stats) {
         // Example: "MapCache Stats: [size=0, maxSize=2000000, LRU Strategy Stats: ...]"
@@ -47,6 +45,44 @@ class CacheAdvancedFeaturesIntegrationTest {
         assertThat(stats).contains("MapCache Stats:");
     }
 
+    @Test
+    void stats_endpoint_exports_json_and_prometheus_metrics() throws Exception {
+        mvc.perform(post(path("/metricsKey")).contentType(MediaType.TEXT_PLAIN).content("m"))
+                .andExpect(status().isOk());
+        mvc.perform(get(path("/metricsKey"))).andExpect(status().isOk());
+        mvc.perform(get(path("/metricsMissing")));
+
+        String json = mvc.perform(get(path("/stats")).param("format", "json"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(json).contains("\"cache_hits_total\":", "\"cache_misses_total\":", "\"cache_size\":",
+                "\"cache_get_latency_seconds\":{\"count\":");
+        assertThat(json).doesNotContain("\"cache_hits_total\":0,", "\"cache_puts_total\":0,");
+
+        MvcResult res = mvc.perform(get(path("/stats")).param("format", "prometheus"))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(res.getResponse().getContentType()).startsWith("text/plain");
+        String text = res.getResponse().getContentAsString();
+        assertThat(text).contains("# TYPE cache_hits_total counter\n", "# TYPE cache_size gauge\n",
+                "cache_get_latency_seconds{quantile=\"0.99\"} ", "cache_set_latency_seconds_count ",
+                "expiry_timers_scheduled ");
+    }
+
+    @Test
+    void hotkeys_endpoint_ranks_the_hammered_key_first() throws Exception {
+        mvc.perform(post(path("/hotOne")).contentType(MediaType.TEXT_PLAIN).content("hot"))
+                .andExpect(status().isOk());
+        for (int i = 0; i < 3000; i++) {
+            mvc.perform(get(path("/hotOne")));
+            if (i % 30 == 0) {
+                mvc.perform(get(path("/lukewarm" + i)));
+            }
+        }
+        String body = mvc.perform(get(path("/stats/hotkeys")).param("limit", "3"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(body).startsWith("{\"10s\":[{\"key\":\"hotOne\",\"readsPerSecond\":");
+        assertThat(body).contains("\"60s\":[{\"key\":\"hotOne\"");
+    }
+
     @Test
     void ttl_purger_expires_without_reads_and_stats_reflects_cleanup() throws Exception {
         // Baseline size
@@ -133,6 +169,74 @@ class CacheAdvancedFeaturesIntegrationTest {
         mvc.perform(get(path("/" + k2))).andExpect(status().isNotFound());
     }
 
+    @Test
+    void set_if_returns_previous_value_and_compares_versions() throws Exception {
+        String k = "cas1";
+        mvc.perform(delete(path("/" + k))).andReturn();
+
+        String first = mvc.perform(post(path("/setIf/" + k)).param("mode", "nx").param("ttl", "5000")
+                        .contentType(MediaType.APPLICATION_JSON).content("\"a\""))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(first).startsWith("{\"applied\":true,\"version\":");
+        long version = Long.parseLong(mvc.perform(get(path("/version/" + k)))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        assertThat(version).isPositive();
+        assertThat(Long.parseLong(mvc.perform(get(path("/ttl/" + k)))
+                .andReturn().getResponse().getContentAsString())).isPositive();
+
+        // CAS with the current version wins once and hands back the replaced value; the stale retry loses
+        String swapped = mvc.perform(post(path("/setIf/" + k)).param("version", String.valueOf(version)).param("get", "true")
+                        .contentType(MediaType.APPLICATION_JSON).content("\"b\""))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(swapped).contains("\"applied\":true", "\"previous\":\"a\"");
+        String stale = mvc.perform(post(path("/setIf/" + k)).param("version", String.valueOf(version))
+                        .contentType(MediaType.APPLICATION_JSON).content("\"c\""))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(stale).contains("\"applied\":false").doesNotContain("\"version\":" + version + ",");
+        assertThat(mvc.perform(get(path("/" + k))).andReturn().getResponse().getContentAsString()).isEqualTo("b");
+
+        mvc.perform(post(path("/setIf/" + k)).param("mode", "nx").param("version", "1")
+                        .contentType(MediaType.APPLICATION_JSON).content("\"d\""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void del_if_version_only_removes_the_version_it_was_given() {
+        String k = "cad1";
+        cacheFacade.set(k, "a");
+        long stale = cacheFacade.version(k);
+        cacheFacade.set(k, "b");
+
+        assertThat(cacheFacade.delIfVersion(k, stale)).isFalse();
+        assertThat(cacheFacade.get(k)).isEqualTo("b");
+        assertThat(cacheFacade.delIfVersion(k, cacheFacade.version(k))).isTrue();
+        assertThat(cacheFacade.exists(k)).isFalse();
+        assertThat(cacheFacade.delIfVersion(k, stale)).isFalse();
+    }
+
+    @Test
+    void concurrent_nx_writers_have_exactly_one_winner() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 50; round++) {
+                String k = "nxrace" + round;
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    String value = "w" + t;
+                    results.add(pool.submit(() -> cacheService.setIf(k, value,
+                            SetOptions.of(SetCondition.IF_ABSENT, 1000)).applied()));
+                }
+                int winners = 0;
+                for (Future<Boolean> result : results) {
+                    winners += result.get() ? 1 : 0;
+                }
+                assertThat(winners).isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     @Test
     void expireAt_past_expires_immediately_and_future_sets_ttl() throws Exception {
         String k = "expat1";
@@ -210,5 +314,28 @@ class CacheAdvancedFeaturesIntegrationTest {
         // key should still exist if purger honors the latest ttl
         mvc.perform(get(path("/" + k))).andExpect(status().isOk());
     }
-}
 
+    @Test
+    void set_after_expiry_does_not_inherit_old_ttl() throws Exception {
+        String k = "reset1";
+        mvc.perform(post(path("/" + k))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"old\""))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/expire/" + k + "/0")))
+                .andExpect(status().isOk());
+
+        // write again before (or after) the purger gets to the expired entry
+        mvc.perform(post(path("/" + k))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("\"new\""))
+                .andExpect(status().isOk());
+
+        MvcResult get = mvc.perform(get(path("/" + k)))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(get.getResponse().getContentAsString()).isEqualTo("new");
+        MvcResult ttl = mvc.perform(get(path("/ttl/" + k)))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(Long.parseLong(ttl.getResponse().getContentAsString())).isEqualTo(-1L);
+    }
+}
@@ -1,35 +1,18 @@
 package com.satya.distributedcache;
 
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.web.context.WebApplicationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
-class CacheControllerIntegrationTest {
-
-    @Autowired
-    WebApplicationContext wac;
-
-    MockMvc mvc;
-
-    @BeforeEach
-    void setup() {
-        this.mvc = MockMvcBuilders.webAppContextSetup(wac).build();
-    }
-
-    private String path(String p) {
-        return "/api/v1" + p;
-    }
+class CacheControllerIntegrationTest extends MockMvcTestSupport {
 
     @Test
     void health() throws Exception {
@@ -171,5 +154,48 @@ class CacheControllerIntegrationTest {
         assertThat(exists.getResponse().getContentAsString()).isEqualTo("false");
     }
 
-}
 
+    @Test
+    void mset_then_mget_streams_values_and_nulls_for_missing() throws Exception {
+        mvc.perform(post(path("/_mset"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mk1\":\"a\",\"mk2\":{\"n\":2},\"mk3\":[1,2]}"))
+                .andExpect(status().isOk());
+
+        MvcResult started = mvc.perform(post(path("/_mget"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"mk1\",\"missing\",\"mk2\",\"mk3\"]"))
+                .andExpect(request().asyncStarted()).andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(body).isEqualTo("{\"mk1\":\"a\",\"missing\":null,\"mk2\":{\"n\":2},\"mk3\":[1,2]}");
+    }
+
+    @Test
+    void mget_writes_a_repeated_key_once() throws Exception {
+        mvc.perform(post(path("/dk1")).contentType(MediaType.APPLICATION_JSON).content("1"))
+                .andExpect(status().isOk());
+
+        MvcResult started = mvc.perform(post(path("/_mget"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"dk1\",\"dk2\",\"dk1\",\"dk2\"]"))
+                .andExpect(request().asyncStarted()).andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(body).isEqualTo("{\"dk1\":1,\"dk2\":null}");
+    }
+
+    @Test
+    void mset_with_ttl_applies_to_every_key() throws Exception {
+        mvc.perform(post(path("/_mset")).param("ttl", "60000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tk1\":1,\"tk2\":2}"))
+                .andExpect(status().isOk());
+
+        for (String key : new String[]{"tk1", "tk2"}) {
+            long ttl = Long.parseLong(mvc.perform(get(path("/ttl/" + key)))
+                    .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+            assertThat(ttl).isBetween(1L, 60000L);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.facade.LocalCacheFacade;
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.cache.scan.ScanResult;
+import com.satya.distributedcache.cluster.ClusterNode;
+import com.satya.distributedcache.cluster.ClusteredCacheFacade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs real nodes in one JVM, each in its own application context talking over localhost
+class ClusterIntegrationTest {
+
+    private static final String SECRET = "cluster-it-secret";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @AfterEach
+    void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private ConfigurableApplicationContext startNode(ClusterNode self, List<ClusterNode> members) {
+        String nodes = members.stream().map(ClusterNode::toString).collect(Collectors.joining(","));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DistributedCacheApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "cache.cluster.enabled=true",
+                        "cache.cluster.node-id=" + self.id(),
+                        "cache.cluster.host=127.0.0.1",
+                        "cache.cluster.secret=" + SECRET,
+                        "cache.cluster.port=" + self.port(),
+                        "cache.cluster.nodes=" + nodes,
+                        "cache.cluster.handoff-millis=500")
+                .run();
+        contexts.add(context);
+        return context;
+    }
+
+    private static ClusteredCacheFacade facade(ConfigurableApplicationContext context) {
+        return context.getBean(ClusteredCacheFacade.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long localSize(ConfigurableApplicationContext context) {
+        return context.getBean(Cache.class).size();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void keysAreShardedAcrossNodesAndSurviveMembershipChanges() throws Exception {
+        List<ClusterNode> members = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            members.add(new ClusterNode("n" + i, "127.0.0.1", freePort()));
+        }
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        for (ClusterNode member : members) {
+            nodes.add(startNode(member, members));
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            values.put("key-" + i, "value-" + i);
+        }
+        // Writes through one node land on their owners; reads through any node find them
+        ClusteredCacheFacade first = facade(nodes.get(0));
+        values.forEach(first::set);
+        first.mset(Map.of("batch-1", "b1", "batch-2", "b2"), 60000);
+        values.put("batch-1", "b1");
+        values.put("batch-2", "b2");
+        for (ConfigurableApplicationContext node : nodes) {
+            assertThat(localSize(node)).isGreaterThan(0);
+        }
+        assertThat(nodes.stream().mapToLong(ClusterIntegrationTest::localSize).sum()).isEqualTo(values.size());
+        ClusteredCacheFacade third = facade(nodes.get(2));
+        values.forEach((key, value) -> assertThat(third.get(key)).isEqualTo(value));
+        // Only owned keys may be kept by near-caches subscribed to a node
+        for (String key : values.keySet()) {
+            assertThat(third.observesWrites(key)).isEqualTo(third.ownerOf(key).equals(members.get(2)));
+        }
+        Map<String, Object> fetched = new LinkedHashMap<>();
+        facade(nodes.get(1)).mget(values.keySet(), fetched::put);
+        assertThat(fetched).isEqualTo(values);
+        assertThat(third.ttl("batch-1")).isPositive();
+        third.del("key-0");
+        values.remove("key-0");
+        assertThat(first.exists("key-0")).isFalse();
+
+        // A scan through any node walks every member's keys in turn
+        Set<String> scanned = new HashSet<>();
+        long cursor = 0;
+        do {
+            ScanResult<String> step = third.scan(cursor, "key-*", 40);
+            scanned.addAll(step.keys());
+            cursor = step.cursor();
+        } while (cursor != 0);
+        assertThat(scanned).hasSize(299).allMatch(values::containsKey);
+
+        // Joining node: the existing members hand over the keys it now owns
+        ClusterNode joining = new ClusterNode("n4", "127.0.0.1", freePort());
+        List<ClusterNode> grown = new ArrayList<>(members);
+        grown.add(joining);
+        ConfigurableApplicationContext fourth = startNode(joining, grown);
+        first.changeMembership(grown);
+        assertThat(facade(nodes.get(1)).epoch()).isEqualTo(1L);
+        awaitTrue(() -> localSize(fourth) > 0
+                && nodes.stream().mapToLong(ClusterIntegrationTest::localSize).sum() + localSize(fourth) == values.size());
+        values.forEach((key, value) -> assertThat(facade(fourth).get(key)).isEqualTo(value));
+
+        // A key deleted at its new owner during the hand-off window is not read back from an old owner's copy
+        String moved = values.keySet().stream()
+                .filter(key -> first.ownerOf(key).equals(joining)).findFirst().orElseThrow();
+        nodes.forEach(node -> node.getBean(LocalCacheFacade.class).set(moved, "stale"));
+        first.del(moved);
+        assertThat(third.get(moved)).isNull();
+        assertThat(facade(fourth).get(moved)).isNull();
+        nodes.forEach(node -> node.getBean(LocalCacheFacade.class).del(moved));
+        values.remove(moved);
+
+        // Leaving node: its keys move to the remaining members before it is dropped
+        List<ClusterNode> shrunk = new ArrayList<>(grown);
+        shrunk.remove(members.get(1));
+        facade(fourth).changeMembership(shrunk);
+        awaitTrue(() -> localSize(nodes.get(1)) == 0);
+        Set<String> owners = new HashSet<>();
+        values.forEach((key, value) -> {
+            assertThat(third.get(key)).isEqualTo(value);
+            owners.add(third.ownerOf(key).id());
+        });
+        assertThat(owners).containsExactlyInAnyOrder("n1", "n3", "n4");
+        assertThat(first.getStats()).contains("Cluster Stats: [self=n1, epoch=2, nodes=3");
+        assertThat(nodes.get(0).getBean(LocalCacheFacade.class).get("key-0")).isNull();
+    }
+
+    @Test
+    void peerWithoutTheSecretIsRejected() throws Exception {
+        ClusterNode self = new ClusterNode("solo", "127.0.0.1", freePort());
+        startNode(self, List.of(self));
+        try (Socket socket = new Socket("127.0.0.1", self.port())) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            in.readFully(new byte[16]);
+            // An AUTH frame (op 18) with a tag that was not derived from the secret
+            out.writeInt(9 + 32);
+            out.writeLong(1L);
+            out.writeByte(18);
+            out.write(new byte[32]);
+            out.flush();
+            assertThat(in.readInt()).isEqualTo(9);
+            assertThat(in.readLong()).isEqualTo(1L);
+            assertThat(in.readByte()).isEqualTo((byte) 1);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.satya.distributedcache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Threshold 0 so even the small values here are packed (and compressed where that helps)
+@SpringBootTest(properties = {"cache.compression.enabled=true", "cache.compression.threshold-bytes=0"})
+class CompressedDataTypesIntegrationTest extends DataTypesIntegrationTest {
+
+    @Test
+    void an_adopted_value_gives_its_packed_form_back() throws Exception {
+        long before = parseStat(stats(), "CompressedValueStorage: [values");
+        mvc.perform(post(path("/adoptReleased")).contentType(MediaType.APPLICATION_JSON).content("5"))
+                .andExpect(status().isOk());
+        assertThat(parseStat(stats(), "CompressedValueStorage: [values")).isEqualTo(before + 1);
+        assertThat(body(mvc.perform(post(path("/incr/adoptReleased"))))).isEqualTo("6");
+        assertThat(parseStat(stats(), "CompressedValueStorage: [values")).isEqualTo(before);
+    }
+}
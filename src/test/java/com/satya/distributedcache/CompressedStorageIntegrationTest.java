@@ -0,0 +1,75 @@
+package com.satya.distributedcache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"cache.compression.enabled=true", "cache.compression.threshold-bytes=256"})
+class CompressedStorageIntegrationTest extends MockMvcTestSupport {
+
+    // Multi-KB document with the usual repetition of field names, plus some random noise
+    private static String document(Random random, int items) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(random.nextInt(1000))
+                    .append("\",\"active\":").append(random.nextBoolean())
+                    .append(",\"tags\":[\"alpha\",\"beta\"],\"score\":").append(random.nextInt(100_000))
+                    .append('}');
+        }
+        return json.append("],\"note\":\"café \\\"quoted\\\"\"}").toString();
+    }
+
+    @Test
+    void large_json_is_compressed_and_served_byte_for_byte() throws Exception {
+        Random random = new Random(3);
+        for (int items : new int[]{0, 1, 3, 40, 400}) {
+            String doc = document(random, items);
+            mvc.perform(post(path("/cz" + items)).contentType(MediaType.APPLICATION_JSON).content(doc))
+                    .andExpect(status().isOk());
+            String served = mvc.perform(get(path("/cz" + items)))
+                    .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+            assertThat(served).isEqualTo(doc);
+        }
+        // Embedded verbatim in batch reads too
+        MvcResult started = mvc.perform(post(path("/_mget")).contentType(MediaType.APPLICATION_JSON).content("[\"cz1\"]"))
+                .andExpect(request().asyncStarted()).andReturn();
+        String batch = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(batch).startsWith("{\"cz1\":{\"items\":[{\"id\":0,");
+
+        mvc.perform(post(path("/cztext")).contentType(MediaType.TEXT_PLAIN).content("x".repeat(5000)))
+                .andExpect(status().isOk());
+        assertThat(mvc.perform(get(path("/cztext"))).andReturn().getResponse().getContentAsString())
+                .isEqualTo("x".repeat(5000));
+
+        String stats = stats();
+        assertThat(stats).contains("CompressedValueStorage: [values=6");
+        assertThat(parseStat(stats, "compressed")).isGreaterThanOrEqualTo(3);
+        assertThat(parseStat(stats, "savedBytes")).isGreaterThan(parseStat(stats, "storedBytes"));
+
+        mvc.perform(delete(path("/cz400"))).andExpect(status().isNoContent());
+        stats = stats();
+        assertThat(stats).contains("CompressedValueStorage: [values=5");
+    }
+
+    @Test
+    void malformed_json_is_rejected() throws Exception {
+        mvc.perform(post(path("/czbad")).contentType(MediaType.APPLICATION_JSON).content("{\"a\":"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post(path("/czbad")).contentType(MediaType.APPLICATION_JSON).content("{} {}"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get(path("/czbad"))).andExpect(status().isNotFound());
+    }
+}
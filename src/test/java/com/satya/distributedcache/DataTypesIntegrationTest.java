@@ -0,0 +1,134 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs on heap storage; the OffHeap and Compressed subclasses repeat it with values kept in encoded form
+@SpringBootTest
+class DataTypesIntegrationTest extends MockMvcTestSupport {
+
+    @Autowired
+    CacheService cacheService;
+
+    String body(ResultActions result) throws Exception {
+        return result.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void counters_increment_atomically_and_reject_other_types() throws Exception {
+        assertThat(body(mvc.perform(post(path("/incr/hits")).param("by", "5")))).isEqualTo("5");
+        assertThat(body(mvc.perform(post(path("/incr/hits")).param("by", "-2")))).isEqualTo("3");
+        assertThat(body(mvc.perform(get(path("/hits"))))).isEqualTo("3");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                done.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        cacheService.increment("racing", 1);
+                    }
+                }));
+            }
+            for (Future<?> f : done) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(cacheService.increment("racing", 0)).isEqualTo(800);
+
+        mvc.perform(post(path("/plain")).contentType(MediaType.TEXT_PLAIN).content("not a number"))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/incr/plain"))).andExpect(status().isConflict());
+    }
+
+    @Test
+    void hashes_update_single_fields_and_vanish_when_emptied() throws Exception {
+        assertThat(body(mvc.perform(post(path("/hash/user1")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"visits\":1,\"name\":\"ann\"}")))).isEqualTo("2");
+        assertThat(body(mvc.perform(post(path("/hash/user1/visits/incr")).param("by", "2")))).isEqualTo("3");
+        assertThat(body(mvc.perform(get(path("/hash/user1/name"))))).isEqualTo("ann");
+        assertThat(body(mvc.perform(delete(path("/hash/user1/name"))))).isEqualTo("1");
+        assertThat(body(mvc.perform(get(path("/hash/user1"))))).isEqualTo("{\"visits\":3}");
+        // the whole value is still readable as a plain JSON object
+        assertThat(body(mvc.perform(get(path("/user1"))))).isEqualTo("{\"visits\":3}");
+
+        mvc.perform(delete(path("/hash/user1/visits"))).andExpect(status().isOk());
+        mvc.perform(get(path("/hash/user1"))).andExpect(status().isNotFound());
+        mvc.perform(get(path("/exists/user1"))).andExpect(status().isOk());
+        assertThat(body(mvc.perform(get(path("/exists/user1"))))).isEqualTo("false");
+    }
+
+    @Test
+    void lists_push_pop_and_range_from_both_ends() throws Exception {
+        assertThat(body(mvc.perform(post(path("/list/queue/push")).contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2,3]")))).isEqualTo("3");
+        assertThat(body(mvc.perform(post(path("/list/queue/push")).param("side", "left")
+                .contentType(MediaType.APPLICATION_JSON).content("[\"z\"]")))).isEqualTo("4");
+        assertThat(body(mvc.perform(get(path("/list/queue"))))).isEqualTo("[\"z\",1,2,3]");
+        assertThat(body(mvc.perform(get(path("/list/queue")).param("start", "-2")))).isEqualTo("[2,3]");
+        assertThat(body(mvc.perform(post(path("/list/queue/pop")).param("count", "2")))).isEqualTo("[\"z\",1]");
+        assertThat(body(mvc.perform(post(path("/list/queue/pop")).param("side", "right")))).isEqualTo("[3]");
+        assertThat(body(mvc.perform(get(path("/list/queue"))))).isEqualTo("[2]");
+    }
+
+    @Test
+    void sorted_sets_rank_a_leaderboard_and_honour_ttl() throws Exception {
+        assertThat(body(mvc.perform(post(path("/zset/board")).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"alice\":10,\"bob\":30,\"carol\":20}")))).isEqualTo("3");
+        assertThat(body(mvc.perform(get(path("/zset/board/rank/bob")).param("reverse", "true")))).isEqualTo("0");
+        assertThat(body(mvc.perform(post(path("/zset/board/alice/incr")).param("by", "25")))).isEqualTo("35.0");
+        assertThat(body(mvc.perform(get(path("/zset/board/rank/alice")).param("reverse", "true")))).isEqualTo("0");
+        assertThat(body(mvc.perform(get(path("/zset/board/rank/alice"))))).isEqualTo("2");
+        assertThat(body(mvc.perform(get(path("/zset/board")).param("stop", "1").param("reverse", "true"))))
+                .isEqualTo("[{\"member\":\"alice\",\"score\":35.0},{\"member\":\"bob\",\"score\":30.0}]");
+        assertThat(body(mvc.perform(get(path("/zset/board/byScore")).param("min", "15").param("max", "31"))))
+                .isEqualTo("[{\"member\":\"carol\",\"score\":20.0},{\"member\":\"bob\",\"score\":30.0}]");
+        mvc.perform(get(path("/zset/board/rank/dave"))).andExpect(status().isNotFound());
+        mvc.perform(post(path("/hash/board")).contentType(MediaType.APPLICATION_JSON).content("{\"a\":1}"))
+                .andExpect(status().isConflict());
+
+        mvc.perform(post(path("/expire/board/100"))).andExpect(status().isOk());
+        Thread.sleep(250);
+        mvc.perform(get(path("/board"))).andExpect(status().isNotFound());
+        assertThat(body(mvc.perform(get(path("/zset/board"))))).isEqualTo("[]");
+    }
+
+    // Values written through the plain API are stored by the ValueStorage; typed commands adopt them
+    @Test
+    void plain_values_are_adopted_by_typed_commands() throws Exception {
+        mvc.perform(post(path("/adoptCount")).contentType(MediaType.APPLICATION_JSON).content("41"))
+                .andExpect(status().isOk());
+        assertThat(body(mvc.perform(post(path("/incr/adoptCount"))))).isEqualTo("42");
+        mvc.perform(post(path("/adoptText")).contentType(MediaType.TEXT_PLAIN).content("7"))
+                .andExpect(status().isOk());
+        assertThat(body(mvc.perform(post(path("/incr/adoptText")).param("by", "3")))).isEqualTo("10");
+
+        mvc.perform(post(path("/adoptHash")).contentType(MediaType.APPLICATION_JSON).content("{\"a\":\"x\"}"))
+                .andExpect(status().isOk());
+        assertThat(body(mvc.perform(get(path("/hash/adoptHash/a"))))).isEqualTo("x");
+        assertThat(body(mvc.perform(post(path("/hash/adoptHash/b/incr"))))).isEqualTo("1");
+        assertThat(body(mvc.perform(get(path("/hash/adoptHash"))))).isEqualTo("{\"a\":\"x\",\"b\":1}");
+
+        mvc.perform(post(path("/adoptList")).contentType(MediaType.APPLICATION_JSON).content("[1,2]"))
+                .andExpect(status().isOk());
+        assertThat(body(mvc.perform(get(path("/list/adoptList"))))).isEqualTo("[1,2]");
+        assertThat(body(mvc.perform(post(path("/list/adoptList/push")).contentType(MediaType.APPLICATION_JSON)
+                .content("[3]")))).isEqualTo("3");
+    }
+}
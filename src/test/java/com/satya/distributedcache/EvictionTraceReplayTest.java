@@ -0,0 +1,123 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.eviction.EvictionManager;
+import com.satya.distributedcache.cache.eviction.EvictionStrategy;
+import com.satya.distributedcache.cache.eviction.EvictionTarget;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.eviction.TinyLfuEvictionStrategy;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Replays synthetic traces against MapCache with each strategy and compares hit rates
+class EvictionTraceReplayTest {
+
+    private static final int CACHE_SIZE = 1000;
+    private static final int TRACE_LENGTH = 400_000;
+
+    @Test
+    void tinylfu_matches_or_beats_lru_on_zipfian_trace() {
+        long[] trace = zipfianTrace(new Random(42), 100_000, 0.9, TRACE_LENGTH);
+
+        double lru = replay(trace, LRUEvictionStrategy::new);
+        double tinyLfu = replay(trace, TinyLfuEvictionStrategy::new);
+
+        // The cache holds 1% of the keys; both strategies must keep a real share of the head to be compared
+        assertThat(lru).as("LRU hit rate").isBetween(20.0, 60.0);
+        assertThat(tinyLfu).as("TinyLFU hit rate, LRU=%.2f%%", lru).isGreaterThanOrEqualTo(lru);
+    }
+
+    @Test
+    void tinylfu_keeps_hot_set_through_scans() {
+        Random random = new Random(7);
+        long[] hot = zipfianTrace(random, 800, 0.8, TRACE_LENGTH);
+        long[] trace = new long[TRACE_LENGTH];
+        long scanKey = 1_000_000;
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            // every 20k requests a one-off scan of 5k never-repeated keys interleaves with the hot core
+            boolean scanning = (i % 20_000) < 5_000;
+            trace[i] = scanning && random.nextBoolean() ? scanKey++ : hot[i];
+        }
+
+        double lru = replay(trace, LRUEvictionStrategy::new);
+        double tinyLfu = replay(trace, TinyLfuEvictionStrategy::new);
+
+        // The hot core fits in the cache, so only the scans push it out
+        assertThat(lru).as("LRU hit rate").isBetween(50.0, 95.0);
+        assertThat(tinyLfu).as("TinyLFU hit rate, LRU=%.2f%%", lru).isGreaterThan(lru + 5.0);
+    }
+
+    private double replay(long[] trace, Supplier<EvictionStrategy<Long, Long>> strategy) {
+        MapCache<Long, Long> cache = new MapCache<>(CACHE_SIZE, new InlineEvictionManager(CACHE_SIZE, strategy.get()));
+        long hits = 0;
+        for (long key : trace) {
+            if (cache.getIfPresent(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return hits * 100.0 / trace.length;
+    }
+
+    private static long[] zipfianTrace(Random random, int items, double skew, int length) {
+        double[] cdf = new double[items];
+        double sum = 0;
+        for (int i = 0; i < items; i++) {
+            sum += 1.0 / Math.pow(i + 1, skew);
+            cdf[i] = sum;
+        }
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            int idx = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            trace[i] = idx >= 0 ? idx : -idx - 1;
+        }
+        return trace;
+    }
+
+    // Evicts on the calling thread so the replay is deterministic
+    private static class InlineEvictionManager implements EvictionManager<Long, Long> {
+        private final int maxSize;
+        private final EvictionStrategy<Long, Long> strategy;
+
+        InlineEvictionManager(int maxSize, EvictionStrategy<Long, Long> strategy) {
+            this.maxSize = maxSize;
+            this.strategy = strategy;
+            strategy.setMaximumSize(maxSize);
+        }
+
+        @Override
+        public void onPut(CacheEntry<Long, Long> entry, EvictionTarget<Long, Long> cache) {
+            strategy.onPut(entry);
+            if (cache.size() > maxSize) {
+                strategy.evict(cache, maxSize);
+            }
+        }
+
+        @Override
+        public void onAccess(CacheEntry<Long, Long> entry) {
+            strategy.onAccess(entry);
+        }
+
+        @Override
+        public void onRemove(CacheEntry<Long, Long> entry) {
+            strategy.onRemove(entry);
+        }
+
+        @Override
+        public int evictEntries(EvictionTarget<Long, Long> cache, int count) {
+            return strategy.evict(cache, (int) Math.max(0, cache.size() - count));
+        }
+
+        @Override
+        public String getStats() {
+            return strategy.getStats();
+        }
+    }
+}
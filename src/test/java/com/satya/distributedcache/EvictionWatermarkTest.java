@@ -0,0 +1,41 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.eviction.AsyncEvictionManager;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A write burst against an evictor that never gets to run: writers alone must hold the hard watermark
+class EvictionWatermarkTest {
+
+    @Test
+    void writers_evict_inline_above_the_hard_watermark() {
+        Queue<Runnable> parked = new ArrayDeque<>();
+        MapCache<Integer, Integer> cache = new MapCache<>(1000, new AsyncEvictionManager<>(
+                1000, new LRUEvictionStrategy<>(), parked::add, 4096, 10, 64));
+
+        for (int i = 0; i < 20_000; i++) {
+            cache.put(i, i);
+            assertThat(cache.size()).isLessThanOrEqualTo(1100);
+        }
+        String stats = cache.getStats();
+        assertThat(stats).contains("soft=1000, hard=1100, peakOvershoot=101");
+        assertThat(stats).doesNotContain("writerAssists=0,");
+        // Stats and the exported counters read the same numbers
+        assertThat(stats).contains("writerAssists=" + cache.metrics().writerAssists.sum() + ",",
+                "assistedEvictions=" + cache.metrics().assistedEvictions.sum() + "]");
+        // The most recent writes survive the inline evictions
+        assertThat(cache.getIfPresent(19_999)).isEqualTo(19_999);
+
+        // The background pass then brings the store back under the soft watermark
+        while (!parked.isEmpty()) {
+            parked.poll().run();
+        }
+        assertThat(cache.size()).isEqualTo(1000);
+    }
+}
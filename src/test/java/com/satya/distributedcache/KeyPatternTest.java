@@ -0,0 +1,31 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.scan.KeyPattern;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyPatternTest {
+
+    @Test
+    void globs_follow_redis_match_rules() {
+        assertThat(KeyPattern.compile(null).matches("anything")).isTrue();
+        assertThat(KeyPattern.compile("user:*").matches("user:42")).isTrue();
+        assertThat(KeyPattern.compile("user:*").matches("users:42")).isFalse();
+        assertThat(KeyPattern.compile("*:profile").matches("user:42:profile")).isTrue();
+        assertThat(KeyPattern.compile("*a*b*c").matches("xxaxxbxxbxc")).isTrue();
+        assertThat(KeyPattern.compile("*a*b*c").matches("xxaxxbxxbx")).isFalse();
+        assertThat(KeyPattern.compile("h?llo").matches("hallo")).isTrue();
+        assertThat(KeyPattern.compile("h?llo").matches("hllo")).isFalse();
+        assertThat(KeyPattern.compile("h[ae]llo").matches("hello")).isTrue();
+        assertThat(KeyPattern.compile("h[ae]llo").matches("hillo")).isFalse();
+        assertThat(KeyPattern.compile("h[^e]llo").matches("hallo")).isTrue();
+        assertThat(KeyPattern.compile("h[^e]llo").matches("hello")).isFalse();
+        assertThat(KeyPattern.compile("h[a-c]llo").matches("hbllo")).isTrue();
+        assertThat(KeyPattern.compile("h[a-c]llo").matches("hdllo")).isFalse();
+        assertThat(KeyPattern.compile("star\\*").matches("star*")).isTrue();
+        assertThat(KeyPattern.compile("star\\*").matches("stars")).isFalse();
+        assertThat(KeyPattern.compile("key").matches("key")).isTrue();
+        assertThat(KeyPattern.compile("key").matches("keys")).isFalse();
+    }
+}
@@ -0,0 +1,103 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class KeyScanIntegrationTest extends MockMvcTestSupport {
+
+    @Autowired
+    CacheService cacheService;
+
+    @Autowired
+    JsonMapper jsonMapper;
+
+    private JsonNode json(String body) {
+        return jsonMapper.readTree(body);
+    }
+
+    @Test
+    void scan_returns_every_key_present_for_the_whole_walk_while_writers_churn() throws Exception {
+        for (int i = 0; i < 2000; i++) {
+            cacheService.put("scan:stable:" + i, i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread churn = new Thread(() -> {
+            int i = 0;
+            while (running.get()) {
+                cacheService.put("scan:churn:" + (i % 500), i);
+                cacheService.remove("scan:churn:" + ((i + 250) % 500));
+                i++;
+            }
+        });
+        churn.start();
+        Set<String> seen = new HashSet<>();
+        long cursor = 0;
+        int calls = 0;
+        try {
+            do {
+                JsonNode step = json(mvc.perform(get(path("/_scan")).param("cursor", Long.toString(cursor))
+                                .param("match", "scan:stable:*").param("count", "50"))
+                        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+                for (JsonNode key : step.get("keys")) {
+                    seen.add(key.asString());
+                }
+                cursor = step.get("cursor").asLong();
+                calls++;
+            } while (cursor != 0);
+        } finally {
+            running.set(false);
+            churn.join();
+        }
+        assertThat(seen).hasSize(2000).allMatch(key -> key.startsWith("scan:stable:"));
+        // Bounded steps: the walk took many calls rather than one big copy
+        assertThat(calls).isGreaterThan(2000 / 50);
+    }
+
+    @Test
+    void unknown_cursor_is_rejected() throws Exception {
+        mvc.perform(get(path("/_scan")).param("cursor", "987654321")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulk_delete_removes_only_matching_keys_in_the_background() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            cacheService.put("purge:old:" + i, i);
+        }
+        for (int i = 0; i < 50; i++) {
+            cacheService.put("purge:keep:" + i, i);
+        }
+        JsonNode job = json(mvc.perform(post(path("/_scan/delete")).param("match", "purge:old:*"))
+                .andExpect(status().isAccepted()).andReturn().getResponse().getContentAsString());
+        long id = job.get("id").asLong();
+
+        JsonNode status = job;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (status.get("state").asString().equals("RUNNING") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = json(mvc.perform(get(path("/_scan/delete/" + id)))
+                    .andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        }
+        assertThat(status.get("state").asString()).isEqualTo("DONE");
+        assertThat(status.get("deleted").asLong()).isEqualTo(300);
+        for (int i = 0; i < 300; i++) {
+            assertThat(cacheService.exists("purge:old:" + i)).isFalse();
+        }
+        for (int i = 0; i < 50; i++) {
+            assertThat(cacheService.exists("purge:keep:" + i)).isTrue();
+        }
+        mvc.perform(get(path("/_scan/delete/" + (id + 1000)))).andExpect(status().isNotFound());
+    }
+}
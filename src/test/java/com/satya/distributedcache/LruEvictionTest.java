@@ -0,0 +1,83 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.eviction.AsyncEvictionManager;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The evictor runs on the writing thread here, so every put leaves the store at exactly maxSize
+class LruEvictionTest {
+
+    private static final int MAX_SIZE = 1000;
+
+    private final MapCache<Integer, Integer> cache = new MapCache<>(MAX_SIZE, new AsyncEvictionManager<>(
+            MAX_SIZE, new LRUEvictionStrategy<>(), Runnable::run));
+
+    private void putRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    private boolean present(int key) {
+        return cache.peekEntry(key) != null;
+    }
+
+    @Test
+    void untouched_entries_leave_in_insertion_order() {
+        putRange(0, MAX_SIZE + 100);
+        assertThat(cache.size()).isEqualTo(MAX_SIZE);
+        assertThat(IntStream.range(0, 100)).noneMatch(this::present);
+        assertThat(IntStream.range(100, MAX_SIZE + 100)).allMatch(this::present);
+    }
+
+    @Test
+    void a_read_moves_an_entry_behind_the_unread_ones() {
+        putRange(0, MAX_SIZE);
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.getIfPresent(i)).isEqualTo(i);
+        }
+        putRange(MAX_SIZE, MAX_SIZE + 100);
+        assertThat(IntStream.range(0, 100)).allMatch(this::present);
+        assertThat(IntStream.range(100, 200)).noneMatch(this::present);
+        assertThat(IntStream.range(200, MAX_SIZE + 100)).allMatch(this::present);
+    }
+
+    @Test
+    void an_overwrite_counts_as_a_use() {
+        putRange(0, MAX_SIZE);
+        cache.put(0, -1);
+        putRange(MAX_SIZE, MAX_SIZE + 1);
+        assertThat(cache.getIfPresent(0)).isEqualTo(-1);
+        assertThat(present(1)).isFalse();
+    }
+
+    @Test
+    void a_removed_entry_frees_its_slot_without_evicting_another() {
+        putRange(0, MAX_SIZE);
+        cache.invalidate(500);
+        putRange(MAX_SIZE, MAX_SIZE + 1);
+        assertThat(cache.size()).isEqualTo(MAX_SIZE);
+        assertThat(present(0)).isTrue();
+
+        putRange(MAX_SIZE + 1, MAX_SIZE + 2);
+        assertThat(present(0)).isFalse();
+        assertThat(present(1)).isTrue();
+    }
+
+    // A hot key read between every insert survives many full turnovers of the rest of the store
+    @Test
+    void a_hot_key_survives_any_number_of_turnovers() {
+        putRange(0, MAX_SIZE);
+        for (int i = MAX_SIZE; i < 20 * MAX_SIZE; i++) {
+            assertThat(cache.getIfPresent(0)).isZero();
+            cache.put(i, i);
+        }
+        assertThat(cache.size()).isEqualTo(MAX_SIZE);
+        assertThat(cache.getStats()).contains("evictions=" + (19 * MAX_SIZE) + ",");
+    }
+}
@@ -0,0 +1,55 @@
+package com.satya.distributedcache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.function.Predicate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Shared fixture for @SpringBootTest classes that drive the REST API through MockMvc and read /stats
+abstract class MockMvcTestSupport {
+
+    @Autowired
+    WebApplicationContext wac;
+
+    MockMvc mvc;
+
+    @BeforeEach
+    void setupMockMvc() {
+        this.mvc = MockMvcBuilders.webAppContextSetup(wac).build();
+    }
+
+    String path(String p) {
+        return "/api/v1" + p;
+    }
+
+    String stats() throws Exception {
+        return mvc.perform(get(path("/stats"))).andReturn().getResponse().getContentAsString();
+    }
+
+    // Polls /stats until the condition holds (background eviction, expiry) or ten seconds pass;
+    // returns the last stats read either way so the caller's assertions report what was seen
+    String awaitStats(Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String stats = stats();
+        while (!condition.test(stats) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            stats = stats();
+        }
+        return stats;
+    }
+
+    // The number after "name=" in a stats line
+    static long parseStat(String stats, String name) {
+        int idx = stats.indexOf(name + "=");
+        int end = idx + name.length() + 1;
+        while (end < stats.length() && Character.isDigit(stats.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(stats.substring(idx + name.length() + 1, end));
+    }
+}
@@ -0,0 +1,80 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.mapcache.Cache;
+import com.satya.distributedcache.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class NamespaceFlushIntegrationTest extends MockMvcTestSupport {
+
+    @Autowired
+    CacheService cacheService;
+
+    @Autowired
+    Cache<String, Object> store;
+
+    private int remaining(String prefix, int count) {
+        int left = 0;
+        for (int i = 0; i < count; i++) {
+            if (store.peekEntry(prefix + i) != null) {
+                left++;
+            }
+        }
+        return left;
+    }
+
+    @Test
+    void flush_hides_the_whole_namespace_at_once_and_leaves_others_alone() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            cacheService.put("svcA:item:" + i, i);
+            cacheService.put("svcB:item:" + i, i);
+        }
+        cacheService.expire("svcA:item:0", 60_000);
+        cacheService.increment("svcA:hits", 7);
+
+        String reply = mvc.perform(post(path("/_namespaces/svcA/flush")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(reply).contains("\"namespace\":\"svcA\"").contains("\"generation\":1");
+
+        mvc.perform(get(path("/svcA:item:5"))).andExpect(status().isNotFound());
+        mvc.perform(get(path("/svcB:item:5"))).andExpect(status().isOk());
+        assertThat(cacheService.exists("svcA:item:42")).isFalse();
+        assertThat(cacheService.ttl("svcA:item:0")).isEqualTo(-2L);
+        // A flushed key behaves as missing for conditional writes and structures too
+        assertThat(cacheService.conditionalPut("svcA:item:1", "fresh", null, false)).isTrue();
+        assertThat(cacheService.get("svcA:item:1")).isEqualTo("fresh");
+        assertThat(cacheService.increment("svcA:hits", 1)).isEqualTo(1);
+        // A rewrite after the flush does not inherit the flushed value's TTL
+        cacheService.put("svcA:item:0", "again");
+        assertThat(cacheService.ttl("svcA:item:0")).isEqualTo(-1L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(cacheService.get("svcB:item:" + i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void expiry_ticker_reclaims_flushed_entries() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            cacheService.put("sweep:" + i, i);
+        }
+        mvc.perform(post(path("/sweep:live")).contentType(MediaType.TEXT_PLAIN).content("kept"))
+                .andExpect(status().isOk());
+        assertThat(cacheService.flushNamespace("sweep")).isPositive();
+        cacheService.put("sweep:live", "after");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (remaining("sweep:", 500) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(remaining("sweep:", 500)).isZero();
+        assertThat(cacheService.get("sweep:live")).isEqualTo("after");
+        assertThat(cacheService.getStats().toString()).contains("Namespace Stats: [tracked=");
+    }
+}
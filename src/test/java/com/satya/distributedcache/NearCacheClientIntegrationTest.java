@@ -0,0 +1,134 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.client.NearCacheClient;
+import com.satya.distributedcache.service.InvalidationPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"cache.invalidation.subscriber-queue=1000", "cache.invalidation.send-timeout-millis=1000"})
+class NearCacheClientIntegrationTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    CacheFacade<String, Object> cache;
+
+    @Autowired
+    InvalidationPublisher invalidationPublisher;
+
+    NearCacheClient client;
+
+    @BeforeEach
+    void connect() throws Exception {
+        client = new NearCacheClient("http://127.0.0.1:" + port + "/cache", 200);
+        assertThat(client.awaitSubscribed(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void close() {
+        client.close();
+    }
+
+    private static void awaitEquals(Supplier<Object> actual, Object expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Objects.equals(actual.get(), expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(actual.get()).isEqualTo(expected);
+    }
+
+    @Test
+    void hot_reads_stay_local_until_the_server_invalidates_them() throws Exception {
+        client.set("nearUser", Map.of("name", "ada"));
+        // Our own write is echoed back as an invalidation; let it pass before warming the near-cache
+        awaitEquals(() -> client.getStats().contains("invalidations=1"), true);
+        assertThat(client.get("nearUser")).isEqualTo(Map.of("name", "ada"));
+        for (int i = 0; i < 100; i++) {
+            assertThat(client.get("nearUser")).isEqualTo(Map.of("name", "ada"));
+        }
+        assertThat(client.getStats()).contains("hits=100, misses=1");
+
+        // Writes from anyone else reach the client through the invalidation stream
+        cache.set("nearUser", Map.of("name", "grace"));
+        awaitEquals(() -> client.get("nearUser"), Map.of("name", "grace"));
+
+        cache.del("nearUser");
+        awaitEquals(() -> client.get("nearUser"), null);
+
+        cache.set("nearShort", "soon gone");
+        assertThat(client.get("nearShort")).isEqualTo("soon gone");
+        cache.expire("nearShort", 100);
+        awaitEquals(() -> client.get("nearShort"), null);
+        assertThat(client.getStats()).contains("subscribed=true");
+    }
+
+    @Test
+    void near_cache_is_bounded() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            cache.set("nearBound" + i, i);
+            assertThat(client.get("nearBound" + i)).isEqualTo(i);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (client.nearSize() > 200 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(client.nearSize()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void close_stops_the_near_cache_evictor() throws Exception {
+        Supplier<Object> evictors = () -> Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && t.getName().startsWith("AsyncEvictionManager-")).count();
+        Object before = evictors.get();
+        NearCacheClient other = new NearCacheClient("http://127.0.0.1:" + port + "/cache", 10);
+        assertThat(other.awaitSubscribed(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 50; i++) {
+            cache.set("nearEvict" + i, i);
+            other.get("nearEvict" + i);
+        }
+        other.close();
+        awaitEquals(evictors, before);
+    }
+
+    @Test
+    void a_subscriber_that_stops_reading_is_disconnected() throws Exception {
+        // The closed client's stream is noticed on the next sends
+        client.close();
+        awaitEquals(() -> {
+            cache.set("nearPoke", "x");
+            return invalidationPublisher.getStats().contains("subscribers=0");
+        }, true);
+        try (Socket laggard = new Socket("127.0.0.1", port)) {
+            OutputStream out = laggard.getOutputStream();
+            out.write(("GET /cache/api/v1/_invalidations HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            awaitEquals(() -> invalidationPublisher.getStats().contains("subscribers=1"), true);
+            // Never read: the socket buffers fill, the send stalls and the queue backs up
+            String padding = "x".repeat(1000);
+            long deadline = System.currentTimeMillis() + 10_000;
+            for (int i = 0; !invalidationPublisher.getStats().contains("disconnected=1")
+                    && System.currentTimeMillis() < deadline; i++) {
+                cache.set("nearLag" + padding + (i % 20_000), i);
+            }
+            assertThat(invalidationPublisher.getStats()).contains("subscribers=0").contains("disconnected=1");
+        }
+    }
+}
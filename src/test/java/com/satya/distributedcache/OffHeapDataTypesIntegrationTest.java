@@ -0,0 +1,7 @@
+package com.satya.distributedcache;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "cache.offheap.enabled=true")
+class OffHeapDataTypesIntegrationTest extends DataTypesIntegrationTest {
+}
@@ -0,0 +1,52 @@
+package com.satya.distributedcache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"cache.offheap.enabled=true", "cache.offheap.max-bytes=16384", "cache.offheap.slab-bytes=4096"})
+class OffHeapStorageIntegrationTest extends MockMvcTestSupport {
+
+    @Test
+    void json_and_text_values_round_trip_through_slabs() throws Exception {
+        mvc.perform(post(path("/oh_json"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"a\":1,\"b\":[true,\"x\"]}"))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/oh_text"))
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("hello"))
+                .andExpect(status().isOk());
+
+        MvcResult json = mvc.perform(get(path("/oh_json")))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(json.getResponse().getContentAsString()).isEqualTo("{\"a\":1,\"b\":[true,\"x\"]}");
+        MvcResult text = mvc.perform(get(path("/oh_text")))
+                .andExpect(status().isOk()).andReturn();
+        assertThat(text.getResponse().getContentAsString()).isEqualTo("hello");
+    }
+
+    @Test
+    void byte_cap_is_enforced_by_evicting_older_entries() throws Exception {
+        String payload = "\"" + "x".repeat(400) + "\"";
+        for (int i = 0; i < 200; i++) {
+            mvc.perform(post(path("/oh_big" + i))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payload))
+                    .andExpect(status().isOk());
+        }
+        // the latest write always fits
+        mvc.perform(get(path("/oh_big199"))).andExpect(status().isOk());
+
+        String stats = mvc.perform(get(path("/stats")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(parseStat(stats, "usedBytes")).isLessThanOrEqualTo(16384);
+        assertThat(parseStat(stats, "evictedForSpace")).isGreaterThan(0);
+        assertThat(parseStat(stats, "heapFallbacks")).isZero();
+    }
+}
@@ -0,0 +1,111 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.loader.CacheLoader;
+import com.satya.distributedcache.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"cache.loader.ttl-millis=1000", "cache.loader.refresh-ahead=0.5"})
+class ReadThroughLoaderIntegrationTest extends MockMvcTestSupport {
+
+    // Stub source: slow enough for misses to pile up, answers "<key>-v<n>" for the n-th load of a key;
+    // "flaky" keys load once and fail from then on
+    static final Map<String, AtomicInteger> LOADS = new ConcurrentHashMap<>();
+
+    @TestConfiguration
+    static class StubLoader {
+        @Bean
+        CacheLoader<String, Object> stubCacheLoader() {
+            return key -> {
+                if (key.startsWith("absent")) {
+                    return null;
+                }
+                Thread.sleep(100);
+                int load = LOADS.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                if (key.startsWith("flaky") && load > 1) {
+                    throw new IllegalStateException("source unavailable");
+                }
+                return key + "-v" + load;
+            };
+        }
+    }
+
+    @Autowired
+    CacheService cacheService;
+
+    @Test
+    void concurrent_misses_share_one_load() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cacheService.get("stampede");
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results) {
+                assertThat(result.get()).isEqualTo("stampede-v1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(LOADS.get("stampede").get()).isEqualTo(1);
+        assertThat(cacheService.ttl("stampede")).isPositive();
+
+        mvc.perform(get(path("/absent1"))).andExpect(status().isNotFound());
+        assertThat(cacheService.getStats().toString()).contains("Loader Stats: [loads=");
+    }
+
+    @Test
+    void reads_near_expiry_refresh_in_the_background() throws Exception {
+        assertThat(cacheService.get("refreshed")).isEqualTo("refreshed-v1");
+        Thread.sleep(600);
+        // Within the last half of the TTL: served from cache while the reload runs
+        assertThat(cacheService.get("refreshed")).isEqualTo("refreshed-v1");
+        long deadline = System.currentTimeMillis() + 2000;
+        Object value = null;
+        while (System.currentTimeMillis() < deadline && !"refreshed-v2".equals(value)) {
+            value = cacheService.get("refreshed");
+            assertThat(value).isNotNull();
+            Thread.sleep(20);
+        }
+        assertThat(value).isEqualTo("refreshed-v2");
+        assertThat(cacheService.ttl("refreshed")).isGreaterThan(500);
+    }
+
+    @Test
+    void a_failed_refresh_keeps_the_cached_value_and_is_counted() throws Exception {
+        assertThat(cacheService.get("flaky")).isEqualTo("flaky-v1");
+        Thread.sleep(600);
+        // Starts a reload that fails
+        assertThat(cacheService.get("flaky")).isEqualTo("flaky-v1");
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline
+                && cacheService.metricsPrometheus().contains("cache_refresh_failures_total 0\n")) {
+            Thread.sleep(20);
+        }
+        assertThat(cacheService.metricsPrometheus()).contains("cache_refresh_failures_total ")
+                .doesNotContain("cache_refresh_failures_total 0\n");
+        assertThat(cacheService.get("flaky")).isEqualTo("flaky-v1");
+    }
+}
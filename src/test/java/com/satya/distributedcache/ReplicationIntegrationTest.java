@@ -0,0 +1,150 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.facade.CacheFacade;
+import com.satya.distributedcache.replication.ReplicationClient;
+import com.satya.distributedcache.replication.ReplicationSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This context is the replica; the primary runs in a second context in the same JVM
+@SpringBootTest(properties = {"cache.replication.role=replica", "cache.replication.reconnect-millis=50"})
+class ReplicationIntegrationTest extends MockMvcTestSupport {
+
+    private static final int PRIMARY_PORT = freePort();
+
+    private static ConfigurableApplicationContext primary;
+
+    @Autowired
+    ReplicationClient replicationClient;
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void primaryAddress(DynamicPropertyRegistry registry) {
+        registry.add("cache.replication.primary-port", () -> PRIMARY_PORT);
+    }
+
+    @BeforeAll
+    static void startPrimary() {
+        primary = new SpringApplicationBuilder(DistributedCacheApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("cache.replication.role=primary", "cache.replication.port=" + PRIMARY_PORT)
+                .run();
+    }
+
+    @AfterAll
+    static void stopPrimary() {
+        primary.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheFacade<String, Object> primaryCache() {
+        return primary.getBean(CacheFacade.class);
+    }
+
+    private void awaitStatus(String key, int status) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (mvc.perform(get(path("/" + key))).andReturn().getResponse().getStatus() != status
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(mvc.perform(get(path("/" + key))).andReturn().getResponse().getStatus()).isEqualTo(status);
+    }
+
+    private void awaitValue(String key, String value) throws Exception {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!mvc.perform(get(path("/" + key))).andReturn().getResponse().getContentAsString().equals(value)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(mvc.perform(get(path("/" + key))).andReturn().getResponse().getContentAsString()).isEqualTo(value);
+    }
+
+    // The primary's offset moves while its feeder drains, so both sides are re-read until they meet
+    private void awaitCaughtUp() throws InterruptedException {
+        ReplicationSource source = primary.getBean(ReplicationSource.class);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (replicationClient.offset() != source.offset() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(replicationClient.offset()).isEqualTo(source.offset());
+    }
+
+    @Test
+    void replica_follows_the_primary_write_stream() throws Exception {
+        CacheFacade<String, Object> cache = primaryCache();
+        Map<String, Object> batch = new LinkedHashMap<>();
+        for (int i = 0; i < 500; i++) {
+            batch.put("repl" + i, Map.of("id", i));
+        }
+        cache.mset(batch, -1L);
+        cache.expire("repl1", 60_000);
+        cache.set("replLast", "last");
+
+        // Served from the replica's own copy
+        awaitStatus("replLast", 200);
+        awaitCaughtUp();
+        assertThat(mvc.perform(get(path("/repl7"))).andReturn().getResponse().getContentAsString())
+                .isEqualTo("{\"id\":7}");
+        assertThat(Long.parseLong(mvc.perform(get(path("/ttl/repl1"))).andReturn().getResponse().getContentAsString()))
+                .isPositive();
+
+        cache.del("repl0");
+        cache.persist("repl1");
+        cache.expire("repl2", 0);
+        cache.set("replLast", "changed");
+        // Mutations apply in order, so once the last one is visible the earlier ones are too
+        awaitValue("replLast", "changed");
+        awaitCaughtUp();
+        awaitStatus("repl0", 404);
+        awaitStatus("repl2", 404);
+        assertThat(mvc.perform(get(path("/ttl/repl1"))).andReturn().getResponse().getContentAsString()).isEqualTo("-1");
+        assertThat(stats()).contains("role=replica, state=online").contains("lagBytes=0").contains("fullResyncs=1");
+        assertThat(primary.getBean(ReplicationSource.class).getStats()).contains("replicas=1");
+        assertThat(mvc.perform(get(path("/stats")).param("format", "prometheus")).andReturn().getResponse()
+                .getContentAsString()).contains("replication_lag_bytes 0").contains("replication_link_up 1");
+        assertThat(mvc.perform(get(path("/stats")).param("format", "json")).andReturn().getResponse()
+                .getContentAsString()).contains("\"replication_lag_bytes\"");
+
+        // Clients only read from a replica; its data changes through the stream alone
+        mvc.perform(post(path("/replLast")).contentType(MediaType.APPLICATION_JSON).content("\"local\""))
+                .andExpect(status().isForbidden());
+        mvc.perform(delete(path("/repl3"))).andExpect(status().isForbidden());
+        assertThat(mvc.perform(get(path("/replLast"))).andReturn().getResponse().getContentAsString()).isEqualTo("changed");
+        assertThat(mvc.perform(get(path("/repl3"))).andReturn().getResponse().getStatus()).isEqualTo(200);
+
+        // A dropped link resumes from the backlog instead of shipping a new snapshot
+        replicationClient.reconnect();
+        cache.set("afterReconnect", "yes");
+        awaitStatus("afterReconnect", 200);
+        awaitCaughtUp();
+        // The write may still arrive over the old link before it closes, so wait for the new one
+        assertThat(awaitStats(stats -> stats.contains("partialResyncs=1"))).contains("fullResyncs=1, partialResyncs=1");
+    }
+}
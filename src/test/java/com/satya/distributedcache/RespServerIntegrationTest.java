@@ -0,0 +1,162 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.loader.CacheLoader;
+import com.satya.distributedcache.server.RespServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"cache.resp.enabled=true", "cache.resp.port=0"})
+class RespServerIntegrationTest extends MockMvcTestSupport {
+
+    // Misses load nothing, except "rfail" keys whose load fails
+    @TestConfiguration
+    static class FailingLoader {
+        @Bean
+        CacheLoader<String, Object> failingCacheLoader() {
+            return key -> {
+                if (key.startsWith("rfail")) {
+                    throw new IllegalStateException("source unavailable");
+                }
+                return null;
+            };
+        }
+    }
+
+    @Autowired
+    RespServer respServer;
+
+    private static String command(String... args) {
+        StringBuilder sb = new StringBuilder("*").append(args.length).append("\r\n");
+        for (String arg : args) {
+            sb.append('$').append(arg.getBytes(StandardCharsets.UTF_8).length).append("\r\n").append(arg).append("\r\n");
+        }
+        return sb.toString();
+    }
+
+    // Sends everything in one write and reads until the expected number of bytes arrived
+    private String roundTrip(String request, String expected) throws Exception {
+        try (Socket socket = new Socket("127.0.0.1", respServer.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int expectedLength = expected.getBytes(StandardCharsets.UTF_8).length;
+            while (received.size() < expectedLength) {
+                int n = in.read(chunk);
+                if (n < 0) {
+                    break;
+                }
+                received.write(chunk, 0, n);
+            }
+            return received.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void pipelined_commands_are_answered_in_order() throws Exception {
+        String request = command("PING")
+                + command("SET", "r1", "hello")
+                + command("GET", "r1")
+                + command("EXISTS", "r1", "nope")
+                + command("EXPIRE", "r1", "100")
+                + command("TTL", "r1")
+                + command("PERSIST", "r1")
+                + command("TTL", "r1")
+                + command("PERSIST", "r1")
+                + command("MGET", "r1", "nope")
+                + command("SET", "r1", "again", "NX")
+                + command("DEL", "r1", "nope", "r1")
+                + command("GET", "r1")
+                + command("BOGUS");
+        String expected = "+PONG\r\n"
+                + "+OK\r\n"
+                + "$5\r\nhello\r\n"
+                + ":1\r\n"
+                + ":1\r\n"
+                + ":100\r\n"
+                + ":1\r\n"
+                + ":-1\r\n"
+                + ":0\r\n"
+                + "*2\r\n$5\r\nhello\r\n$-1\r\n"
+                + "$-1\r\n"
+                + ":1\r\n"
+                + "$-1\r\n"
+                + "-ERR unknown command 'bogus'\r\n";
+        assertThat(roundTrip(request, expected)).isEqualTo(expected);
+    }
+
+    // The failing load comes after a hit in the same MGET; the reply must be a lone error, not a torn array
+    @Test
+    void a_failed_mget_answers_with_one_error_and_keeps_the_framing() throws Exception {
+        String request = command("SET", "rok", "fine")
+                + command("MGET", "rok", "rfail1")
+                + command("PING");
+        String expected = "+OK\r\n"
+                + "-ERR loading rfail1 failed\r\n"
+                + "+PONG\r\n";
+        assertThat(roundTrip(request, expected)).isEqualTo(expected);
+    }
+
+    @Test
+    void set_get_option_returns_the_replaced_value() throws Exception {
+        String request = command("SET", "rget", "one", "NX", "GET")
+                + command("SET", "rget", "two", "XX", "GET")
+                + command("SET", "rget", "three", "NX", "GET")
+                + command("GET", "rget");
+        String expected = "$-1\r\n"
+                + "$3\r\none\r\n"
+                + "$3\r\ntwo\r\n"
+                + "$3\r\ntwo\r\n";
+        assertThat(roundTrip(request, expected)).isEqualTo(expected);
+    }
+
+    @Test
+    void large_values_and_split_frames_round_trip() throws Exception {
+        String big = "v".repeat(100_000);
+        String expected = "+OK\r\n$" + big.length() + "\r\n" + big + "\r\n";
+        assertThat(roundTrip(command("SET", "rbig", big) + command("GET", "rbig"), expected)).isEqualTo(expected);
+    }
+
+    @Test
+    void binary_values_round_trip_unchanged() throws Exception {
+        byte[] value = {(byte) 0xff, 0, (byte) 0xc3, '\r', '\n', (byte) 0x80};
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        request.write("*3\r\n$3\r\nSET\r\n$4\r\nrbin\r\n$6\r\n".getBytes(StandardCharsets.US_ASCII));
+        request.write(value);
+        request.write(("\r\n" + command("GET", "rbin")).getBytes(StandardCharsets.US_ASCII));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write("+OK\r\n$6\r\n".getBytes(StandardCharsets.US_ASCII));
+        expected.write(value);
+        expected.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        try (Socket socket = new Socket("127.0.0.1", respServer.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(request.toByteArray());
+            assertThat(socket.getInputStream().readNBytes(expected.size())).isEqualTo(expected.toByteArray());
+        }
+    }
+
+    @Test
+    void values_written_over_rest_are_visible_over_resp() throws Exception {
+        mvc.perform(post(path("/rest1")).contentType(MediaType.APPLICATION_JSON).content("{\"a\":1}"))
+                .andExpect(status().isOk());
+        String expected = "$7\r\n{\"a\":1}\r\n";
+        assertThat(roundTrip(command("GET", "rest1"), expected)).isEqualTo(expected);
+    }
+}
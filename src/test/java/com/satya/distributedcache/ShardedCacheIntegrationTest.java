@@ -0,0 +1,33 @@
+package com.satya.distributedcache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"cache.shards=4", "cache.max-size=64"})
+class ShardedCacheIntegrationTest extends MockMvcTestSupport {
+
+    @Test
+    void sharded_cache_serves_reads_and_stays_within_bound() throws Exception {
+        for (int i = 0; i < 500; i++) {
+            mvc.perform(post(path("/shard" + i))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("\"v" + i + "\""))
+                    .andExpect(status().isOk());
+        }
+
+        // most recent write is always resident
+        String last = mvc.perform(get(path("/shard499")))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(last).isEqualTo("v499");
+
+        // Shards past their bound are trimmed by the background evictor
+        String stats = awaitStats(s -> parseStat(s, "size") <= 64);
+        assertThat(stats).contains("ShardedMapCache Stats:").contains("shards=4");
+        assertThat(parseStat(stats, "size")).isLessThanOrEqualTo(64);
+    }
+}
@@ -0,0 +1,62 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.persistence.SnapshotManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "cache.snapshot.enabled=true",
+        "cache.snapshot.path=target/snapshot-it/cache.snapshot",
+        "cache.snapshot.interval-seconds=0",
+        "cache.snapshot.on-shutdown=false"
+})
+class SnapshotIntegrationTest extends MockMvcTestSupport {
+
+    @Autowired
+    SnapshotManager snapshotManager;
+
+    // Runs before the context starts, so no snapshot from an earlier run is restored
+    @BeforeAll
+    static void removeOldSnapshot() throws Exception {
+        Files.deleteIfExists(Path.of("target/snapshot-it/cache.snapshot"));
+    }
+
+    @Test
+    void snapshot_restores_values_and_ttls_and_drops_expired_keys() throws Exception {
+        // enough keys to span several chunks
+        for (int i = 0; i < 30_000; i++) {
+            mvc.perform(post(path("/snap" + i)).contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"id\":" + i + ",\"name\":\"entry-" + i + "\"}"));
+        }
+        mvc.perform(post(path("/expire/snap1/60000"))).andExpect(status().isOk());
+        mvc.perform(post(path("/snapShort")).contentType(MediaType.TEXT_PLAIN).content("gone soon"))
+                .andExpect(status().isOk());
+        mvc.perform(post(path("/expire/snapShort/1500"))).andExpect(status().isOk());
+
+        assertThat(snapshotManager.save()).isGreaterThanOrEqualTo(30_001);
+
+        for (String key : new String[]{"snap0", "snap1", "snap29999"}) {
+            mvc.perform(delete(path("/" + key))).andExpect(status().isNoContent());
+        }
+        Thread.sleep(1600);
+
+        snapshotManager.load();
+
+        assertThat(mvc.perform(get(path("/snap29999"))).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()).isEqualTo("{\"id\":29999,\"name\":\"entry-29999\"}");
+        assertThat(mvc.perform(get(path("/ttl/snap0"))).andReturn().getResponse().getContentAsString()).isEqualTo("-1");
+        long ttl = Long.parseLong(mvc.perform(get(path("/ttl/snap1"))).andReturn().getResponse().getContentAsString());
+        assertThat(ttl).isBetween(1L, 60000L);
+        mvc.perform(get(path("/snapShort"))).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,70 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.types.ScoredMember;
+import com.satya.distributedcache.cache.types.SortedSetValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Random adds, score moves and removals checked against a sorted-list model
+class SortedSetValueTest {
+
+    @Test
+    void ranks_and_ranges_match_a_sorted_model() {
+        Random random = new Random(42);
+        SortedSetValue zset = new SortedSetValue();
+        Map<String, Double> model = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            String member = "m" + random.nextInt(500);
+            int action = random.nextInt(10);
+            if (action < 6) {
+                double score = random.nextInt(200);
+                assertThat(zset.add(member, score)).isEqualTo(model.put(member, score) == null);
+            } else if (action < 8) {
+                assertThat(zset.remove(member)).isEqualTo(model.remove(member) != null);
+            } else {
+                model.merge(member, 1.5, Double::sum);
+                assertThat(zset.incrBy(member, 1.5)).isEqualTo(model.get(member));
+            }
+            if (step % 500 == 0) {
+                verify(zset, model, random);
+            }
+        }
+        verify(zset, model, random);
+    }
+
+    private static void verify(SortedSetValue zset, Map<String, Double> model, Random random) {
+        List<ScoredMember> sorted = new ArrayList<>();
+        model.forEach((member, score) -> sorted.add(new ScoredMember(member, score)));
+        sorted.sort(Comparator.comparingDouble(ScoredMember::score).thenComparing(ScoredMember::member));
+
+        assertThat(zset.size()).isEqualTo(sorted.size());
+        assertThat(zset.snapshot()).isEqualTo(sorted);
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(zset.rank(sorted.get(i).member(), false)).isEqualTo((long) i);
+            assertThat(zset.rank(sorted.get(i).member(), true)).isEqualTo((long) (sorted.size() - 1 - i));
+        }
+        if (sorted.isEmpty()) {
+            return;
+        }
+        int from = random.nextInt(sorted.size());
+        int to = from + random.nextInt(sorted.size() - from);
+        assertThat(zset.range(from, to, false)).isEqualTo(sorted.subList(from, to + 1));
+        List<ScoredMember> reversed = new ArrayList<>(sorted.subList(sorted.size() - 1 - to, sorted.size() - from));
+        Collections.reverse(reversed);
+        assertThat(zset.range(from, to, true)).isEqualTo(reversed);
+
+        double min = random.nextInt(200);
+        double max = min + random.nextInt(50);
+        assertThat(zset.rangeByScore(min, max, 0, -1))
+                .isEqualTo(sorted.stream().filter(s -> s.score() >= min && s.score() <= max).toList());
+    }
+}
@@ -0,0 +1,165 @@
+package com.satya.distributedcache;
+
+import com.satya.distributedcache.cache.expiry.TimerNode;
+import com.satya.distributedcache.cache.expiry.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The wheel takes the time as an argument, so the clock here is just a number the test moves forward
+class TimerWheelTest {
+
+    // Level-0 bucket width: a timer fires on the first advance past its deadline's bucket
+    private static final long TICK = 16;
+
+    private long now = 1_000_000;
+    private final TimerWheel<String> wheel = new TimerWheel<>(now);
+    private final Map<String, Long> fired = new HashMap<>();
+
+    private int advanceTo(long time) {
+        now = time;
+        return wheel.advance(now, Integer.MAX_VALUE,
+                node -> assertThat(fired.put(node.getKey(), now)).as("fired twice: " + node.getKey()).isNull());
+    }
+
+    private TimerNode<String> schedule(String key, long expireAt) {
+        TimerNode<String> node = new TimerNode<>(key);
+        wheel.schedule(node, expireAt);
+        return node;
+    }
+
+    @Test
+    void timers_fire_after_their_deadline_within_one_tick() {
+        long deadline = now + 100;
+        schedule("a", deadline);
+        while (now < deadline - 1) {
+            advanceTo(now + 1);
+            assertThat(fired).isEmpty();
+        }
+        while (!fired.containsKey("a")) {
+            advanceTo(now + 1);
+        }
+        assertThat(fired.get("a")).isBetween(deadline, deadline + TICK);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelled_timers_never_fire_and_rescheduled_ones_move() {
+        TimerNode<String> cancelled = schedule("cancelled", now + 50);
+        TimerNode<String> moved = schedule("moved", now + 50);
+        assertThat(wheel.size()).isEqualTo(2);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(cancelled.hasExpiry()).isFalse();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        wheel.schedule(moved, now + 5000);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        advanceTo(now + 1000);
+        assertThat(fired).isEmpty();
+        advanceTo(now + 5000);
+        assertThat(fired).containsOnlyKeys("moved");
+    }
+
+    // Far-out timers start on a coarse level and cascade down as their bucket comes up
+    @Test
+    void timers_cascade_through_every_level() {
+        long start = now;
+        long[] delays = {10, 700, 5_000, 90_000, 30 * 60_000L, 5 * 3_600_000L, 3 * 86_400_000L};
+        for (long delay : delays) {
+            schedule("d" + delay, start + delay);
+        }
+        long step = 7;
+        while (fired.size() < delays.length) {
+            // Coarse steps between deadlines keep the run short; fine steps near one keep lateness measurable
+            long next = now + step;
+            boolean nearDeadline = false;
+            for (long delay : delays) {
+                long at = start + delay;
+                nearDeadline |= at > now - TICK && at <= now + 60_000;
+            }
+            advanceTo(nearDeadline ? next : now + 50_000);
+        }
+        for (long delay : delays) {
+            assertThat(fired.get("d" + delay) - (start + delay)).as("lateness of d" + delay).isBetween(0L, TICK + step);
+        }
+    }
+
+    @Test
+    void a_single_large_jump_fires_everything_due() {
+        for (int i = 0; i < 100; i++) {
+            schedule("k" + i, now + i * 3_600_000L);
+        }
+        advanceTo(now + 50 * 3_600_000L);
+        assertThat(fired).hasSize(51);
+        assertThat(wheel.size()).isEqualTo(49);
+    }
+
+    @Test
+    void overdue_timers_fire_on_the_next_tick() {
+        advanceTo(now + 1000);
+        schedule("late", now - 500);
+        schedule("now", now);
+        advanceTo(now + TICK);
+        assertThat(fired).containsOnlyKeys("late", "now");
+    }
+
+    @Test
+    void each_advance_hands_out_at_most_max_expirations() {
+        for (int i = 0; i < 1000; i++) {
+            schedule("b" + i, now + 10);
+        }
+        now += 100;
+        List<String> expired = new ArrayList<>();
+        assertThat(wheel.advance(now, 300, node -> expired.add(node.getKey()))).isEqualTo(300);
+        assertThat(wheel.backlog()).isEqualTo(700);
+        assertThat(wheel.size()).isEqualTo(700);
+        // The backlog drains on later calls even though no more time has passed
+        while (wheel.advance(now, 300, node -> expired.add(node.getKey())) > 0) {
+            assertThat(wheel.backlog()).isLessThanOrEqualTo(400);
+        }
+        assertThat(expired).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(wheel.backlog()).isZero();
+    }
+
+    @Test
+    void random_timers_fire_once_never_early_and_within_a_tick_of_the_step() {
+        Random random = new Random(11);
+        long start = now;
+        Map<String, Long> deadlines = new HashMap<>();
+        List<TimerNode<String>> nodes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            long at = start + random.nextInt(120_000);
+            deadlines.put("r" + i, at);
+            nodes.add(schedule("r" + i, at));
+        }
+        // Cancel a tenth and reschedule another tenth while time moves
+        for (int i = 0; i < 500; i++) {
+            wheel.cancel(nodes.get(i));
+            deadlines.remove("r" + i);
+        }
+        long maxStep = 40;
+        while (now < start + 125_000) {
+            advanceTo(now + 1 + random.nextInt((int) maxStep));
+            if (now < start + 60_000 && random.nextInt(50) == 0) {
+                int i = 500 + random.nextInt(500);
+                String key = "r" + i;
+                if (!fired.containsKey(key)) {
+                    long at = now + random.nextInt(60_000);
+                    wheel.schedule(nodes.get(i), at);
+                    deadlines.put(key, at);
+                }
+            }
+        }
+        assertThat(fired.keySet()).isEqualTo(deadlines.keySet());
+        deadlines.forEach((key, at) ->
+                assertThat(fired.get(key) - at).as("lateness of " + key).isBetween(0L, TICK + maxStep));
+        assertThat(wheel.size()).isZero();
+    }
+}
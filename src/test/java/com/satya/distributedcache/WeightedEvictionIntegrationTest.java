@@ -0,0 +1,30 @@
+package com.satya.distributedcache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "cache.max-bytes=65536")
+class WeightedEvictionIntegrationTest extends MockMvcTestSupport {
+
+    @Test
+    void large_values_are_evicted_by_weight_not_count() throws Exception {
+        String big = "\"" + "x".repeat(8 * 1024) + "\"";
+        for (int i = 0; i < 40; i++) {
+            mvc.perform(post(path("/heavy" + i))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(big))
+                    .andExpect(status().isOk());
+        }
+
+        String stats = awaitStats(s -> parseStat(s, "weight") <= 65536);
+        // 40 x ~8KB would be ~330KB; the byte bound keeps only a handful of them
+        assertThat(parseStat(stats, "weight")).isLessThanOrEqualTo(65536);
+        assertThat(parseStat(stats, "size")).isLessThan(40);
+        mvc.perform(get(path("/heavy39"))).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,55 @@
+package com.satya.distributedcache.cache.persistence;
+
+import com.satya.distributedcache.cache.eviction.AsyncEvictionManager;
+import com.satya.distributedcache.cache.eviction.LRUEvictionStrategy;
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import com.satya.distributedcache.cache.mapcache.MapCache;
+import com.satya.distributedcache.cache.storage.HeapValueStorage;
+import com.satya.distributedcache.cache.storage.JacksonValueCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AppendOnlyLogTest {
+
+    @TempDir
+    Path dir;
+
+    // A store whose every walk fails, as a full disk would fail the rewrite
+    private final AtomicInteger walks = new AtomicInteger();
+    private final MapCache<String, Object> store = new MapCache<>(100, new AsyncEvictionManager<>(
+            100, new LRUEvictionStrategy<>(), Runnable::run)) {
+        @Override
+        public void forEachEntry(Consumer<CacheEntry<String, Object>> action) {
+            walks.incrementAndGet();
+            throw new IllegalStateException("no space left");
+        }
+    };
+
+    // Every poll would otherwise start a new rewrite: the log stays past its growth threshold
+    @Test
+    void a_failed_rewrite_backs_off_before_the_next_attempt() throws Exception {
+        AppendOnlyLog log = new AppendOnlyLog(dir.resolve("cache.aof"), FsyncPolicy.parse("no"),
+                new JacksonValueCodec(JsonMapper.builder().build()), store, new HeapValueStorage(), 1, 0, 1024);
+        log.start();
+        try {
+            log.onSet("k", "v");
+            log.sync();
+            Thread.sleep(2500);
+            // First attempt at once, the second after 1 s, the third not before 3 s
+            assertThat(walks.get()).isBetween(1, 2);
+
+            // The appends themselves are unaffected
+            log.onSet("k", "v2");
+            log.sync();
+        } finally {
+            log.close();
+        }
+    }
+}
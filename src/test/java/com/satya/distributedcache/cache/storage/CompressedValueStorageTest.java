@@ -0,0 +1,68 @@
+package com.satya.distributedcache.cache.storage;
+
+import com.satya.distributedcache.cache.mapcache.CacheEntry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedValueStorageTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final CompressedValueStorage storage = new CompressedValueStorage(new JacksonValueCodec(jsonMapper), 64);
+
+    private Object roundTrip(Object value) {
+        return storage.read(new CacheEntry<>("k", storage.encode(value)));
+    }
+
+    @Test
+    void every_value_kind_reads_back_as_written() {
+        String text = "text ".repeat(100);
+        byte[] bytes = {0, (byte) 0xff, 1, 2};
+        byte[] json = "{\"a\":[1,2,3],\"b\":\"é\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(roundTrip(text)).isEqualTo(text);
+        assertThat(roundTrip("short")).isEqualTo("short");
+        assertThat(roundTrip(bytes)).isEqualTo(bytes);
+        assertThat(((RawJson) roundTrip(new RawJson(json))).bytes()).isEqualTo(json);
+        // Other objects are held in their JSON form
+        assertThat(((RawJson) roundTrip(Map.of("n", 1))).bytes())
+                .isEqualTo("{\"n\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void only_values_over_the_threshold_that_shrink_are_compressed() {
+        PackedValue small = (PackedValue) storage.encode("x".repeat(63));
+        assertThat(small.isCompressed()).isFalse();
+
+        PackedValue repetitive = (PackedValue) storage.encode("x".repeat(10_000));
+        assertThat(repetitive.isCompressed()).isTrue();
+        assertThat(repetitive.getStoredLength()).isLessThan(100);
+        assertThat(repetitive.getRawLength()).isEqualTo(10_000);
+
+        byte[] noise = new byte[10_000];
+        new Random(7).nextBytes(noise);
+        PackedValue incompressible = (PackedValue) storage.encode(noise);
+        assertThat(incompressible.isCompressed()).isFalse();
+        assertThat(incompressible.getData()).isSameAs(noise);
+        assertThat(storage.getStats()).contains("compressed=1,").contains("incompressible=1,");
+
+        storage.release(repetitive);
+        storage.release(incompressible);
+        storage.release(small);
+        assertThat(storage.getStats()).contains("values=0, compressed=0, rawBytes=0, storedBytes=0");
+    }
+
+    @Test
+    void raw_json_is_embedded_byte_for_byte() {
+        RawJson raw = new RawJson("{\"name\":\"Zoë\",\"tags\":[\"a\",\"b\"]}".getBytes(StandardCharsets.UTF_8));
+        String expected = "{\"v\":{\"name\":\"Zoë\",\"tags\":[\"a\",\"b\"]}}";
+        // UTF-8 output copies the bytes; character output goes through the decoded text
+        assertThat(new String(jsonMapper.writeValueAsBytes(Map.of("v", raw)), StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(jsonMapper.writeValueAsString(Map.of("v", raw))).isEqualTo(expected);
+    }
+}
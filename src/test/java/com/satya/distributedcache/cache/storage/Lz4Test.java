@@ -0,0 +1,182 @@
+package com.satya.distributedcache.cache.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Lz4 is package-private, so this test sits next to it. Every block is checked twice: against Lz4's own
+// decoder and against the strict reference decoder below, written from the LZ4 block format description.
+class Lz4Test {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void inputs_under_thirteen_bytes_are_one_literal_run() {
+        for (int n = 0; n <= 12; n++) {
+            byte[] zeros = new byte[n];
+            byte[] block = roundTrip(zeros).block();
+            assertThat(block).hasSize(1 + n);
+            assertThat(block[0] & 0xFF).isEqualTo(n << 4);
+        }
+    }
+
+    @Test
+    void runs_of_one_byte_become_overlapping_matches() {
+        Decoded zeros = roundTrip(new byte[1000]);
+        assertThat(zeros.overlappingMatches()).isPositive();
+        assertThat(zeros.longestMatch()).isGreaterThanOrEqualTo(270);
+        assertThat(zeros.block().length).isLessThan(20);
+
+        byte[] pattern = new byte[3000];
+        for (int i = 0; i < pattern.length; i++) {
+            pattern[i] = (byte) "abc".charAt(i % 3);
+        }
+        assertThat(roundTrip(pattern).overlappingMatches()).isPositive();
+    }
+
+    // Crosses the 15 (token nibble full) and 15 + 255 = 270 (first extension byte full) boundaries
+    @Test
+    void literal_runs_of_every_length_round_trip() {
+        for (int n = 1; n <= 600; n++) {
+            byte[] input = concat(noZeros(n), new byte[64]);
+            Decoded decoded = roundTrip(input);
+            assertThat(decoded.longestLiterals()).isGreaterThanOrEqualTo(n);
+        }
+    }
+
+    // Match lengths are stored minus 4, so 19 and 274 are where the same boundaries fall for them
+    @Test
+    void match_lengths_of_every_length_round_trip() {
+        for (int m = 4; m <= 600; m++) {
+            byte[] chunk = noZeros(m);
+            byte[] input = concat(concat(chunk, chunk), noZeros(16));
+            Decoded decoded = roundTrip(input);
+            if (m >= 270) {
+                assertThat(decoded.longestMatch()).isGreaterThanOrEqualTo(270);
+            } else if (m >= 15) {
+                assertThat(decoded.longestMatch()).isGreaterThanOrEqualTo(15);
+            }
+        }
+    }
+
+    @Test
+    void incompressible_input_grows_by_at_most_the_bound() {
+        for (int n : new int[] {13, 100, 4096, 100_000}) {
+            byte[] input = new byte[n];
+            random.nextBytes(input);
+            Decoded decoded = roundTrip(input);
+            assertThat(decoded.block().length).isLessThanOrEqualTo(Lz4.maxCompressedLength(n));
+        }
+    }
+
+    @Test
+    void matches_never_reach_further_back_than_the_window() {
+        byte[] input = new byte[70_000];
+        random.nextBytes(input);
+        // One copy too far back to reference, one within reach
+        System.arraycopy(input, 0, input, 68_000, 1000);
+        System.arraycopy(input, 10_000, input, 66_000, 1000);
+        Decoded decoded = roundTrip(input);
+        assertThat(decoded.longestMatch()).isGreaterThanOrEqualTo(900);
+    }
+
+    @Test
+    void random_inputs_over_small_alphabets_round_trip() {
+        for (int i = 0; i < 500; i++) {
+            int alphabet = 1 + random.nextInt(8);
+            byte[] input = new byte[random.nextInt(5000)];
+            for (int j = 0; j < input.length; j++) {
+                input[j] = (byte) random.nextInt(alphabet);
+            }
+            roundTrip(input);
+        }
+    }
+
+    private Decoded roundTrip(byte[] input) {
+        byte[] dst = new byte[Lz4.maxCompressedLength(input.length)];
+        byte[] block = Arrays.copyOf(dst, Lz4.compress(input, dst));
+        byte[] inflated = new byte[input.length];
+        Lz4.decompress(block, inflated);
+        assertThat(inflated).isEqualTo(input);
+        Decoded reference = referenceDecode(block, input.length);
+        assertThat(reference.bytes()).isEqualTo(input);
+        return reference;
+    }
+
+    private record Decoded(byte[] block, byte[] bytes, int longestLiterals, int longestMatch, int overlappingMatches) {
+    }
+
+    // Also enforces the end-of-block rules: no match in a block under 13 bytes, every match starting at
+    // least 12 bytes before the end, and the last 5 bytes always literals
+    private static Decoded referenceDecode(byte[] block, int length) {
+        byte[] out = new byte[length];
+        int ip = 0;
+        int op = 0;
+        int longestLiterals = 0;
+        int longestMatch = 0;
+        int overlapping = 0;
+        boolean matched = false;
+        while (true) {
+            int token = block[ip++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int b;
+                do {
+                    b = block[ip++] & 0xFF;
+                    literals += b;
+                } while (b == 255);
+            }
+            for (int i = 0; i < literals; i++) {
+                out[op++] = block[ip++];
+            }
+            longestLiterals = Math.max(longestLiterals, literals);
+            if (ip == block.length) {
+                if (matched) {
+                    assertThat(literals).as("last literals").isGreaterThanOrEqualTo(5);
+                }
+                break;
+            }
+            int offset = (block[ip++] & 0xFF) | (block[ip++] & 0xFF) << 8;
+            int matchLength = token & 0x0F;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    b = block[ip++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += 4;
+            assertThat(length).as("block length with a match").isGreaterThanOrEqualTo(13);
+            assertThat(op).as("match start").isLessThanOrEqualTo(length - 12);
+            assertThat(offset).isBetween(1, Math.min(op, 65535));
+            matched = true;
+            longestMatch = Math.max(longestMatch, matchLength);
+            if (offset < matchLength) {
+                overlapping++;
+            }
+            for (int i = 0; i < matchLength; i++, op++) {
+                out[op] = out[op - offset];
+            }
+        }
+        assertThat(op).isEqualTo(length);
+        return new Decoded(block, out, longestLiterals, longestMatch, overlapping);
+    }
+
+    // Random bytes without zero, so they never extend a match into a following run of zeros
+    private byte[] noZeros(int n) {
+        byte[] bytes = new byte[n];
+        for (int i = 0; i < n; i++) {
+            bytes[i] = (byte) (1 + random.nextInt(255));
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+}